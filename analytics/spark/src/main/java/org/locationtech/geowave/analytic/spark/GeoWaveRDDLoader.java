@@ -95,6 +95,33 @@ public class GeoWaveRDDLoader {
       return null;
     }
 
+    final Configuration conf = getInputConfiguration(sc, storeOptions, rddOpts);
+
+    final RDD<Tuple2<GeoWaveInputKey, SimpleFeature>> rdd =
+        sc.newAPIHadoopRDD(
+            conf,
+            GeoWaveInputFormat.class,
+            GeoWaveInputKey.class,
+            SimpleFeature.class);
+
+    final JavaPairRDD<GeoWaveInputKey, SimpleFeature> javaRdd =
+        JavaPairRDD.fromJavaRDD(rdd.toJavaRDD());
+
+    return javaRdd;
+  }
+
+  /**
+   * Create the configuration of a GeoWave input format that reads the given store and query.
+   *
+   * @param sc the spark context to take the base configuration and default parallelism from
+   * @param storeOptions the store to read
+   * @param rddOpts the query and split counts to read with
+   * @return the input configuration
+   */
+  public static Configuration getInputConfiguration(
+      final SparkContext sc,
+      final DataStorePluginOptions storeOptions,
+      final RDDOptions rddOpts) {
     final Configuration conf = new Configuration(sc.hadoopConfiguration());
 
     GeoWaveInputFormat.setStoreOptions(conf, storeOptions);
@@ -122,16 +149,6 @@ public class GeoWaveRDDLoader {
       }
     }
 
-    final RDD<Tuple2<GeoWaveInputKey, SimpleFeature>> rdd =
-        sc.newAPIHadoopRDD(
-            conf,
-            GeoWaveInputFormat.class,
-            GeoWaveInputKey.class,
-            SimpleFeature.class);
-
-    final JavaPairRDD<GeoWaveInputKey, SimpleFeature> javaRdd =
-        JavaPairRDD.fromJavaRDD(rdd.toJavaRDD());
-
-    return javaRdd;
+    return conf;
   }
 }
@@ -28,6 +28,7 @@ import org.locationtech.geowave.analytic.spark.GeoWaveRDD;
 import org.locationtech.geowave.analytic.spark.GeoWaveRDDLoader;
 import org.locationtech.geowave.analytic.spark.GeoWaveSparkConf;
 import org.locationtech.geowave.analytic.spark.RDDOptions;
+import org.locationtech.geowave.analytic.spark.sparksql.datasource.GeoWaveDataSource;
 import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunction;
 import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomWithinDistance;
 import org.locationtech.geowave.analytic.spark.sparksql.udf.UDFRegistrySPI;
@@ -271,7 +272,9 @@ public class SqlQueryRunner {
       joinRunner.setPredicate(pred.predicate);
 
       joinRunner.setLeftStore(leftStore.storeOptions);
+      joinRunner.setLeftAdapterTypeName(leftStore.typeName);
       joinRunner.setRightStore(rightStore.storeOptions);
+      joinRunner.setRightAdapterTypeName(rightStore.typeName);
 
       // Execute the join
       joinRunner.run();
@@ -345,17 +348,18 @@ public class SqlQueryRunner {
       storeInfo.rdd =
           GeoWaveRDDLoader.loadRDD(session.sparkContext(), storeInfo.storeOptions, rddOpts);
 
-      // Create a DataFrame from the Left RDD
-      final SimpleFeatureDataFrame dataFrame = new SimpleFeatureDataFrame(session);
-
-      if (!dataFrame.init(storeInfo.storeOptions, storeInfo.typeName)) {
-        LOGGER.error("Failed to initialize dataframe");
+      // The view reads through the data source so filters and columns of the query are pushed
+      // down to the store, the RDD is only read if a spatial join is performed
+      final Dataset<Row> dfTemp;
+      try {
+        dfTemp = GeoWaveDataSource.load(session, storeInfo.storeOptions, storeInfo.typeName);
+      } catch (final IllegalArgumentException e) {
+        LOGGER.error("Failed to initialize dataframe", e);
         return;
       }
 
-      LOGGER.debug(dataFrame.getSchema().json());
+      LOGGER.debug(dfTemp.schema().json());
 
-      final Dataset<Row> dfTemp = dataFrame.getDataFrame(storeInfo.rdd);
       dfTemp.createOrReplaceTempView(storeInfo.viewName);
     }
   }
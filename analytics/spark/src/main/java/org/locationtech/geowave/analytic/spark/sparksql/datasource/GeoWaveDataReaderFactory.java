@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Date;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.spark.SerializableWritable;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.catalyst.expressions.GenericRowWithSchema;
+import org.apache.spark.sql.sources.v2.reader.DataReader;
+import org.apache.spark.sql.sources.v2.reader.DataReaderFactory;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.locationtech.geowave.mapreduce.input.GeoWaveInputFormat;
+import org.locationtech.geowave.mapreduce.input.GeoWaveInputKey;
+import org.locationtech.geowave.mapreduce.splits.GeoWaveInputSplit;
+import org.opengis.feature.simple.SimpleFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Reads the features of a single split of the GeoWave input format as rows of a data frame. */
+public class GeoWaveDataReaderFactory implements DataReaderFactory<Row> {
+  private static final long serialVersionUID = 1L;
+  private static final Logger LOGGER = LoggerFactory.getLogger(GeoWaveDataReaderFactory.class);
+
+  private final SerializableWritable<Configuration> conf;
+  private final SerializableWritable<GeoWaveInputSplit> split;
+  private final StructType schema;
+  private final String[] attributeNames;
+
+  /**
+   * @param conf the configuration of the input format
+   * @param split the split to read
+   * @param schema the columns to read
+   * @param attributeNames the attribute names of the columns
+   */
+  public GeoWaveDataReaderFactory(
+      final SerializableWritable<Configuration> conf,
+      final GeoWaveInputSplit split,
+      final StructType schema,
+      final String[] attributeNames) {
+    this.conf = conf;
+    this.split = new SerializableWritable<>(split);
+    this.schema = schema;
+    this.attributeNames = attributeNames;
+  }
+
+  @Override
+  public String[] preferredLocations() {
+    try {
+      return split.value().getLocations();
+    } catch (final IOException e) {
+      LOGGER.warn("Unable to determine the locations of a split", e);
+      return new String[0];
+    }
+  }
+
+  @Override
+  public DataReader<Row> createDataReader() {
+    final TaskAttemptContext context =
+        new TaskAttemptContextImpl(conf.value(), new TaskAttemptID());
+    final RecordReader<GeoWaveInputKey, SimpleFeature> reader =
+        new GeoWaveInputFormat<SimpleFeature>().createRecordReader(split.value(), context);
+    try {
+      reader.initialize(split.value(), context);
+    } catch (IOException | InterruptedException e) {
+      throw new RuntimeException("Unable to initialize the reader of a split", e);
+    }
+    return new GeoWaveDataReader(reader, schema, attributeNames);
+  }
+
+  private static class GeoWaveDataReader implements DataReader<Row> {
+    private final RecordReader<GeoWaveInputKey, SimpleFeature> reader;
+    private final StructType schema;
+    private final String[] attributeNames;
+
+    private GeoWaveDataReader(
+        final RecordReader<GeoWaveInputKey, SimpleFeature> reader,
+        final StructType schema,
+        final String[] attributeNames) {
+      this.reader = reader;
+      this.schema = schema;
+      this.attributeNames = attributeNames;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      try {
+        return reader.nextKeyValue();
+      } catch (final InterruptedException e) {
+        throw new IOException("Interrupted while reading a split", e);
+      }
+    }
+
+    @Override
+    public Row get() {
+      final SimpleFeature feature;
+      try {
+        feature = reader.getCurrentValue();
+      } catch (IOException | InterruptedException e) {
+        throw new RuntimeException("Unable to read the current feature", e);
+      }
+      final Object[] fields = new Object[attributeNames.length];
+      for (int i = 0; i < attributeNames.length; i++) {
+        final Object value = feature.getAttribute(attributeNames[i]);
+        if ((value instanceof Date) && (schema.apply(i).dataType() == DataTypes.TimestampType)) {
+          fields[i] = new Timestamp(((Date) value).getTime());
+        } else {
+          fields[i] = value;
+        }
+      }
+      return new GenericRowWithSchema(fields, schema);
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
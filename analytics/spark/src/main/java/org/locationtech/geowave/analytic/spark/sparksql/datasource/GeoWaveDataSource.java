@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import java.util.Map;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.sources.DataSourceRegister;
+import org.apache.spark.sql.sources.v2.DataSourceOptions;
+import org.apache.spark.sql.sources.v2.DataSourceV2;
+import org.apache.spark.sql.sources.v2.ReadSupport;
+import org.apache.spark.sql.sources.v2.reader.DataSourceReader;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunctionRegistry;
+import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * A Spark SQL data source that reads the features of a single type from a GeoWave store. Spatial
+ * UDF predicates, time ranges and attribute comparisons of a query are pushed down as GeoWave query
+ * constraints and only the selected columns are read from the store.
+ *
+ * <p> The data source is registered as "geowave" and requires the options {@link #STORE_OPTIONS},
+ * the JSON encoded options of the store, and {@link #TYPE_NAME}. Use {@link #load(SparkSession,
+ * DataStorePluginOptions, String)} to create a data frame for store options already at hand.
+ */
+public class GeoWaveDataSource implements DataSourceV2, ReadSupport, DataSourceRegister {
+  public static final String SHORT_NAME = "geowave";
+  public static final String STORE_OPTIONS = "storeOptions";
+  public static final String TYPE_NAME = "typeName";
+  public static final String MIN_SPLITS = "minSplits";
+  public static final String MAX_SPLITS = "maxSplits";
+
+  @Override
+  public String shortName() {
+    return SHORT_NAME;
+  }
+
+  @Override
+  public DataSourceReader createReader(final DataSourceOptions options) {
+    final String storeOptions =
+        options.get(STORE_OPTIONS).orElseThrow(
+            () -> new IllegalArgumentException("The '" + STORE_OPTIONS + "' option is required"));
+    final String typeName =
+        options.get(TYPE_NAME).orElseThrow(
+            () -> new IllegalArgumentException("The '" + TYPE_NAME + "' option is required"));
+    return new GeoWaveDataSourceReader(
+        new DataStorePluginOptions(fromJson(storeOptions)),
+        typeName,
+        options.getInt(MIN_SPLITS, -1),
+        options.getInt(MAX_SPLITS, -1));
+  }
+
+  /**
+   * Load the features of a type as a data frame backed by this data source.
+   *
+   * @param session the spark session
+   * @param storeOptions the store to read
+   * @param typeName the type to read
+   * @return the data frame
+   */
+  public static Dataset<Row> load(
+      final SparkSession session,
+      final DataStorePluginOptions storeOptions,
+      final String typeName) {
+    // the spatial UDFs must be registered for queries to refer to them
+    GeomFunctionRegistry.registerGeometryFunctions(session);
+    return session.read().format(GeoWaveDataSource.class.getName()).option(
+        STORE_OPTIONS,
+        toJson(storeOptions.getOptionsAsMap())).option(TYPE_NAME, typeName).load();
+  }
+
+  // data source options are case insensitive, so the case sensitive store options are encoded as a
+  // single value
+  private static String toJson(final Map<String, String> storeOptions) {
+    return new Gson().toJson(storeOptions);
+  }
+
+  private static Map<String, String> fromJson(final String storeOptions) {
+    return new Gson().fromJson(storeOptions, new TypeToken<Map<String, String>>() {}.getType());
+  }
+}
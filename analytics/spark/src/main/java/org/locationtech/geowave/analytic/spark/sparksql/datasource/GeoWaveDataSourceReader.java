@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.spark.SerializableWritable;
+import org.apache.spark.SparkContext;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.catalyst.expressions.Expression;
+import org.apache.spark.sql.sources.v2.reader.DataReaderFactory;
+import org.apache.spark.sql.sources.v2.reader.DataSourceReader;
+import org.apache.spark.sql.sources.v2.reader.Statistics;
+import org.apache.spark.sql.sources.v2.reader.SupportsPushDownCatalystFilters;
+import org.apache.spark.sql.sources.v2.reader.SupportsPushDownRequiredColumns;
+import org.apache.spark.sql.sources.v2.reader.SupportsReportStatistics;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.geotools.factory.CommonFactoryFinder;
+import org.locationtech.geowave.adapter.vector.util.FeatureDataUtils;
+import org.locationtech.geowave.adapter.vector.util.FeatureGeometryUtils;
+import org.locationtech.geowave.analytic.spark.GeoWaveRDDLoader;
+import org.locationtech.geowave.analytic.spark.RDDOptions;
+import org.locationtech.geowave.analytic.spark.sparksql.util.SchemaConverter;
+import org.locationtech.geowave.core.geotime.store.query.api.VectorQueryBuilder;
+import org.locationtech.geowave.core.geotime.util.ExtractGeometryFilterVisitor;
+import org.locationtech.geowave.core.geotime.util.ExtractGeometryFilterVisitorResult;
+import org.locationtech.geowave.core.store.api.StatisticsQueryBuilder;
+import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
+import org.locationtech.geowave.mapreduce.input.GeoWaveInputFormat;
+import org.locationtech.geowave.mapreduce.splits.GeoWaveInputSplit;
+import org.locationtech.jts.geom.Envelope;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the scan of a {@link GeoWaveDataSource}. Pushed filters are converted into the constraints
+ * of a vector query, pruned columns limit the fields read from the store, and every split of the
+ * GeoWave input format is read by its own data reader.
+ */
+public class GeoWaveDataSourceReader implements
+    DataSourceReader,
+    SupportsPushDownCatalystFilters,
+    SupportsPushDownRequiredColumns,
+    SupportsReportStatistics {
+  private static final Logger LOGGER = LoggerFactory.getLogger(GeoWaveDataSourceReader.class);
+
+  private final DataStorePluginOptions storeOptions;
+  private final String typeName;
+  private final int minSplits;
+  private final int maxSplits;
+  private final Map<String, String> attributeNames = new HashMap<>();
+  private final String geometryAttribute;
+  private final CoordinateReferenceSystem crs;
+  private final GeoWaveFilterConverter filterConverter;
+  private final StructType schema;
+  private StructType requiredSchema;
+  private Expression[] pushedFilters = new Expression[0];
+  private Filter filter = null;
+  private Long count = null;
+  private Envelope bounds = null;
+  private boolean boundsRead = false;
+
+  public GeoWaveDataSourceReader(
+      final DataStorePluginOptions storeOptions,
+      final String typeName,
+      final int minSplits,
+      final int maxSplits) {
+    this.storeOptions = storeOptions;
+    this.typeName = typeName;
+    this.minSplits = minSplits;
+    this.maxSplits = maxSplits;
+    final SimpleFeatureType featureType = FeatureDataUtils.getFeatureType(storeOptions, typeName);
+    if (featureType == null) {
+      throw new IllegalArgumentException("Type '" + typeName + "' does not exist in the store");
+    }
+    schema = SchemaConverter.schemaFromFeatureType(featureType);
+    if (schema == null) {
+      throw new IllegalArgumentException("Type '" + typeName + "' has no supported attributes");
+    }
+    // the schema has a column for every attribute of the type in the same order
+    final StructField[] fields = schema.fields();
+    for (int i = 0; i < fields.length; i++) {
+      attributeNames.putIfAbsent(
+          fields[i].name(),
+          featureType.getDescriptor(i).getLocalName());
+    }
+    geometryAttribute = featureType.getGeometryDescriptor().getLocalName();
+    crs = featureType.getCoordinateReferenceSystem();
+    attributeNames.put(SchemaConverter.GEOMETRY_COLUMN, geometryAttribute);
+    filterConverter =
+        new GeoWaveFilterConverter(
+            attributeNames,
+            SchemaConverter.GEOMETRY_COLUMN,
+            geometryAttribute);
+    requiredSchema = schema;
+  }
+
+  @Override
+  public StructType readSchema() {
+    return requiredSchema;
+  }
+
+  @Override
+  public void pruneColumns(final StructType requiredSchema) {
+    this.requiredSchema = requiredSchema;
+  }
+
+  @Override
+  public Expression[] pushCatalystFilters(final Expression[] filters) {
+    final List<Expression> pushed = new ArrayList<>();
+    final List<Filter> converted = new ArrayList<>();
+    for (final Expression expression : filters) {
+      final Filter f = filterConverter.convert(expression);
+      if (f != null) {
+        pushed.add(expression);
+        converted.add(f);
+      }
+    }
+    pushedFilters = pushed.toArray(new Expression[pushed.size()]);
+    if (converted.isEmpty()) {
+      filter = null;
+    } else if (converted.size() == 1) {
+      filter = converted.get(0);
+    } else {
+      filter = CommonFactoryFinder.getFilterFactory2().and(converted);
+    }
+    // converted filters may match more rows than the expressions, so spark evaluates them all
+    return filters;
+  }
+
+  @Override
+  public Expression[] pushedCatalystFilters() {
+    return pushedFilters;
+  }
+
+  @Override
+  public Statistics getStatistics() {
+    final long rows = getCount();
+    final long filteredRows = rows < 0 ? rows : estimateFilteredRows(rows);
+    return new Statistics() {
+      @Override
+      public OptionalLong sizeInBytes() {
+        return filteredRows < 0
+            ? OptionalLong.empty()
+            : OptionalLong.of(filteredRows * requiredSchema.defaultSize());
+      }
+
+      @Override
+      public OptionalLong numRows() {
+        // the count is only exact if nothing is filtered
+        return (rows < 0) || (filter != null) ? OptionalLong.empty() : OptionalLong.of(rows);
+      }
+    };
+  }
+
+  private long getCount() {
+    if (count == null) {
+      try {
+        final Long c =
+            storeOptions.createDataStore().aggregateStatistics(
+                StatisticsQueryBuilder.newBuilder().factory().count().dataType(typeName).build());
+        count = c != null ? c : -1L;
+      } catch (final Exception e) {
+        LOGGER.warn("Unable to read count statistics of type '" + typeName + "'", e);
+        count = -1L;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Estimate the rows matched by the pushed filter from the share of the bounding box of the type
+   * that is covered by its spatial constraints. Rows are assumed to be spread evenly over the
+   * bounding box, and only spatial constraints are taken into account.
+   */
+  private long estimateFilteredRows(final long rows) {
+    if (filter == null) {
+      return rows;
+    }
+    final ExtractGeometryFilterVisitorResult constraints =
+        ExtractGeometryFilterVisitor.getConstraints(filter, crs, geometryAttribute);
+    final Envelope dataBounds = getBounds();
+    if ((constraints == null) || (dataBounds == null)) {
+      return rows;
+    }
+    final Envelope queryBounds =
+        dataBounds.intersection(constraints.getGeometry().getEnvelopeInternal());
+    if (queryBounds.isNull()) {
+      // nothing has been written within the spatial constraints
+      return 0;
+    }
+    if (dataBounds.getArea() <= 0) {
+      return rows;
+    }
+    // a degenerate query envelope, such as a line, may still match rows
+    return Math.max(1, (long) Math.ceil((rows * queryBounds.getArea()) / dataBounds.getArea()));
+  }
+
+  private Envelope getBounds() {
+    if (!boundsRead) {
+      try {
+        bounds = FeatureGeometryUtils.getGeoBounds(storeOptions, typeName, geometryAttribute);
+      } catch (final Exception e) {
+        LOGGER.warn("Unable to read bounding box statistics of type '" + typeName + "'", e);
+      }
+      boundsRead = true;
+    }
+    return bounds;
+  }
+
+  @Override
+  public List<DataReaderFactory<Row>> createDataReaderFactories() {
+    VectorQueryBuilder queryBuilder = VectorQueryBuilder.newBuilder().addTypeName(typeName);
+    if (filter != null) {
+      queryBuilder =
+          queryBuilder.constraints(queryBuilder.constraintsFactory().filterConstraints(filter));
+    }
+    final String[] columns = requiredSchema.fieldNames();
+    final String[] fieldNames = new String[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      fieldNames[i] = attributeNames.get(columns[i]);
+    }
+    if (columns.length < schema.size()) {
+      // at least one field has to be read to produce a row for every feature
+      queryBuilder =
+          queryBuilder.subsetFields(
+              typeName,
+              fieldNames.length > 0 ? fieldNames : new String[] {geometryAttribute});
+    }
+    final RDDOptions rddOptions = new RDDOptions();
+    rddOptions.setQuery(queryBuilder.build());
+    rddOptions.setMinSplits(minSplits);
+    rddOptions.setMaxSplits(maxSplits);
+    final Configuration conf =
+        GeoWaveRDDLoader.getInputConfiguration(
+            SparkContext.getOrCreate(),
+            storeOptions,
+            rddOptions);
+
+    final List<InputSplit> splits;
+    try {
+      splits =
+          new GeoWaveInputFormat<SimpleFeature>().getSplits(
+              new JobContextImpl(conf, new JobID()));
+    } catch (IOException | InterruptedException e) {
+      throw new RuntimeException("Unable to compute the splits of type '" + typeName + "'", e);
+    }
+    final SerializableWritable<Configuration> serializableConf = new SerializableWritable<>(conf);
+    final List<DataReaderFactory<Row>> factories = new ArrayList<>(splits.size());
+    for (final InputSplit split : splits) {
+      factories.add(
+          new GeoWaveDataReaderFactory(
+              serializableConf,
+              (GeoWaveInputSplit) split,
+              requiredSchema,
+              fieldNames));
+    }
+    return factories;
+  }
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.And;
+import org.apache.spark.sql.catalyst.expressions.AttributeReference;
+import org.apache.spark.sql.catalyst.expressions.Expression;
+import org.apache.spark.sql.catalyst.expressions.LessThan;
+import org.apache.spark.sql.catalyst.expressions.LessThanOrEqual;
+import org.apache.spark.sql.catalyst.expressions.Or;
+import org.apache.spark.sql.catalyst.expressions.ScalaUDF;
+import org.apache.spark.sql.execution.datasources.DataSourceStrategy;
+import org.apache.spark.sql.sources.EqualNullSafe;
+import org.apache.spark.sql.sources.EqualTo;
+import org.apache.spark.sql.sources.GreaterThan;
+import org.apache.spark.sql.sources.GreaterThanOrEqual;
+import org.apache.spark.sql.sources.In;
+import org.apache.spark.sql.sources.IsNotNull;
+import org.apache.spark.sql.sources.IsNull;
+import org.apache.spark.sql.sources.Not;
+import org.apache.spark.sql.sources.StringContains;
+import org.apache.spark.sql.sources.StringEndsWith;
+import org.apache.spark.sql.sources.StringStartsWith;
+import org.geotools.factory.CommonFactoryFinder;
+import org.locationtech.geowave.analytic.spark.sparksql.GeoWaveSpatialEncoders;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunction;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.UDFRegistrySPI;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.UDFRegistrySPI.UDFNameAndConstructor;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.expression.PropertyName;
+import scala.Option;
+
+/**
+ * Converts Spark SQL filter expressions into OGC filters on the attributes of a feature type so
+ * they can be used as GeoWave query constraints. A converted filter always matches every row the
+ * expression matches, but may match more, so the expressions must still be evaluated by Spark.
+ */
+public class GeoWaveFilterConverter {
+  private static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+  private static final String GEOM_DISTANCE = "GeomDistance";
+  private static final String GEOM_DISJOINT = "GeomDisjoint";
+
+  private final Map<String, String> attributeNames;
+  private final String geometryColumn;
+  private final String geometryAttribute;
+
+  /**
+   * @param attributeNames the attribute names of the feature type keyed by their column names
+   * @param geometryColumn the column name of the default geometry
+   * @param geometryAttribute the attribute name of the default geometry
+   */
+  public GeoWaveFilterConverter(
+      final Map<String, String> attributeNames,
+      final String geometryColumn,
+      final String geometryAttribute) {
+    this.attributeNames = attributeNames;
+    this.geometryColumn = geometryColumn;
+    this.geometryAttribute = geometryAttribute;
+  }
+
+  /**
+   * @param expression the filter expression
+   * @return an OGC filter matching at least every row the expression matches, or null if the
+   *         expression can not be converted
+   */
+  public Filter convert(final Expression expression) {
+    if (expression instanceof And) {
+      // either side alone is still a superset of the conjunction
+      final Filter left = convert(((And) expression).left());
+      final Filter right = convert(((And) expression).right());
+      if ((left != null) && (right != null)) {
+        return FF.and(left, right);
+      }
+      return left != null ? left : right;
+    }
+    if (expression instanceof Or) {
+      final Filter left = convert(((Or) expression).left());
+      final Filter right = convert(((Or) expression).right());
+      if ((left != null) && (right != null)) {
+        return FF.or(left, right);
+      }
+      return null;
+    }
+    if (expression instanceof ScalaUDF) {
+      return convertSpatialPredicate((ScalaUDF) expression);
+    }
+    if ((expression instanceof LessThan) || (expression instanceof LessThanOrEqual)) {
+      final Filter distance =
+          convertDistance(expression.children().apply(0), expression.children().apply(1));
+      if (distance != null) {
+        return distance;
+      }
+    }
+    final Option<org.apache.spark.sql.sources.Filter> filter =
+        DataSourceStrategy.translateFilter(expression);
+    return filter.isDefined() ? convert(filter.get()) : null;
+  }
+
+  private Filter convertSpatialPredicate(final ScalaUDF udf) {
+    if (!udf.udfName().isDefined() || GEOM_DISJOINT.equals(udf.udfName().get())) {
+      return null;
+    }
+    final UDFNameAndConstructor function = UDFRegistrySPI.findFunctionByName(udf.udfName().get());
+    if ((function == null) || (udf.children().size() != 2)) {
+      return null;
+    }
+    final Geometry geometry = getGeometryConstant(udf.children().apply(0), udf.children().apply(1));
+    if (geometry == null) {
+      return null;
+    }
+    // every supported predicate other than disjoint requires the geometries to intersect within
+    // the buffer of the function
+    final GeomFunction predicate = function.getPredicateConstructor().get();
+    return intersects(geometry, predicate.getBufferAmount());
+  }
+
+  private Filter convertDistance(final Expression distance, final Expression radius) {
+    if (!(distance instanceof ScalaUDF) || !isConstant(radius)) {
+      return null;
+    }
+    final ScalaUDF udf = (ScalaUDF) distance;
+    if (!udf.udfName().isDefined()
+        || !GEOM_DISTANCE.equals(udf.udfName().get())
+        || (udf.children().size() != 2)) {
+      return null;
+    }
+    final Object radiusValue = radius.eval(null);
+    if (!(radiusValue instanceof Number)) {
+      return null;
+    }
+    final Geometry geometry = getGeometryConstant(udf.children().apply(0), udf.children().apply(1));
+    if (geometry == null) {
+      return null;
+    }
+    return intersects(geometry, ((Number) radiusValue).doubleValue());
+  }
+
+  private Filter intersects(final Geometry geometry, final double buffer) {
+    return FF.intersects(
+        FF.property(geometryAttribute),
+        FF.literal(buffer > 0 ? geometry.buffer(buffer) : geometry));
+  }
+
+  /**
+   * @return the constant geometry if one argument is the geometry column and the other is constant
+   */
+  private Geometry getGeometryConstant(final Expression arg1, final Expression arg2) {
+    final Expression constant;
+    if (isGeometryColumn(arg1)) {
+      constant = arg2;
+    } else if (isGeometryColumn(arg2)) {
+      constant = arg1;
+    } else {
+      return null;
+    }
+    if (!isConstant(constant)) {
+      return null;
+    }
+    final Object value = constant.eval(null);
+    if (!(value instanceof InternalRow)) {
+      return null;
+    }
+    return GeoWaveSpatialEncoders.geometryUDT.deserialize(value);
+  }
+
+  private boolean isGeometryColumn(final Expression expression) {
+    return (expression instanceof AttributeReference)
+        && geometryColumn.equals(((AttributeReference) expression).name());
+  }
+
+  private static boolean isConstant(final Expression expression) {
+    return expression.references().isEmpty() && expression.deterministic();
+  }
+
+  /**
+   * @return the exact OGC filter of a data source filter, or null if any part of it can not be
+   *         converted
+   */
+  private Filter convert(final org.apache.spark.sql.sources.Filter filter) {
+    if (filter instanceof org.apache.spark.sql.sources.And) {
+      final Filter left = convert(((org.apache.spark.sql.sources.And) filter).left());
+      final Filter right = convert(((org.apache.spark.sql.sources.And) filter).right());
+      return (left != null) && (right != null) ? FF.and(left, right) : null;
+    }
+    if (filter instanceof org.apache.spark.sql.sources.Or) {
+      final Filter left = convert(((org.apache.spark.sql.sources.Or) filter).left());
+      final Filter right = convert(((org.apache.spark.sql.sources.Or) filter).right());
+      return (left != null) && (right != null) ? FF.or(left, right) : null;
+    }
+    if (filter instanceof Not) {
+      final Filter child = convert(((Not) filter).child());
+      return child != null ? FF.not(child) : null;
+    }
+    if (filter instanceof EqualTo) {
+      final PropertyName property = property(((EqualTo) filter).attribute());
+      return property != null ? FF.equals(property, FF.literal(((EqualTo) filter).value())) : null;
+    }
+    if (filter instanceof EqualNullSafe) {
+      final EqualNullSafe equal = (EqualNullSafe) filter;
+      final PropertyName property = property(equal.attribute());
+      if (property == null) {
+        return null;
+      }
+      return equal.value() == null
+          ? FF.isNull(property)
+          : FF.equals(property, FF.literal(equal.value()));
+    }
+    if (filter instanceof GreaterThan) {
+      final PropertyName property = property(((GreaterThan) filter).attribute());
+      return property != null
+          ? FF.greater(property, FF.literal(((GreaterThan) filter).value()))
+          : null;
+    }
+    if (filter instanceof GreaterThanOrEqual) {
+      final PropertyName property = property(((GreaterThanOrEqual) filter).attribute());
+      return property != null
+          ? FF.greaterOrEqual(property, FF.literal(((GreaterThanOrEqual) filter).value()))
+          : null;
+    }
+    if (filter instanceof org.apache.spark.sql.sources.LessThan) {
+      final org.apache.spark.sql.sources.LessThan lessThan =
+          (org.apache.spark.sql.sources.LessThan) filter;
+      final PropertyName property = property(lessThan.attribute());
+      return property != null ? FF.less(property, FF.literal(lessThan.value())) : null;
+    }
+    if (filter instanceof org.apache.spark.sql.sources.LessThanOrEqual) {
+      final org.apache.spark.sql.sources.LessThanOrEqual lessThan =
+          (org.apache.spark.sql.sources.LessThanOrEqual) filter;
+      final PropertyName property = property(lessThan.attribute());
+      return property != null ? FF.lessOrEqual(property, FF.literal(lessThan.value())) : null;
+    }
+    if (filter instanceof In) {
+      final PropertyName property = property(((In) filter).attribute());
+      if (property == null) {
+        return null;
+      }
+      final List<Filter> equals = new ArrayList<>();
+      for (final Object value : ((In) filter).values()) {
+        equals.add(FF.equals(property, FF.literal(value)));
+      }
+      return equals.isEmpty() ? Filter.EXCLUDE : FF.or(equals);
+    }
+    if (filter instanceof IsNull) {
+      final PropertyName property = property(((IsNull) filter).attribute());
+      return property != null ? FF.isNull(property) : null;
+    }
+    if (filter instanceof IsNotNull) {
+      final PropertyName property = property(((IsNotNull) filter).attribute());
+      return property != null ? FF.not(FF.isNull(property)) : null;
+    }
+    if (filter instanceof StringStartsWith) {
+      final StringStartsWith like = (StringStartsWith) filter;
+      return like(like.attribute(), escape(like.value()) + "*");
+    }
+    if (filter instanceof StringEndsWith) {
+      final StringEndsWith like = (StringEndsWith) filter;
+      return like(like.attribute(), "*" + escape(like.value()));
+    }
+    if (filter instanceof StringContains) {
+      final StringContains like = (StringContains) filter;
+      return like(like.attribute(), "*" + escape(like.value()) + "*");
+    }
+    return null;
+  }
+
+  private Filter like(final String column, final String pattern) {
+    final PropertyName property = property(column);
+    return property != null ? FF.like(property, pattern, "*", "?", "\\", true) : null;
+  }
+
+  private static String escape(final String value) {
+    return value.replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+  }
+
+  /** @return the property of a column, or null if the column is not a non-geometry attribute */
+  private PropertyName property(final String column) {
+    if (geometryColumn.equals(column)) {
+      return null;
+    }
+    final String attributeName = attributeNames.get(column);
+    return attributeName != null ? FF.property(attributeName) : null;
+  }
+}
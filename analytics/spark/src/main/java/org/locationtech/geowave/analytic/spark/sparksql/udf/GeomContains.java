@@ -9,6 +9,7 @@
 package org.locationtech.geowave.analytic.spark.sparksql.udf;
 
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 
 public class GeomContains extends GeomFunction {
 
@@ -16,4 +17,9 @@ public class GeomContains extends GeomFunction {
   public boolean apply(Geometry geom1, Geometry geom2) {
     return geom1.contains(geom2);
   }
+
+  @Override
+  public boolean apply(final PreparedGeometry geom1, final Geometry geom2) {
+    return geom1.contains(geom2);
+  }
 }
@@ -11,9 +11,16 @@ package org.locationtech.geowave.analytic.spark.sparksql.udf;
 import org.locationtech.jts.geom.Geometry;
 
 public class GeomDisjoint extends GeomFunction {
+  private final GeomIntersects intersects = new GeomIntersects();
 
   @Override
   public boolean apply(Geometry geom1, Geometry geom2) {
     return geom1.disjoint(geom2);
   }
+
+  @Override
+  public Boolean call(final Geometry t1, final Geometry t2) throws Exception {
+    // disjoint is the complement of intersects, which can use the envelope and prepared geometry
+    return !intersects.call(t1, t2);
+  }
 }
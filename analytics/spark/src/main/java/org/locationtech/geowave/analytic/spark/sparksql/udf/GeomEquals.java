@@ -8,6 +8,7 @@
  */
 package org.locationtech.geowave.analytic.spark.sparksql.udf;
 
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 
 public class GeomEquals extends GeomFunction {
@@ -15,4 +16,9 @@ public class GeomEquals extends GeomFunction {
   public boolean apply(Geometry geom1, Geometry geom2) {
     return geom1.equals(geom2);
   }
+
+  @Override
+  protected boolean envelopesMayMatch(final Envelope env1, final Envelope env2) {
+    return env1.equals(env2);
+  }
 }
@@ -14,9 +14,17 @@ import org.locationtech.jts.io.WKTReader;
 
 /** Created by jwileczek on 8/16/18. */
 public class GeomFromWKT implements UDF1<String, Geometry> {
+  // WKT is almost always a literal, so the same geometry is returned while the text is unchanged,
+  // which lets the geometry UDT and functions recognize it as a constant by identity
+  private transient String lastWkt;
+  private transient Geometry lastGeometry;
 
   @Override
-  public Geometry call(String o) throws Exception {
-    return new WKTReader().read(o);
+  public synchronized Geometry call(String o) throws Exception {
+    if ((lastWkt == null) || !lastWkt.equals(o)) {
+      lastGeometry = new WKTReader().read(o);
+      lastWkt = o;
+    }
+    return lastGeometry;
   }
 }
@@ -8,14 +8,29 @@
  */
 package org.locationtech.geowave.analytic.spark.sparksql.udf;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.spark.sql.api.java.UDF2;
 import org.locationtech.geowave.analytic.spark.sparksql.util.GeomReader;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 
 @SuppressFBWarnings
 public abstract class GeomFunction implements UDF2<Geometry, Geometry, Boolean>, BufferOperation {
+  private static final int MAX_PREPARED_GEOMETRIES = 1000;
+  // prepared geometries are shared by every task of an executor; weak keys compare by identity, so
+  // a geometry is only reused for the same instance, such as a literal or a broadcast value, and
+  // looking up any other geometry costs no more than its identity hash
+  private static final Cache<Geometry, PreparedGeometry> PREPARED_GEOMETRIES =
+      CacheBuilder.newBuilder().weakKeys().maximumSize(MAX_PREPARED_GEOMETRIES).build();
+
   private GeomReader geomReader = new GeomReader();
+  // the previous arguments, used to detect a geometry that is repeated from one call to the next
+  private transient volatile Geometry lastGeom1;
+  private transient volatile Geometry lastGeom2;
 
   // Base GeomFunction will assume same bucket comparison
   public double getBufferAmount() {
@@ -24,12 +39,64 @@ public abstract class GeomFunction implements UDF2<Geometry, Geometry, Boolean>,
 
   @Override
   public Boolean call(Geometry t1, Geometry t2) throws Exception {
+    if (!envelopesMayMatch(t1.getEnvelopeInternal(), t2.getEnvelopeInternal())) {
+      return false;
+    }
+    final PreparedGeometry prepared1 = getPreparedGeometry(t1, lastGeom1);
+    final PreparedGeometry prepared2 = getPreparedGeometry(t2, lastGeom2);
+    lastGeom1 = t1;
+    lastGeom2 = t2;
+    if (prepared1 != null) {
+      return apply(prepared1, t2);
+    }
+    if (prepared2 != null) {
+      return apply(t1, prepared2);
+    }
     return apply(t1, t2);
   }
 
   public abstract boolean apply(Geometry geom1, Geometry geom2);
 
+  /**
+   * Apply the predicate with the first geometry prepared. Predicates that benefit from an indexed
+   * geometry should override this, by default it is the same as the unprepared predicate.
+   */
+  public boolean apply(PreparedGeometry geom1, Geometry geom2) {
+    return apply(geom1.getGeometry(), geom2);
+  }
+
+  /**
+   * Apply the predicate with the second geometry prepared. Predicates that benefit from an indexed
+   * geometry should override this, by default it is the same as the unprepared predicate.
+   */
+  public boolean apply(Geometry geom1, PreparedGeometry geom2) {
+    return apply(geom1, geom2.getGeometry());
+  }
+
+  /**
+   * A cheap test on the envelopes of the geometries that is run before the full predicate.
+   *
+   * @return false if the predicate can not be true for geometries with these envelopes
+   */
+  protected boolean envelopesMayMatch(Envelope env1, Envelope env2) {
+    final double buffer = getBufferAmount();
+    return buffer > 0 ? env1.distance(env2) <= buffer : env1.intersects(env2);
+  }
+
   public String getRegisterName() {
     return this.getClass().getSimpleName();
   }
+
+  private static PreparedGeometry getPreparedGeometry(
+      final Geometry geom,
+      final Geometry lastGeom) {
+    PreparedGeometry prepared = PREPARED_GEOMETRIES.getIfPresent(geom);
+    // only prepare a geometry once it is seen again, preparing every row would cost more than it
+    // saves, and points are not worth preparing
+    if ((prepared == null) && (geom == lastGeom) && (geom.getDimension() > 0)) {
+      prepared = PreparedGeometryFactory.prepare(geom);
+      PREPARED_GEOMETRIES.put(geom, prepared);
+    }
+    return prepared;
+  }
 }
@@ -9,6 +9,7 @@
 package org.locationtech.geowave.analytic.spark.sparksql.udf;
 
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 
 public class GeomIntersects extends GeomFunction {
 
@@ -16,4 +17,14 @@ public class GeomIntersects extends GeomFunction {
   public boolean apply(Geometry geom1, Geometry geom2) {
     return geom1.intersects(geom2);
   }
+
+  @Override
+  public boolean apply(final PreparedGeometry geom1, final Geometry geom2) {
+    return geom1.intersects(geom2);
+  }
+
+  @Override
+  public boolean apply(final Geometry geom1, final PreparedGeometry geom2) {
+    return geom2.intersects(geom1);
+  }
 }
@@ -9,10 +9,16 @@
 package org.locationtech.geowave.analytic.spark.sparksql.udf;
 
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 
 public class GeomWithin extends GeomFunction {
   @Override
   public boolean apply(Geometry geom1, Geometry geom2) {
     return geom1.within(geom2);
   }
+
+  @Override
+  public boolean apply(final Geometry geom1, final PreparedGeometry geom2) {
+    return geom2.contains(geom1);
+  }
 }
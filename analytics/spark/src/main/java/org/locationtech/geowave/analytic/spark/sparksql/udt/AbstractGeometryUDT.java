@@ -23,6 +23,12 @@ import org.locationtech.jts.io.ParseException;
 
 /** Created by jwileczek on 7/20/18. */
 public abstract class AbstractGeometryUDT<T extends Geometry> extends UserDefinedType<T> {
+  // a constant such as a literal is the same geometry and the same bytes for every row, so the last
+  // geometry written and read on each thread is reused for the same instance, shared by the rows
+  // like any other Spark constant; other values are decoded without comparing their contents
+  private static final ThreadLocal<Object[]> LAST_SERIALIZED = new ThreadLocal<>();
+  private static final ThreadLocal<Object[]> LAST_DESERIALIZED = new ThreadLocal<>();
+
   @Override
   public DataType sqlType() {
     return new StructType(
@@ -36,8 +42,15 @@ public abstract class AbstractGeometryUDT<T extends Geometry> extends UserDefine
 
   @Override
   public InternalRow serialize(T obj) {
-    byte[] bytes = new TWKBWriter().write(obj);
-    InternalRow returnRow = new GenericInternalRow(bytes.length);
+    final Object[] last = LAST_SERIALIZED.get();
+    byte[] bytes;
+    if ((last != null) && (last[0] == obj)) {
+      bytes = (byte[]) last[1];
+    } else {
+      bytes = new TWKBWriter().write(obj);
+      LAST_SERIALIZED.set(new Object[] {obj, bytes});
+    }
+    InternalRow returnRow = new GenericInternalRow(1);
     returnRow.update(0, bytes);
     return returnRow;
   }
@@ -47,8 +60,13 @@ public abstract class AbstractGeometryUDT<T extends Geometry> extends UserDefine
     T geom = null;
     InternalRow row = (InternalRow) datum;
     byte[] bytes = row.getBinary(0);
+    final Object[] last = LAST_DESERIALIZED.get();
+    if ((last != null) && (last[0] == bytes)) {
+      return (T) last[1];
+    }
     try {
       geom = (T) new TWKBReader().read(bytes);
+      LAST_DESERIALIZED.set(new Object[] {bytes, geom});
     } catch (ParseException e) {
       e.printStackTrace();
     }
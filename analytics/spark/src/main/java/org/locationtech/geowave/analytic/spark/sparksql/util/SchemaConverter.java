@@ -30,6 +30,8 @@ import org.slf4j.LoggerFactory;
 
 public class SchemaConverter {
   private static final Logger LOGGER = LoggerFactory.getLogger(SchemaConverter.class);
+  /** The name of the column of geometry attributes */
+  public static final String GEOMETRY_COLUMN = "geom";
 
   public static SimpleFeatureType schemaToFeatureType(StructType schema, String typeName) {
     final SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
@@ -55,8 +57,9 @@ public class SchemaConverter {
   private static AttributeDescriptor attrDescFromStructField(
       AttributeTypeBuilder attrBuilder,
       StructField field) {
-    if (field.name().equals("geom")) {
-      return attrBuilder.binding(Geometry.class).nillable(false).buildDescriptor("geom");
+    if (field.name().equals(GEOMETRY_COLUMN)) {
+      return attrBuilder.binding(Geometry.class).nillable(false).buildDescriptor(
+          GEOMETRY_COLUMN);
     }
     if (field.dataType() == DataTypes.StringType) {
       return attrBuilder.binding(String.class).buildDescriptor(field.name());
@@ -83,7 +86,7 @@ public class SchemaConverter {
     for (AttributeDescriptor attrDesc : featureType.getAttributeDescriptors()) {
       SimpleFeatureDataType sfDataType = attrDescToDataType(attrDesc);
 
-      String fieldName = (sfDataType.isGeom() ? "geom" : attrDesc.getName().getLocalPart());
+      String fieldName = (sfDataType.isGeom() ? GEOMETRY_COLUMN : attrDesc.getName().getLocalPart());
 
       StructField field = DataTypes.createStructField(fieldName, sfDataType.getDataType(), true);
 
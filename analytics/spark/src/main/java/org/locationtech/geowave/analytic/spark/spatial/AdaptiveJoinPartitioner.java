@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.spatial;
+
+import java.io.Serializable;
+import java.util.Map;
+import org.apache.spark.Partitioner;
+import org.locationtech.geowave.core.index.ByteArray;
+import scala.Tuple2;
+
+/**
+ * Partitions the cells of a tiered join by their estimated cardinality. Join keys are pairs of a
+ * cell ID and a sub-partition. Cells that are too large for one task (hot cells) are split across
+ * several consecutive partitions: the larger side of the cell is spread over the sub-partitions and
+ * the smaller side is replicated to each of them. All other cells use sub-partition 0 and are
+ * hashed into a number of partitions sized by their total cardinality, packing small cells
+ * together.
+ */
+public class AdaptiveJoinPartitioner extends Partitioner {
+  private static final long serialVersionUID = 1L;
+
+  private final int coldPartitions;
+  private final int numPartitions;
+  private final Map<ByteArray, HotCell> hotCells;
+
+  /**
+   * @param coldPartitions the number of partitions shared by the cells that are not split
+   * @param hotCells the cells to split, with their first partition offset from the cold partitions
+   */
+  public AdaptiveJoinPartitioner(final int coldPartitions, final Map<ByteArray, HotCell> hotCells) {
+    this.coldPartitions = coldPartitions;
+    this.hotCells = hotCells;
+    int partitions = coldPartitions;
+    for (final HotCell cell : hotCells.values()) {
+      partitions = Math.max(partitions, cell.firstPartition + cell.subPartitions);
+    }
+    numPartitions = partitions;
+  }
+
+  @Override
+  public int numPartitions() {
+    return numPartitions;
+  }
+
+  @Override
+  public int getPartition(final Object key) {
+    @SuppressWarnings("unchecked")
+    final Tuple2<ByteArray, Integer> cellKey = (Tuple2<ByteArray, Integer>) key;
+    final HotCell cell = hotCells.get(cellKey._1);
+    if (cell != null) {
+      return cell.firstPartition + cellKey._2;
+    }
+    final int mod = cellKey._1.hashCode() % coldPartitions;
+    return mod < 0 ? mod + coldPartitions : mod;
+  }
+
+  /**
+   * @param cellId the ID of the cell
+   * @return the hot cell, or null if the cell is not split
+   */
+  public HotCell getHotCell(final ByteArray cellId) {
+    return hotCells.get(cellId);
+  }
+
+  public int getHotCellCount() {
+    return hotCells.size();
+  }
+
+  /** The partitions a hot cell is split into and which side of the join is split. */
+  public static class HotCell implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int firstPartition;
+    private final int subPartitions;
+    private final boolean splitLeft;
+
+    public HotCell(final int firstPartition, final int subPartitions, final boolean splitLeft) {
+      this.firstPartition = firstPartition;
+      this.subPartitions = subPartitions;
+      this.splitLeft = splitLeft;
+    }
+
+    public int getSubPartitions() {
+      return subPartitions;
+    }
+
+    /** @return true if the left side is spread over the sub-partitions and the right replicated */
+    public boolean isSplitLeft() {
+      return splitLeft;
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.spatial;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.util.AccumulatorV2;
+import org.locationtech.geowave.analytic.spark.GeoWaveIndexedRDD;
+import org.locationtech.geowave.analytic.spark.GeoWaveRDD;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunction;
+import org.locationtech.geowave.analytic.spark.spatial.JoinOptions.BuildSide;
+import org.locationtech.geowave.core.index.NumericIndexStrategy;
+import org.locationtech.geowave.mapreduce.input.GeoWaveInputKey;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.opengis.feature.simple.SimpleFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Tuple2;
+
+/**
+ * Joins a small data set against a large one without shuffling either of them. The geometries of
+ * the build side are collected and broadcast, each executor indexes them once in an STRtree of
+ * prepared geometries, and every feature of the other side probes the tree where it is.
+ */
+public class BroadcastSpatialJoin extends JoinStrategy {
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastSpatialJoin.class);
+
+  public BroadcastSpatialJoin() {}
+
+  @Override
+  public void join(
+      final SparkSession spark,
+      final GeoWaveIndexedRDD leftRDD,
+      final GeoWaveIndexedRDD rightRDD,
+      final GeomFunction predicate) {
+    final JavaSparkContext javaSC = JavaSparkContext.fromSparkContext(spark.sparkContext());
+    final boolean buildLeft = getJoinOptions().getJoinBuildSide() == BuildSide.LEFT;
+    final GeoWaveRDD buildRDD = buildLeft ? leftRDD.getGeoWaveRDD() : rightRDD.getGeoWaveRDD();
+    final GeoWaveRDD probeRDD = buildLeft ? rightRDD.getGeoWaveRDD() : leftRDD.getGeoWaveRDD();
+    final boolean negative = getJoinOptions().isNegativePredicate();
+
+    final List<Tuple2<GeoWaveInputKey, Geometry>> buildGeometries =
+        new ArrayList<>(
+            buildRDD.getRawRDD().filter(t -> t._2.getDefaultGeometry() != null).mapToPair(
+                t -> new Tuple2<>(t._1, (Geometry) t._2.getDefaultGeometry())).collect());
+    LOGGER.debug("Broadcasting " + buildGeometries.size() + " geometries for spatial join");
+
+    final Broadcast<BroadcastSpatialIndex> broadcastIndex =
+        javaSC.broadcast(new BroadcastSpatialIndex(buildGeometries));
+    final Broadcast<GeomFunction> geomPredicate = javaSC.broadcast(predicate);
+    final double bufferDistance = predicate.getBufferAmount();
+    final KeySetAccumulator matchedBuildKeys = new KeySetAccumulator();
+    spark.sparkContext().register(matchedBuildKeys, "Spatial join matched broadcast features");
+
+    final JavaPairRDD<GeoWaveInputKey, SimpleFeature> probeResults =
+        probeRDD.getRawRDD().filter(t -> {
+          final Geometry geom = (Geometry) t._2.getDefaultGeometry();
+          if (geom == null) {
+            return negative;
+          }
+          final List<GeoWaveInputKey> matches =
+              broadcastIndex.value().query(geom, bufferDistance, geomPredicate.value(), buildLeft);
+          for (final GeoWaveInputKey key : matches) {
+            matchedBuildKeys.add(key);
+          }
+          return matches.isEmpty() == negative;
+        }).cache();
+    // Evaluate every partition now, the matches of the build side are only complete afterwards
+    final long probeCount = probeResults.count();
+
+    final Broadcast<Set<GeoWaveInputKey>> matched =
+        javaSC.broadcast(new HashSet<>(matchedBuildKeys.value()));
+    final JavaPairRDD<GeoWaveInputKey, SimpleFeature> buildResults =
+        buildRDD.getRawRDD().filter(t -> matched.value().contains(t._1) != negative).cache();
+    LOGGER.debug(
+        "Spatial join matched "
+            + probeCount
+            + " probe features and "
+            + matched.value().size()
+            + " broadcast features");
+
+    if (buildLeft) {
+      setLeftResults(new GeoWaveRDD(buildResults));
+      setRightResults(new GeoWaveRDD(probeResults));
+    } else {
+      setLeftResults(new GeoWaveRDD(probeResults));
+      setRightResults(new GeoWaveRDD(buildResults));
+    }
+  }
+
+  @Override
+  public boolean supportsJoin(final NumericIndexStrategy indexStrategy) {
+    // the join does not use the index at all
+    return true;
+  }
+
+  @Override
+  public NumericIndexStrategy createDefaultStrategy(final NumericIndexStrategy indexStrategy) {
+    return indexStrategy;
+  }
+
+  /**
+   * The broadcast geometries. The STRtree of prepared geometries is not serializable, so it is
+   * built the first time an executor queries its copy of the broadcast value.
+   */
+  private static class BroadcastSpatialIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final List<Tuple2<GeoWaveInputKey, Geometry>> geometries;
+    private transient STRtree tree;
+
+    public BroadcastSpatialIndex(final List<Tuple2<GeoWaveInputKey, Geometry>> geometries) {
+      this.geometries = geometries;
+    }
+
+    private synchronized STRtree getTree() {
+      if (tree == null) {
+        final STRtree newTree = new STRtree();
+        for (final Tuple2<GeoWaveInputKey, Geometry> entry : geometries) {
+          newTree.insert(
+              entry._2.getEnvelopeInternal(),
+              new Tuple2<>(entry._1, PreparedGeometryFactory.prepare(entry._2)));
+        }
+        newTree.build();
+        tree = newTree;
+      }
+      return tree;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<GeoWaveInputKey> query(
+        final Geometry geom,
+        final double bufferDistance,
+        final GeomFunction predicate,
+        final boolean indexedLeft) {
+      final Envelope envelope = new Envelope(geom.getEnvelopeInternal());
+      envelope.expandBy(bufferDistance);
+      final List<GeoWaveInputKey> matches = new ArrayList<>();
+      for (final Object item : getTree().query(envelope)) {
+        final Tuple2<GeoWaveInputKey, PreparedGeometry> entry =
+            (Tuple2<GeoWaveInputKey, PreparedGeometry>) item;
+        if (indexedLeft ? predicate.apply(entry._2, geom) : predicate.apply(geom, entry._2)) {
+          matches.add(entry._1);
+        }
+      }
+      return matches;
+    }
+  }
+
+  /**
+   * Collects the distinct keys of the matched build side features. A set is bounded by the size of
+   * the build side and is unaffected by tasks that are run more than once.
+   */
+  private static class KeySetAccumulator extends
+      AccumulatorV2<GeoWaveInputKey, Set<GeoWaveInputKey>> {
+    private static final long serialVersionUID = 1L;
+    private final Set<GeoWaveInputKey> keys = new HashSet<>();
+
+    @Override
+    public boolean isZero() {
+      return keys.isEmpty();
+    }
+
+    @Override
+    public AccumulatorV2<GeoWaveInputKey, Set<GeoWaveInputKey>> copy() {
+      final KeySetAccumulator copy = new KeySetAccumulator();
+      copy.keys.addAll(keys);
+      return copy;
+    }
+
+    @Override
+    public void reset() {
+      keys.clear();
+    }
+
+    @Override
+    public void add(final GeoWaveInputKey key) {
+      keys.add(key);
+    }
+
+    @Override
+    public void merge(final AccumulatorV2<GeoWaveInputKey, Set<GeoWaveInputKey>> other) {
+      keys.addAll(other.value());
+    }
+
+    @Override
+    public Set<GeoWaveInputKey> value() {
+      return keys;
+    }
+  }
+}
@@ -16,8 +16,14 @@ public class JoinOptions implements Serializable {
     LEFT, RIGHT;
   }
 
+  public static final long DEFAULT_PARTITION_TARGET_SIZE = 100000L;
+  public static final double DEFAULT_SAMPLE_FRACTION = 0.01;
+
   private BuildSide joinBuildSide = BuildSide.LEFT;
   private boolean negativePredicate = false;
+  private boolean adaptivePartitioning = false;
+  private long partitionTargetSize = DEFAULT_PARTITION_TARGET_SIZE;
+  private double sampleFraction = DEFAULT_SAMPLE_FRACTION;
 
   public JoinOptions() {}
 
@@ -40,4 +46,34 @@ public class JoinOptions implements Serializable {
   public void setJoinBuildSide(BuildSide joinBuildSide) {
     this.joinBuildSide = joinBuildSide;
   }
+
+  public boolean isAdaptivePartitioning() {
+    return adaptivePartitioning;
+  }
+
+  /**
+   * Partition the cells of the join by their sampled cardinality rather than by hash, splitting
+   * cells that are too large for a single task and packing small cells together.
+   */
+  public void setAdaptivePartitioning(boolean adaptivePartitioning) {
+    this.adaptivePartitioning = adaptivePartitioning;
+  }
+
+  public long getPartitionTargetSize() {
+    return partitionTargetSize;
+  }
+
+  /** The number of records an adaptive join partition should hold. */
+  public void setPartitionTargetSize(long partitionTargetSize) {
+    this.partitionTargetSize = partitionTargetSize;
+  }
+
+  public double getSampleFraction() {
+    return sampleFraction;
+  }
+
+  /** The fraction of each indexed data set to sample for cell cardinalities. */
+  public void setSampleFraction(double sampleFraction) {
+    this.sampleFraction = sampleFraction;
+  }
 }
@@ -26,10 +26,17 @@ import org.locationtech.geowave.analytic.spark.GeoWaveSparkConf;
 import org.locationtech.geowave.analytic.spark.RDDOptions;
 import org.locationtech.geowave.analytic.spark.RDDUtils;
 import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunction;
+import org.locationtech.geowave.analytic.spark.spatial.JoinOptions.BuildSide;
 import org.locationtech.geowave.core.index.NumericIndexStrategy;
+import org.locationtech.geowave.core.store.CloseableIterator;
 import org.locationtech.geowave.core.store.adapter.InternalAdapterStore;
+import org.locationtech.geowave.core.store.adapter.statistics.InternalDataStatistics;
+import org.locationtech.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
+import org.locationtech.geowave.core.store.adapter.statistics.histogram.NumericHistogram;
 import org.locationtech.geowave.core.store.api.Index;
 import org.locationtech.geowave.core.store.api.QueryBuilder;
+import org.locationtech.geowave.core.store.api.StatisticsQuery;
+import org.locationtech.geowave.core.store.api.StatisticsQueryBuilder;
 import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
 import org.locationtech.geowave.core.store.index.IndexStore;
 import org.slf4j.Logger;
@@ -40,6 +47,8 @@ public class SpatialJoinRunner implements Serializable {
   private static final long serialVersionUID = 1L;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SpatialJoinRunner.class);
+  // broadcast joins are opt-in, a negative threshold always uses the tiered join
+  public static final long DEFAULT_BROADCAST_THRESHOLD = -1L;
 
   // Options provided by user to run join
   private SparkSession session = null;
@@ -55,6 +64,9 @@ public class SpatialJoinRunner implements Serializable {
   private String rightAdapterTypeName = null;
   private String outRightAdapterTypeName = null;
   private boolean negativeTest = false;
+  private boolean adaptivePartitioning = false;
+  private long partitionTargetSize = JoinOptions.DEFAULT_PARTITION_TARGET_SIZE;
+  private double sampleFraction = JoinOptions.DEFAULT_SAMPLE_FRACTION;
 
   private transient DataStorePluginOptions outputStore = null;
   private GeomFunction predicate = null;
@@ -72,12 +84,10 @@ public class SpatialJoinRunner implements Serializable {
   private transient IndexStore leftIndexStore;
   private transient IndexStore rightIndexStore;
 
-  // TODO: Join strategy could be supplied as variable or determined
-  // automatically from index store (would require associating index and join
-  // strategy)
-  // for now will just use TieredSpatialJoin as that is the only one we have
-  // implemented.
-  private final JoinStrategy joinStrategy = new TieredSpatialJoin();
+  // Chosen when the join is run, a broadcast join is used when the count statistics show that
+  // one side is small enough, otherwise a tiered join
+  private JoinStrategy joinStrategy = null;
+  private long broadcastThreshold = DEFAULT_BROADCAST_THRESHOLD;
 
   public SpatialJoinRunner() {}
 
@@ -97,8 +107,24 @@ public class SpatialJoinRunner implements Serializable {
     // Verify CRS match/transform possible
     verifyCRS();
     // Run join
-
+    joinStrategy = createJoinStrategy();
     joinStrategy.getJoinOptions().setNegativePredicate(negativeTest);
+    joinStrategy.getJoinOptions().setAdaptivePartitioning(adaptivePartitioning);
+    joinStrategy.getJoinOptions().setPartitionTargetSize(partitionTargetSize);
+    joinStrategy.getJoinOptions().setSampleFraction(sampleFraction);
+    if (adaptivePartitioning && (joinStrategy instanceof TieredSpatialJoin)) {
+      ((TieredSpatialJoin) joinStrategy).setRowRangeHistograms(
+          getRowRangeHistogram(
+              leftStore,
+              leftAdapterTypeName,
+              leftInternalAdapterStore,
+              leftIndexStore),
+          getRowRangeHistogram(
+              rightStore,
+              rightAdapterTypeName,
+              rightInternalAdapterStore,
+              rightIndexStore));
+    }
     joinStrategy.join(session, leftRDD, rightRDD, predicate);
 
     writeResultsToNewAdapter();
@@ -120,6 +146,83 @@ public class SpatialJoinRunner implements Serializable {
         internalAdapterStore.getAdapterId(typeName)).getIndices(indexStore);
   }
 
+  private JoinStrategy createJoinStrategy() {
+    final long leftCount = getCount(leftStore, leftAdapterTypeName);
+    final long rightCount = getCount(rightStore, rightAdapterTypeName);
+    // broadcast the smaller side if it is below the threshold
+    BuildSide broadcastSide = null;
+    if ((rightCount >= 0) && (rightCount <= broadcastThreshold)) {
+      broadcastSide =
+          (leftCount >= 0) && (leftCount < rightCount) ? BuildSide.LEFT : BuildSide.RIGHT;
+    } else if ((leftCount >= 0) && (leftCount <= broadcastThreshold)) {
+      broadcastSide = BuildSide.LEFT;
+    }
+    if (broadcastSide == null) {
+      return new TieredSpatialJoin();
+    }
+    LOGGER.info(
+        "Using a broadcast join with the "
+            + broadcastSide
+            + " side, the data sets have "
+            + leftCount
+            + " and "
+            + rightCount
+            + " features");
+    final JoinStrategy broadcastJoin = new BroadcastSpatialJoin();
+    broadcastJoin.getJoinOptions().setJoinBuildSide(broadcastSide);
+    return broadcastJoin;
+  }
+
+  private long getCount(final DataStorePluginOptions storeOptions, final String typeName) {
+    if (typeName == null) {
+      return -1;
+    }
+    try {
+      final Long count =
+          storeOptions.createDataStore().aggregateStatistics(
+              StatisticsQueryBuilder.newBuilder().factory().count().dataType(typeName).build());
+      return count != null ? count : -1;
+    } catch (final Exception e) {
+      LOGGER.warn("Unable to read count statistics of type '" + typeName + "'", e);
+      return -1;
+    }
+  }
+
+  private RowRangeHistogramStatistics<?> getRowRangeHistogram(
+      final DataStorePluginOptions storeOptions,
+      final String typeName,
+      final InternalAdapterStore internalAdapterStore,
+      final IndexStore indexStore) {
+    // the histogram only describes the data set if it is indexed the same way it is stored
+    if ((typeName == null) || (indexStrategy != null)) {
+      return null;
+    }
+    final Index[] indices =
+        getIndicesForAdapter(storeOptions, typeName, internalAdapterStore, indexStore);
+    if ((indices.length == 0) || (indices[0].getIndexStrategy().getPartitionKeyLength() > 0)) {
+      return null;
+    }
+    final StatisticsQuery<NumericHistogram> statsQuery =
+        StatisticsQueryBuilder.newBuilder().factory().rowHistogram().indexName(
+            indices[0].getName()).build();
+    RowRangeHistogramStatistics<?> histogram = null;
+    try (final CloseableIterator<InternalDataStatistics<?, ?, ?>> it =
+        storeOptions.createDataStatisticsStore().getDataStatistics(
+            internalAdapterStore.getAdapterId(typeName),
+            statsQuery.getExtendedId(),
+            statsQuery.getStatsType())) {
+      while (it.hasNext()) {
+        final RowRangeHistogramStatistics<?> stats = (RowRangeHistogramStatistics<?>) it.next();
+        if (histogram == null) {
+          histogram = stats;
+        } else {
+          histogram.merge(stats);
+        }
+      }
+    }
+    return histogram;
+  }
+
   private FeatureDataAdapter createOutputAdapter(
       final DataStorePluginOptions originalOptions,
       final String originalTypeName,
@@ -281,11 +384,11 @@ public class SpatialJoinRunner implements Serializable {
 
   // Accessors and Mutators
   public GeoWaveRDD getLeftResults() {
-    return joinStrategy.getLeftResults();
+    return joinStrategy != null ? joinStrategy.getLeftResults() : null;
   }
 
   public GeoWaveRDD getRightResults() {
-    return joinStrategy.getRightResults();
+    return joinStrategy != null ? joinStrategy.getRightResults() : null;
   }
 
   public DataStorePluginOptions getLeftStore() {
@@ -411,4 +514,43 @@ public class SpatialJoinRunner implements Serializable {
   public void setNegativeTest(final boolean negativeTest) {
     this.negativeTest = negativeTest;
   }
+
+  public boolean isAdaptivePartitioning() {
+    return adaptivePartitioning;
+  }
+
+  public void setAdaptivePartitioning(final boolean adaptivePartitioning) {
+    this.adaptivePartitioning = adaptivePartitioning;
+  }
+
+  public long getPartitionTargetSize() {
+    return partitionTargetSize;
+  }
+
+  /** The number of records an adaptive join partition should hold. */
+  public void setPartitionTargetSize(final long partitionTargetSize) {
+    this.partitionTargetSize = partitionTargetSize;
+  }
+
+  public double getSampleFraction() {
+    return sampleFraction;
+  }
+
+  /** The fraction of each side of an adaptive join to sample for cell cardinalities. */
+  public void setSampleFraction(final double sampleFraction) {
+    this.sampleFraction = sampleFraction;
+  }
+
+  public long getBroadcastThreshold() {
+    return broadcastThreshold;
+  }
+
+  /**
+   * Set the largest number of features, according to the count statistics, a side of the join
+   * can have to be broadcast rather than joined with a tiered join. Use a negative threshold to
+   * always use a tiered join.
+   */
+  public void setBroadcastThreshold(final long broadcastThreshold) {
+    this.broadcastThreshold = broadcastThreshold;
+  }
 }
@@ -9,10 +9,13 @@
 package org.locationtech.geowave.analytic.spark.spatial;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.spark.HashPartitioner;
@@ -26,10 +29,12 @@ import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.sql.SparkSession;
 import org.apache.spark.storage.StorageLevel;
+import org.apache.spark.util.LongAccumulator;
 import org.locationtech.geowave.analytic.spark.GeoWaveIndexedRDD;
 import org.locationtech.geowave.analytic.spark.GeoWaveRDD;
 import org.locationtech.geowave.analytic.spark.RDDUtils;
 import org.locationtech.geowave.analytic.spark.sparksql.udf.GeomFunction;
+import org.locationtech.geowave.analytic.spark.spatial.AdaptiveJoinPartitioner.HotCell;
 import org.locationtech.geowave.analytic.spark.spatial.JoinOptions.BuildSide;
 import org.locationtech.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider;
 import org.locationtech.geowave.core.geotime.ingest.SpatialTemporalDimensionalityTypeProvider;
@@ -44,6 +49,7 @@ import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import org.locationtech.geowave.core.index.sfc.tiered.SingleTierSubStrategy;
 import org.locationtech.geowave.core.index.sfc.tiered.TieredSFCIndexFactory;
 import org.locationtech.geowave.core.index.sfc.tiered.TieredSFCIndexStrategy;
+import org.locationtech.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import org.locationtech.geowave.mapreduce.input.GeoWaveInputKey;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -70,8 +76,27 @@ public class TieredSpatialJoin extends JoinStrategy {
 
   private double bufferDistance = 0.0;
 
+  // Row range histograms of the stored indices, used to estimate cell cardinalities for adaptive
+  // partitioning when a side does not need to be reindexed
+  private transient RowRangeHistogramStatistics<?> leftHistogram = null;
+  private transient RowRangeHistogramStatistics<?> rightHistogram = null;
+  private transient AdaptiveJoinPartitioner adaptivePartitioner = null;
+  private transient LongAccumulator comparisonCount = null;
+  private transient LongAccumulator replicatedCount = null;
+
   public TieredSpatialJoin() {}
 
+  /**
+   * Set the row range histograms of the indices the data sets were loaded from. Either may be
+   * null, in which case the cell cardinalities of that side are estimated from a sample only.
+   */
+  public void setRowRangeHistograms(
+      final RowRangeHistogramStatistics<?> leftHistogram,
+      final RowRangeHistogramStatistics<?> rightHistogram) {
+    this.leftHistogram = leftHistogram;
+    this.rightHistogram = rightHistogram;
+  }
+
   @Override
   public void join(
       final SparkSession spark,
@@ -169,6 +194,20 @@ public class TieredSpatialJoin extends JoinStrategy {
     final int highestPartCount = (leftPartCount > rightPartCount) ? leftPartCount : rightPartCount;
     final int largePartitionerCount = (int) (1.5 * highestPartCount);
     final HashPartitioner partitioner = new HashPartitioner(largePartitionerCount);
+    adaptivePartitioner = null;
+    if (joinOpts.isAdaptivePartitioning()) {
+      // histograms only describe the cells of the data as it was indexed in the store
+      adaptivePartitioner =
+          createAdaptivePartitioner(
+              leftIndex,
+              reindexLeft ? null : leftHistogram,
+              rightIndex,
+              reindexRight ? null : rightHistogram,
+              largePartitionerCount);
+      comparisonCount = sc.longAccumulator("Spatial join comparisons");
+      replicatedCount = sc.longAccumulator("Spatial join replicated records");
+      sc.longAccumulator("Spatial join hot cells").add(adaptivePartitioner.getHotCellCount());
+    }
 
     final JavaFutureAction<List<Byte>> leftFuture =
         leftIndex.setName("LeftIndex").keys().map(t -> t.getBytes()[0]).distinct(4).collectAsync();
@@ -511,6 +550,9 @@ public class TieredSpatialJoin extends JoinStrategy {
       final Broadcast<GeomFunction> geomPredicate,
       final int highestPartitionCount,
       final HashPartitioner partitioner) {
+    if (adaptivePartitioner != null) {
+      return joinAndCompareCells(leftTier, rightTier, geomPredicate, partitioner);
+    }
     // Cogroup groups on same tier ByteArrayId and pairs them into Iterable
     // sets.
     JavaPairRDD<ByteArray, Tuple2<Iterable<Tuple2<GeoWaveInputKey, Geometry>>, Iterable<Tuple2<GeoWaveInputKey, Geometry>>>> joinedTiers =
@@ -526,22 +568,211 @@ public class TieredSpatialJoin extends JoinStrategy {
 
     final JavaPairRDD<GeoWaveInputKey, ByteArray> finalMatches =
         joinedTiers.flatMapValues(
-            (Function<Tuple2<Iterable<Tuple2<GeoWaveInputKey, Geometry>>, Iterable<Tuple2<GeoWaveInputKey, Geometry>>>, Iterable<GeoWaveInputKey>>) t -> {
-              final GeomFunction predicate = geomPredicate.value();
-
-              final HashSet<GeoWaveInputKey> results = Sets.newHashSet();
-              for (final Tuple2<GeoWaveInputKey, Geometry> leftTuple : t._1) {
-                for (final Tuple2<GeoWaveInputKey, Geometry> rightTuple : t._2) {
-                  if (predicate.call(leftTuple._2, rightTuple._2)) {
-                    results.add(leftTuple._1);
-                    results.add(rightTuple._1);
-                  }
-                }
-              }
-              return results;
-            }).mapToPair(Tuple2::swap).reduceByKey(partitioner, (id1, id2) -> id1).persist(
-                StorageLevel.MEMORY_ONLY_SER());
+            (Function<Tuple2<Iterable<Tuple2<GeoWaveInputKey, Geometry>>, Iterable<Tuple2<GeoWaveInputKey, Geometry>>>, Iterable<GeoWaveInputKey>>) t -> compareCell(
+                t._1,
+                t._2,
+                geomPredicate.value(),
+                null)).mapToPair(Tuple2::swap).reduceByKey(partitioner, (id1, id2) -> id1).persist(
+                    StorageLevel.MEMORY_ONLY_SER());
 
     return finalMatches;
   }
+
+  private JavaPairRDD<GeoWaveInputKey, ByteArray> joinAndCompareCells(
+      final JavaPairRDD<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> leftTier,
+      final JavaPairRDD<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> rightTier,
+      final Broadcast<GeomFunction> geomPredicate,
+      final HashPartitioner partitioner) {
+    final AdaptiveJoinPartitioner cellPartitioner = adaptivePartitioner;
+    final LongAccumulator comparisons = comparisonCount;
+    final LongAccumulator replicated = replicatedCount;
+    final JavaPairRDD<Tuple2<ByteArray, Integer>, Tuple2<GeoWaveInputKey, Geometry>> leftCells =
+        leftTier.flatMapToPair(t -> assignSubPartitions(t, cellPartitioner, true, replicated));
+    final JavaPairRDD<Tuple2<ByteArray, Integer>, Tuple2<GeoWaveInputKey, Geometry>> rightCells =
+        rightTier.flatMapToPair(t -> assignSubPartitions(t, cellPartitioner, false, replicated));
+
+    return leftCells.cogroup(rightCells, cellPartitioner).setName("AdaptiveJoinCells").filter(
+        t -> t._2._1.iterator().hasNext() && t._2._2.iterator().hasNext()).flatMapValues(
+            (Function<Tuple2<Iterable<Tuple2<GeoWaveInputKey, Geometry>>, Iterable<Tuple2<GeoWaveInputKey, Geometry>>>, Iterable<GeoWaveInputKey>>) t -> compareCell(
+                t._1,
+                t._2,
+                geomPredicate.value(),
+                comparisons)).mapToPair(t -> new Tuple2<>(t._2, t._1._1)).reduceByKey(
+                    partitioner,
+                    (id1, id2) -> id1).persist(StorageLevel.MEMORY_ONLY_SER());
+  }
+
+  /**
+   * Key a record of a tier by its cell and sub-partition. A record on the split side of a hot cell
+   * goes to one sub-partition and a record on the other side is replicated to all of them, so every
+   * pair of records in the cell is compared exactly once.
+   */
+  static Iterator<Tuple2<Tuple2<ByteArray, Integer>, Tuple2<GeoWaveInputKey, Geometry>>> assignSubPartitions(
+      final Tuple2<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> t,
+      final AdaptiveJoinPartitioner partitioner,
+      final boolean left,
+      final LongAccumulator replicated) {
+    final HotCell cell = partitioner.getHotCell(t._1);
+    if (cell == null) {
+      return Collections.singletonList(new Tuple2<>(new Tuple2<>(t._1, 0), t._2)).iterator();
+    }
+    if (cell.isSplitLeft() == left) {
+      // spread the larger side of the cell over the sub-partitions
+      final int subPartition = Math.floorMod(t._2._1.hashCode(), cell.getSubPartitions());
+      return Collections.singletonList(
+          new Tuple2<>(new Tuple2<>(t._1, subPartition), t._2)).iterator();
+    }
+    // and compare every sub-partition against all of the smaller side
+    final List<Tuple2<Tuple2<ByteArray, Integer>, Tuple2<GeoWaveInputKey, Geometry>>> replicas =
+        Lists.newArrayListWithCapacity(cell.getSubPartitions());
+    for (int i = 0; i < cell.getSubPartitions(); i++) {
+      replicas.add(new Tuple2<>(new Tuple2<>(t._1, i), t._2));
+    }
+    if (replicated != null) {
+      replicated.add(cell.getSubPartitions() - 1);
+    }
+    return replicas.iterator();
+  }
+
+  private static HashSet<GeoWaveInputKey> compareCell(
+      final Iterable<Tuple2<GeoWaveInputKey, Geometry>> left,
+      final Iterable<Tuple2<GeoWaveInputKey, Geometry>> right,
+      final GeomFunction predicate,
+      final LongAccumulator comparisons) throws Exception {
+    final HashSet<GeoWaveInputKey> results = Sets.newHashSet();
+    long count = 0;
+    for (final Tuple2<GeoWaveInputKey, Geometry> leftTuple : left) {
+      for (final Tuple2<GeoWaveInputKey, Geometry> rightTuple : right) {
+        if (predicate.call(leftTuple._2, rightTuple._2)) {
+          results.add(leftTuple._1);
+          results.add(rightTuple._1);
+        }
+        count++;
+      }
+    }
+    if (comparisons != null) {
+      comparisons.add(count);
+    }
+    return results;
+  }
+
+  private AdaptiveJoinPartitioner createAdaptivePartitioner(
+      final JavaPairRDD<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> leftIndex,
+      final RowRangeHistogramStatistics<?> leftHistogram,
+      final JavaPairRDD<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> rightIndex,
+      final RowRangeHistogramStatistics<?> rightHistogram,
+      final int maxColdPartitions) {
+    final Map<ByteArray, Long> leftCells = new HashMap<>();
+    final long leftCount = estimateCells(leftIndex, leftHistogram, leftCells);
+    final Map<ByteArray, Long> rightCells = new HashMap<>();
+    final long rightCount = estimateCells(rightIndex, rightHistogram, rightCells);
+    return createAdaptivePartitioner(
+        leftCells,
+        leftCount,
+        rightCells,
+        rightCount,
+        joinOpts.getPartitionTargetSize(),
+        maxColdPartitions);
+  }
+
+  /**
+   * Split every cell with more than the target number of records on either side into its own
+   * partitions and size the partitions shared by the remaining cells by their total count.
+   */
+  static AdaptiveJoinPartitioner createAdaptivePartitioner(
+      final Map<ByteArray, Long> leftCells,
+      final long leftCount,
+      final Map<ByteArray, Long> rightCells,
+      final long rightCount,
+      final long targetSize,
+      final int maxColdPartitions) {
+    final Map<ByteArray, HotCell> hotCells = new HashMap<>();
+    final Map<ByteArray, Integer> subPartitions = new HashMap<>();
+    final Map<ByteArray, Boolean> splitLeft = new HashMap<>();
+    long hotCount = 0;
+    for (final ByteArray cellId : Sets.union(leftCells.keySet(), rightCells.keySet())) {
+      final long left = leftCells.getOrDefault(cellId, 0L);
+      final long right = rightCells.getOrDefault(cellId, 0L);
+      final long larger = Math.max(left, right);
+      if (larger > targetSize) {
+        subPartitions.put(
+            cellId,
+            (int) Math.min((larger + targetSize - 1) / targetSize, maxColdPartitions));
+        splitLeft.put(cellId, left >= right);
+        hotCount += left + right;
+      }
+    }
+    final long coldCount = Math.max(0, (leftCount + rightCount) - hotCount);
+    final int coldPartitions =
+        (int) Math.max(1, Math.min((coldCount + targetSize - 1) / targetSize, maxColdPartitions));
+
+    // hot cells get their own partitions after the shared ones
+    int nextPartition = coldPartitions;
+    for (final Entry<ByteArray, Integer> e : subPartitions.entrySet()) {
+      hotCells.put(e.getKey(), new HotCell(nextPartition, e.getValue(), splitLeft.get(e.getKey())));
+      nextPartition += e.getValue();
+    }
+    LOGGER.info(
+        "Adaptive join partitioning: "
+            + coldPartitions
+            + " shared partitions for an estimated "
+            + coldCount
+            + " records, "
+            + hotCells.size()
+            + " hot cells split into "
+            + (nextPartition - coldPartitions)
+            + " partitions for an estimated "
+            + hotCount
+            + " records");
+    return new AdaptiveJoinPartitioner(coldPartitions, hotCells);
+  }
+
+  /**
+   * Estimate the cardinality of the cells of an indexed data set from a sample, refined by the
+   * row range histogram of the index if it is available.
+   *
+   * @param index the indexed data set
+   * @param histogram the histogram of the stored index, or null
+   * @param cells filled with the estimated cardinality of every cell that may exceed the target
+   *        partition size
+   * @return the estimated number of records in the data set
+   */
+  private long estimateCells(
+      final JavaPairRDD<ByteArray, Tuple2<GeoWaveInputKey, Geometry>> index,
+      final RowRangeHistogramStatistics<?> histogram,
+      final Map<ByteArray, Long> cells) {
+    final double fraction = joinOpts.getSampleFraction();
+    final JavaPairRDD<ByteArray, Long> sampled =
+        index.sample(false, fraction).mapToPair(t -> new Tuple2<>(t._1, 1L)).reduceByKey(
+            (c1, c2) -> c1 + c2).setName("JoinCellSample").persist(StorageLevel.MEMORY_ONLY());
+    final long total =
+        histogram != null ? histogram.getTotalCount()
+            : (long) (sampled.values().fold(0L, (c1, c2) -> c1 + c2) / fraction);
+    // only collect the cells that may be hot, with half the target to allow for sampling error
+    final long candidateSize =
+        Math.max(1L, (long) ((joinOpts.getPartitionTargetSize() * fraction) / 2));
+    final Map<ByteArray, Long> candidates =
+        sampled.filter(t -> t._2 >= candidateSize).collectAsMap();
+    sampled.unpersist();
+    scaleCellCounts(candidates, histogram, fraction, cells);
+    return total;
+  }
+
+  /**
+   * Scale the sampled counts of cells up to their estimated cardinality, from the histogram if it
+   * is available and otherwise by the sample fraction.
+   */
+  static void scaleCellCounts(
+      final Map<ByteArray, Long> sampledCells,
+      final RowRangeHistogramStatistics<?> histogram,
+      final double fraction,
+      final Map<ByteArray, Long> cells) {
+    for (final Entry<ByteArray, Long> e : sampledCells.entrySet()) {
+      cells.put(
+          e.getKey(),
+          histogram != null
+              ? (long) histogram.cardinality(e.getKey().getBytes(), e.getKey().getNextPrefix())
+              : (long) (e.getValue() / fraction));
+    }
+  }
 }
@@ -8,6 +8,7 @@
  */
 package org.locationtech.geowave.analytic.spark.spatial.operations;
 
+import org.locationtech.geowave.analytic.spark.spatial.SpatialJoinRunner;
 import com.beust.jcommander.Parameter;
 
 public class SpatialJoinCmdOptions {
@@ -60,6 +61,16 @@ public class SpatialJoinCmdOptions {
       description = "Used for testing a negative result from geometry predicate. i.e GeomIntersects() == false")
   private boolean negativeTest = false;
 
+  @Parameter(
+      names = {"-ap", "--adaptivePartitioning",},
+      description = "Partition the join by sampled cell cardinalities, splitting dense cells and packing sparse cells together.")
+  private boolean adaptivePartitioning = false;
+
+  @Parameter(
+      names = {"-bt", "--broadcastThreshold",},
+      description = "The largest number of features a side of the join can have to be broadcast to every executor instead of shuffled. By default broadcast joins are disabled, a negative value disables them.")
+  private long broadcastThreshold = SpatialJoinRunner.DEFAULT_BROADCAST_THRESHOLD;
+
   // TODO: Experiment with collecting + broadcasting rdds when one side can
   // fit into memory
 
@@ -152,4 +163,20 @@ public class SpatialJoinCmdOptions {
   public void setNegativeTest(boolean negativeTest) {
     this.negativeTest = negativeTest;
   }
+
+  public boolean isAdaptivePartitioning() {
+    return adaptivePartitioning;
+  }
+
+  public void setAdaptivePartitioning(boolean adaptivePartitioning) {
+    this.adaptivePartitioning = adaptivePartitioning;
+  }
+
+  public long getBroadcastThreshold() {
+    return broadcastThreshold;
+  }
+
+  public void setBroadcastThreshold(long broadcastThreshold) {
+    this.broadcastThreshold = broadcastThreshold;
+  }
 }
@@ -127,6 +127,8 @@ public class SpatialJoinCommand extends ServiceEnabledCommand<Void> {
       runner.setOutputRightAdapterTypeName(spatialJoinOptions.getOutputRightAdapterTypeName());
     }
     runner.setNegativeTest(spatialJoinOptions.isNegativeTest());
+    runner.setAdaptivePartitioning(spatialJoinOptions.isAdaptivePartitioning());
+    runner.setBroadcastThreshold(spatialJoinOptions.getBroadcastThreshold());
 
     // Finally call run to execute the join
     runner.run();
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.spark.sql.catalyst.expressions.AttributeReference;
+import org.apache.spark.sql.catalyst.expressions.EqualTo;
+import org.apache.spark.sql.catalyst.expressions.Expression;
+import org.apache.spark.sql.catalyst.expressions.Literal;
+import org.apache.spark.sql.catalyst.expressions.NamedExpression$;
+import org.apache.spark.sql.catalyst.expressions.ScalaUDF;
+import org.apache.spark.sql.sources.v2.reader.Statistics;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.Metadata;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.locationtech.geowave.adapter.vector.FeatureDataAdapter;
+import org.locationtech.geowave.analytic.spark.sparksql.GeoWaveSpatialEncoders;
+import org.locationtech.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider;
+import org.locationtech.geowave.core.geotime.ingest.SpatialOptions;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.store.GeoWaveStoreFinder;
+import org.locationtech.geowave.core.store.api.DataStore;
+import org.locationtech.geowave.core.store.api.Writer;
+import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
+import org.locationtech.geowave.core.store.memory.MemoryRequiredOptions;
+import org.locationtech.geowave.core.store.memory.MemoryStoreFactoryFamily;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import scala.Option;
+import scala.collection.JavaConverters;
+import scala.runtime.AbstractFunction2;
+
+public class GeoWaveDataSourceReaderTest {
+  private static final String TYPE_NAME = "points";
+  // a grid of points covering [0, 9] x [0, 9]
+  private static final int GRID_SIZE = 10;
+  private static final int ROWS = GRID_SIZE * GRID_SIZE;
+
+  @Rule
+  public TestName name = new TestName();
+
+  private DataStorePluginOptions storeOptions;
+
+  @Before
+  public void setUp() throws SchemaException {
+    storeOptions = new DataStorePluginOptions();
+    GeoWaveStoreFinder.getRegisteredStoreFactoryFamilies().put(
+        "memory",
+        new MemoryStoreFactoryFamily());
+    storeOptions.selectPlugin("memory");
+    ((MemoryRequiredOptions) storeOptions.getFactoryOptions()).setGeoWaveNamespace(
+        "test_" + getClass().getName() + "_" + name.getMethodName());
+
+    final SimpleFeatureType type =
+        DataUtilities.createType(TYPE_NAME, "geometry:Point:srid=4326,name:String,value:Integer");
+    final DataStore dataStore = storeOptions.createDataStore();
+    dataStore.addType(
+        new FeatureDataAdapter(type),
+        new SpatialDimensionalityTypeProvider().createIndex(new SpatialOptions()));
+    final SimpleFeatureBuilder builder = new SimpleFeatureBuilder(type);
+    try (Writer<SimpleFeature> writer = dataStore.createWriter(TYPE_NAME)) {
+      for (int x = 0; x < GRID_SIZE; x++) {
+        for (int y = 0; y < GRID_SIZE; y++) {
+          builder.set("geometry", GeometryUtils.GEOMETRY_FACTORY.createPoint(new Coordinate(x, y)));
+          builder.set("name", "point" + x + "_" + y);
+          builder.set("value", x);
+          writer.write(builder.buildFeature(x + "_" + y));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPushedFilters() {
+    final GeoWaveDataSourceReader reader = createReader();
+    final Expression spatial = intersects(new Envelope(0, 4.5, 0, 4.5));
+    final Expression unsupported =
+        new EqualTo(
+            column("unknown", DataTypes.IntegerType),
+            Literal.create(1, DataTypes.IntegerType));
+    final Expression[] filters = new Expression[] {spatial, unsupported};
+    // spark still evaluates every filter
+    assertArrayEquals(filters, reader.pushCatalystFilters(filters));
+    assertArrayEquals(new Expression[] {spatial}, reader.pushedCatalystFilters());
+  }
+
+  @Test
+  public void testStatistics() {
+    final GeoWaveDataSourceReader reader = createReader();
+    final long rowSize = reader.readSchema().defaultSize();
+    Statistics statistics = reader.getStatistics();
+    assertEquals(ROWS, statistics.numRows().getAsLong());
+    assertEquals(ROWS * rowSize, statistics.sizeInBytes().getAsLong());
+
+    // a quarter of the bounding box of the points
+    reader.pushCatalystFilters(new Expression[] {intersects(new Envelope(0, 4.5, 0, 4.5))});
+    statistics = reader.getStatistics();
+    assertFalse(statistics.numRows().isPresent());
+    assertEquals((ROWS / 4) * rowSize, statistics.sizeInBytes().getAsLong());
+
+    // the envelope of the filter is clipped to the bounding box of the points
+    reader.pushCatalystFilters(new Expression[] {intersects(new Envelope(-100, 4.5, -100, 100))});
+    assertEquals((ROWS / 2) * rowSize, reader.getStatistics().sizeInBytes().getAsLong());
+
+    // outside of the bounding box of the points
+    reader.pushCatalystFilters(new Expression[] {intersects(new Envelope(20, 30, 20, 30))});
+    assertEquals(0, reader.getStatistics().sizeInBytes().getAsLong());
+
+    // a line may still match rows
+    reader.pushCatalystFilters(new Expression[] {intersects(new Envelope(0, 0, 0, 9))});
+    assertEquals(rowSize, reader.getStatistics().sizeInBytes().getAsLong());
+
+    // attribute filters are not estimated
+    reader.pushCatalystFilters(
+        new Expression[] {
+            new EqualTo(
+                column("value", DataTypes.IntegerType),
+                Literal.create(1, DataTypes.IntegerType))});
+    statistics = reader.getStatistics();
+    assertFalse(statistics.numRows().isPresent());
+    assertEquals(ROWS * rowSize, statistics.sizeInBytes().getAsLong());
+  }
+
+  private GeoWaveDataSourceReader createReader() {
+    return new GeoWaveDataSourceReader(storeOptions, TYPE_NAME, -1, -1);
+  }
+
+  private static Expression intersects(final Envelope envelope) {
+    return new ScalaUDF(
+        new AbstractFunction2<Object, Object, Object>() {
+          @Override
+          public Object apply(final Object geom1, final Object geom2) {
+            return null;
+          }
+        },
+        DataTypes.BooleanType,
+        JavaConverters.asScalaBufferConverter(
+            Arrays.<Expression>asList(
+                column("geom", GeoWaveSpatialEncoders.geometryUDT),
+                new Literal(
+                    GeoWaveSpatialEncoders.geometryUDT.serialize(
+                        GeometryUtils.GEOMETRY_FACTORY.toGeometry(envelope)),
+                    GeoWaveSpatialEncoders.geometryUDT))).asScala(),
+        JavaConverters.asScalaBufferConverter(Collections.<DataType>emptyList()).asScala(),
+        Option.apply("GeomIntersects"),
+        true,
+        true);
+  }
+
+  private static AttributeReference column(final String name, final DataType dataType) {
+    return new AttributeReference(
+        name,
+        dataType,
+        true,
+        Metadata.empty(),
+        NamedExpression$.MODULE$.newExprId(),
+        Option.<String>empty());
+  }
+}
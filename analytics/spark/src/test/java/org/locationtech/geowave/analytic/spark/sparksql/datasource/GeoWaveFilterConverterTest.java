@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.sparksql.datasource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.apache.spark.sql.catalyst.expressions.And;
+import org.apache.spark.sql.catalyst.expressions.AttributeReference;
+import org.apache.spark.sql.catalyst.expressions.Contains;
+import org.apache.spark.sql.catalyst.expressions.EndsWith;
+import org.apache.spark.sql.catalyst.expressions.EqualNullSafe;
+import org.apache.spark.sql.catalyst.expressions.EqualTo;
+import org.apache.spark.sql.catalyst.expressions.Expression;
+import org.apache.spark.sql.catalyst.expressions.GreaterThan;
+import org.apache.spark.sql.catalyst.expressions.GreaterThanOrEqual;
+import org.apache.spark.sql.catalyst.expressions.In;
+import org.apache.spark.sql.catalyst.expressions.IsNotNull;
+import org.apache.spark.sql.catalyst.expressions.IsNull;
+import org.apache.spark.sql.catalyst.expressions.LessThan;
+import org.apache.spark.sql.catalyst.expressions.LessThanOrEqual;
+import org.apache.spark.sql.catalyst.expressions.Literal;
+import org.apache.spark.sql.catalyst.expressions.NamedExpression$;
+import org.apache.spark.sql.catalyst.expressions.Not;
+import org.apache.spark.sql.catalyst.expressions.Or;
+import org.apache.spark.sql.catalyst.expressions.ScalaUDF;
+import org.apache.spark.sql.catalyst.expressions.StartsWith;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.Metadata;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.filter.text.ecql.ECQL;
+import org.junit.Test;
+import org.locationtech.geowave.analytic.spark.sparksql.GeoWaveSpatialEncoders;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.UDFRegistrySPI;
+import org.locationtech.geowave.analytic.spark.sparksql.udf.UDFRegistrySPI.UDFNameAndConstructor;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import scala.Option;
+import scala.collection.JavaConverters;
+import scala.runtime.AbstractFunction2;
+
+public class GeoWaveFilterConverterTest {
+  private static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+  private static final String GEOMETRY_ATTRIBUTE = "the_geom";
+  private static final Geometry POLYGON =
+      GeometryUtils.GEOMETRY_FACTORY.toGeometry(new Envelope(0, 10, 0, 10));
+  private static final AbstractFunction2<Object, Object, Object> UDF =
+      new AbstractFunction2<Object, Object, Object>() {
+        @Override
+        public Object apply(final Object geom1, final Object geom2) {
+          return null;
+        }
+      };
+
+  private final AttributeReference geom = column("geom", GeoWaveSpatialEncoders.geometryUDT);
+  private final AttributeReference otherGeom =
+      column("other", GeoWaveSpatialEncoders.geometryUDT);
+  private final AttributeReference name = column("name", DataTypes.StringType);
+  private final AttributeReference value = column("value", DataTypes.IntegerType);
+  private final AttributeReference unknown = column("unknown", DataTypes.IntegerType);
+  private final GeoWaveFilterConverter converter;
+
+  public GeoWaveFilterConverterTest() {
+    final Map<String, String> attributeNames = new HashMap<>();
+    attributeNames.put("geom", GEOMETRY_ATTRIBUTE);
+    attributeNames.put("name", "name");
+    attributeNames.put("value", "value");
+    converter = new GeoWaveFilterConverter(attributeNames, "geom", GEOMETRY_ATTRIBUTE);
+  }
+
+  @Test
+  public void testSpatialPredicates() {
+    for (final UDFNameAndConstructor function : UDFRegistrySPI.getSupportedUDFs()) {
+      final String udfName = function.getUDFNames()[0];
+      final double buffer = function.getPredicateConstructor().get().getBufferAmount();
+      final Filter expected =
+          FF.intersects(
+              FF.property(GEOMETRY_ATTRIBUTE),
+              FF.literal(buffer > 0 ? POLYGON.buffer(buffer) : POLYGON));
+      if ("GeomDisjoint".equals(udfName)) {
+        // disjoint rows are outside of the geometry, so they can't be constrained by it
+        assertNull(converter.convert(udf(udfName, geom, literal(POLYGON))));
+      } else {
+        assertFilter(expected, converter.convert(udf(udfName, geom, literal(POLYGON))));
+        // the geometry column can be either argument
+        assertFilter(expected, converter.convert(udf(udfName, literal(POLYGON), geom)));
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupportedSpatialPredicates() {
+    // both arguments are columns
+    assertNull(converter.convert(udf("GeomIntersects", geom, otherGeom)));
+    // neither argument is the geometry column
+    assertNull(converter.convert(udf("GeomIntersects", otherGeom, literal(POLYGON))));
+    // not a spatial predicate
+    assertNull(converter.convert(udf("MyFunction", geom, literal(POLYGON))));
+  }
+
+  @Test
+  public void testDistance() {
+    final Filter expected =
+        FF.intersects(FF.property(GEOMETRY_ATTRIBUTE), FF.literal(POLYGON.buffer(5)));
+    final Expression distance = distance(geom, literal(POLYGON));
+    final Literal radius = Literal.create(5.0, DataTypes.DoubleType);
+    assertFilter(expected, converter.convert(new LessThan(distance, radius)));
+    assertFilter(expected, converter.convert(new LessThanOrEqual(distance, radius)));
+    // only an upper bound on the distance constrains the geometries
+    assertNull(converter.convert(new GreaterThan(distance, radius)));
+    // the radius has to be a constant
+    assertNull(converter.convert(new LessThan(distance, value)));
+    assertNull(converter.convert(new LessThan(distance(geom, otherGeom), radius)));
+  }
+
+  @Test
+  public void testComparisons() {
+    final Literal five = Literal.create(5, DataTypes.IntegerType);
+    assertFilter(
+        FF.equals(FF.property("value"), FF.literal(5)),
+        converter.convert(new EqualTo(value, five)));
+    assertFilter(
+        FF.equals(FF.property("value"), FF.literal(5)),
+        converter.convert(new EqualNullSafe(value, five)));
+    assertFilter(
+        FF.greater(FF.property("value"), FF.literal(5)),
+        converter.convert(new GreaterThan(value, five)));
+    assertFilter(
+        FF.greaterOrEqual(FF.property("value"), FF.literal(5)),
+        converter.convert(new GreaterThanOrEqual(value, five)));
+    assertFilter(
+        FF.less(FF.property("value"), FF.literal(5)),
+        converter.convert(new LessThan(value, five)));
+    assertFilter(
+        FF.lessOrEqual(FF.property("value"), FF.literal(5)),
+        converter.convert(new LessThanOrEqual(value, five)));
+    assertFilter(
+        FF.not(FF.equals(FF.property("value"), FF.literal(5))),
+        converter.convert(new Not(new EqualTo(value, five))));
+  }
+
+  @Test
+  public void testNulls() {
+    assertFilter(FF.isNull(FF.property("name")), converter.convert(new IsNull(name)));
+    assertFilter(FF.not(FF.isNull(FF.property("name"))), converter.convert(new IsNotNull(name)));
+  }
+
+  @Test
+  public void testIn() {
+    final Filter filter =
+        converter.convert(
+            new In(
+                value,
+                seq(
+                    Literal.create(1, DataTypes.IntegerType),
+                    Literal.create(2, DataTypes.IntegerType))));
+    assertNotNull(filter);
+    // the values of the IN list are not ordered
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(
+                ECQL.toCQL(FF.equals(FF.property("value"), FF.literal(1))),
+                ECQL.toCQL(FF.equals(FF.property("value"), FF.literal(2))))),
+        new HashSet<>(
+            Arrays.asList(
+                ECQL.toCQL(((org.opengis.filter.Or) filter).getChildren().get(0)),
+                ECQL.toCQL(((org.opengis.filter.Or) filter).getChildren().get(1)))));
+  }
+
+  @Test
+  public void testStrings() {
+    final Literal prefix = Literal.create("a*b", DataTypes.StringType);
+    // wildcards in the value are escaped
+    assertFilter(
+        FF.like(FF.property("name"), "a\\*b*", "*", "?", "\\", true),
+        converter.convert(new StartsWith(name, prefix)));
+    assertFilter(
+        FF.like(FF.property("name"), "*a\\*b", "*", "?", "\\", true),
+        converter.convert(new EndsWith(name, prefix)));
+    assertFilter(
+        FF.like(FF.property("name"), "*a\\*b*", "*", "?", "\\", true),
+        converter.convert(new Contains(name, prefix)));
+  }
+
+  @Test
+  public void testUnsupportedColumns() {
+    final Literal five = Literal.create(5, DataTypes.IntegerType);
+    // the column is not an attribute of the type
+    assertNull(converter.convert(new EqualTo(unknown, five)));
+    // the geometry column is only constrained by spatial predicates
+    assertNull(converter.convert(new IsNull(geom)));
+    // comparisons between columns
+    assertNull(converter.convert(new EqualTo(value, unknown)));
+  }
+
+  @Test
+  public void testConjunctions() {
+    final Expression spatial = udf("GeomIntersects", geom, literal(POLYGON));
+    final Expression supported = new EqualTo(value, Literal.create(5, DataTypes.IntegerType));
+    final Expression unsupported = new EqualTo(unknown, Literal.create(5, DataTypes.IntegerType));
+    final Filter spatialFilter =
+        FF.intersects(FF.property(GEOMETRY_ATTRIBUTE), FF.literal(POLYGON));
+    final Filter supportedFilter = FF.equals(FF.property("value"), FF.literal(5));
+
+    assertFilter(
+        FF.and(spatialFilter, supportedFilter),
+        converter.convert(new And(spatial, supported)));
+    assertFilter(
+        FF.or(spatialFilter, supportedFilter),
+        converter.convert(new Or(spatial, supported)));
+    // either side of a conjunction alone matches every row the conjunction matches
+    assertFilter(spatialFilter, converter.convert(new And(spatial, unsupported)));
+    assertFilter(supportedFilter, converter.convert(new And(unsupported, supported)));
+    // both sides of a disjunction are needed
+    assertNull(converter.convert(new Or(spatial, unsupported)));
+    // a partially converted filter can't be negated
+    assertNull(converter.convert(new Not(new And(supported, unsupported))));
+  }
+
+  private static void assertFilter(final Filter expected, final Filter actual) {
+    assertNotNull(actual);
+    assertEquals(ECQL.toCQL(expected), ECQL.toCQL(actual));
+  }
+
+  private static AttributeReference column(final String name, final DataType dataType) {
+    return new AttributeReference(
+        name,
+        dataType,
+        true,
+        Metadata.empty(),
+        NamedExpression$.MODULE$.newExprId(),
+        Option.<String>empty());
+  }
+
+  private static Literal literal(final Geometry geometry) {
+    return new Literal(
+        GeoWaveSpatialEncoders.geometryUDT.serialize(geometry),
+        GeoWaveSpatialEncoders.geometryUDT);
+  }
+
+  private static ScalaUDF udf(
+      final String udfName,
+      final Expression arg1,
+      final Expression arg2) {
+    return udf(udfName, DataTypes.BooleanType, arg1, arg2);
+  }
+
+  private static ScalaUDF distance(final Expression arg1, final Expression arg2) {
+    return udf("GeomDistance", DataTypes.DoubleType, arg1, arg2);
+  }
+
+  private static ScalaUDF udf(
+      final String udfName,
+      final DataType dataType,
+      final Expression arg1,
+      final Expression arg2) {
+    return new ScalaUDF(
+        UDF,
+        dataType,
+        seq(arg1, arg2),
+        JavaConverters.asScalaBufferConverter(Collections.<DataType>emptyList()).asScala(),
+        Option.apply(udfName),
+        true,
+        true);
+  }
+
+  private static scala.collection.Seq<Expression> seq(final Expression... expressions) {
+    return JavaConverters.asScalaBufferConverter(Arrays.asList(expressions)).asScala();
+  }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.analytic.spark.spatial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.locationtech.geowave.analytic.spark.spatial.AdaptiveJoinPartitioner.HotCell;
+import org.locationtech.geowave.core.index.ByteArray;
+import org.locationtech.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
+import org.locationtech.geowave.core.store.entities.GeoWaveKeyImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+import org.locationtech.geowave.mapreduce.input.GeoWaveInputKey;
+import org.locationtech.jts.geom.Geometry;
+import scala.Tuple2;
+
+public class AdaptiveJoinPartitionerTest {
+  private static final ByteArray HOT_CELL = new ByteArray(new byte[] {1});
+  private static final ByteArray COLD_CELL = new ByteArray(new byte[] {3});
+
+  @Test
+  public void testGetPartition() {
+    final AdaptiveJoinPartitioner partitioner =
+        new AdaptiveJoinPartitioner(
+            4,
+            Collections.singletonMap(HOT_CELL, new HotCell(4, 3, true)));
+    assertEquals(7, partitioner.numPartitions());
+    assertEquals(1, partitioner.getHotCellCount());
+    assertNotNull(partitioner.getHotCell(HOT_CELL));
+    assertNull(partitioner.getHotCell(COLD_CELL));
+
+    // each sub-partition of a hot cell has its own partition after the shared ones
+    for (int i = 0; i < 3; i++) {
+      assertEquals(4 + i, partitioner.getPartition(new Tuple2<>(HOT_CELL, i)));
+    }
+    // cold cells are hashed into the shared partitions
+    for (int i = 0; i < 1000; i++) {
+      final ByteArray cell = new ByteArray(new byte[] {(byte) i, (byte) (i >> 8), 3});
+      final int partition = partitioner.getPartition(new Tuple2<>(cell, 0));
+      assertTrue(partition >= 0);
+      assertTrue(partition < 4);
+    }
+  }
+
+  @Test
+  public void testCreatePartitioner() {
+    final Map<ByteArray, Long> leftCells = new HashMap<>();
+    leftCells.put(HOT_CELL, 950L);
+    final Map<ByteArray, Long> rightCells = new HashMap<>();
+    rightCells.put(HOT_CELL, 20L);
+    rightCells.put(COLD_CELL, 80L);
+
+    final AdaptiveJoinPartitioner partitioner =
+        TieredSpatialJoin.createAdaptivePartitioner(leftCells, 1000, rightCells, 500, 100, 50);
+    // the hot cell is split by its larger, left side
+    final HotCell hotCell = partitioner.getHotCell(HOT_CELL);
+    assertNotNull(hotCell);
+    assertEquals(10, hotCell.getSubPartitions());
+    assertTrue(hotCell.isSplitLeft());
+    assertNull(partitioner.getHotCell(COLD_CELL));
+    // and the remaining 530 records share 6 partitions
+    assertEquals(16, partitioner.numPartitions());
+    final Set<Integer> hotPartitions = new HashSet<>();
+    for (int i = 0; i < hotCell.getSubPartitions(); i++) {
+      final int partition = partitioner.getPartition(new Tuple2<>(HOT_CELL, i));
+      assertTrue(partition >= 6);
+      assertTrue(hotPartitions.add(partition));
+    }
+    final int coldPartition = partitioner.getPartition(new Tuple2<>(COLD_CELL, 0));
+    assertTrue(coldPartition < 6);
+
+    // nothing is hot if every cell fits, and the sub-partitions are capped
+    assertEquals(
+        0,
+        TieredSpatialJoin.createAdaptivePartitioner(
+            leftCells,
+            1000,
+            rightCells,
+            500,
+            1000,
+            50).getHotCellCount());
+    assertEquals(
+        4,
+        TieredSpatialJoin.createAdaptivePartitioner(
+            leftCells,
+            1000,
+            rightCells,
+            500,
+            10,
+            4).getHotCell(HOT_CELL).getSubPartitions());
+  }
+
+  @Test
+  public void testReplicationFanOut() {
+    final AdaptiveJoinPartitioner partitioner =
+        new AdaptiveJoinPartitioner(
+            2,
+            Collections.singletonMap(HOT_CELL, new HotCell(2, 3, true)));
+    final List<Tuple2<ByteArray, Integer>> leftKeys = new ArrayList<>();
+    final List<Tuple2<ByteArray, Integer>> rightKeys = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      // the split side goes to exactly one sub-partition
+      final List<Tuple2<ByteArray, Integer>> keys =
+          assignSubPartitions(HOT_CELL, i, partitioner, true);
+      assertEquals(1, keys.size());
+      leftKeys.addAll(keys);
+    }
+    for (int i = 0; i < 5; i++) {
+      // and the other side to all of them
+      final List<Tuple2<ByteArray, Integer>> keys =
+          assignSubPartitions(HOT_CELL, 100 + i, partitioner, false);
+      final Set<Integer> subPartitions = new HashSet<>();
+      for (final Tuple2<ByteArray, Integer> key : keys) {
+        assertTrue(subPartitions.add(key._2));
+      }
+      assertEquals(3, subPartitions.size());
+      rightKeys.addAll(keys);
+    }
+    assertEquals(
+        Collections.singletonList(new Tuple2<>(COLD_CELL, 0)),
+        assignSubPartitions(COLD_CELL, 200, partitioner, false));
+
+    // every left and right pair of the hot cell meets in exactly one partition
+    final Map<Integer, Integer> leftPerPartition = new HashMap<>();
+    for (final Tuple2<ByteArray, Integer> key : leftKeys) {
+      leftPerPartition.merge(partitioner.getPartition(key), 1, Integer::sum);
+    }
+    long comparisons = 0;
+    for (final Tuple2<ByteArray, Integer> key : rightKeys) {
+      comparisons += leftPerPartition.getOrDefault(partitioner.getPartition(key), 0);
+    }
+    assertEquals(30 * 5, comparisons);
+  }
+
+  @Test
+  public void testScaleCellCounts() {
+    final Map<ByteArray, Long> sampled = new HashMap<>();
+    sampled.put(HOT_CELL, 3L);
+    sampled.put(COLD_CELL, 1L);
+
+    // without a histogram the sampled counts are scaled by the sample fraction
+    final Map<ByteArray, Long> fromSample = new HashMap<>();
+    TieredSpatialJoin.scaleCellCounts(sampled, null, 0.01, fromSample);
+    assertEquals(Long.valueOf(300), fromSample.get(HOT_CELL));
+    assertEquals(Long.valueOf(100), fromSample.get(COLD_CELL));
+
+    // with a histogram its cardinality of the cell's key range is used instead
+    final RowRangeHistogramStatistics<Object> histogram =
+        new RowRangeHistogramStatistics<>("index", null);
+    for (int i = 0; i < 1000; i++) {
+      histogram.entryIngested(null, row(new byte[] {1, (byte) (i >> 8), (byte) i}));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.entryIngested(null, row(new byte[] {3, 0, (byte) i}));
+    }
+    final Map<ByteArray, Long> fromHistogram = new HashMap<>();
+    TieredSpatialJoin.scaleCellCounts(sampled, histogram, 0.01, fromHistogram);
+    assertEquals(1000.0, fromHistogram.get(HOT_CELL).doubleValue(), 50.0);
+    assertEquals(10.0, fromHistogram.get(COLD_CELL).doubleValue(), 5.0);
+  }
+
+  private static List<Tuple2<ByteArray, Integer>> assignSubPartitions(
+      final ByteArray cellId,
+      final int id,
+      final AdaptiveJoinPartitioner partitioner,
+      final boolean left) {
+    final Tuple2<GeoWaveInputKey, Geometry> record =
+        new Tuple2<>(new GeoWaveInputKey((short) 0, new ByteArray(Integer.toString(id))), null);
+    final List<Tuple2<ByteArray, Integer>> keys = new ArrayList<>();
+    TieredSpatialJoin.assignSubPartitions(
+        new Tuple2<>(cellId, record),
+        partitioner,
+        left,
+        null).forEachRemaining(t -> keys.add(t._1));
+    return keys;
+  }
+
+  private static GeoWaveRow row(final byte[] sortKey) {
+    return new GeoWaveRowImpl(
+        new GeoWaveKeyImpl(sortKey, (short) 0, new byte[0], sortKey, 0),
+        new GeoWaveValue[0]);
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file (as produced with <code>-rf json</code>) against the checked in
+ * baseline and reports the relative change of every benchmark. Exits with a non-zero status if any
+ * benchmark regressed by more than the given threshold.
+ *
+ * <p> Usage: <code>BaselineComparison &lt;baseline.json&gt; &lt;results.json&gt;
+ * [thresholdPercent]</code>
+ */
+public class BaselineComparison {
+  private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+  private static class Score {
+    private final double score;
+    private final String unit;
+    private final String mode;
+
+    private Score(final double score, final String unit, final String mode) {
+      this.score = score;
+      this.unit = unit;
+      this.mode = mode;
+    }
+
+    private boolean isHigherBetter() {
+      // throughput is ops/time, everything else (avgt, sample, ss) is time/op
+      return "thrpt".equals(mode);
+    }
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: BaselineComparison <baseline.json> <results.json> [thresholdPercent]");
+      System.exit(2);
+    }
+    final double threshold =
+        args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+    final File baselineFile = new File(args[0]);
+    if (!baselineFile.isFile()) {
+      System.err.println(
+          "Baseline '"
+              + baselineFile
+              + "' does not exist, generate it with a full run on the reference machine");
+      System.exit(2);
+    }
+    final Map<String, Score> baseline = readScores(baselineFile);
+    if (baseline.isEmpty()) {
+      // every benchmark would be reported as new, which would hide any regression
+      System.err.println("Baseline '" + baselineFile + "' has no benchmark results");
+      System.exit(2);
+    }
+    final Map<String, Score> results = readScores(new File(args[1]));
+    int regressions = 0;
+    for (final Entry<String, Score> result : results.entrySet()) {
+      final Score base = baseline.get(result.getKey());
+      if (base == null) {
+        System.out.println(
+            String.format(
+                "%-10s %s: %.3f %s",
+                "NEW",
+                result.getKey(),
+                result.getValue().score,
+                result.getValue().unit));
+        continue;
+      }
+      if (!base.unit.equals(result.getValue().unit) || (base.score == 0)) {
+        System.out.println(
+            String.format("%-10s %s: incomparable with baseline", "SKIPPED", result.getKey()));
+        continue;
+      }
+      double changePercent = ((result.getValue().score - base.score) / base.score) * 100;
+      if (!result.getValue().isHigherBetter()) {
+        changePercent = -changePercent;
+      }
+      final String status;
+      if (changePercent < -threshold) {
+        status = "REGRESSED";
+        regressions++;
+      } else if (changePercent > threshold) {
+        status = "IMPROVED";
+      } else {
+        status = "UNCHANGED";
+      }
+      System.out.println(
+          String.format(
+              "%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+              status,
+              result.getKey(),
+              base.score,
+              result.getValue().score,
+              result.getValue().unit,
+              changePercent));
+    }
+    if (regressions > 0) {
+      System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, Score> readScores(final File file) throws IOException {
+    final Map<String, Score> scores = new TreeMap<>();
+    final JsonNode root = new ObjectMapper().readTree(file);
+    if ((root == null) || !root.isArray()) {
+      return scores;
+    }
+    for (final JsonNode run : root) {
+      final StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+      final JsonNode params = run.path("params");
+      if (params.isObject()) {
+        final Iterator<Entry<String, JsonNode>> it = params.fields();
+        key.append('[');
+        while (it.hasNext()) {
+          final Entry<String, JsonNode> param = it.next();
+          key.append(param.getKey()).append('=').append(param.getValue().asText());
+          if (it.hasNext()) {
+            key.append(',');
+          }
+        }
+        key.append(']');
+      }
+      final JsonNode metric = run.path("primaryMetric");
+      scores.put(
+          key.toString(),
+          new Score(
+              metric.path("score").asDouble(),
+              metric.path("scoreUnit").asText(),
+              run.path("mode").asText()));
+    }
+    return scores;
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks;
+
+import java.util.Date;
+import java.util.Random;
+import org.geotools.feature.AttributeTypeBuilder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.index.sfc.data.NumericValue;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+/**
+ * Shared fixtures for the benchmark suites. All generated data is derived from a fixed seed so that
+ * results are comparable from one commit to the next.
+ */
+public class BenchmarkUtils {
+  public static final long SEED = 42L;
+  public static final String POINT_TYPE_NAME = "benchmark-point";
+  public static final String GEOMETRY_ATTRIBUTE = "geometry";
+  public static final String TIME_ATTRIBUTE = "timestamp";
+  public static final String NAME_ATTRIBUTE = "name";
+  public static final String VALUE_ATTRIBUTE = "value";
+
+  /** Start of the time window used for generated spatial-temporal data (2018-01-01T00:00Z) */
+  public static final long START_TIME_MILLIS = 1514764800000L;
+  /** One year worth of milliseconds */
+  public static final long TIME_SPAN_MILLIS = 365L * 24L * 60L * 60L * 1000L;
+
+  public static Random newRandom() {
+    return new Random(SEED);
+  }
+
+  public static SimpleFeatureType createPointType() {
+    final SimpleFeatureTypeBuilder sftBuilder = new SimpleFeatureTypeBuilder();
+    final AttributeTypeBuilder attrBuilder = new AttributeTypeBuilder();
+    sftBuilder.setName(POINT_TYPE_NAME);
+    sftBuilder.add(
+        attrBuilder.binding(Point.class).nillable(false).buildDescriptor(GEOMETRY_ATTRIBUTE));
+    sftBuilder.add(attrBuilder.binding(Date.class).nillable(true).buildDescriptor(TIME_ATTRIBUTE));
+    sftBuilder.add(
+        attrBuilder.binding(String.class).nillable(true).buildDescriptor(NAME_ATTRIBUTE));
+    sftBuilder.add(
+        attrBuilder.binding(Double.class).nillable(true).buildDescriptor(VALUE_ATTRIBUTE));
+    return sftBuilder.buildFeatureType();
+  }
+
+  public static SimpleFeature createPointFeature(
+      final SimpleFeatureBuilder builder,
+      final Random random,
+      final String id) {
+    builder.set(
+        GEOMETRY_ATTRIBUTE,
+        GeometryUtils.GEOMETRY_FACTORY.createPoint(
+            new Coordinate(randomLongitude(random), randomLatitude(random))));
+    builder.set(TIME_ATTRIBUTE, new Date(randomTime(random)));
+    builder.set(NAME_ATTRIBUTE, "feature-" + id);
+    builder.set(VALUE_ATTRIBUTE, random.nextDouble() * 1000);
+    return builder.buildFeature(id);
+  }
+
+  public static SimpleFeature[] createPointFeatures(final SimpleFeatureType type, final int count) {
+    final Random random = newRandom();
+    final SimpleFeatureBuilder builder = new SimpleFeatureBuilder(type);
+    final SimpleFeature[] features = new SimpleFeature[count];
+    for (int i = 0; i < count; i++) {
+      features[i] = createPointFeature(builder, random, Integer.toString(i));
+    }
+    return features;
+  }
+
+  public static double randomLongitude(final Random random) {
+    return (random.nextDouble() * 360) - 180;
+  }
+
+  public static double randomLatitude(final Random random) {
+    return (random.nextDouble() * 180) - 90;
+  }
+
+  public static long randomTime(final Random random) {
+    return START_TIME_MILLIS + (long) (random.nextDouble() * TIME_SPAN_MILLIS);
+  }
+
+  /**
+   * Generate a closed polygon ring approximating a circle with the given number of vertices
+   */
+  public static Geometry createPolygon(
+      final double centerX,
+      final double centerY,
+      final double radius,
+      final int vertexCount) {
+    final Coordinate[] ring = new Coordinate[vertexCount + 1];
+    for (int i = 0; i < vertexCount; i++) {
+      final double angle = (2 * Math.PI * i) / vertexCount;
+      ring[i] =
+          new Coordinate(
+              centerX + (radius * Math.cos(angle)),
+              centerY + (radius * Math.sin(angle)));
+    }
+    ring[vertexCount] = new Coordinate(ring[0]);
+    return GeometryUtils.GEOMETRY_FACTORY.createPolygon(ring);
+  }
+
+  /** Generate a random walk linestring, similar to a GPS track */
+  public static Geometry createTrack(final Random random, final int vertexCount) {
+    final Coordinate[] coords = new Coordinate[vertexCount];
+    double x = randomLongitude(random) / 2;
+    double y = randomLatitude(random) / 2;
+    for (int i = 0; i < vertexCount; i++) {
+      x += (random.nextDouble() - 0.5) * 0.001;
+      y += (random.nextDouble() - 0.5) * 0.001;
+      coords[i] = new Coordinate(x, y);
+    }
+    return GeometryUtils.GEOMETRY_FACTORY.createLineString(coords);
+  }
+
+  /**
+   * Create randomly placed query boxes of the given width/height (in degrees) and an optional time
+   * range (in millis), in longitude, latitude, time dimension order
+   */
+  public static MultiDimensionalNumericData[] createQueryBoxes(
+      final int count,
+      final double boxSizeDegrees,
+      final long timeRangeMillis,
+      final boolean includeTime) {
+    final Random random = newRandom();
+    final MultiDimensionalNumericData[] boxes = new MultiDimensionalNumericData[count];
+    for (int i = 0; i < count; i++) {
+      final double minX = (random.nextDouble() * (360 - boxSizeDegrees)) - 180;
+      final double minY = (random.nextDouble() * (180 - boxSizeDegrees)) - 90;
+      final NumericData[] data = new NumericData[includeTime ? 3 : 2];
+      data[0] = new NumericRange(minX, minX + boxSizeDegrees);
+      data[1] = new NumericRange(minY, minY + boxSizeDegrees);
+      if (includeTime) {
+        final long minTime =
+            START_TIME_MILLIS + (long) (random.nextDouble() * (TIME_SPAN_MILLIS - timeRangeMillis));
+        data[2] = new NumericRange(minTime, minTime + timeRangeMillis);
+      }
+      boxes[i] = new BasicNumericDataset(data);
+    }
+    return boxes;
+  }
+
+  /**
+   * Create randomly placed point entries in longitude, latitude, (time) dimension order
+   */
+  public static MultiDimensionalNumericData[] createPointEntries(
+      final int count,
+      final boolean includeTime) {
+    final Random random = newRandom();
+    final MultiDimensionalNumericData[] entries = new MultiDimensionalNumericData[count];
+    for (int i = 0; i < count; i++) {
+      final NumericData[] data = new NumericData[includeTime ? 3 : 2];
+      data[0] = new NumericValue(randomLongitude(random));
+      data[1] = new NumericValue(randomLatitude(random));
+      if (includeTime) {
+        data[2] = new NumericValue(randomTime(random));
+      }
+      entries[i] = new BasicNumericDataset(data);
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.geotime;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.geowave.benchmarks.BenchmarkUtils;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.geotime.util.TWKBBufferReader;
+import org.locationtech.geowave.core.geotime.util.TWKBReader;
+import org.locationtech.geowave.core.geotime.util.TWKBWriter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks TWKB geometry encoding and decoding for points, tracks and polygons. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TWKBBenchmark {
+  private static final int GEOMETRY_COUNT = 64;
+
+  @Param({"POINT", "LINESTRING_1000", "LINESTRING_10000", "POLYGON_100"})
+  public String geometryType;
+
+  private final TWKBWriter writer = new TWKBWriter();
+  private final TWKBReader reader = new TWKBReader();
+  private final TWKBBufferReader bufferReader = new TWKBBufferReader();
+  private Geometry[] geometries;
+  private byte[][] encoded;
+  private int writeIndex = 0;
+  private int readIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final Random random = BenchmarkUtils.newRandom();
+    geometries = new Geometry[GEOMETRY_COUNT];
+    encoded = new byte[GEOMETRY_COUNT][];
+    for (int i = 0; i < GEOMETRY_COUNT; i++) {
+      switch (geometryType) {
+        case "LINESTRING_1000":
+          geometries[i] = BenchmarkUtils.createTrack(random, 1000);
+          break;
+        case "LINESTRING_10000":
+          geometries[i] = BenchmarkUtils.createTrack(random, 10000);
+          break;
+        case "POLYGON_100":
+          geometries[i] =
+              BenchmarkUtils.createPolygon(
+                  BenchmarkUtils.randomLongitude(random) / 2,
+                  BenchmarkUtils.randomLatitude(random) / 2,
+                  random.nextDouble(),
+                  100);
+          break;
+        case "POINT":
+        default:
+          geometries[i] =
+              GeometryUtils.GEOMETRY_FACTORY.createPoint(
+                  new Coordinate(
+                      BenchmarkUtils.randomLongitude(random),
+                      BenchmarkUtils.randomLatitude(random)));
+          break;
+      }
+      encoded[i] = writer.write(geometries[i]);
+    }
+  }
+
+  @Benchmark
+  public byte[] write() {
+    final Geometry geometry = geometries[writeIndex];
+    writeIndex = (writeIndex + 1) % geometries.length;
+    return writer.write(geometry);
+  }
+
+  @Benchmark
+  public Geometry read() throws ParseException {
+    final byte[] bytes = encoded[readIndex];
+    readIndex = (readIndex + 1) % encoded.length;
+    return reader.read(bytes);
+  }
+
+  @Benchmark
+  public Geometry readBuffer() throws ParseException {
+    final byte[] bytes = encoded[readIndex];
+    readIndex = (readIndex + 1) % encoded.length;
+    return bufferReader.read(bytes);
+  }
+
+  @Benchmark
+  public double visitVertices() throws ParseException {
+    final byte[] bytes = encoded[readIndex];
+    readIndex = (readIndex + 1) % encoded.length;
+    final double[] sum = new double[1];
+    bufferReader.visit(ByteBuffer.wrap(bytes), (type, ring, ordinates, numVertices, dimension) -> {
+      for (int i = 0; i < numVertices; i++) {
+        sum[0] += ordinates[i * dimension];
+      }
+    });
+    return sum[0];
+  }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.index;
+
+import org.locationtech.geowave.core.index.sfc.SFCDecompositionCache;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Controls the process-wide range decomposition cache for benchmarks that decompose queries. The
+ * benchmark queries repeat, so with the cache enabled nearly every decomposition is a cache hit.
+ * With it disabled the cache is cleared before each invocation so that the decomposition itself is
+ * measured, which is only meaningful because a decomposition takes far longer than the clearing.
+ */
+@State(Scope.Thread)
+public class DecompositionCacheState {
+  @Param({"false", "true"})
+  public boolean cached;
+
+  @Setup(Level.Invocation)
+  public void clearCache() {
+    if (!cached) {
+      SFCDecompositionCache.invalidateAll();
+    }
+  }
+}
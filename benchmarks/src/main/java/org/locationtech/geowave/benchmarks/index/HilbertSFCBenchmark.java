@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.index;
+
+import java.util.concurrent.TimeUnit;
+import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCFactory.SFCType;
+import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks insertion ID generation and query range decomposition of the Hilbert space filling
+ * curve. Decompositions are cached across curve instances, so the decomposition is measured both
+ * with and without the cache (see {@link DecompositionCacheState}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HilbertSFCBenchmark {
+  @Param({SFCBenchmarkState.SPATIAL, SFCBenchmarkState.SPATIAL_TEMPORAL})
+  public String dimensionality;
+
+  @Param({"20", "31"})
+  public int bitsPerDimension;
+
+  @Param({"0.1", "5"})
+  public double queryBoxSize;
+
+  private SpaceFillingCurve sfc;
+  private double[][] values;
+  private MultiDimensionalNumericData[] queries;
+  private int valueIndex = 0;
+  private int queryIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setupData() {
+    values = SFCBenchmarkState.createValues(dimensionality);
+    queries = SFCBenchmarkState.createQueries(dimensionality, queryBoxSize);
+    sfc = SFCBenchmarkState.createCurve(dimensionality, bitsPerDimension, SFCType.HILBERT);
+  }
+
+  @Benchmark
+  public byte[] getId() {
+    final double[] v = values[valueIndex];
+    valueIndex = (valueIndex + 1) % values.length;
+    return sfc.getId(v);
+  }
+
+  @Benchmark
+  public RangeDecomposition decomposeRange(final DecompositionCacheState cache) {
+    final MultiDimensionalNumericData query = queries[queryIndex];
+    queryIndex = (queryIndex + 1) % queries.length;
+    return sfc.decomposeRange(query, true, 1000);
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.index;
+
+import java.util.Random;
+import org.locationtech.geowave.benchmarks.BenchmarkUtils;
+import org.locationtech.geowave.core.geotime.index.dimension.LatitudeDefinition;
+import org.locationtech.geowave.core.geotime.index.dimension.LongitudeDefinition;
+import org.locationtech.geowave.core.index.dimension.BasicDimensionDefinition;
+import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
+import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
+import org.locationtech.geowave.core.index.sfc.SFCFactory;
+import org.locationtech.geowave.core.index.sfc.SFCFactory.SFCType;
+import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+
+/**
+ * Common setup for the space filling curve benchmarks, covering a 2D spatial curve and a 3D
+ * spatial-temporal curve
+ */
+public class SFCBenchmarkState {
+  public static final String SPATIAL = "SPATIAL";
+  public static final String SPATIAL_TEMPORAL = "SPATIAL_TEMPORAL";
+
+  protected static final int VALUE_COUNT = 1024;
+  protected static final int QUERY_COUNT = 64;
+
+  public static NumericDimensionDefinition[] getDimensions(final String dimensionality) {
+    if (SPATIAL_TEMPORAL.equals(dimensionality)) {
+      return new NumericDimensionDefinition[] {
+          new LongitudeDefinition(),
+          new LatitudeDefinition(),
+          new BasicDimensionDefinition(
+              BenchmarkUtils.START_TIME_MILLIS,
+              BenchmarkUtils.START_TIME_MILLIS + BenchmarkUtils.TIME_SPAN_MILLIS)};
+    }
+    return new NumericDimensionDefinition[] {new LongitudeDefinition(), new LatitudeDefinition()};
+  }
+
+  public static SpaceFillingCurve createCurve(
+      final String dimensionality,
+      final int bitsPerDimension,
+      final SFCType type) {
+    final NumericDimensionDefinition[] dimensions = getDimensions(dimensionality);
+    final SFCDimensionDefinition[] sfcDimensions = new SFCDimensionDefinition[dimensions.length];
+    for (int d = 0; d < dimensions.length; d++) {
+      sfcDimensions[d] = new SFCDimensionDefinition(dimensions[d], bitsPerDimension);
+    }
+    return SFCFactory.createSpaceFillingCurve(sfcDimensions, type);
+  }
+
+  public static double[][] createValues(final String dimensionality) {
+    final Random random = BenchmarkUtils.newRandom();
+    final boolean includeTime = SPATIAL_TEMPORAL.equals(dimensionality);
+    final double[][] values = new double[VALUE_COUNT][];
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      if (includeTime) {
+        values[i] =
+            new double[] {
+                BenchmarkUtils.randomLongitude(random),
+                BenchmarkUtils.randomLatitude(random),
+                BenchmarkUtils.randomTime(random)};
+      } else {
+        values[i] =
+            new double[] {
+                BenchmarkUtils.randomLongitude(random),
+                BenchmarkUtils.randomLatitude(random)};
+      }
+    }
+    return values;
+  }
+
+  public static MultiDimensionalNumericData[] createQueries(
+      final String dimensionality,
+      final double boxSizeDegrees) {
+    return BenchmarkUtils.createQueryBoxes(
+        QUERY_COUNT,
+        boxSizeDegrees,
+        BenchmarkUtils.TIME_SPAN_MILLIS / 52,
+        SPATIAL_TEMPORAL.equals(dimensionality));
+  }
+}
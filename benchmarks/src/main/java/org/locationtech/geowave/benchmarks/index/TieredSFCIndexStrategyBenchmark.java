@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.index;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.geowave.benchmarks.BenchmarkUtils;
+import org.locationtech.geowave.core.index.InsertionIds;
+import org.locationtech.geowave.core.index.QueryRanges;
+import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
+import org.locationtech.geowave.core.index.sfc.SFCFactory.SFCType;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.tiered.TieredSFCIndexFactory;
+import org.locationtech.geowave.core.index.sfc.tiered.TieredSFCIndexStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the tiered index strategy that backs the default spatial and spatial-temporal indices,
+ * both for insertion of points and small extents and for query range generation. Query range
+ * generation is measured both with and without the decomposition cache (see
+ * {@link DecompositionCacheState}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TieredSFCIndexStrategyBenchmark {
+  @Param({SFCBenchmarkState.SPATIAL, SFCBenchmarkState.SPATIAL_TEMPORAL})
+  public String dimensionality;
+
+  @Param({"0.1", "5"})
+  public double queryBoxSize;
+
+  private TieredSFCIndexStrategy strategy;
+  private MultiDimensionalNumericData[] points;
+  private MultiDimensionalNumericData[] extents;
+  private MultiDimensionalNumericData[] queries;
+  private int entryIndex = 0;
+  private int queryIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setupData() {
+    final boolean includeTime = SFCBenchmarkState.SPATIAL_TEMPORAL.equals(dimensionality);
+    points = BenchmarkUtils.createPointEntries(SFCBenchmarkState.VALUE_COUNT, includeTime);
+    extents =
+        BenchmarkUtils.createQueryBoxes(
+            SFCBenchmarkState.VALUE_COUNT,
+            0.01,
+            60 * 60 * 1000,
+            includeTime);
+    queries = SFCBenchmarkState.createQueries(dimensionality, queryBoxSize);
+    final NumericDimensionDefinition[] dimensions =
+        SFCBenchmarkState.getDimensions(dimensionality);
+    final int[] bitsPerDimension = new int[dimensions.length];
+    Arrays.fill(bitsPerDimension, dimensions.length > 2 ? 20 : 31);
+    strategy =
+        TieredSFCIndexFactory.createFullIncrementalTieredStrategy(
+            dimensions,
+            bitsPerDimension,
+            SFCType.HILBERT);
+  }
+
+  @Benchmark
+  public InsertionIds getInsertionIdsPoint() {
+    final MultiDimensionalNumericData entry = points[entryIndex];
+    entryIndex = (entryIndex + 1) % points.length;
+    return strategy.getInsertionIds(entry);
+  }
+
+  @Benchmark
+  public InsertionIds getInsertionIdsExtent() {
+    final MultiDimensionalNumericData entry = extents[entryIndex];
+    entryIndex = (entryIndex + 1) % extents.length;
+    return strategy.getInsertionIds(entry);
+  }
+
+  @Benchmark
+  public QueryRanges getQueryRanges(final DecompositionCacheState cache) {
+    final MultiDimensionalNumericData query = queries[queryIndex];
+    queryIndex = (queryIndex + 1) % queries.length;
+    return strategy.getQueryRanges(query, 1000);
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.index;
+
+import java.util.concurrent.TimeUnit;
+import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
+import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCFactory.SFCType;
+import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks insertion ID generation and query range decomposition of the XZ-order space filling
+ * curve. XZ-order indexes extents rather than points, so insertion IDs are computed for small
+ * bounding boxes. The curve normalizes extents in place, so each call works on a copy.
+ * Decompositions are cached across curve instances, so the decomposition is measured both with
+ * and without the cache (see {@link DecompositionCacheState}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class XZOrderSFCBenchmark {
+  @Param({SFCBenchmarkState.SPATIAL, SFCBenchmarkState.SPATIAL_TEMPORAL})
+  public String dimensionality;
+
+  @Param({"0.001", "0.5"})
+  public double extentSize;
+
+  @Param({"0.1", "5"})
+  public double queryBoxSize;
+
+  private SpaceFillingCurve sfc;
+  private double[][] extents;
+  private MultiDimensionalNumericData[] queries;
+  private int valueIndex = 0;
+  private int queryIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setupData() {
+    final double[][] values = SFCBenchmarkState.createValues(dimensionality);
+    final NumericDimensionDefinition[] dimensions =
+        SFCBenchmarkState.getDimensions(dimensionality);
+    extents = new double[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      // XZ-order expects interleaved min/max pairs per dimension
+      extents[i] = new double[values[i].length * 2];
+      for (int d = 0; d < values[i].length; d++) {
+        // spatial extents are in degrees, the temporal extent is in hours
+        final double size = d < 2 ? extentSize : extentSize * 1000 * 60 * 60;
+        extents[i][d * 2] = values[i][d];
+        extents[i][(d * 2) + 1] =
+            Math.min(values[i][d] + size, dimensions[d].getFullRange().getMax());
+      }
+    }
+    queries = SFCBenchmarkState.createQueries(dimensionality, queryBoxSize);
+    // XZ-order has a fixed resolution so the bits of precision are irrelevant
+    sfc = SFCBenchmarkState.createCurve(dimensionality, 20, SFCType.XZORDER);
+  }
+
+  @Benchmark
+  public byte[] getId() {
+    final double[] v = extents[valueIndex].clone();
+    valueIndex = (valueIndex + 1) % extents.length;
+    return sfc.getId(v);
+  }
+
+  @Benchmark
+  public RangeDecomposition decomposeRange(final DecompositionCacheState cache) {
+    final MultiDimensionalNumericData query = queries[queryIndex];
+    queryIndex = (queryIndex + 1) % queries.length;
+    return sfc.decomposeRange(query, true, 1000);
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.geowave.adapter.vector.FeatureDataAdapter;
+import org.locationtech.geowave.benchmarks.BenchmarkUtils;
+import org.locationtech.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider.SpatialIndexBuilder;
+import org.locationtech.geowave.core.geotime.store.query.api.VectorQueryBuilder;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.StoreFactoryOptions;
+import org.locationtech.geowave.core.store.api.DataStore;
+import org.locationtech.geowave.core.store.api.DataStoreFactory;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.api.Writer;
+import org.locationtech.geowave.core.store.memory.MemoryRequiredOptions;
+import org.locationtech.geowave.datastore.rocksdb.config.RocksDBOptions;
+import org.locationtech.geowave.datastore.rocksdb.util.RocksDBClientCache;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end write and query loop through the public {@link DataStore} API, run against both the
+ * in-memory data store and an embedded RocksDB data store in a temporary directory. Each trial
+ * preloads a fixed set of points so that query results are stable across runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class DataStoreBenchmark {
+  private static final int PRELOADED_FEATURE_COUNT = 100000;
+  private static final int WRITE_BATCH_SIZE = 1000;
+  private static final int QUERY_COUNT = 64;
+
+  @Param({"memory", "rocksdb"})
+  public String storeType;
+
+  @Param({"1", "10"})
+  public double queryBoxSize;
+
+  private DataStore dataStore;
+  private File rocksDBDirectory;
+  private SimpleFeatureType type;
+  private String typeName;
+  private Geometry[] queryGeometries;
+  private SimpleFeatureBuilder writeBuilder;
+  private Random writeRandom;
+  private long writeCounter = PRELOADED_FEATURE_COUNT;
+  private int queryIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final StoreFactoryOptions options;
+    if ("rocksdb".equals(storeType)) {
+      rocksDBDirectory = Files.createTempDirectory("geowave-benchmark-rocksdb").toFile();
+      final RocksDBOptions rocksDBOptions = new RocksDBOptions();
+      rocksDBOptions.setDirectory(rocksDBDirectory.getAbsolutePath());
+      options = rocksDBOptions;
+    } else {
+      options = new MemoryRequiredOptions();
+    }
+    // isolate each trial, the memory data store caches operations by namespace
+    options.setGeoWaveNamespace("benchmark_" + UUID.randomUUID().toString().replace('-', '_'));
+    dataStore = DataStoreFactory.createDataStore(options);
+
+    type = BenchmarkUtils.createPointType();
+    typeName = type.getTypeName();
+    final Index index = new SpatialIndexBuilder().createIndex();
+    dataStore.addType(new FeatureDataAdapter(type), index);
+    try (Writer<SimpleFeature> writer = dataStore.createWriter(typeName)) {
+      for (final SimpleFeature feature : BenchmarkUtils.createPointFeatures(
+          type,
+          PRELOADED_FEATURE_COUNT)) {
+        writer.write(feature);
+      }
+    }
+
+    final Random queryRandom = BenchmarkUtils.newRandom();
+    queryGeometries = new Geometry[QUERY_COUNT];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      final double minX = (queryRandom.nextDouble() * (360 - queryBoxSize)) - 180;
+      final double minY = (queryRandom.nextDouble() * (180 - queryBoxSize)) - 90;
+      queryGeometries[i] =
+          GeometryUtils.GEOMETRY_FACTORY.toGeometry(
+              new Envelope(minX, minX + queryBoxSize, minY, minY + queryBoxSize));
+    }
+    writeBuilder = new SimpleFeatureBuilder(type);
+    writeRandom = new Random(BenchmarkUtils.SEED + 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    dataStore.deleteAll();
+    if (rocksDBDirectory != null) {
+      RocksDBClientCache.getInstance().closeAll();
+      try (Stream<Path> paths = Files.walk(rocksDBDirectory.toPath())) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  /** Writes a batch of new features, throughput is reported in batches per second */
+  @Benchmark
+  public void writeBatch() {
+    try (Writer<SimpleFeature> writer = dataStore.createWriter(typeName)) {
+      for (int i = 0; i < WRITE_BATCH_SIZE; i++) {
+        writer.write(
+            BenchmarkUtils.createPointFeature(
+                writeBuilder,
+                writeRandom,
+                Long.toString(writeCounter++)));
+      }
+    }
+  }
+
+  /** Runs a bounding box query and fully consumes the results */
+  @Benchmark
+  public long queryBbox() {
+    final Geometry queryGeometry = queryGeometries[queryIndex];
+    queryIndex = (queryIndex + 1) % queryGeometries.length;
+    final VectorQueryBuilder bldr = VectorQueryBuilder.newBuilder();
+    long count = 0;
+    try (CloseableIterator<SimpleFeature> it =
+        dataStore.query(
+            bldr.addTypeName(typeName).constraints(
+                bldr.constraintsFactory().spatialTemporalConstraints().spatialConstraints(
+                    queryGeometry).build()).build())) {
+      while (it.hasNext()) {
+        it.next();
+        count++;
+      }
+    }
+    return count;
+  }
+}
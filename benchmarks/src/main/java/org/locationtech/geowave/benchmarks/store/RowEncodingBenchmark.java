@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.benchmarks.store;
+
+import java.util.concurrent.TimeUnit;
+import org.locationtech.geowave.adapter.vector.FeatureDataAdapter;
+import org.locationtech.geowave.benchmarks.BenchmarkUtils;
+import org.locationtech.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider.SpatialIndexBuilder;
+import org.locationtech.geowave.core.geotime.ingest.SpatialTemporalDimensionalityTypeProvider.SpatialTemporalIndexBuilder;
+import org.locationtech.geowave.core.store.adapter.InternalDataAdapter;
+import org.locationtech.geowave.core.store.adapter.InternalDataAdapterWrapper;
+import org.locationtech.geowave.core.store.adapter.exceptions.AdapterException;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.base.BaseDataStoreUtils;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.util.DataStoreUtils;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the conversion of a feature into its GeoWave rows and the decoding of those rows back
+ * into a feature, independent of any data store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RowEncodingBenchmark {
+  private static final int FEATURE_COUNT = 1024;
+
+  @Param({"SPATIAL", "SPATIAL_TEMPORAL"})
+  public String indexType;
+
+  private Index index;
+  private InternalDataAdapter<SimpleFeature> adapter;
+  private SimpleFeature[] features;
+  private GeoWaveRow[] rows;
+  private int featureIndex = 0;
+  private int rowIndex = 0;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final SimpleFeatureType type = BenchmarkUtils.createPointType();
+    if ("SPATIAL_TEMPORAL".equals(indexType)) {
+      index = new SpatialTemporalIndexBuilder().createIndex();
+    } else {
+      index = new SpatialIndexBuilder().createIndex();
+    }
+    final FeatureDataAdapter featureAdapter = new FeatureDataAdapter(type);
+    featureAdapter.init(index);
+    adapter = new InternalDataAdapterWrapper<>(featureAdapter, (short) 0);
+    features = BenchmarkUtils.createPointFeatures(type, FEATURE_COUNT);
+    rows = new GeoWaveRow[FEATURE_COUNT];
+    for (int i = 0; i < FEATURE_COUNT; i++) {
+      // points only produce a single row
+      rows[i] =
+          BaseDataStoreUtils.getGeoWaveRows(
+              features[i],
+              adapter,
+              index,
+              DataStoreUtils.UNCONSTRAINED_VISIBILITY)[0];
+    }
+  }
+
+  @Benchmark
+  public GeoWaveRow[] encode() {
+    final SimpleFeature feature = features[featureIndex];
+    featureIndex = (featureIndex + 1) % features.length;
+    return BaseDataStoreUtils.getGeoWaveRows(
+        feature,
+        adapter,
+        index,
+        DataStoreUtils.UNCONSTRAINED_VISIBILITY);
+  }
+
+  @Benchmark
+  public Object decode() throws AdapterException {
+    final GeoWaveRow row = rows[rowIndex];
+    rowIndex = (rowIndex + 1) % rows.length;
+    return BaseDataStoreUtils.decodeRow(row, null, adapter, null, index, null, null, true, null);
+  }
+}
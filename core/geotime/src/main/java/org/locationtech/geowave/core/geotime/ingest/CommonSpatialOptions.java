@@ -10,7 +10,9 @@ package org.locationtech.geowave.core.geotime.ingest;
 
 import com.beust.jcommander.Parameter;
 import javax.annotation.Nullable;
+import org.locationtech.geowave.core.geotime.store.dimension.SpatialField;
 import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
 import org.locationtech.geowave.core.store.spi.DimensionalityTypeOptions;
 
 public abstract class CommonSpatialOptions implements DimensionalityTypeOptions {
@@ -32,6 +34,12 @@ public abstract class CommonSpatialOptions implements DimensionalityTypeOptions
       description = "If specified, geometry will be encoded losslessly.  Uses more disk space.")
   protected boolean fullGeometryPrecision = false;
 
+  @Parameter(
+      names = {"--geometryBoundingBox"},
+      required = false,
+      description = "If specified, geometries other than points will be encoded with their bounding box so that spatial filters can test their envelope without decoding them.  Uses more disk space and the data can't be read by versions prior to bounding box support.")
+  protected boolean geometryBoundingBox = false;
+
   public void setCrs(String crs) {
     this.crs = crs;
   }
@@ -45,6 +53,28 @@ public abstract class CommonSpatialOptions implements DimensionalityTypeOptions
     }
   }
 
+  public void setGeometryBoundingBox(final boolean geometryBoundingBox) {
+    this.geometryBoundingBox = geometryBoundingBox;
+  }
+
+  public boolean isGeometryBoundingBox() {
+    return geometryBoundingBox;
+  }
+
+  /**
+   * Apply the geometry encoding options that are not part of the construction of the spatial
+   * fields.
+   *
+   * @param fields the fields of the index
+   */
+  protected void applyGeometryOptions(final NumericDimensionField<?>[] fields) {
+    for (final NumericDimensionField<?> field : fields) {
+      if (field instanceof SpatialField) {
+        ((SpatialField) field).setIncludeBoundingBox(geometryBoundingBox);
+      }
+    }
+  }
+
   public Integer getGeometryPrecision() {
     if (fullGeometryPrecision) {
       return null;
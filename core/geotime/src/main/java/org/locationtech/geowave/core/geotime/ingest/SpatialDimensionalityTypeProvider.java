@@ -190,13 +190,15 @@ public class SpatialDimensionalityTypeProvider implements
 
     BasicIndexModel indexModel = null;
     if (isDefaultCRS) {
-      indexModel =
-          new BasicIndexModel(
-              options.storeTime ? getSpatialTemporalFields(geometryPrecision)
-                  : getSpatialFields(geometryPrecision));
+      final NumericDimensionField<?>[] modelFields =
+          options.storeTime ? getSpatialTemporalFields(geometryPrecision)
+              : getSpatialFields(geometryPrecision);
+      options.applyGeometryOptions(modelFields);
+      indexModel = new BasicIndexModel(modelFields);
     } else {
-
-      indexModel = new CustomCrsIndexModel(options.storeTime ? fields_temporal : fields, crsCode);
+      final NumericDimensionField<?>[] modelFields = options.storeTime ? fields_temporal : fields;
+      options.applyGeometryOptions(modelFields);
+      indexModel = new CustomCrsIndexModel(modelFields, crsCode);
     }
 
     return new CustomNameIndex(
@@ -274,6 +276,11 @@ public class SpatialDimensionalityTypeProvider implements
       return this;
     }
 
+    public SpatialIndexBuilder setGeometryBoundingBox(final boolean geometryBoundingBox) {
+      options.geometryBoundingBox = geometryBoundingBox;
+      return this;
+    }
+
     @Override
     public Index createIndex() {
       return createIndex(internalCreateIndex(options));
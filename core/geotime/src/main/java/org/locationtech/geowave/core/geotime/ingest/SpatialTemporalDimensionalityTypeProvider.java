@@ -138,6 +138,7 @@ public class SpatialTemporalDimensionalityTypeProvider implements
       fields[dimensions.length - 1] = new TimeField(options.periodicity);
     }
 
+    options.applyGeometryOptions(fields);
     BasicIndexModel indexModel = null;
     if (isDefaultCRS) {
       indexModel = new BasicIndexModel(fields);
@@ -294,6 +295,11 @@ public class SpatialTemporalDimensionalityTypeProvider implements
       return this;
     }
 
+    public SpatialTemporalIndexBuilder setGeometryBoundingBox(final boolean geometryBoundingBox) {
+      options.geometryBoundingBox = geometryBoundingBox;
+      return this;
+    }
+
     @Override
     public Index createIndex() {
       return createIndex(internalCreateIndex(options));
@@ -9,6 +9,7 @@
 package org.locationtech.geowave.core.geotime.store.dimension;
 
 import com.google.common.math.DoubleMath;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
 import org.locationtech.geowave.core.index.sfc.data.NumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericRange;
 import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
@@ -18,18 +19,31 @@ import org.locationtech.jts.geom.Envelope;
 
 /**
  * This class wraps JTS geometry with visibility so that it can be used within GeoWave as a
- * CommonIndexValue
+ * CommonIndexValue. A wrapper that is read from a serialized field only decodes the geometry when
+ * it is first requested, and the envelope of a TWKB geometry can be read without decoding it.
  */
 public class GeometryWrapper implements CommonIndexValue {
   public static final String DEFAULT_GEOMETRY_FIELD_NAME = "default_geom_dimension";
   private byte[] visibility;
-  private final org.locationtech.jts.geom.Geometry geometry;
+  private org.locationtech.jts.geom.Geometry geometry;
+  private byte[] geometryBinary;
+  private Integer geometryPrecision;
+  private Envelope envelope;
   private static final double DOUBLE_TOLERANCE = 1E-12d;
 
   public GeometryWrapper(final org.locationtech.jts.geom.Geometry geometry) {
     this.geometry = geometry;
   }
 
+  /**
+   * @param geometryBinary the serialized geometry, decoded when it is first requested
+   * @param geometryPrecision the precision of the TWKB encoding, or null if it is well-known binary
+   */
+  public GeometryWrapper(final byte[] geometryBinary, final Integer geometryPrecision) {
+    this.geometryBinary = geometryBinary;
+    this.geometryPrecision = geometryPrecision;
+  }
+
   public GeometryWrapper(
       final org.locationtech.jts.geom.Geometry geometry,
       final byte[] visibility) {
@@ -48,9 +62,30 @@ public class GeometryWrapper implements CommonIndexValue {
   }
 
   public org.locationtech.jts.geom.Geometry getGeometry() {
+    if (geometryBinary != null) {
+      geometry = GeometryUtils.geometryFromBinary(geometryBinary, geometryPrecision);
+      geometryBinary = null;
+    }
     return geometry;
   }
 
+  /**
+   * Get the envelope of the geometry, reading it from the serialized TWKB geometry if the geometry
+   * has not been decoded yet.
+   *
+   * @return the envelope, or null if there is no geometry
+   */
+  public Envelope getEnvelope() {
+    if ((geometryBinary != null) && (geometryPrecision != null)) {
+      if (envelope == null) {
+        envelope = GeometryUtils.envelopeFromBinary(geometryBinary, geometryPrecision);
+      }
+      return envelope;
+    }
+    final org.locationtech.jts.geom.Geometry geom = getGeometry();
+    return geom == null ? null : geom.getEnvelopeInternal();
+  }
+
   /** Expects Longitude before Latitude */
   @Override
   public boolean overlaps(final NumericDimensionField[] fields, final NumericData[] rangeData) {
@@ -58,7 +93,7 @@ public class GeometryWrapper implements CommonIndexValue {
     final int latPosition = fields[0] instanceof LatitudeField ? 0 : 1;
     final int longPosition = fields[0] instanceof LatitudeField ? 1 : 0;
     if (fields.length == 1) {
-      final Envelope env = geometry.getEnvelopeInternal();
+      final Envelope env = getEnvelope();
       final NumericRange r =
           latPosition == 0 ? new NumericRange(env.getMinY(), env.getMaxY())
               : new NumericRange(env.getMinX(), env.getMaxX());
@@ -67,7 +102,8 @@ public class GeometryWrapper implements CommonIndexValue {
           && ((rangeData[0].getMax() > r.getMin())
               || DoubleMath.fuzzyEquals(rangeData[0].getMax(), r.getMin(), DOUBLE_TOLERANCE));
     }
-    return geometry.getFactory().createPolygon(
+    final org.locationtech.jts.geom.Geometry geom = getGeometry();
+    return geom.getFactory().createPolygon(
         new Coordinate[] {
             new Coordinate(
                 rangeData[longPosition].getMin() - DOUBLE_TOLERANCE,
@@ -83,6 +119,6 @@ public class GeometryWrapper implements CommonIndexValue {
                 rangeData[latPosition].getMin() - DOUBLE_TOLERANCE),
             new Coordinate(
                 rangeData[longPosition].getMin() - DOUBLE_TOLERANCE,
-                rangeData[latPosition].getMin() - DOUBLE_TOLERANCE)}).intersects(geometry);
+                rangeData[latPosition].getMin() - DOUBLE_TOLERANCE)}).intersects(geom);
   }
 }
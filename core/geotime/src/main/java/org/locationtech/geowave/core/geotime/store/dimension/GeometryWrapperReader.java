@@ -9,7 +9,6 @@
 package org.locationtech.geowave.core.geotime.store.dimension;
 
 import javax.annotation.Nullable;
-import org.locationtech.geowave.core.geotime.util.GeometryUtils;
 import org.locationtech.geowave.core.store.data.field.FieldReader;
 
 public class GeometryWrapperReader implements FieldReader<GeometryWrapper> {
@@ -26,6 +25,7 @@ public class GeometryWrapperReader implements FieldReader<GeometryWrapper> {
 
   @Override
   public GeometryWrapper readField(final byte[] fieldData) {
-    return new GeometryWrapper(GeometryUtils.geometryFromBinary(fieldData, geometryPrecision));
+    // the geometry is decoded when it is used, filters may only need its envelope
+    return new GeometryWrapper(fieldData, geometryPrecision);
   }
 }
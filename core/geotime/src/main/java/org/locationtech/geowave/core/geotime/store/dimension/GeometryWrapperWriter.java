@@ -15,6 +15,7 @@ import org.locationtech.geowave.core.store.data.field.FieldWriter;
 public class GeometryWrapperWriter implements FieldWriter<Object, GeometryWrapper> {
 
   private Integer geometryPrecision = null;
+  private boolean includeBoundingBox = false;
 
   public GeometryWrapperWriter(@Nullable Integer geometryPrecision) {
     this.geometryPrecision = geometryPrecision;
@@ -24,9 +25,21 @@ public class GeometryWrapperWriter implements FieldWriter<Object, GeometryWrappe
     this.geometryPrecision = geometryPrecision;
   }
 
+  /**
+   * @param includeBoundingBox whether to write the TWKB bounding box of geometries, which can't be
+   *        read by versions prior to bounding box support
+   */
+  public void setIncludeBoundingBox(final boolean includeBoundingBox) {
+    this.includeBoundingBox = includeBoundingBox;
+  }
+
   @Override
   public byte[] writeField(final GeometryWrapper geometry) {
-    return GeometryUtils.geometryToBinary(geometry.getGeometry(), geometryPrecision);
+    // the bounding box lets query filters test the envelope without reading the coordinates
+    return GeometryUtils.geometryToBinary(
+        geometry.getGeometry(),
+        geometryPrecision,
+        includeBoundingBox);
   }
 
   @Override
@@ -23,11 +23,15 @@ import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
 
 /** A base class for EPSG:4326 latitude/longitude fields that use JTS geometry */
 public abstract class SpatialField implements NumericDimensionField<GeometryWrapper> {
+  // appended after the precision only when bounding boxes are included, the precision is never this
+  // value so fields persisted without it are read unchanged
+  private static final byte INCLUDE_BOUNDING_BOX = Byte.MIN_VALUE;
   protected NumericDimensionDefinition baseDefinition;
   private final GeometryWrapperReader geometryReader;
   private final GeometryWrapperWriter geometryWriter;
   private String fieldName;
   private Integer geometryPrecision;
+  private boolean includeBoundingBox = false;
 
   protected SpatialField() {
     this(null);
@@ -112,6 +116,22 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     return geometryReader;
   }
 
+  public boolean isIncludeBoundingBox() {
+    return includeBoundingBox;
+  }
+
+  /**
+   * Write geometries with their TWKB bounding box so that their envelope can be read without
+   * reading their coordinates. Rows written with a bounding box can't be read by versions prior to
+   * bounding box support, so it is off by default.
+   *
+   * @param includeBoundingBox whether to include the bounding box
+   */
+  public void setIncludeBoundingBox(final boolean includeBoundingBox) {
+    this.includeBoundingBox = includeBoundingBox;
+    geometryWriter.setIncludeBoundingBox(includeBoundingBox);
+  }
+
   @Override
   public NumericDimensionDefinition getBaseDefinition() {
     return baseDefinition;
@@ -126,7 +146,7 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
             dimensionBinary.length
                 + fieldNameBytes.length
                 + VarintUtils.unsignedIntByteLength(fieldNameBytes.length)
-                + 1);
+                + (includeBoundingBox ? 2 : 1));
     VarintUtils.writeUnsignedInt(fieldNameBytes.length, buf);
     buf.put(fieldNameBytes);
     buf.put(dimensionBinary);
@@ -135,6 +155,9 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     } else {
       buf.put((byte) this.geometryPrecision.intValue());
     }
+    if (includeBoundingBox) {
+      buf.put(INCLUDE_BOUNDING_BOX);
+    }
     return buf.array();
   }
 
@@ -145,7 +168,8 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     final byte[] fieldNameBytes = new byte[fieldNameLength];
     buf.get(fieldNameBytes);
     fieldName = StringUtils.stringFromBinary(fieldNameBytes);
-    final byte[] dimensionBinary = new byte[buf.remaining() - 1];
+    includeBoundingBox = bytes[bytes.length - 1] == INCLUDE_BOUNDING_BOX;
+    final byte[] dimensionBinary = new byte[buf.remaining() - (includeBoundingBox ? 2 : 1)];
     buf.get(dimensionBinary);
     baseDefinition = (NumericDimensionDefinition) PersistenceUtils.fromBinary(dimensionBinary);
     byte precision = buf.get();
@@ -156,6 +180,7 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     }
     geometryReader.setPrecision(geometryPrecision);
     geometryWriter.setPrecision(geometryPrecision);
+    geometryWriter.setIncludeBoundingBox(includeBoundingBox);
   }
 
   @Override
@@ -167,6 +192,7 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     result = (prime * result) + ((baseDefinition == null) ? 0 : baseDefinition.hashCode());
     result = (prime * result) + ((fieldName == null) ? 0 : fieldName.hashCode());
     result = (prime * result) + ((geometryPrecision == null) ? 0 : geometryPrecision.hashCode());
+    result = (prime * result) + (includeBoundingBox ? 1231 : 1237);
     return result;
   }
 
@@ -203,6 +229,9 @@ public abstract class SpatialField implements NumericDimensionField<GeometryWrap
     } else if (!geometryPrecision.equals(other.geometryPrecision)) {
       return false;
     }
+    if (includeBoundingBox != other.includeBoundingBox) {
+      return false;
+    }
     return true;
   }
 }
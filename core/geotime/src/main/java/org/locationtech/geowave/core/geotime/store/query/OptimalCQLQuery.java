@@ -11,11 +11,13 @@ package org.locationtech.geowave.core.geotime.store.query;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import org.geotools.filter.text.cql2.CQL;
 import org.geotools.filter.text.cql2.CQLException;
 import org.geotools.filter.text.ecql.ECQL;
 import org.locationtech.geowave.core.geotime.store.GeotoolsFeatureDataAdapter;
 import org.locationtech.geowave.core.geotime.store.query.filter.SpatialQueryFilter.CompareOperation;
+import org.locationtech.geowave.core.geotime.util.ExtractAttributeConstraintsVisitor;
 import org.locationtech.geowave.core.geotime.util.ExtractAttributesFilter;
 import org.locationtech.geowave.core.geotime.util.ExtractGeometryFilterVisitor;
 import org.locationtech.geowave.core.geotime.util.ExtractGeometryFilterVisitorResult;
@@ -28,12 +30,16 @@ import org.locationtech.geowave.core.geotime.util.TimeUtils;
 import org.locationtech.geowave.core.index.StringUtils;
 import org.locationtech.geowave.core.store.api.DataTypeAdapter;
 import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionalityTypeProvider;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexQuery;
 import org.locationtech.geowave.core.store.query.constraints.AdapterAndIndexBasedQueryConstraints;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery.Constraints;
 import org.locationtech.geowave.core.store.query.constraints.QueryConstraints;
 import org.locationtech.geowave.core.store.query.filter.BasicQueryFilter.BasicQueryCompareOperation;
 import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.filter.Filter;
 import org.slf4j.Logger;
@@ -88,6 +94,14 @@ public class OptimalCQLQuery implements AdapterAndIndexBasedQueryConstraints, Qu
       final CompareOperation geoCompareOp,
       final Index index,
       BasicQuery baseQuery) {
+    if (AttributeDimensionalityTypeProvider.isAttribute(index)) {
+      // spatial and temporal constraints don't apply to an attribute index, and the attribute
+      // constraints only select ranges of the index so the filter is always applied
+      return new ExplicitCQLQuery(
+          createAttributeQuery(cqlFilter, adapter.getFeatureType(), index),
+          cqlFilter,
+          adapter);
+    }
     final ExtractAttributesFilter attributesVisitor = new ExtractAttributesFilter();
 
     final Object obj = cqlFilter.accept(attributesVisitor, null);
@@ -218,6 +232,37 @@ public class OptimalCQLQuery implements AdapterAndIndexBasedQueryConstraints, Qu
     }
   }
 
+  /**
+   * Create the constraints of a filter on an attribute index.
+   *
+   * @param cqlFilter the filter
+   * @param featureType the feature type being queried
+   * @param index the index, see {@link AttributeDimensionalityTypeProvider}
+   * @return the constraints on the indexed attribute, or null if the index is not an attribute
+   *         index or the filter leaves the attribute unconstrained
+   */
+  public static AttributeIndexQuery createAttributeQuery(
+      final Filter cqlFilter,
+      final SimpleFeatureType featureType,
+      final Index index) {
+    final String attributeName = AttributeDimensionalityTypeProvider.getAttributeName(index);
+    if ((cqlFilter == null) || (featureType == null) || (attributeName == null)) {
+      return null;
+    }
+    final AttributeDescriptor descriptor = featureType.getDescriptor(attributeName);
+    if (descriptor == null) {
+      return null;
+    }
+    final List<FilterableConstraints> constraints =
+        new ExtractAttributeConstraintsVisitor(
+            attributeName,
+            descriptor.getType().getBinding()).getConstraints(cqlFilter);
+    if (constraints == null) {
+      return null;
+    }
+    return new AttributeIndexQuery(constraints);
+  }
+
   private Filter filter;
 
   public OptimalCQLQuery() {}
@@ -26,6 +26,7 @@ import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
 import org.locationtech.geowave.core.store.index.CommonIndexModel;
 import org.locationtech.geowave.core.store.query.filter.BasicQueryFilter;
 import org.locationtech.geowave.core.store.util.GenericTypeResolver;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
@@ -270,7 +271,7 @@ public class SpatialQueryFilter extends BasicQueryFilter {
       }
       if ((geomObj != null) && (geomObj instanceof GeometryWrapper)) {
         final GeometryWrapper geom = (GeometryWrapper) geomObj;
-        if (geometryPasses(geom.getGeometry())) {
+        if (geometryPasses(geom)) {
           geometryPasses = true;
           break;
         }
@@ -288,6 +289,62 @@ public class SpatialQueryFilter extends BasicQueryFilter {
     return super.accept(indexModel, persistenceEncoding);
   }
 
+  private boolean geometryPasses(final GeometryWrapper dataGeometry) {
+    if (preparedGeometryImage == null) {
+      return false;
+    }
+    // the envelope can be read without decoding the geometry, so decide from it whenever possible
+    final Envelope dataEnvelope = dataGeometry.getEnvelope();
+    if (dataEnvelope == null) {
+      return false;
+    }
+    if (!dataEnvelope.isNull()) {
+      final Geometry constraintGeometry = preparedGeometryImage.preparedGeometry.getGeometry();
+      final Envelope constraintEnvelope = constraintGeometry.getEnvelopeInternal();
+      if (!envelopeMayPass(dataEnvelope, constraintEnvelope)) {
+        return false;
+      }
+      if (constraintGeometry.isRectangle() && envelopePasses(dataEnvelope, constraintEnvelope)) {
+        return true;
+      }
+    }
+    return geometryPasses(dataGeometry.getGeometry());
+  }
+
+  /** @return false if no geometry with the data envelope can pass the compare operation */
+  private boolean envelopeMayPass(final Envelope dataEnvelope, final Envelope constraintEnvelope) {
+    switch (compareOperation) {
+      case DISJOINT:
+        return true;
+      case CONTAINS:
+        return constraintEnvelope.covers(dataEnvelope);
+      case WITHIN:
+        return dataEnvelope.covers(constraintEnvelope);
+      case EQUALS:
+        return dataEnvelope.equals(constraintEnvelope);
+      default:
+        return dataEnvelope.intersects(constraintEnvelope);
+    }
+  }
+
+  /** @return true if every geometry with the data envelope passes a rectangular constraint */
+  private boolean envelopePasses(final Envelope dataEnvelope, final Envelope constraintEnvelope) {
+    switch (compareOperation) {
+      case INTERSECTS:
+        return constraintEnvelope.covers(dataEnvelope);
+      case CONTAINS:
+        // a geometry that is only on the boundary of the rectangle is not contained by it
+        return (constraintEnvelope.getMinX() < dataEnvelope.getMinX())
+            && (constraintEnvelope.getMinY() < dataEnvelope.getMinY())
+            && (constraintEnvelope.getMaxX() > dataEnvelope.getMaxX())
+            && (constraintEnvelope.getMaxY() > dataEnvelope.getMaxY());
+      case DISJOINT:
+        return !constraintEnvelope.intersects(dataEnvelope);
+      default:
+        return false;
+    }
+  }
+
   private boolean geometryPasses(final Geometry dataGeometry) {
     if (dataGeometry == null) {
       return false;
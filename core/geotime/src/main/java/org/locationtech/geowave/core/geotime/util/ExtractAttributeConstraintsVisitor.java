@@ -0,0 +1,387 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.geotime.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.geotools.filter.visitor.NullFilterVisitor;
+import org.geotools.util.Converters;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy;
+import org.locationtech.geowave.core.store.index.numeric.NumericQueryConstraint;
+import org.locationtech.geowave.core.store.index.temporal.TemporalQueryConstraint;
+import org.locationtech.geowave.core.store.index.text.TextQueryConstraint;
+import org.opengis.filter.And;
+import org.opengis.filter.BinaryComparisonOperator;
+import org.opengis.filter.Filter;
+import org.opengis.filter.Or;
+import org.opengis.filter.PropertyIsBetween;
+import org.opengis.filter.PropertyIsEqualTo;
+import org.opengis.filter.PropertyIsGreaterThan;
+import org.opengis.filter.PropertyIsGreaterThanOrEqualTo;
+import org.opengis.filter.PropertyIsLessThan;
+import org.opengis.filter.PropertyIsLessThanOrEqualTo;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+import org.opengis.filter.temporal.After;
+import org.opengis.filter.temporal.Before;
+import org.opengis.filter.temporal.BinaryTemporalOperator;
+import org.opengis.filter.temporal.During;
+import org.opengis.filter.temporal.TEquals;
+import org.opengis.temporal.Instant;
+import org.opengis.temporal.Period;
+import org.opengis.temporal.Position;
+
+/**
+ * This class can be used to get the constraints that an OpenGIS filter places on a single
+ * attribute, for use with an attribute index (see {@link AttributeIndexStrategy}). Numeric and
+ * boolean attributes are constrained by {@link NumericQueryConstraint}, dates by
+ * {@link TemporalQueryConstraint} and any other attribute by case sensitive equality with a
+ * {@link TextQueryConstraint}. Any filter that can't be represented by these constraints, such as a
+ * negation or a range on text, leaves the attribute unconstrained. The constraints are never more
+ * restrictive than the filter, so the filter still has to be applied to the results.
+ */
+public class ExtractAttributeConstraintsVisitor extends NullFilterVisitor {
+  private static final Date MIN_DATE = new Date(Long.MIN_VALUE);
+  private static final Date MAX_DATE = new Date(Long.MAX_VALUE);
+
+  private final String attributeName;
+  private final Class<?> binding;
+
+  public ExtractAttributeConstraintsVisitor(final String attributeName, final Class<?> binding) {
+    this.attributeName = attributeName;
+    this.binding = binding;
+  }
+
+  /**
+   * @param filter the filter
+   * @return the constraints on the attribute, a row matches if it matches any of them, or null if
+   *         the attribute is unconstrained
+   */
+  @SuppressWarnings("unchecked")
+  public List<FilterableConstraints> getConstraints(final Filter filter) {
+    final Object output = filter.accept(this, null);
+    if (output instanceof List) {
+      return (List<FilterableConstraints>) output;
+    }
+    return null;
+  }
+
+  @Override
+  public Object visit(final And filter, final Object data) {
+    List<FilterableConstraints> constraints = null;
+    for (final Filter f : filter.getChildren()) {
+      final List<FilterableConstraints> childConstraints = getConstraints(f);
+      if (childConstraints == null) {
+        continue;
+      }
+      if (constraints == null) {
+        constraints = childConstraints;
+      } else if ((constraints.size() == 1) && (childConstraints.size() == 1)) {
+        final FilterableConstraints intersection =
+            intersect(constraints.get(0), childConstraints.get(0));
+        // disjoint constraints match nothing, but the filter will take care of that
+        if (intersection != null) {
+          constraints = Collections.singletonList(intersection);
+        }
+      } else if (childConstraints.size() < constraints.size()) {
+        // either side covers the conjunction, keep the one with fewer ranges
+        constraints = childConstraints;
+      }
+    }
+    return constraints;
+  }
+
+  @Override
+  public Object visit(final Or filter, final Object data) {
+    final List<FilterableConstraints> constraints = new ArrayList<>();
+    for (final Filter f : filter.getChildren()) {
+      final List<FilterableConstraints> childConstraints = getConstraints(f);
+      if (childConstraints == null) {
+        // any unconstrained child leaves the whole filter unconstrained
+        return null;
+      }
+      constraints.addAll(childConstraints);
+    }
+    return constraints.isEmpty() ? null : constraints;
+  }
+
+  @Override
+  public Object visit(final PropertyIsEqualTo filter, final Object data) {
+    final Object value = getComparedValue(filter);
+    if (value == null) {
+      return null;
+    }
+    if (isRangeSupported()) {
+      return toList(createRange(value, value));
+    }
+    // text is indexed by its exact, case sensitive, value
+    if (!filter.isMatchingCase()) {
+      return null;
+    }
+    return toList(new TextQueryConstraint(attributeName, value.toString(), true));
+  }
+
+  @Override
+  public Object visit(final PropertyIsGreaterThan filter, final Object data) {
+    return greaterThan(filter);
+  }
+
+  @Override
+  public Object visit(final PropertyIsGreaterThanOrEqualTo filter, final Object data) {
+    return greaterThan(filter);
+  }
+
+  @Override
+  public Object visit(final PropertyIsLessThan filter, final Object data) {
+    return lessThan(filter);
+  }
+
+  @Override
+  public Object visit(final PropertyIsLessThanOrEqualTo filter, final Object data) {
+    return lessThan(filter);
+  }
+
+  @Override
+  public Object visit(final PropertyIsBetween filter, final Object data) {
+    if (!isAttribute(filter.getExpression()) || !isRangeSupported()) {
+      return null;
+    }
+    final Object lower = getLiteralValue(filter.getLowerBoundary());
+    final Object upper = getLiteralValue(filter.getUpperBoundary());
+    if ((lower == null) || (upper == null)) {
+      return null;
+    }
+    return toList(createRange(lower, upper));
+  }
+
+  // "attribute after period" is after the end of the period, "period after attribute" is before
+  // its start
+  @Override
+  public Object visit(final After after, final Object data) {
+    final Date[] period = getComparedPeriod(after);
+    if (period == null) {
+      return null;
+    }
+    if (isAttribute(after.getExpression1())) {
+      return toList(createRange(period[1], null));
+    }
+    return toList(createRange(null, period[0]));
+  }
+
+  @Override
+  public Object visit(final Before before, final Object data) {
+    final Date[] period = getComparedPeriod(before);
+    if (period == null) {
+      return null;
+    }
+    if (isAttribute(before.getExpression1())) {
+      return toList(createRange(null, period[0]));
+    }
+    return toList(createRange(period[1], null));
+  }
+
+  @Override
+  public Object visit(final During during, final Object data) {
+    // an attribute is an instant, so only "attribute during period" can match
+    if (!isAttribute(during.getExpression1())) {
+      return null;
+    }
+    final Date[] period = getComparedPeriod(during);
+    if (period == null) {
+      return null;
+    }
+    return toList(createRange(period[0], period[1]));
+  }
+
+  @Override
+  public Object visit(final TEquals equals, final Object data) {
+    final Date[] period = getComparedPeriod(equals);
+    if (period == null) {
+      return null;
+    }
+    return toList(createRange(period[0], period[1]));
+  }
+
+  // the boundaries are inclusive either way, the filter takes care of exclusive comparisons
+  private List<FilterableConstraints> greaterThan(final BinaryComparisonOperator filter) {
+    final Object value = getComparedValue(filter);
+    if ((value == null) || !isRangeSupported()) {
+      return null;
+    }
+    // "value > attribute" is the same as "attribute < value"
+    if (isAttribute(filter.getExpression1())) {
+      return toList(createRange(value, null));
+    }
+    return toList(createRange(null, value));
+  }
+
+  private List<FilterableConstraints> lessThan(final BinaryComparisonOperator filter) {
+    final Object value = getComparedValue(filter);
+    if ((value == null) || !isRangeSupported()) {
+      return null;
+    }
+    if (isAttribute(filter.getExpression1())) {
+      return toList(createRange(null, value));
+    }
+    return toList(createRange(value, null));
+  }
+
+  /**
+   * @return whether the attribute is numeric or temporal, and so can be constrained by a range
+   */
+  private boolean isRangeSupported() {
+    return isNumeric() || isTemporal();
+  }
+
+  private boolean isNumeric() {
+    return (binding != null)
+        && (Number.class.isAssignableFrom(binding) || Boolean.class.isAssignableFrom(binding));
+  }
+
+  private boolean isTemporal() {
+    return (binding != null) && Date.class.isAssignableFrom(binding);
+  }
+
+  /**
+   * Create the constraints for an inclusive range of the attribute.
+   *
+   * @param lower the lower bound, or null if the range is unbounded below
+   * @param upper the upper bound, or null if the range is unbounded above
+   * @return the constraints, or null if a bound is not a value of the attribute's type
+   */
+  private FilterableConstraints createRange(final Object lower, final Object upper) {
+    if (isNumeric()) {
+      final Double min =
+          lower == null ? Double.NEGATIVE_INFINITY : AttributeIndexStrategy.toNumericValue(lower);
+      final Double max =
+          upper == null ? Double.POSITIVE_INFINITY : AttributeIndexStrategy.toNumericValue(upper);
+      if ((min == null) || (max == null)) {
+        return null;
+      }
+      return new NumericQueryConstraint(attributeName, min, max, true, true);
+    }
+    if (isTemporal()) {
+      final Date start = lower == null ? MIN_DATE : AttributeIndexStrategy.toTemporalValue(lower);
+      final Date end = upper == null ? MAX_DATE : AttributeIndexStrategy.toTemporalValue(upper);
+      if ((start == null) || (end == null)) {
+        return null;
+      }
+      return new TemporalQueryConstraint(attributeName, start, end, true, true);
+    }
+    return null;
+  }
+
+  /**
+   * @return the intersection of the constraints, or null if they can't be intersected or are
+   *         disjoint
+   */
+  private static FilterableConstraints intersect(
+      final FilterableConstraints constraints1,
+      final FilterableConstraints constraints2) {
+    if ((constraints1 instanceof NumericQueryConstraint)
+        && (constraints2 instanceof NumericQueryConstraint)) {
+      final NumericQueryConstraint intersection =
+          (NumericQueryConstraint) constraints1.intersect(constraints2);
+      return intersection.getMinValue() <= intersection.getMaxValue() ? intersection : null;
+    }
+    if ((constraints1 instanceof TemporalQueryConstraint)
+        && (constraints2 instanceof TemporalQueryConstraint)) {
+      final TemporalQueryConstraint intersection =
+          (TemporalQueryConstraint) constraints1.intersect(constraints2);
+      return !intersection.getStart().after(intersection.getEnd()) ? intersection : null;
+    }
+    return null;
+  }
+
+  private static List<FilterableConstraints> toList(final FilterableConstraints constraints) {
+    return constraints == null ? null : Collections.singletonList(constraints);
+  }
+
+  /**
+   * @param filter a comparison
+   * @return the literal value the attribute is compared to, or null if the comparison is not
+   *         between the attribute and a literal
+   */
+  private Object getComparedValue(final BinaryComparisonOperator filter) {
+    if (isAttribute(filter.getExpression1())) {
+      return getLiteralValue(filter.getExpression2());
+    } else if (isAttribute(filter.getExpression2())) {
+      return getLiteralValue(filter.getExpression1());
+    }
+    return null;
+  }
+
+  /**
+   * @param filter a temporal comparison
+   * @return the start and end of the literal instant or period the attribute is compared to, or
+   *         null if the comparison is not between a temporal attribute and a literal
+   */
+  private Date[] getComparedPeriod(final BinaryTemporalOperator filter) {
+    if (!isTemporal()) {
+      return null;
+    }
+    final Expression literal;
+    if (isAttribute(filter.getExpression1())) {
+      literal = filter.getExpression2();
+    } else if (isAttribute(filter.getExpression2())) {
+      literal = filter.getExpression1();
+    } else {
+      return null;
+    }
+    if (!(literal instanceof Literal)) {
+      return null;
+    }
+    final Object value = ((Literal) literal).getValue();
+    if (value instanceof Period) {
+      final Date start = toDate(((Period) value).getBeginning().getPosition());
+      final Date end = toDate(((Period) value).getEnding().getPosition());
+      return (start == null) || (end == null) ? null : new Date[] {start, end};
+    }
+    final Date date;
+    if (value instanceof Instant) {
+      date = toDate(((Instant) value).getPosition());
+    } else {
+      date = Converters.convert(value, Date.class);
+    }
+    return date == null ? null : new Date[] {date, date};
+  }
+
+  private static Date toDate(final Position position) {
+    if (position.getDate() != null) {
+      return position.getDate();
+    }
+    return position.getTime();
+  }
+
+  private boolean isAttribute(final Expression expression) {
+    return (expression instanceof PropertyName)
+        && attributeName.equals(((PropertyName) expression).getPropertyName());
+  }
+
+  private Object getLiteralValue(final Expression expression) {
+    if (!(expression instanceof Literal)) {
+      return null;
+    }
+    final Object value = ((Literal) expression).getValue();
+    if ((value == null) || (binding == null) || binding.isInstance(value)) {
+      return value;
+    }
+    // numbers are all indexed as doubles, converting them could only lose precision
+    if ((value instanceof Number) && Number.class.isAssignableFrom(binding)) {
+      return value;
+    }
+    // sort keys are computed from the attribute's type, so convert literals such as date strings
+    final Object convertedValue = Converters.convert(value, binding);
+    return convertedValue != null ? convertedValue : value;
+  }
+}
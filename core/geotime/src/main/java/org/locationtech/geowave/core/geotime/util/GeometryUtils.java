@@ -320,10 +320,26 @@ public class GeometryUtils {
   public static byte[] geometryToBinary(
       final Geometry geometry,
       final @Nullable Integer precision) {
+    return geometryToBinary(geometry, precision, false);
+  }
+
+  /**
+   * Converts a JTS geometry to binary, optionally including the bounding box of a TWKB geometry so
+   * that {@link #envelopeFromBinary} does not have to read its coordinates
+   *
+   * @param geometry The JTS geometry
+   * @param precision The precision of the TWKB encoding, or null for well-known binary
+   * @param includeBoundingBox Whether to include the bounding box in a TWKB encoding
+   * @return The binary representation of the geometry
+   */
+  public static byte[] geometryToBinary(
+      final Geometry geometry,
+      final @Nullable Integer precision,
+      final boolean includeBoundingBox) {
     if (precision == null) {
       return new WKBWriter().write(geometry);
     }
-    return new TWKBWriter(precision).write(geometry);
+    return new TWKBWriter(precision, includeBoundingBox).write(geometry);
   }
 
   /**
@@ -346,6 +362,29 @@ public class GeometryUtils {
     return null;
   }
 
+  /**
+   * Reads the envelope of a geometry from its binary. TWKB geometries are read from their bounding
+   * box or scanned without creating the geometry, other geometries are fully read.
+   *
+   * @param binary The geometry binary
+   * @param precision The precision of the TWKB encoding, or null if it is well-known binary
+   * @return The envelope of the geometry, or null if it could not be read
+   */
+  public static Envelope envelopeFromBinary(
+      final byte[] binary,
+      final @Nullable Integer precision) {
+    if (precision == null) {
+      final Geometry geometry = geometryFromBinary(binary, null);
+      return geometry == null ? null : geometry.getEnvelopeInternal();
+    }
+    try {
+      return new TWKBReader().readEnvelope(binary);
+    } catch (final ParseException e) {
+      LOGGER.warn("Unable to deserialize geometry envelope", e);
+    }
+    return null;
+  }
+
   /**
    * Converts a byte array as well-known binary to a JTS geometry
    *
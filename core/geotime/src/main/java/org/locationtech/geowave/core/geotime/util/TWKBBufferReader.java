@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.geotime.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import org.locationtech.geowave.core.index.VarintUtils;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.io.ParseException;
+
+/**
+ * Decodes TWKB geometries directly from a buffer. Unlike {@link TWKBReader}, the coordinates of a
+ * geometry are read into packed coordinate sequences backed by a single double array instead of a
+ * coordinate object per vertex, and the vertices can be streamed to a {@link VertexVisitor} without
+ * creating a geometry at all. Instances hold no state and can be shared between threads.
+ */
+public class TWKBBufferReader {
+  private static final GeometryFactory GEOMETRY_FACTORY =
+      new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  /** Receives the vertices of a geometry one coordinate array at a time. */
+  public interface VertexVisitor {
+    /**
+     * Visit the vertices of a point, a line string, a ring of a polygon or the points of a
+     * multi-point.
+     *
+     * @param type the TWKB type of the geometry the vertices belong to
+     * @param ring the index of the ring within its polygon, 0 for the exterior ring and for
+     *        vertices that are not part of a polygon
+     * @param ordinates the ordinates of the vertices, which are reused once the call returns
+     * @param numVertices the number of vertices
+     * @param dimension the number of ordinates of each vertex
+     */
+    void visit(byte type, int ring, double[] ordinates, int numVertices, int dimension);
+  }
+
+  public Geometry read(final byte[] bytes) throws ParseException {
+    return read(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * @param buffer the buffer to read the geometry from, starting at its position
+   * @return the geometry
+   * @throws ParseException if the buffer does not contain a complete TWKB geometry
+   */
+  public Geometry read(final ByteBuffer buffer) throws ParseException {
+    try {
+      return readGeometry(buffer, SCRATCH.get());
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      throw new ParseException("Error reading TWKB geometry.", e);
+    }
+  }
+
+  /**
+   * Stream the vertices of a geometry to a visitor without creating the geometry. The vertices are
+   * read into scratch space that is reused by every call on the same thread.
+   *
+   * @param buffer the buffer to read the geometry from, starting at its position
+   * @param visitor the visitor of the vertices
+   * @throws ParseException if the buffer does not contain a complete TWKB geometry
+   */
+  public void visit(final ByteBuffer buffer, final VertexVisitor visitor) throws ParseException {
+    try {
+      visitGeometry(buffer, SCRATCH.get(), visitor);
+    } catch (final BufferUnderflowException e) {
+      throw new ParseException("Error reading TWKB geometry.", e);
+    }
+  }
+
+  private static Geometry readGeometry(final ByteBuffer buffer, final Scratch scratch) {
+    final byte type = scratch.readHeader(buffer);
+    if (scratch.empty) {
+      return createEmpty(type);
+    }
+    switch (type) {
+      case TWKBUtils.POINT_TYPE:
+        return GEOMETRY_FACTORY.createPoint(readSequence(buffer, scratch, 1));
+      case TWKBUtils.LINESTRING_TYPE:
+        return GEOMETRY_FACTORY.createLineString(readSequence(buffer, scratch));
+      case TWKBUtils.POLYGON_TYPE:
+        return readPolygon(buffer, scratch, VarintUtils.readUnsignedInt(buffer));
+      case TWKBUtils.MULTIPOINT_TYPE:
+        return GEOMETRY_FACTORY.createMultiPoint(readSequence(buffer, scratch));
+      case TWKBUtils.MULTILINESTRING_TYPE: {
+        final LineString[] lines = new LineString[VarintUtils.readUnsignedInt(buffer)];
+        for (int i = 0; i < lines.length; i++) {
+          lines[i] = GEOMETRY_FACTORY.createLineString(readSequence(buffer, scratch));
+        }
+        return GEOMETRY_FACTORY.createMultiLineString(lines);
+      }
+      case TWKBUtils.MULTIPOLYGON_TYPE: {
+        final Polygon[] polygons = new Polygon[VarintUtils.readUnsignedInt(buffer)];
+        for (int i = 0; i < polygons.length; i++) {
+          polygons[i] = readPolygon(buffer, scratch, VarintUtils.readUnsignedInt(buffer));
+        }
+        return GEOMETRY_FACTORY.createMultiPolygon(polygons);
+      }
+      case TWKBUtils.GEOMETRYCOLLECTION_TYPE: {
+        final Geometry[] geometries = new Geometry[VarintUtils.readUnsignedInt(buffer)];
+        for (int i = 0; i < geometries.length; i++) {
+          geometries[i] = readGeometry(buffer, scratch);
+        }
+        return GEOMETRY_FACTORY.createGeometryCollection(geometries);
+      }
+      default:
+        return null;
+    }
+  }
+
+  private static Geometry createEmpty(final byte type) {
+    switch (type) {
+      case TWKBUtils.POINT_TYPE:
+        return GEOMETRY_FACTORY.createPoint();
+      case TWKBUtils.LINESTRING_TYPE:
+        return GEOMETRY_FACTORY.createLineString();
+      case TWKBUtils.POLYGON_TYPE:
+        return GEOMETRY_FACTORY.createPolygon();
+      case TWKBUtils.MULTIPOINT_TYPE:
+        return GEOMETRY_FACTORY.createMultiPoint();
+      case TWKBUtils.MULTILINESTRING_TYPE:
+        return GEOMETRY_FACTORY.createMultiLineString();
+      case TWKBUtils.MULTIPOLYGON_TYPE:
+        return GEOMETRY_FACTORY.createMultiPolygon();
+      case TWKBUtils.GEOMETRYCOLLECTION_TYPE:
+        return GEOMETRY_FACTORY.createGeometryCollection();
+      default:
+        return null;
+    }
+  }
+
+  private static Polygon readPolygon(
+      final ByteBuffer buffer,
+      final Scratch scratch,
+      final int numRings) {
+    if (numRings == 0) {
+      return GEOMETRY_FACTORY.createPolygon();
+    }
+    final LinearRing shell = GEOMETRY_FACTORY.createLinearRing(readSequence(buffer, scratch));
+    final LinearRing[] holes = new LinearRing[numRings - 1];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = GEOMETRY_FACTORY.createLinearRing(readSequence(buffer, scratch));
+    }
+    return GEOMETRY_FACTORY.createPolygon(shell, holes);
+  }
+
+  private static CoordinateSequence readSequence(final ByteBuffer buffer, final Scratch scratch) {
+    return readSequence(buffer, scratch, VarintUtils.readUnsignedInt(buffer));
+  }
+
+  private static CoordinateSequence readSequence(
+      final ByteBuffer buffer,
+      final Scratch scratch,
+      final int numVertices) {
+    // the sequence keeps the array, so it is sized exactly rather than taken from the scratch space
+    final double[] ordinates = new double[numVertices * scratch.dimension];
+    scratch.readOrdinates(buffer, ordinates, numVertices);
+    return new PackedCoordinateSequence.Double(
+        ordinates,
+        scratch.dimension,
+        scratch.hasM ? 1 : 0);
+  }
+
+  private static void visitGeometry(
+      final ByteBuffer buffer,
+      final Scratch scratch,
+      final VertexVisitor visitor) {
+    final byte type = scratch.readHeader(buffer);
+    if (scratch.empty) {
+      return;
+    }
+    switch (type) {
+      case TWKBUtils.POINT_TYPE:
+        visitVertices(buffer, scratch, visitor, type, 0, 1);
+        break;
+      case TWKBUtils.LINESTRING_TYPE:
+      case TWKBUtils.MULTIPOINT_TYPE:
+        visitVertices(buffer, scratch, visitor, type, 0, VarintUtils.readUnsignedInt(buffer));
+        break;
+      case TWKBUtils.POLYGON_TYPE:
+        visitPolygon(buffer, scratch, visitor, type);
+        break;
+      case TWKBUtils.MULTILINESTRING_TYPE: {
+        final int numLines = VarintUtils.readUnsignedInt(buffer);
+        for (int i = 0; i < numLines; i++) {
+          visitVertices(buffer, scratch, visitor, type, 0, VarintUtils.readUnsignedInt(buffer));
+        }
+        break;
+      }
+      case TWKBUtils.MULTIPOLYGON_TYPE: {
+        final int numPolygons = VarintUtils.readUnsignedInt(buffer);
+        for (int i = 0; i < numPolygons; i++) {
+          visitPolygon(buffer, scratch, visitor, type);
+        }
+        break;
+      }
+      case TWKBUtils.GEOMETRYCOLLECTION_TYPE: {
+        final int numGeometries = VarintUtils.readUnsignedInt(buffer);
+        for (int i = 0; i < numGeometries; i++) {
+          visitGeometry(buffer, scratch, visitor);
+        }
+        break;
+      }
+      default:
+        break;
+    }
+  }
+
+  private static void visitPolygon(
+      final ByteBuffer buffer,
+      final Scratch scratch,
+      final VertexVisitor visitor,
+      final byte type) {
+    final int numRings = VarintUtils.readUnsignedInt(buffer);
+    for (int ring = 0; ring < numRings; ring++) {
+      visitVertices(buffer, scratch, visitor, type, ring, VarintUtils.readUnsignedInt(buffer));
+    }
+  }
+
+  private static void visitVertices(
+      final ByteBuffer buffer,
+      final Scratch scratch,
+      final VertexVisitor visitor,
+      final byte type,
+      final int ring,
+      final int numVertices) {
+    final double[] ordinates = scratch.getOrdinates(numVertices * scratch.dimension);
+    scratch.readOrdinates(buffer, ordinates, numVertices);
+    visitor.visit(type, ring, ordinates, numVertices, scratch.dimension);
+  }
+
+  /**
+   * The header of the geometry that is being read and the vertex buffer of the visitor, reused for
+   * every geometry read on a thread. The header of a geometry in a collection replaces the header
+   * of the collection, which has no coordinates of its own.
+   */
+  private static class Scratch {
+    private boolean empty;
+    private boolean hasZ;
+    private boolean hasM;
+    private int dimension;
+    private double precisionMultiplier;
+    private double zPrecisionMultiplier;
+    private double mPrecisionMultiplier;
+    private double[] ordinates = new double[1024];
+
+    private byte readHeader(final ByteBuffer buffer) {
+      final byte typeAndPrecision = buffer.get();
+      final byte metadata = buffer.get();
+      precisionMultiplier =
+          Math.pow(10, TWKBUtils.zigZagDecode((typeAndPrecision & 0xF0) >> 4));
+      hasZ = false;
+      hasM = false;
+      if ((metadata & TWKBUtils.EXTENDED_DIMENSIONS) != 0) {
+        final byte extendedDimensions = buffer.get();
+        if ((extendedDimensions & 0x1) != 0) {
+          hasZ = true;
+          zPrecisionMultiplier =
+              Math.pow(10, TWKBUtils.zigZagDecode((extendedDimensions >> 2) & 0x7));
+        }
+        if ((extendedDimensions & 0x2) != 0) {
+          hasM = true;
+          mPrecisionMultiplier =
+              Math.pow(10, TWKBUtils.zigZagDecode((extendedDimensions >> 5) & 0x7));
+        }
+      }
+      dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+      empty = (metadata & TWKBUtils.EMPTY_GEOMETRY) != 0;
+      if (!empty && ((metadata & TWKBUtils.BOUNDING_BOX) != 0)) {
+        // the minimum and delta of every dimension
+        for (int i = 0; i < (2 * dimension); i++) {
+          VarintUtils.readSignedLong(buffer);
+        }
+      }
+      return (byte) (typeAndPrecision & 0x0F);
+    }
+
+    private double[] getOrdinates(final int length) {
+      if (ordinates.length < length) {
+        ordinates = new double[Math.max(length, ordinates.length * 2)];
+      }
+      return ordinates;
+    }
+
+    private void readOrdinates(
+        final ByteBuffer buffer,
+        final double[] target,
+        final int numVertices) {
+      long lastX = 0;
+      long lastY = 0;
+      long lastZ = 0;
+      long lastM = 0;
+      int i = 0;
+      for (int v = 0; v < numVertices; v++) {
+        lastX += VarintUtils.readSignedLong(buffer);
+        lastY += VarintUtils.readSignedLong(buffer);
+        target[i++] = lastX / precisionMultiplier;
+        target[i++] = lastY / precisionMultiplier;
+        if (hasZ) {
+          lastZ += VarintUtils.readSignedLong(buffer);
+          target[i++] = lastZ / zPrecisionMultiplier;
+        }
+        if (hasM) {
+          lastM += VarintUtils.readSignedLong(buffer);
+          target[i++] = lastM / mPrecisionMultiplier;
+        }
+      }
+    }
+  }
+}
@@ -14,6 +14,9 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateXYM;
+import org.locationtech.jts.geom.CoordinateXYZM;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.LineString;
@@ -50,6 +53,9 @@ public class TWKBReader {
     } else {
       precision = new PrecisionReader(basePrecision);
     }
+    if ((metadata & TWKBUtils.BOUNDING_BOX) != 0) {
+      precision.readBoundingBox(input, null);
+    }
     switch (type) {
       case TWKBUtils.POINT_TYPE:
         return readPoint(precision, metadata, input);
@@ -69,6 +75,83 @@ public class TWKBReader {
     return null;
   }
 
+  /**
+   * Read the envelope of a geometry from its bounding box if it has one, otherwise by scanning its
+   * coordinates without creating any coordinate or geometry objects.
+   *
+   * @param bytes the TWKB encoded geometry
+   * @return the envelope of the geometry, a null envelope if the geometry is empty
+   */
+  public Envelope readEnvelope(byte[] bytes) throws ParseException {
+    try {
+      ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+      DataInput input = new DataInputStream(in);
+      Envelope envelope = new Envelope();
+      readEnvelope(input, envelope);
+      return envelope;
+    } catch (IOException e) {
+      throw new ParseException("Error reading TWKB geometry envelope.", e);
+    }
+  }
+
+  public void readEnvelope(DataInput input, Envelope envelope) throws IOException {
+    byte typeAndPrecision = input.readByte();
+    byte type = (byte) (typeAndPrecision & 0x0F);
+    int basePrecision = TWKBUtils.zigZagDecode((typeAndPrecision & 0xF0) >> 4);
+    byte metadata = input.readByte();
+    PrecisionReader precision;
+    if ((metadata & TWKBUtils.EXTENDED_DIMENSIONS) != 0) {
+      byte extendedDimensions = input.readByte();
+      precision = new ExtendedPrecisionReader(basePrecision, extendedDimensions);
+    } else {
+      precision = new PrecisionReader(basePrecision);
+    }
+    if ((metadata & TWKBUtils.EMPTY_GEOMETRY) != 0) {
+      return;
+    }
+    if ((metadata & TWKBUtils.BOUNDING_BOX) != 0) {
+      // the coordinates do not need to be read at all
+      precision.readBoundingBox(input, envelope);
+      return;
+    }
+    switch (type) {
+      case TWKBUtils.POINT_TYPE:
+        precision.expandEnvelope(input, envelope);
+        break;
+      case TWKBUtils.LINESTRING_TYPE:
+      case TWKBUtils.MULTIPOINT_TYPE:
+        precision.expandEnvelopeByArray(input, envelope);
+        break;
+      case TWKBUtils.POLYGON_TYPE:
+      case TWKBUtils.MULTILINESTRING_TYPE:
+        expandEnvelopeByArrays(precision, input, envelope);
+        break;
+      case TWKBUtils.MULTIPOLYGON_TYPE:
+        int numPolygons = Varint.readUnsignedVarInt(input);
+        for (int i = 0; i < numPolygons; i++) {
+          expandEnvelopeByArrays(precision, input, envelope);
+        }
+        break;
+      case TWKBUtils.GEOMETRYCOLLECTION_TYPE:
+        int numGeometries = Varint.readUnsignedVarInt(input);
+        for (int i = 0; i < numGeometries; i++) {
+          readEnvelope(input, envelope);
+        }
+        break;
+    }
+  }
+
+  private void expandEnvelopeByArrays(
+      PrecisionReader precision,
+      DataInput input,
+      Envelope envelope) throws IOException {
+    // interior rings are within the exterior ring, but they still have to be read past
+    int numArrays = Varint.readUnsignedVarInt(input);
+    for (int i = 0; i < numArrays; i++) {
+      precision.expandEnvelopeByArray(input, envelope);
+    }
+  }
+
   private Point readPoint(PrecisionReader precision, byte metadata, DataInput input)
       throws IOException {
     if ((metadata & TWKBUtils.EMPTY_GEOMETRY) != 0) {
@@ -176,11 +259,15 @@ public class TWKBReader {
     }
 
     public Coordinate readPoint(DataInput input) throws IOException {
-      return new Coordinate(
+      return createCoordinate(
           ((double) Varint.readSignedVarLong(input)) / precisionMultiplier,
           ((double) Varint.readSignedVarLong(input)) / precisionMultiplier);
     }
 
+    protected Coordinate createCoordinate(double x, double y) {
+      return new Coordinate(x, y);
+    }
+
     public Coordinate[] readPointArray(DataInput input) throws IOException {
       int numCoordinates = Varint.readUnsignedVarInt(input);
       Coordinate[] coordinates = new Coordinate[numCoordinates];
@@ -196,6 +283,69 @@ public class TWKBReader {
       }
       return coordinates;
     }
+    /**
+     * Read the bounding box of a geometry, including any extended dimensions.
+     *
+     * @param input the input to read from
+     * @param envelope the envelope to expand by the bounding box, or null to skip it
+     */
+    public void readBoundingBox(DataInput input, Envelope envelope) throws IOException {
+      long minX = Varint.readSignedVarLong(input);
+      long maxX = Varint.readSignedVarLong(input) + minX;
+      long minY = Varint.readSignedVarLong(input);
+      long maxY = Varint.readSignedVarLong(input) + minY;
+      // the minimum and delta of each extended dimension
+      skipExtendedDimensions(input);
+      skipExtendedDimensions(input);
+      if (envelope != null) {
+        envelope.expandToInclude(
+            ((double) minX) / precisionMultiplier,
+            ((double) minY) / precisionMultiplier);
+        envelope.expandToInclude(
+            ((double) maxX) / precisionMultiplier,
+            ((double) maxY) / precisionMultiplier);
+      }
+    }
+
+    public void expandEnvelope(DataInput input, Envelope envelope) throws IOException {
+      long x = Varint.readSignedVarLong(input);
+      long y = Varint.readSignedVarLong(input);
+      skipExtendedDimensions(input);
+      envelope.expandToInclude(
+          ((double) x) / precisionMultiplier,
+          ((double) y) / precisionMultiplier);
+    }
+
+    public void expandEnvelopeByArray(DataInput input, Envelope envelope) throws IOException {
+      int numCoordinates = Varint.readUnsignedVarInt(input);
+      if (numCoordinates == 0) {
+        return;
+      }
+      long lastX = 0;
+      long lastY = 0;
+      long minX = Long.MAX_VALUE;
+      long minY = Long.MAX_VALUE;
+      long maxX = Long.MIN_VALUE;
+      long maxY = Long.MIN_VALUE;
+      for (int i = 0; i < numCoordinates; i++) {
+        lastX = Varint.readSignedVarLong(input) + lastX;
+        lastY = Varint.readSignedVarLong(input) + lastY;
+        skipExtendedDimensions(input);
+        minX = Math.min(minX, lastX);
+        minY = Math.min(minY, lastY);
+        maxX = Math.max(maxX, lastX);
+        maxY = Math.max(maxY, lastY);
+      }
+      // the multiplier is positive, so the scaled bounds are the bounds of the scaled coordinates
+      envelope.expandToInclude(
+          ((double) minX) / precisionMultiplier,
+          ((double) minY) / precisionMultiplier);
+      envelope.expandToInclude(
+          ((double) maxX) / precisionMultiplier,
+          ((double) maxY) / precisionMultiplier);
+    }
+
+    protected void skipExtendedDimensions(DataInput input) throws IOException {}
   }
 
   private static class ExtendedPrecisionReader extends PrecisionReader {
@@ -213,11 +363,32 @@ public class TWKBReader {
       }
       if ((extendedDimensions & 0x2) != 0) {
         hasM = true;
-        zPrecisionMultiplier =
+        mPrecisionMultiplier =
             Math.pow(10, TWKBUtils.zigZagDecode((extendedDimensions >> 5) & 0x7));
       }
     }
 
+    @Override
+    protected void skipExtendedDimensions(DataInput input) throws IOException {
+      if (hasZ) {
+        Varint.readSignedVarLong(input);
+      }
+      if (hasM) {
+        Varint.readSignedVarLong(input);
+      }
+    }
+
+    @Override
+    protected Coordinate createCoordinate(double x, double y) {
+      // a plain coordinate has no measure, so it can't hold the M ordinate
+      if (hasM) {
+        return hasZ
+            ? new CoordinateXYZM(x, y, Double.NaN, Double.NaN)
+            : new CoordinateXYM(x, y, Double.NaN);
+      }
+      return new Coordinate(x, y);
+    }
+
     @Override
     public Coordinate readPoint(DataInput input) throws IOException {
       Coordinate coordinate = super.readPoint(input);
@@ -242,7 +413,7 @@ public class TWKBReader {
         lastX = Varint.readSignedVarLong(input) + lastX;
         lastY = Varint.readSignedVarLong(input) + lastY;
         coordinates[i] =
-            new Coordinate(
+            createCoordinate(
                 ((double) lastX) / precisionMultiplier,
                 ((double) lastY) / precisionMultiplier);
         if (hasZ) {
@@ -26,13 +26,24 @@ import org.locationtech.jts.geom.Polygon;
 
 public class TWKBWriter {
   private int maxPrecision;
+  private boolean includeBoundingBox;
 
   public TWKBWriter() {
     this(TWKBUtils.MAX_COORD_PRECISION);
   }
 
   public TWKBWriter(int maxPrecision) {
+    this(maxPrecision, false);
+  }
+
+  /**
+   * @param maxPrecision the maximum number of decimal digits of the coordinates
+   * @param includeBoundingBox whether to write the bounding box of every geometry other than a
+   *        point, so that its envelope can be read without reading its coordinates
+   */
+  public TWKBWriter(int maxPrecision, boolean includeBoundingBox) {
     this.maxPrecision = Math.min(TWKBUtils.MAX_COORD_PRECISION, maxPrecision);
+    this.includeBoundingBox = includeBoundingBox;
   }
 
   public byte[] write(Geometry geom) {
@@ -56,15 +67,23 @@ public class TWKBWriter {
     byte metadata = 0;
     Coordinate[] coordinates = geom.getCoordinates();
     PrecisionWriter precision;
-    if (Double.isNaN(coordinates[0].getZ()) || Double.isNaN(coordinates[0].getM())) {
+    if (!Double.isNaN(coordinates[0].getZ()) || !Double.isNaN(coordinates[0].getM())) {
       metadata |= TWKBUtils.EXTENDED_DIMENSIONS;
       precision = new ExtendedPrecisionWriter().calculate(coordinates, maxPrecision);
     } else {
       precision = new PrecisionWriter().calculate(coordinates, maxPrecision);
     }
+    // the bounding box of a point is the point itself
+    boolean writeBoundingBox = includeBoundingBox && (type != TWKBUtils.POINT_TYPE);
+    if (writeBoundingBox) {
+      metadata |= TWKBUtils.BOUNDING_BOX;
+    }
     output.writeByte(getTypeAndPrecisionByte(type, precision.precision));
     output.writeByte(metadata);
     precision.writeExtendedPrecision(output);
+    if (writeBoundingBox) {
+      precision.writeBoundingBox(coordinates, output);
+    }
 
     switch (type) {
       case TWKBUtils.POINT_TYPE:
@@ -208,6 +227,26 @@ public class TWKBWriter {
       return;
     }
 
+    public void writeBoundingBox(Coordinate[] coordinates, DataOutput output) throws IOException {
+      long minX = Long.MAX_VALUE;
+      long minY = Long.MAX_VALUE;
+      long maxX = Long.MIN_VALUE;
+      long maxY = Long.MIN_VALUE;
+      for (Coordinate c : coordinates) {
+        long x = Math.round(c.getX() * precisionMultiplier);
+        long y = Math.round(c.getY() * precisionMultiplier);
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+      }
+      // each dimension is written as its minimum and the delta to its maximum
+      Varint.writeSignedVarLong(minX, output);
+      Varint.writeSignedVarLong(maxX - minX, output);
+      Varint.writeSignedVarLong(minY, output);
+      Varint.writeSignedVarLong(maxY - minY, output);
+    }
+
     public void writePoint(Coordinate coordinate, DataOutput output) throws IOException {
       Varint.writeSignedVarLong(Math.round(coordinate.getX() * precisionMultiplier), output);
       Varint.writeSignedVarLong(Math.round(coordinate.getY() * precisionMultiplier), output);
@@ -284,6 +323,33 @@ public class TWKBWriter {
       output.writeByte(extendedDimensions);
     }
 
+    @Override
+    public void writeBoundingBox(Coordinate[] coordinates, DataOutput output) throws IOException {
+      super.writeBoundingBox(coordinates, output);
+      if (hasZ) {
+        writeRange(coordinates, true, zPrecisionMultiplier, output);
+      }
+      if (hasM) {
+        writeRange(coordinates, false, mPrecisionMultiplier, output);
+      }
+    }
+
+    private void writeRange(
+        Coordinate[] coordinates,
+        boolean z,
+        double multiplier,
+        DataOutput output) throws IOException {
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (Coordinate c : coordinates) {
+        long value = Math.round((z ? c.getZ() : c.getM()) * multiplier);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      Varint.writeSignedVarLong(min, output);
+      Varint.writeSignedVarLong(max - min, output);
+    }
+
     @Override
     public void writePoint(Coordinate coordinate, DataOutput output) throws IOException {
       super.writePoint(coordinate, output);
@@ -315,7 +381,7 @@ public class TWKBWriter {
           lastZ = z;
         }
         if (hasM) {
-          long m = Math.round(c.getZ() * mPrecisionMultiplier);
+          long m = Math.round(c.getM() * mPrecisionMultiplier);
           Varint.writeSignedVarLong(m - lastM, output);
           lastM = m;
         }
@@ -11,7 +11,12 @@ package org.locationtech.geowave.core.geotime.index.sfc.hilbert;
 import com.google.uzaygezen.core.CompactHilbertCurve;
 import com.google.uzaygezen.core.MultiDimensionalSpec;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 import org.locationtech.geowave.core.geotime.index.dimension.LatitudeDefinition;
@@ -264,4 +269,56 @@ public class PrimitiveHilbertSFCTest {
         expectedResultOperations.convertToHilbert(testValues4, compactHilbertCurve, sfcDimensions),
         testOperations.convertToHilbert(testValues4, compactHilbertCurve, sfcDimensions));
   }
+
+  @Test
+  public void testConcurrentGetIdMatchesUnbounded() throws Exception {
+    final SFCDimensionDefinition[] sfcDimensions =
+        new SFCDimensionDefinition[SPATIAL_DIMENSIONS.length];
+    final List<Integer> bitsPerDimension = new ArrayList<Integer>();
+    for (int d = 0; d < SPATIAL_DIMENSIONS.length; d++) {
+      sfcDimensions[d] = new SFCDimensionDefinition(SPATIAL_DIMENSIONS[d], 31);
+      bitsPerDimension.add(31);
+    }
+    final CompactHilbertCurve compactHilbertCurve =
+        new CompactHilbertCurve(new MultiDimensionalSpec(bitsPerDimension));
+    final PrimitiveHilbertSFCOperations testOperations = new PrimitiveHilbertSFCOperations();
+    final UnboundedHilbertSFCOperations expectedResultOperations =
+        new UnboundedHilbertSFCOperations();
+    testOperations.init(sfcDimensions);
+    expectedResultOperations.init(sfcDimensions);
+
+    final Random random = new Random(1234);
+    final double[][] values = new double[1000][];
+    final byte[][] expected = new byte[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] =
+          new double[] {(random.nextDouble() * 360) - 180, (random.nextDouble() * 180) - 90};
+      expected[i] =
+          expectedResultOperations.convertToHilbert(values[i], compactHilbertCurve, sfcDimensions);
+    }
+    // each thread reuses its own scratch space, so IDs should be unaffected by other threads
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        results.add(executor.submit(() -> {
+          for (int r = 0; r < 10; r++) {
+            for (int i = 0; i < values.length; i++) {
+              if (!Arrays.equals(
+                  expected[i],
+                  testOperations.convertToHilbert(values[i], compactHilbertCurve, sfcDimensions))) {
+                return false;
+              }
+            }
+          }
+          return true;
+        }));
+      }
+      for (final Future<Boolean> result : results) {
+        Assert.assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 import org.locationtech.geowave.core.geotime.index.dimension.LatitudeDefinition;
@@ -188,6 +189,51 @@ public class TieredSFCIndexStrategyTest {
     }
   }
 
+  @Test
+  public void testBatchInsertionIdsMatchSingleEntry() {
+    final NumericIndexStrategy strategy =
+        TieredSFCIndexFactory.createFullIncrementalTieredStrategy(
+            SPATIAL_TEMPORAL_DIMENSIONS,
+            new int[] {20, 20, 20},
+            SFCType.HILBERT);
+    final Random random = new Random(42);
+    final int numEntries = 200;
+    final double[][] mins = new double[SPATIAL_TEMPORAL_DIMENSIONS.length][numEntries];
+    final double[][] maxes = new double[SPATIAL_TEMPORAL_DIMENSIONS.length][numEntries];
+    final long now = Calendar.getInstance().getTimeInMillis();
+    for (int i = 0; i < numEntries; i++) {
+      mins[0][i] = (random.nextDouble() * 360) - 180;
+      mins[1][i] = (random.nextDouble() * 180) - 90;
+      mins[2][i] = now - (long) (random.nextDouble() * 1000L * 60 * 60 * 24 * 365 * 5);
+      maxes[0][i] = mins[0][i];
+      maxes[1][i] = mins[1][i];
+      maxes[2][i] = mins[2][i];
+      // every tenth entry is a small box which should go through the regular path
+      if ((i % 10) == 0) {
+        maxes[0][i] = Math.min(mins[0][i] + 1, 180);
+        maxes[1][i] = Math.min(mins[1][i] + 1, 90);
+      }
+    }
+    final InsertionIds[] batchIds = strategy.getInsertionIds(mins, maxes);
+    assertEquals(numEntries, batchIds.length);
+    for (int i = 0; i < numEntries; i++) {
+      final NumericData[] dataPerDimension = new NumericData[SPATIAL_TEMPORAL_DIMENSIONS.length];
+      for (int d = 0; d < dataPerDimension.length; d++) {
+        dataPerDimension[d] =
+            mins[d][i] == maxes[d][i] ? new NumericValue(mins[d][i])
+                : new NumericRange(mins[d][i], maxes[d][i]);
+      }
+      final List<byte[]> expected =
+          strategy.getInsertionIds(
+              new BasicNumericDataset(dataPerDimension)).getCompositeInsertionIds();
+      final List<byte[]> actual = batchIds[i].getCompositeInsertionIds();
+      assertEquals(expected.size(), actual.size());
+      for (int j = 0; j < expected.size(); j++) {
+        assertArrayEquals(expected.get(j), actual.get(j));
+      }
+    }
+  }
+
   @Test
   public void testOneEstimatedDuplicateInsertion() throws Exception {
 
@@ -8,10 +8,12 @@
  */
 package org.locationtech.geowave.core.geotime.store.dimension;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.geowave.core.geotime.util.TWKBUtils;
 import org.locationtech.geowave.core.index.sfc.data.NumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericRange;
 import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
@@ -84,4 +86,45 @@ public class GeometryWrapperTest {
     rangeData = new NumericRange(-99.23, -99.22 - (1E-10d));
     assertFalse(wrapper.overlaps(fields, new NumericData[] {rangeData}));
   }
+
+  @Test
+  public void testBoundingBoxIsOptIn() {
+    final Geometry line =
+        factory.createLineString(
+            new Coordinate[] {new Coordinate(-99.22, 33.75), new Coordinate(-99.15, 33.8)});
+    final LatitudeField field = new LatitudeField(GeometryUtils.MAX_GEOMETRY_PRECISION);
+    byte[] binary = field.getWriter().writeField(new GeometryWrapper(line));
+    assertEquals(0, binary[1] & TWKBUtils.BOUNDING_BOX);
+
+    field.setIncludeBoundingBox(true);
+    binary = field.getWriter().writeField(new GeometryWrapper(line));
+    assertEquals(TWKBUtils.BOUNDING_BOX, binary[1] & TWKBUtils.BOUNDING_BOX);
+    assertEquals(line, field.getReader().readField(binary).getGeometry());
+  }
+
+  @Test
+  public void testBoundingBoxPersistence() {
+    final LatitudeField field = new LatitudeField(GeometryUtils.MAX_GEOMETRY_PRECISION, true);
+    final byte[] defaultBinary = field.toBinary();
+    LatitudeField decoded = new LatitudeField();
+    decoded.fromBinary(defaultBinary);
+    assertFalse(decoded.isIncludeBoundingBox());
+    assertEquals(field, decoded);
+
+    field.setIncludeBoundingBox(true);
+    final byte[] boundingBoxBinary = field.toBinary();
+    // fields without a bounding box are persisted as they were before bounding box support
+    assertEquals(defaultBinary.length + 1, boundingBoxBinary.length);
+    decoded = new LatitudeField();
+    decoded.fromBinary(boundingBoxBinary);
+    assertTrue(decoded.isIncludeBoundingBox());
+    assertEquals(field, decoded);
+
+    // a field persisted with full precision
+    final LongitudeField fullPrecision = new LongitudeField(null);
+    fullPrecision.setIncludeBoundingBox(true);
+    final LongitudeField decodedFullPrecision = new LongitudeField();
+    decodedFullPrecision.fromBinary(fullPrecision.toBinary());
+    assertEquals(fullPrecision, decodedFullPrecision);
+  }
 }
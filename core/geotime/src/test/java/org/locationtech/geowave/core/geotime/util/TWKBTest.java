@@ -8,10 +8,14 @@
  */
 package org.locationtech.geowave.core.geotime.util;
 
+import java.nio.ByteBuffer;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateXYM;
+import org.locationtech.jts.geom.CoordinateXYZM;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -829,4 +833,167 @@ public class TWKBTest {
     decoded = reader.read(encoded);
     Assert.assertEquals(expected, decoded);
   }
+
+  @Test
+  public void testReadEnvelope() throws ParseException {
+    Geometry polygon =
+        factory.createPolygon(
+            factory.createLinearRing(
+                new Coordinate[] {
+                    new Coordinate(12.13281248321, -1518.375),
+                    new Coordinate(24.5, -1518.375),
+                    new Coordinate(24.5, -1500.0625),
+                    new Coordinate(12.13281248321, -1518.375)}));
+    Geometry collection =
+        factory.createGeometryCollection(
+            new Geometry[] {
+                polygon,
+                factory.createPoint(new Coordinate(-5.25, 0)),
+                factory.createLineString(
+                    new Coordinate[] {new Coordinate(0, 0), new Coordinate(3, 4000)}),
+                factory.createPoint()});
+    for (Geometry geometry : new Geometry[] {polygon, collection}) {
+      for (TWKBWriter writer : new TWKBWriter[] {
+          writerFullPrecision,
+          writer3Precision,
+          writer0Precision,
+          writerNegativePrecision}) {
+        byte[] encoded = writer.write(geometry);
+        Assert.assertEquals(
+            reader.read(encoded).getEnvelopeInternal(),
+            reader.readEnvelope(encoded));
+      }
+    }
+
+    // test empty
+    Envelope envelope = reader.readEnvelope(writerFullPrecision.write(factory.createPolygon()));
+    Assert.assertTrue(envelope.isNull());
+  }
+
+  @Test
+  public void testReadWriteBoundingBox() throws ParseException {
+    TWKBWriter writerBoundingBox = new TWKBWriter(3, true);
+    Geometry line =
+        factory.createLineString(
+            new Coordinate[] {
+                new Coordinate(12.13281248321, -1518.375),
+                new Coordinate(-24.5, -1500.0625),
+                new Coordinate(3, 4000)});
+    Geometry collection =
+        factory.createGeometryCollection(
+            new Geometry[] {line, factory.createPoint(new Coordinate(-55.25, 0))});
+    for (Geometry geometry : new Geometry[] {line, collection}) {
+      byte[] encoded = writerBoundingBox.write(geometry);
+      Assert.assertTrue((encoded[1] & TWKBUtils.BOUNDING_BOX) != 0);
+      // the geometry is unchanged by the bounding box
+      Geometry expected = reader.read(writer3Precision.write(geometry));
+      Geometry decoded = reader.read(encoded);
+      Assert.assertEquals(expected, decoded);
+      Assert.assertEquals(decoded.getEnvelopeInternal(), reader.readEnvelope(encoded));
+    }
+
+    // points are written without a bounding box
+    byte[] encoded = writerBoundingBox.write(factory.createPoint(new Coordinate(1, 2)));
+    Assert.assertEquals(0, encoded[1] & TWKBUtils.BOUNDING_BOX);
+  }
+
+  @Test
+  public void testBufferReader() throws ParseException {
+    TWKBBufferReader bufferReader = new TWKBBufferReader();
+    Geometry polygon =
+        factory.createPolygon(
+            factory.createLinearRing(
+                new Coordinate[] {
+                    new Coordinate(12.13281248321, -1518.375),
+                    new Coordinate(24.5, -1518.375),
+                    new Coordinate(24.5, -1500.0625),
+                    new Coordinate(12.13281248321, -1518.375)}));
+    Geometry collection =
+        factory.createGeometryCollection(
+            new Geometry[] {
+                polygon,
+                factory.createMultiPoint(
+                    new Coordinate[] {new Coordinate(-5.25, 0), new Coordinate(3, 4)}),
+                factory.createLineString(
+                    new Coordinate[] {new Coordinate(0, 0), new Coordinate(3, 4000)}),
+                factory.createPoint(new Coordinate(1, 2)),
+                factory.createPoint()});
+    TWKBWriter writerBoundingBox = new TWKBWriter(TWKBUtils.MAX_COORD_PRECISION, true);
+    for (TWKBWriter writer : new TWKBWriter[] {
+        writerFullPrecision,
+        writer0Precision,
+        writerNegativePrecision,
+        writerBoundingBox}) {
+      byte[] encoded = writer.write(collection);
+      Assert.assertEquals(reader.read(encoded), bufferReader.read(encoded));
+
+      int[] vertices = new int[1];
+      bufferReader.visit(
+          ByteBuffer.wrap(encoded),
+          (type, ring, ordinates, numVertices, dimension) -> vertices[0] += numVertices);
+      Assert.assertEquals(collection.getNumPoints(), vertices[0]);
+    }
+
+    // the vertices are streamed in order
+    byte[] encoded = writerFullPrecision.write(polygon);
+    double[] lastX = new double[1];
+    bufferReader.visit(
+        ByteBuffer.wrap(encoded),
+        (type, ring, ordinates, numVertices, dimension) -> {
+          Assert.assertEquals(TWKBUtils.POLYGON_TYPE, type);
+          Assert.assertEquals(4, numVertices);
+          lastX[0] = ordinates[(numVertices - 1) * dimension];
+        });
+    Assert.assertEquals(12.1328125, lastX[0], 0);
+
+    // Z and M ordinates are decoded alongside X and Y
+    Geometry lineZ =
+        factory.createLineString(
+            new Coordinate[] {new Coordinate(1.5, 2, 10.25), new Coordinate(3, 4, -2.5)});
+    Geometry lineM =
+        factory.createLineString(
+            new Coordinate[] {new CoordinateXYM(1.5, 2, 100), new CoordinateXYM(3, 4, 0.75)});
+    Geometry polygonZM =
+        factory.createPolygon(
+            new Coordinate[] {
+                new CoordinateXYZM(0, 0, 1, 0.5),
+                new CoordinateXYZM(10, 0, 2, 1.5),
+                new CoordinateXYZM(10, 10, 3, 2.5),
+                new CoordinateXYZM(0, 0, 1, 0.5)});
+    Geometry pointZM = factory.createPoint(new CoordinateXYZM(1.125, -2, 3.5, 4));
+    Geometry[] geometries = new Geometry[] {lineZ, lineM, polygonZM, pointZM};
+    int[] dimensions = new int[] {3, 3, 4, 4};
+    for (int i = 0; i < geometries.length; i++) {
+      for (TWKBWriter writer : new TWKBWriter[] {writerFullPrecision, writerBoundingBox}) {
+        byte[] encoded = writer.write(geometries[i]);
+        assertOrdinatesEqual(geometries[i].getCoordinates(), reader.read(encoded));
+        assertOrdinatesEqual(geometries[i].getCoordinates(), bufferReader.read(encoded));
+
+        int expectedDimension = dimensions[i];
+        Coordinate first = geometries[i].getCoordinates()[0];
+        bufferReader.visit(
+            ByteBuffer.wrap(encoded),
+            (type, ring, ordinates, numVertices, dimension) -> {
+              Assert.assertEquals(expectedDimension, dimension);
+              Assert.assertEquals(first.getX(), ordinates[0], 0);
+              Assert.assertEquals(first.getY(), ordinates[1], 0);
+              Assert.assertEquals(
+                  Double.isNaN(first.getM()) ? first.getZ() : first.getM(),
+                  ordinates[dimension - 1],
+                  0);
+            });
+      }
+    }
+  }
+
+  private static void assertOrdinatesEqual(Coordinate[] expected, Geometry decoded) {
+    Coordinate[] actual = decoded.getCoordinates();
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i].getX(), actual[i].getX(), 0);
+      Assert.assertEquals(expected[i].getY(), actual[i].getY(), 0);
+      Assert.assertEquals(expected[i].getZ(), actual[i].getZ(), 0);
+      Assert.assertEquals(expected[i].getM(), actual[i].getM(), 0);
+    }
+  }
 }
@@ -14,7 +14,9 @@ import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
 import org.locationtech.geowave.core.index.dimension.bin.BinRange;
 import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
 import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.index.sfc.data.NumericValue;
 
 public class IndexUtils {
   public static MultiDimensionalNumericData getFullBounds(
@@ -47,6 +49,29 @@ public class IndexUtils {
     return new BasicNumericDataset(boundsPerDimension);
   }
 
+  /**
+   * Get a single entry out of columnar per-dimension min and max values, as used by the batch
+   * insertion ID methods
+   *
+   * @param minsPerDimension the min values indexed first by dimension and then by entry
+   * @param maxesPerDimension the max values indexed first by dimension and then by entry
+   * @param entry the index of the entry
+   * @return the numeric data for the entry, using a numeric value for dimensions where the min
+   *         equals the max
+   */
+  public static MultiDimensionalNumericData getEntry(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension,
+      final int entry) {
+    final NumericData[] dataPerDimension = new NumericData[minsPerDimension.length];
+    for (int d = 0; d < minsPerDimension.length; d++) {
+      final double min = minsPerDimension[d][entry];
+      final double max = maxesPerDimension[d][entry];
+      dataPerDimension[d] = min == max ? new NumericValue(min) : new NumericRange(min, max);
+    }
+    return new BasicNumericDataset(dataPerDimension);
+  }
+
   public static final double getDimensionalBitsUsed(
       final NumericIndexStrategy indexStrategy,
       final double[] dataRangePerDimension) {
@@ -64,4 +64,26 @@ public interface NumericIndexStrategy extends
    * @return the byte offset prior to the dimensional index
    */
   public int getPartitionKeyLength();
+
+  /**
+   * Returns the insertion IDs for many entries at once. The data is supplied in columnar form, one
+   * array of values per dimension in the order of {@link #getOrderedDimensionDefinitions()}, which
+   * lets implementations normalize and encode each dimension in a tight loop rather than one entry
+   * at a time.
+   *
+   * @param minsPerDimension the min values indexed first by dimension and then by entry
+   * @param maxesPerDimension the max values indexed first by dimension and then by entry, for point
+   *        data this can be the same array as the min values
+   * @return the insertion IDs for each entry, in the same order as the entries were supplied
+   */
+  public default InsertionIds[] getInsertionIds(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension) {
+    final int numEntries = minsPerDimension.length == 0 ? 0 : minsPerDimension[0].length;
+    final InsertionIds[] retVal = new InsertionIds[numEntries];
+    for (int i = 0; i < numEntries; i++) {
+      retVal[i] = getInsertionIds(IndexUtils.getEntry(minsPerDimension, maxesPerDimension, i));
+    }
+    return retVal;
+  }
 }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.index.sfc;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.locationtech.geowave.core.index.ByteArray;
+import org.locationtech.geowave.core.index.persist.PersistenceUtils;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * A process-wide cache of space filling curve range decompositions. Entries are keyed by the
+ * serialized form of the curve rather than the curve instance, so curves that are deserialized
+ * repeatedly (for example with every index lookup) share the same cached decompositions. The size
+ * and time-to-live of the cache can be set with the {@value #MAX_SIZE_PROPERTY} and
+ * {@value #EXPIRE_AFTER_ACCESS_SECONDS_PROPERTY} system properties.
+ */
+public class SFCDecompositionCache {
+  public static final String MAX_SIZE_PROPERTY = "geowave.sfc.decompositionCache.maxSize";
+  public static final String EXPIRE_AFTER_ACCESS_SECONDS_PROPERTY =
+      "geowave.sfc.decompositionCache.expireAfterAccessSeconds";
+  private static final long DEFAULT_MAX_SIZE = 10000;
+  private static final long DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS = 600;
+
+  private static final Cache<DecompositionKey, RangeDecomposition> CACHE =
+      Caffeine.newBuilder().maximumSize(
+          Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE)).expireAfterAccess(
+              Long.getLong(
+                  EXPIRE_AFTER_ACCESS_SECONDS_PROPERTY,
+                  DEFAULT_EXPIRE_AFTER_ACCESS_SECONDS),
+              TimeUnit.SECONDS).recordStats().build();
+
+  /**
+   * Get the identity of a space filling curve within the cache, this is the same for any two curves
+   * with the same serialized form
+   *
+   * @param sfc the space filling curve
+   * @return the identity to use for the curve when calling {@link #getRangeDecomposition}
+   */
+  public static ByteArray getCurveId(final SpaceFillingCurve sfc) {
+    return new ByteArray(PersistenceUtils.toBinary(sfc));
+  }
+
+  /**
+   * Get the range decomposition for a query from the cache, computing and caching it if it is not
+   * present
+   *
+   * @param curveId the identity of the curve, see {@link #getCurveId(SpaceFillingCurve)}
+   * @param query the query to decompose
+   * @param overInclusiveOnEdge whether the decomposition is over inclusive on the edges
+   * @param maxRanges the maximum number of ranges in the decomposition
+   * @param decomposition computes the decomposition on a cache miss
+   * @return the range decomposition
+   */
+  public static RangeDecomposition getRangeDecomposition(
+      final ByteArray curveId,
+      final MultiDimensionalNumericData query,
+      final boolean overInclusiveOnEdge,
+      final int maxRanges,
+      final Supplier<RangeDecomposition> decomposition) {
+    final DecompositionKey key =
+        new DecompositionKey(
+            curveId,
+            query.getMinValuesPerDimension().clone(),
+            query.getMaxValuesPerDimension().clone(),
+            overInclusiveOnEdge,
+            maxRanges);
+    // concurrent lookups of the same query wait for a single decomposition rather than each
+    // computing it, lookups of other queries are not blocked
+    return CACHE.get(key, k -> decomposition.get());
+  }
+
+  /** @return the hit, miss and eviction statistics of the cache since the JVM started */
+  public static CacheStats getStats() {
+    return CACHE.stats();
+  }
+
+  /** @return the approximate number of decompositions currently cached */
+  public static long size() {
+    return CACHE.estimatedSize();
+  }
+
+  /** Remove all cached decompositions */
+  public static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  private static class DecompositionKey {
+    private final ByteArray curveId;
+    private final double[] minsPerDimension;
+    private final double[] maxesPerDimension;
+    private final boolean overInclusiveOnEdge;
+    private final int maxRanges;
+    private final int hashCode;
+
+    public DecompositionKey(
+        final ByteArray curveId,
+        final double[] minsPerDimension,
+        final double[] maxesPerDimension,
+        final boolean overInclusiveOnEdge,
+        final int maxRanges) {
+      this.curveId = curveId;
+      this.minsPerDimension = minsPerDimension;
+      this.maxesPerDimension = maxesPerDimension;
+      this.overInclusiveOnEdge = overInclusiveOnEdge;
+      this.maxRanges = maxRanges;
+      final int prime = 31;
+      int result = 1;
+      result = (prime * result) + curveId.hashCode();
+      result = (prime * result) + maxRanges;
+      result = (prime * result) + Arrays.hashCode(maxesPerDimension);
+      result = (prime * result) + Arrays.hashCode(minsPerDimension);
+      result = (prime * result) + (overInclusiveOnEdge ? 1231 : 1237);
+      hashCode = result;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null) {
+        return false;
+      }
+      if (getClass() != obj.getClass()) {
+        return false;
+      }
+      final DecompositionKey other = (DecompositionKey) obj;
+      if (maxRanges != other.maxRanges) {
+        return false;
+      }
+      if (overInclusiveOnEdge != other.overInclusiveOnEdge) {
+        return false;
+      }
+      if (!Arrays.equals(maxesPerDimension, other.maxesPerDimension)) {
+        return false;
+      }
+      if (!Arrays.equals(minsPerDimension, other.minsPerDimension)) {
+        return false;
+      }
+      return curveId.equals(other.curveId);
+    }
+  }
+}
@@ -28,6 +28,30 @@ public interface SpaceFillingCurve extends Persistable {
    */
   public byte[] getId(double[] values);
 
+  /**
+   * * Maps many n-dimensional values to a single dimension at once. The values are supplied in
+   * columnar form so that implementations can normalize each dimension in a tight loop.
+   *
+   * @param valuesPerDimension the values to encode, indexed first by dimension and then by entry,
+   *        every dimension must have the same number of entries
+   * @return the SFC value for each entry, in the same order as the entries were supplied
+   */
+  public default byte[][] getIds(final double[][] valuesPerDimension) {
+    if (valuesPerDimension.length == 0) {
+      return new byte[0][];
+    }
+    final int numEntries = valuesPerDimension[0].length;
+    final byte[][] retVal = new byte[numEntries][];
+    final double[] values = new double[valuesPerDimension.length];
+    for (int i = 0; i < numEntries; i++) {
+      for (int d = 0; d < valuesPerDimension.length; d++) {
+        values[d] = valuesPerDimension[d][i];
+      }
+      retVal[i] = getId(values);
+    }
+    return retVal;
+  }
+
   /**
    * * Gets n-dimensional ranges from a single dimension, i.e. 0033423 -> [12,33]
    *
@@ -30,6 +30,7 @@ import org.locationtech.geowave.core.index.sfc.data.BinnedNumericDataset;
 import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.index.sfc.data.NumericValue;
 
 public class BinnedSFCUtils {
 
@@ -108,6 +109,87 @@ public class BinnedSFCUtils {
     return null;
   }
 
+  /**
+   * Get the single insertion ID for every point entry in a batch of columnar data. Points always
+   * map to a single ID, so all of their SFC values can be computed with a single call to
+   * {@link SpaceFillingCurve#getIds(double[][])}.
+   *
+   * @param minsPerDimension the min values indexed first by dimension and then by entry
+   * @param maxesPerDimension the max values indexed first by dimension and then by entry
+   * @param dimensionDefinitions the dimension definitions used to bin and clamp the values
+   * @param multiDimensionalId the tier or curve ID to prefix the partition key with
+   * @param sfc the space filling curve to encode the points with
+   * @return the insertion ID per entry, or null for entries that are not a point within a single
+   *         bin and need to go through the regular per entry path
+   */
+  public static SinglePartitionInsertionIds[] getSingleBinnedPointInsertionIds(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension,
+      final NumericDimensionDefinition[] dimensionDefinitions,
+      final byte multiDimensionalId,
+      final SpaceFillingCurve sfc) {
+    final int numDimensions = dimensionDefinitions.length;
+    final int numEntries = numDimensions == 0 ? 0 : minsPerDimension[0].length;
+    final SinglePartitionInsertionIds[] retVal = new SinglePartitionInsertionIds[numEntries];
+    if (numEntries == 0) {
+      return retVal;
+    }
+    final boolean[] notPoint = new boolean[numEntries];
+    final double[][] normalizedPerDimension = new double[numDimensions][numEntries];
+    final byte[][] binIds = new byte[numEntries][];
+    int numPoints = numEntries;
+    for (int d = 0; d < numDimensions; d++) {
+      final NumericDimensionDefinition definition = dimensionDefinitions[d];
+      final double[] mins = minsPerDimension[d];
+      final double[] maxes = maxesPerDimension[d];
+      final double[] normalized = normalizedPerDimension[d];
+      for (int i = 0; i < numEntries; i++) {
+        if (notPoint[i]) {
+          continue;
+        }
+        final BinRange[] binRanges =
+            mins[i] == maxes[i] ? definition.getNormalizedRanges(new NumericValue(mins[i])) : null;
+        if ((binRanges == null)
+            || (binRanges.length != 1)
+            || (binRanges[0].getNormalizedMin() != binRanges[0].getNormalizedMax())) {
+          notPoint[i] = true;
+          numPoints--;
+          continue;
+        }
+        normalized[i] = binRanges[0].getNormalizedMin();
+        binIds[i] = ByteArrayUtils.combineArrays(binIds[i], binRanges[0].getBinId());
+      }
+    }
+    if (numPoints == 0) {
+      return retVal;
+    }
+    final double[][] pointsPerDimension;
+    if (numPoints == numEntries) {
+      pointsPerDimension = normalizedPerDimension;
+    } else {
+      pointsPerDimension = new double[numDimensions][numPoints];
+      for (int d = 0; d < numDimensions; d++) {
+        int p = 0;
+        for (int i = 0; i < numEntries; i++) {
+          if (!notPoint[i]) {
+            pointsPerDimension[d][p++] = normalizedPerDimension[d][i];
+          }
+        }
+      }
+    }
+    final byte[][] ids = sfc.getIds(pointsPerDimension);
+    int p = 0;
+    for (int i = 0; i < numEntries; i++) {
+      if (!notPoint[i]) {
+        retVal[i] =
+            new SinglePartitionInsertionIds(
+                ByteArrayUtils.combineArrays(new byte[] {multiDimensionalId}, binIds[i]),
+                ids[p++]);
+      }
+    }
+    return retVal;
+  }
+
   public static Coordinate[] getCoordinatesForId(
       final byte[] rowId,
       final NumericDimensionDefinition[] baseDefinitions,
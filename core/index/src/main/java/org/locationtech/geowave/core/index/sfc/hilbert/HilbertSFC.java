@@ -14,86 +14,20 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.index.VarintUtils;
 import org.locationtech.geowave.core.index.persist.PersistenceUtils;
 import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCDecompositionCache;
 import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
 import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
 import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 
 /** * Implementation of a Compact Hilbert space filling curve */
 public class HilbertSFC implements SpaceFillingCurve {
-  private static class QueryCacheKey {
-    private final double[] minsPerDimension;
-    private final double[] maxesPerDimension;
-    private final boolean overInclusiveOnEdge;
-    private final int maxFilteredIndexedRanges;
-
-    public QueryCacheKey(
-        final double[] minsPerDimension,
-        final double[] maxesPerDimension,
-        final boolean overInclusiveOnEdge,
-        final int maxFilteredIndexedRanges) {
-      this.minsPerDimension = minsPerDimension;
-      this.maxesPerDimension = maxesPerDimension;
-      this.overInclusiveOnEdge = overInclusiveOnEdge;
-      this.maxFilteredIndexedRanges = maxFilteredIndexedRanges;
-    }
-
-    @Override
-    public int hashCode() {
-      final int prime = 31;
-      int result = 1;
-      result = (prime * result) + maxFilteredIndexedRanges;
-      result = (prime * result) + Arrays.hashCode(maxesPerDimension);
-      result = (prime * result) + Arrays.hashCode(minsPerDimension);
-      result = (prime * result) + (overInclusiveOnEdge ? 1231 : 1237);
-      return result;
-    }
-
-    @Override
-    public boolean equals(final Object obj) {
-      if (this == obj) {
-        return true;
-      }
-      if (obj == null) {
-        return false;
-      }
-      if (getClass() != obj.getClass()) {
-        return false;
-      }
-      final QueryCacheKey other = (QueryCacheKey) obj;
-      if (maxFilteredIndexedRanges != other.maxFilteredIndexedRanges) {
-        return false;
-      }
-      if (!Arrays.equals(maxesPerDimension, other.maxesPerDimension)) {
-        return false;
-      }
-      if (!Arrays.equals(minsPerDimension, other.minsPerDimension)) {
-        return false;
-      }
-      if (overInclusiveOnEdge != other.overInclusiveOnEdge) {
-        return false;
-      }
-      return true;
-    }
-  }
-
-  private static final int MAX_CACHED_QUERIES = 500;
-  private final Map<QueryCacheKey, RangeDecomposition> queryDecompositionCache =
-      new LinkedHashMap<QueryCacheKey, RangeDecomposition>(MAX_CACHED_QUERIES + 1, .75F, true) {
-        private static final long serialVersionUID = 1L;
-
-        @Override
-        public boolean removeEldestEntry(
-            final Map.Entry<QueryCacheKey, RangeDecomposition> eldest) {
-          return size() > MAX_CACHED_QUERIES;
-        }
-      };
+  private volatile ByteArray curveId;
   protected CompactHilbertCurve compactHilbertCurve;
   protected SFCDimensionDefinition[] dimensionDefinitions;
   protected int totalPrecision;
@@ -112,6 +46,7 @@ public class HilbertSFC implements SpaceFillingCurve {
   }
 
   protected void init(final SFCDimensionDefinition[] dimensionDefs) {
+    curveId = null;
 
     final List<Integer> bitsPerDimension = new ArrayList<Integer>();
     totalPrecision = 0;
@@ -171,6 +106,15 @@ public class HilbertSFC implements SpaceFillingCurve {
     return getIdOperations.convertToHilbert(values, compactHilbertCurve, dimensionDefinitions);
   }
 
+  /** * {@inheritDoc} */
+  @Override
+  public byte[][] getIds(final double[][] valuesPerDimension) {
+    return getIdOperations.convertToHilbert(
+        valuesPerDimension,
+        compactHilbertCurve,
+        dimensionDefinitions);
+  }
+
   /** * {@inheritDoc} */
   @Override
   public RangeDecomposition decomposeRangeFully(final MultiDimensionalNumericData query) {
@@ -187,26 +131,27 @@ public class HilbertSFC implements SpaceFillingCurve {
     if (maxFilteredIndexedRanges == -1) {
       maxFilteredIndexedRanges = Integer.MAX_VALUE;
     }
-    final QueryCacheKey key =
-        new QueryCacheKey(
-            query.getMinValuesPerDimension(),
-            query.getMaxValuesPerDimension(),
-            overInclusiveOnEdge,
-            maxFilteredIndexedRanges);
-    RangeDecomposition rangeDecomp = queryDecompositionCache.get(key);
-    if (rangeDecomp == null) {
-      rangeDecomp =
-          decomposeQueryOperations.decomposeRange(
-              query.getDataPerDimension(),
-              compactHilbertCurve,
-              dimensionDefinitions,
-              totalPrecision,
-              maxFilteredIndexedRanges,
-              REMOVE_VACUUM,
-              overInclusiveOnEdge);
-      queryDecompositionCache.put(key, rangeDecomp);
+    final int maxRanges = maxFilteredIndexedRanges;
+    return SFCDecompositionCache.getRangeDecomposition(
+        getCurveId(),
+        query,
+        overInclusiveOnEdge,
+        maxRanges,
+        () -> decomposeQueryOperations.decomposeRange(
+            query.getDataPerDimension(),
+            compactHilbertCurve,
+            dimensionDefinitions,
+            totalPrecision,
+            maxRanges,
+            REMOVE_VACUUM,
+            overInclusiveOnEdge));
+  }
+
+  private ByteArray getCurveId() {
+    if (curveId == null) {
+      curveId = SFCDecompositionCache.getCurveId(this);
     }
-    return rangeDecomp;
+    return curveId;
   }
 
   protected static byte[] fitExpectedByteCount(final int expectedByteCount, final byte[] bytes) {
@@ -42,6 +42,32 @@ public interface HilbertSFCOperations {
       CompactHilbertCurve compactHilbertCurve,
       SFCDimensionDefinition[] dimensionDefinitions);
 
+  /**
+   * Convert many raw values to SFC values at once
+   *
+   * @param valuesPerDimension the raw values indexed first by dimension and then by entry
+   * @param compactHilbertCurve the compact Hilbert curve to use for the conversion
+   * @param dimensionDefinitions a set of dimension definitions to use to normalize the raw values
+   * @return the Hilbert SFC value for each entry
+   */
+  public default byte[][] convertToHilbert(
+      final double[][] valuesPerDimension,
+      final CompactHilbertCurve compactHilbertCurve,
+      final SFCDimensionDefinition[] dimensionDefinitions) {
+    if (valuesPerDimension.length == 0) {
+      return new byte[0][];
+    }
+    final byte[][] retVal = new byte[valuesPerDimension[0].length][];
+    final double[] values = new double[valuesPerDimension.length];
+    for (int i = 0; i < retVal.length; i++) {
+      for (int d = 0; d < valuesPerDimension.length; d++) {
+        values[d] = valuesPerDimension[d][i];
+      }
+      retVal[i] = convertToHilbert(values, compactHilbertCurve, dimensionDefinitions);
+    }
+    return retVal;
+  }
+
   /**
    * Convert the single SFC value to the ranges of raw values that it represents
    *
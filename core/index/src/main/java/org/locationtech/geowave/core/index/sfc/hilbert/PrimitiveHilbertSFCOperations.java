@@ -28,6 +28,7 @@ import com.google.uzaygezen.core.BitVectorFactories;
 import com.google.uzaygezen.core.CompactHilbertCurve;
 import com.google.uzaygezen.core.FilteredIndexRange;
 import com.google.uzaygezen.core.LongContent;
+import com.google.uzaygezen.core.MultiDimensionalSpec;
 import com.google.uzaygezen.core.PlainFilterCombiner;
 import com.google.uzaygezen.core.QueryBuilder;
 import com.google.uzaygezen.core.RegionInspector;
@@ -50,17 +51,48 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
   protected long minHilbertValue;
   protected long maxHilbertValue;
 
+  /**
+   * Reusable per-thread state for computing insertion IDs. The compact hilbert curve keeps internal
+   * scratch state while indexing so rather than synchronizing every ID on a shared curve each
+   * thread gets its own equivalent curve along with the bit vectors it writes into.
+   */
+  private static class IdScratch {
+    private final CompactHilbertCurve compactHilbertCurve;
+    private final BitVector[] dimensionBitVectors;
+    private final BitVector hilbertBitVector;
+
+    private IdScratch(final List<Integer> bitsPerDimension) {
+      compactHilbertCurve = new CompactHilbertCurve(new MultiDimensionalSpec(bitsPerDimension));
+      dimensionBitVectors = new BitVector[bitsPerDimension.size()];
+      for (int d = 0; d < dimensionBitVectors.length; d++) {
+        dimensionBitVectors[d] = BitVectorFactories.OPTIMAL.apply(bitsPerDimension.get(d));
+      }
+      hilbertBitVector =
+          BitVectorFactories.OPTIMAL.apply(compactHilbertCurve.getSpec().sumBitsPerDimension());
+    }
+  }
+
+  private ThreadLocal<IdScratch> scratch;
+
+  /**
+   * Insertion IDs are computed on a per-thread curve built from the same dimension definitions, so
+   * the compact hilbert curve passed to {@link #convertToHilbert} is expected to be the one
+   * initialized from these dimension definitions.
+   */
   @Override
   public void init(final SFCDimensionDefinition[] dimensionDefs) {
     binsPerDimension = new long[dimensionDefs.length];
+    final List<Integer> bitsPerDimension = new ArrayList<>(dimensionDefs.length);
     int totalPrecision = 0;
     for (int d = 0; d < dimensionDefs.length; d++) {
       final SFCDimensionDefinition dimension = dimensionDefs[d];
       binsPerDimension[d] = (long) Math.pow(2, dimension.getBitsOfPrecision());
       totalPrecision += dimension.getBitsOfPrecision();
+      bitsPerDimension.add(dimension.getBitsOfPrecision());
     }
     minHilbertValue = 0;
     maxHilbertValue = (long) (Math.pow(2, totalPrecision) - 1);
+    scratch = ThreadLocal.withInitial(() -> new IdScratch(bitsPerDimension));
   }
 
   @Override
@@ -69,8 +101,6 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
       final CompactHilbertCurve compactHilbertCurve,
       final SFCDimensionDefinition[] dimensionDefinitions) {
 
-    final List<Long> dimensionValues = new ArrayList<>();
-
     // Compare the number of dimensions to the number of values sent in
     if (dimensionDefinitions.length != values.length) {
       throw new ArrayIndexOutOfBoundsException(
@@ -80,11 +110,12 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
               + dimensionDefinitions.length
               + ").");
     }
+    final IdScratch idScratch = scratch.get();
 
     // Loop through each value, then normalize the value based on the
     // dimension definition
     for (int i = 0; i < dimensionDefinitions.length; i++) {
-      dimensionValues.add(
+      idScratch.dimensionBitVectors[i].copyFrom(
           normalizeDimension(
               dimensionDefinitions[i],
               values[i],
@@ -93,38 +124,56 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
               false));
     }
 
-    // Convert the normalized values to a BitVector
-    final BitVector hilbertBitVector =
-        convertToHilbert(dimensionValues, compactHilbertCurve, dimensionDefinitions);
-
-    return hilbertBitVector.toBigEndianByteArray();
+    // Convert the normalized values to a BitVector, the output array is
+    // the only allocation
+    idScratch.hilbertBitVector.clear();
+    idScratch.compactHilbertCurve.index(
+        idScratch.dimensionBitVectors,
+        0,
+        idScratch.hilbertBitVector);
+    return idScratch.hilbertBitVector.toBigEndianByteArray();
   }
 
-  /**
-   * * Converts the incoming values (one per dimension) into a BitVector using the Compact Hilbert
-   * instance. BitVector is a wrapper to allow values longer than 64 bits.
-   *
-   * @param values n-dimensional point to transoform to a point on the hilbert SFC
-   * @return point on hilbert SFC
-   */
-  private BitVector convertToHilbert(
-      final List<Long> values,
+  @Override
+  public byte[][] convertToHilbert(
+      final double[][] valuesPerDimension,
       final CompactHilbertCurve compactHilbertCurve,
       final SFCDimensionDefinition[] dimensionDefinitions) {
-    final BitVector[] bitVectors = new BitVector[values.size()];
-
-    final BitVector hilbertBitVector =
-        BitVectorFactories.OPTIMAL.apply(compactHilbertCurve.getSpec().sumBitsPerDimension());
-
-    for (int i = 0; i < values.size(); i++) {
-      bitVectors[i] =
-          BitVectorFactories.OPTIMAL.apply(dimensionDefinitions[i].getBitsOfPrecision());
-      bitVectors[i].copyFrom(values.get(i));
+    if (dimensionDefinitions.length != valuesPerDimension.length) {
+      throw new ArrayIndexOutOfBoundsException(
+          "Number of dimensions supplied ("
+              + valuesPerDimension.length
+              + ") is different than initialized ("
+              + dimensionDefinitions.length
+              + ").");
     }
-    synchronized (compactHilbertCurve) {
-      compactHilbertCurve.index(bitVectors, 0, hilbertBitVector);
+    final int numEntries = valuesPerDimension.length == 0 ? 0 : valuesPerDimension[0].length;
+    // normalize one dimension at a time so each pass is a simple loop over
+    // a single array
+    final long[][] normalized = new long[dimensionDefinitions.length][numEntries];
+    for (int d = 0; d < dimensionDefinitions.length; d++) {
+      final SFCDimensionDefinition dimension = dimensionDefinitions[d];
+      final double[] values = valuesPerDimension[d];
+      final long[] normalizedValues = normalized[d];
+      final long bins = binsPerDimension[d];
+      for (int i = 0; i < numEntries; i++) {
+        normalizedValues[i] = normalizeDimension(dimension, values[i], bins, false, false);
+      }
     }
-    return hilbertBitVector;
+    final IdScratch idScratch = scratch.get();
+    final byte[][] retVal = new byte[numEntries][];
+    for (int i = 0; i < numEntries; i++) {
+      for (int d = 0; d < normalized.length; d++) {
+        idScratch.dimensionBitVectors[d].copyFrom(normalized[d][i]);
+      }
+      idScratch.hilbertBitVector.clear();
+      idScratch.compactHilbertCurve.index(
+          idScratch.dimensionBitVectors,
+          0,
+          idScratch.hilbertBitVector);
+      retVal[i] = idScratch.hilbertBitVector.toBigEndianByteArray();
+    }
+    return retVal;
   }
 
   @Override
@@ -287,8 +336,8 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
     // and
     // maximum
     // values
-    final List<Long> minRangeList = new ArrayList<>();
-    final List<Long> maxRangeList = new ArrayList<>();
+    final long[] minRange = new long[dimensionDefinitions.length];
+    final long[] maxRange = new long[dimensionDefinitions.length];
 
     final LongContent zero = new LongContent(0L);
     final List<LongRange> region = new ArrayList<>(dimensionDefinitions.length);
@@ -314,12 +363,12 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
         // inclusive in this case)
         normalizedMax = normalizedMin;
       }
-      minRangeList.add(normalizedMin);
-      maxRangeList.add(normalizedMax);
+      minRange[d] = normalizedMin;
+      maxRange[d] = normalizedMax;
       region.add(LongRange.of(normalizedMin, normalizedMax + 1L));
     }
 
-    final long minQuadSize = getMinimumQuadSize(minRangeList, maxRangeList);
+    final long minQuadSize = getMinimumQuadSize(minRange, maxRange);
 
     final RegionInspector<LongRange, LongContent> regionInspector =
         SimpleRegionInspector.create(
@@ -390,17 +439,17 @@ public class PrimitiveHilbertSFCOperations implements HilbertSFCOperations {
    * range is equal or smaller than this value). Values is based on the _maximumRangeDecompsed and
    * _minRangeDecompsed instance members.
    *
-   * @param minRangeList minimum values for each dimension (ordered)
-   * @param maxRangeList maximum values for each dimension (ordered)
+   * @param minRange minimum values for each dimension (ordered)
+   * @param maxRange maximum values for each dimension (ordered)
    * @return largest range that will be fully decomposed
    */
-  private long getMinimumQuadSize(final List<Long> minRangeList, final List<Long> maxRangeList) {
-    long maxRange = 1;
-    final int dimensionality = Math.min(minRangeList.size(), maxRangeList.size());
+  private long getMinimumQuadSize(final long[] minRange, final long[] maxRange) {
+    long maxRangeSize = 1;
+    final int dimensionality = Math.min(minRange.length, maxRange.length);
     for (int d = 0; d < dimensionality; d++) {
-      maxRange = Math.max(maxRange, (Math.abs(maxRangeList.get(d) - minRangeList.get(d)) + 1));
+      maxRangeSize = Math.max(maxRangeSize, (Math.abs(maxRange[d] - minRange[d]) + 1));
     }
-    final long maxRangeDecomposed = (long) Math.pow(maxRange, dimensionality);
+    final long maxRangeDecomposed = (long) Math.pow(maxRangeSize, dimensionality);
     if (maxRangeDecomposed <= UNIT_CELL_SIZE) {
       return 1L;
     }
@@ -191,6 +191,40 @@ public class TieredSFCIndexStrategy implements HierarchicalNumericIndexStrategy
         BigInteger.valueOf(maxDuplicateInsertionIdsPerDimension));
   }
 
+  /**
+   * Point entries that fall within a single bin are always assigned to the finest tier, so their
+   * IDs are computed together on that tier's curve without taking the lock used for range
+   * decomposition. All other entries go through
+   * {@link #getInsertionIds(MultiDimensionalNumericData)}.
+   */
+  @Override
+  public InsertionIds[] getInsertionIds(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension) {
+    if (orderedSfcs.length == 0) {
+      return HierarchicalNumericIndexStrategy.super.getInsertionIds(
+          minsPerDimension,
+          maxesPerDimension);
+    }
+    final int finestSfcIndex = orderedSfcs.length - 1;
+    final SinglePartitionInsertionIds[] pointIds =
+        BinnedSFCUtils.getSingleBinnedPointInsertionIds(
+            minsPerDimension,
+            maxesPerDimension,
+            baseDefinitions,
+            orderedSfcIndexToTierId.get(finestSfcIndex),
+            orderedSfcs[finestSfcIndex]);
+    final InsertionIds[] retVal = new InsertionIds[pointIds.length];
+    for (int i = 0; i < pointIds.length; i++) {
+      if (pointIds[i] != null) {
+        retVal[i] = new InsertionIds(pointIds[i]);
+      } else {
+        retVal[i] = getInsertionIds(IndexUtils.getEntry(minsPerDimension, maxesPerDimension, i));
+      }
+    }
+    return retVal;
+  }
+
   private InsertionIds internalGetInsertionIds(
       final MultiDimensionalNumericData indexedData,
       final BigInteger maxDuplicateInsertionIds) {
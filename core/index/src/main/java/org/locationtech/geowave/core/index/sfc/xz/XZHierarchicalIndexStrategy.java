@@ -217,6 +217,32 @@ public class XZHierarchicalIndexStrategy implements HierarchicalNumericIndexStra
     return new InsertionIds(partitionIds);
   }
 
+  /**
+   * Point entries are encoded together on the point curve, everything else goes through {@link
+   * #getInsertionIds(MultiDimensionalNumericData)}.
+   */
+  @Override
+  public InsertionIds[] getInsertionIds(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension) {
+    final SinglePartitionInsertionIds[] pointIds =
+        BinnedSFCUtils.getSingleBinnedPointInsertionIds(
+            minsPerDimension,
+            maxesPerDimension,
+            baseDefinitions,
+            pointCurveMultiDimensionalId,
+            pointCurve);
+    final InsertionIds[] retVal = new InsertionIds[pointIds.length];
+    for (int i = 0; i < pointIds.length; i++) {
+      if (pointIds[i] != null) {
+        retVal[i] = new InsertionIds(pointIds[i]);
+      } else {
+        retVal[i] = getInsertionIds(IndexUtils.getEntry(minsPerDimension, maxesPerDimension, i));
+      }
+    }
+    return retVal;
+  }
+
   @Override
   public InsertionIds getInsertionIds(
       final MultiDimensionalNumericData indexedData,
@@ -15,12 +15,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.ByteArrayRange.MergeOperation;
 import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.index.VarintUtils;
 import org.locationtech.geowave.core.index.persist.PersistenceUtils;
 import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCDecompositionCache;
 import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
 import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
 import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
@@ -46,6 +48,7 @@ public class XZOrderSFC implements SpaceFillingCurve {
   private SFCDimensionDefinition[] dimensionDefs;
   private int dimensionCount;
   private int nthPowerOfTwo;
+  private volatile ByteArray curveId;
 
   public XZOrderSFC() {}
 
@@ -55,6 +58,7 @@ public class XZOrderSFC implements SpaceFillingCurve {
   }
 
   private void init() {
+    curveId = null;
     dimensionCount = dimensionDefs.length;
     nthPowerOfTwo = (int) Math.pow(2, dimensionCount);
 
@@ -301,6 +305,24 @@ public class XZOrderSFC implements SpaceFillingCurve {
       final MultiDimensionalNumericData query,
       final boolean overInclusiveOnEdge,
       final int maxRanges) {
+    return SFCDecompositionCache.getRangeDecomposition(
+        getCurveId(),
+        query,
+        overInclusiveOnEdge,
+        maxRanges,
+        () -> internalDecomposeRange(query, maxRanges));
+  }
+
+  private ByteArray getCurveId() {
+    if (curveId == null) {
+      curveId = SFCDecompositionCache.getCurveId(this);
+    }
+    return curveId;
+  }
+
+  private RangeDecomposition internalDecomposeRange(
+      final MultiDimensionalNumericData query,
+      final int maxRanges) {
 
     // normalize query values
     final double[] queryMins = query.getMinValuesPerDimension();
@@ -13,10 +13,12 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.VarintUtils;
 import org.locationtech.geowave.core.index.persist.PersistenceUtils;
 import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCDecompositionCache;
 import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
 import org.locationtech.geowave.core.index.sfc.SpaceFillingCurve;
 import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
@@ -27,6 +29,7 @@ public class ZOrderSFC implements SpaceFillingCurve {
   private SFCDimensionDefinition[] dimensionDefs;
   private int cardinalityPerDimension;
   private double binsPerDimension;
+  private volatile ByteArray curveId;
 
   public ZOrderSFC() {
     super();
@@ -39,6 +42,7 @@ public class ZOrderSFC implements SpaceFillingCurve {
 
   private void init(final SFCDimensionDefinition[] dimensionDefs) {
     this.dimensionDefs = dimensionDefs;
+    curveId = null;
     cardinalityPerDimension = 1;
     for (final SFCDimensionDefinition dimensionDef : dimensionDefs) {
       if (dimensionDef.getBitsOfPrecision() > cardinalityPerDimension) {
@@ -58,6 +62,31 @@ public class ZOrderSFC implements SpaceFillingCurve {
     return ZOrderUtils.encode(normalizedValues, cardinalityPerDimension, values.length);
   }
 
+  /** * {@inheritDoc} */
+  @Override
+  public byte[][] getIds(final double[][] valuesPerDimension) {
+    final int numDimensions = valuesPerDimension.length;
+    final int numEntries = numDimensions == 0 ? 0 : valuesPerDimension[0].length;
+    final double[][] normalizedPerDimension = new double[numDimensions][numEntries];
+    for (int d = 0; d < numDimensions; d++) {
+      final SFCDimensionDefinition dimension = dimensionDefs[d];
+      final double[] values = valuesPerDimension[d];
+      final double[] normalizedValues = normalizedPerDimension[d];
+      for (int i = 0; i < numEntries; i++) {
+        normalizedValues[i] = dimension.normalize(values[i]);
+      }
+    }
+    final byte[][] retVal = new byte[numEntries][];
+    final double[] normalizedValues = new double[numDimensions];
+    for (int i = 0; i < numEntries; i++) {
+      for (int d = 0; d < numDimensions; d++) {
+        normalizedValues[d] = normalizedPerDimension[d][i];
+      }
+      retVal[i] = ZOrderUtils.encode(normalizedValues, cardinalityPerDimension, numDimensions);
+    }
+    return retVal;
+  }
+
   @Override
   public MultiDimensionalNumericData getRanges(final byte[] id) {
     return new BasicNumericDataset(
@@ -98,6 +127,22 @@ public class ZOrderSFC implements SpaceFillingCurve {
       final MultiDimensionalNumericData query,
       final boolean overInclusiveOnEdge,
       final int maxFilteredIndexedRanges) {
+    return SFCDecompositionCache.getRangeDecomposition(
+        getCurveId(),
+        query,
+        overInclusiveOnEdge,
+        maxFilteredIndexedRanges,
+        () -> internalDecomposeRange(query));
+  }
+
+  private ByteArray getCurveId() {
+    if (curveId == null) {
+      curveId = SFCDecompositionCache.getCurveId(this);
+    }
+    return curveId;
+  }
+
+  private RangeDecomposition internalDecomposeRange(final MultiDimensionalNumericData query) {
     // TODO: Because the research and benchmarking show Hilbert to
     // outperform Z-Order
     // the optimization of full query decomposition is not implemented at
@@ -8,9 +8,15 @@
  */
 package org.locationtech.geowave.core.index.sfc.xz;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Test;
+import org.locationtech.geowave.core.index.ByteArray;
+import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.dimension.BasicDimensionDefinition;
+import org.locationtech.geowave.core.index.sfc.RangeDecomposition;
+import org.locationtech.geowave.core.index.sfc.SFCDecompositionCache;
 import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
 import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
 import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
@@ -36,6 +42,40 @@ public class XZOrderSFCTest {
     Assert.assertNotNull(createSFC().decomposeRangeFully(query));
   }
 
+  @Test
+  public void testRangeDecompositionIsShared() {
+    final MultiDimensionalNumericData query =
+        new BasicNumericDataset(
+            new NumericData[] {new NumericRange(-12.5, -11.0), new NumericRange(7.25, 8.0)});
+    final RangeDecomposition first = createSFC().decomposeRange(query, true, 10);
+    // a separate but equivalent curve, as if it were deserialized again, should hit the cache
+    final RangeDecomposition second = createSFC().decomposeRange(query, true, 10);
+    Assert.assertSame(first, second);
+  }
+
+  @Test
+  public void testRangeDecompositionComputedOnce() {
+    // a curve ID no real curve serializes to so other tests can't share its entries
+    final ByteArray curveId = new ByteArray("testRangeDecompositionComputedOnce");
+    final MultiDimensionalNumericData query =
+        new BasicNumericDataset(
+            new NumericData[] {new NumericRange(1.0, 2.0), new NumericRange(3.0, 4.0)});
+    final AtomicInteger decompositions = new AtomicInteger(0);
+    final Supplier<RangeDecomposition> decomposition = () -> {
+      decompositions.incrementAndGet();
+      return new RangeDecomposition(new ByteArrayRange[0]);
+    };
+    final RangeDecomposition first =
+        SFCDecompositionCache.getRangeDecomposition(curveId, query, true, 10, decomposition);
+    Assert.assertSame(
+        first,
+        SFCDecompositionCache.getRangeDecomposition(curveId, query, true, 10, decomposition));
+    Assert.assertEquals(1, decompositions.get());
+    // a different maximum number of ranges is a different decomposition
+    SFCDecompositionCache.getRangeDecomposition(curveId, query, true, 20, decomposition);
+    Assert.assertEquals(2, decompositions.get());
+  }
+
   private XZOrderSFC createSFC() {
     SFCDimensionDefinition[] dimensions =
         {
@@ -105,6 +105,13 @@ public abstract class AbstractMapReduceIngest<T extends Persistable & DataAdapte
       conf.set(GLOBAL_VISIBILITY_KEY, ingestOptions.getVisibility());
     }
     final Job job = new Job(conf, getJobName());
+    final String bulkLoadDirectory = GeoWaveOutputFormat.getBulkLoadDirectory(job);
+    Path bulkLoadPath = null;
+    if (bulkLoadDirectory != null) {
+      // jobs for several formats can run at once, so each writes beneath its own directory
+      bulkLoadPath = new Path(bulkLoadDirectory, formatPluginName);
+      GeoWaveOutputFormat.setBulkLoadDirectory(job.getConfiguration(), bulkLoadPath.toString());
+    }
     final StringBuilder indexNames = new StringBuilder();
     final List<Index> indexes = new ArrayList<>();
     for (final IndexPluginOptions indexOption : indexOptions) {
@@ -178,6 +185,12 @@ public abstract class AbstractMapReduceIngest<T extends Persistable & DataAdapte
       }
     }
     final int retVal = job.waitForCompletion(true) ? 0 : -1;
+    if ((retVal == 0) && (bulkLoadPath != null)) {
+      GeoWaveOutputFormat.importBulkLoadDirectory(
+          job.getConfiguration(),
+          dataStoreOptions,
+          bulkLoadPath);
+    }
     // when it is complete, delete any empty adapters and index mappings
     // that were created from this driver but didn't actually have data
     // ingests
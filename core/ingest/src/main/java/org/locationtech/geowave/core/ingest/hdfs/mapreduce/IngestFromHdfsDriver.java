@@ -25,6 +25,7 @@ import org.locationtech.geowave.core.store.cli.remote.options.IndexPluginOptions
 import org.locationtech.geowave.core.store.cli.remote.options.VisibilityOptions;
 import org.locationtech.geowave.core.store.ingest.DataAdapterProvider;
 import org.locationtech.geowave.mapreduce.GeoWaveConfiguratorBase;
+import org.locationtech.geowave.mapreduce.output.GeoWaveOutputFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -101,6 +102,7 @@ public class IngestFromHdfsDriver {
           mapReduceOptions.getJobTrackerOrResourceManagerHostPort(),
           conf);
       mapReduceOptions.applyConfigurationProperties(conf);
+      GeoWaveOutputFormat.setBulkLoadDirectory(conf, mapReduceOptions.getBulkLoadDirectory());
       try (FileSystem fs = FileSystem.get(conf)) {
         if (!fs.exists(hdfsBaseDirectory)) {
           LOGGER.error("HDFS base directory {} does not exist", hdfsBaseDirectory);
@@ -36,6 +36,11 @@ public class MapReduceCommandLineOptions {
       splitter = NoSplitter.class)
   private List<String> configurationProperties;
 
+  @Parameter(
+      names = "--bulkLoadDir",
+      description = "Write the ingested data as sorted files beneath this HDFS directory and bulk import them into the data store rather than writing the data directly, only supported for Accumulo and HBase")
+  private String bulkLoadDirectory;
+
   public MapReduceCommandLineOptions() {}
 
   public String getJobTrackerHostPort() {
@@ -58,6 +63,14 @@ public class MapReduceCommandLineOptions {
     return jobTrackerHostPort == null ? resourceManager : jobTrackerHostPort;
   }
 
+  public String getBulkLoadDirectory() {
+    return bulkLoadDirectory;
+  }
+
+  public void setBulkLoadDirectory(String bulkLoadDirectory) {
+    this.bulkLoadDirectory = bulkLoadDirectory;
+  }
+
   public void setConfigurationProperties(List<String> configurationProperties) {
     this.configurationProperties = configurationProperties;
   }
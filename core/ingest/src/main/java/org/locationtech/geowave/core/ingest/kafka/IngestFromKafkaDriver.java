@@ -11,32 +11,29 @@ package org.locationtech.geowave.core.ingest.kafka;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import kafka.consumer.Consumer;
-import kafka.consumer.ConsumerConfig;
-import kafka.consumer.ConsumerIterator;
-import kafka.consumer.ConsumerTimeoutException;
-import kafka.consumer.KafkaStream;
-import kafka.javaapi.consumer.ConsumerConnector;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.locationtech.geowave.core.ingest.avro.GeoWaveAvroFormatPlugin;
-import org.locationtech.geowave.core.ingest.avro.GenericAvroSerializer;
-import org.locationtech.geowave.core.store.CloseableIterator;
 import org.locationtech.geowave.core.store.api.DataStore;
 import org.locationtech.geowave.core.store.api.DataTypeAdapter;
 import org.locationtech.geowave.core.store.api.Index;
-import org.locationtech.geowave.core.store.api.Writer;
 import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
 import org.locationtech.geowave.core.store.cli.remote.options.IndexPluginOptions;
 import org.locationtech.geowave.core.store.cli.remote.options.VisibilityOptions;
-import org.locationtech.geowave.core.store.ingest.GeoWaveData;
 import org.locationtech.geowave.core.store.ingest.IndexProvider;
 import org.locationtech.geowave.core.store.ingest.IngestPluginBase;
 import org.slf4j.Logger;
@@ -52,6 +49,7 @@ public class IngestFromKafkaDriver {
   private final KafkaConsumerCommandLineOptions kafkaOptions;
   private final VisibilityOptions ingestOptions;
   private final List<Future<?>> futures = new ArrayList<>();
+  private final Map<TopicPartition, Long> consumerLag = new ConcurrentHashMap<>();
 
   public IngestFromKafkaDriver(
       final DataStorePluginOptions storeOptions,
@@ -70,7 +68,7 @@ public class IngestFromKafkaDriver {
 
     final DataStore dataStore = storeOptions.createDataStore();
 
-    final List<String> queue = new ArrayList<>();
+    final List<String> queue = Collections.synchronizedList(new ArrayList<>());
     addPluginsToQueue(ingestPlugins, queue);
 
     configureAndLaunchPlugins(dataStore, ingestPlugins, queue);
@@ -78,8 +76,10 @@ public class IngestFromKafkaDriver {
     int counter = 0;
     while (queue.size() > 0) {
       if (counter > 30) {
-        for (final String pluginFormatName : queue) {
-          LOGGER.error("Unable to start up Kafka consumer for plugin [" + pluginFormatName + "]");
+        synchronized (queue) {
+          for (final String pluginFormatName : queue) {
+            LOGGER.error("Unable to start up Kafka consumer for plugin [" + pluginFormatName + "]");
+          }
         }
         break;
       }
@@ -95,8 +95,10 @@ public class IngestFromKafkaDriver {
       LOGGER.info("All format plugins are now listening on Kafka topics");
     } else {
       LOGGER.warn("Unable to setup Kafka consumers for the following format plugins:");
-      for (final String formatPluginName : queue) {
-        LOGGER.warn("\t[" + formatPluginName + "]");
+      synchronized (queue) {
+        for (final String formatPluginName : queue) {
+          LOGGER.warn("\t[" + formatPluginName + "]");
+        }
       }
       return false;
     }
@@ -126,10 +128,15 @@ public class IngestFromKafkaDriver {
           final DataTypeAdapter<?>[] dataAdapters =
               ingestWithAvroPlugin.getDataAdapters(ingestOptions.getVisibility());
           adapters.addAll(Arrays.asList(dataAdapters));
-          final KafkaIngestRunData runData = new KafkaIngestRunData(adapters, dataStore);
 
-          futures.add(
-              launchTopicConsumer(pluginProvider.getKey(), avroFormatPlugin, runData, queue));
+          futures.addAll(
+              launchTopicConsumers(
+                  pluginProvider.getKey(),
+                  avroFormatPlugin,
+                  adapters,
+                  dataStore,
+                  getIndexMap(avroFormatPlugin),
+                  queue));
         } catch (final UnsupportedOperationException e) {
           LOGGER.warn(
               "Plugin provider '"
@@ -144,130 +151,9 @@ public class IngestFromKafkaDriver {
     }
   }
 
-  private ConsumerConnector buildKafkaConsumer() {
-
-    final Properties kafkaProperties = kafkaOptions.getProperties();
-
-    final ConsumerConnector consumer =
-        Consumer.createJavaConsumerConnector(new ConsumerConfig(kafkaProperties));
-
-    return consumer;
-  }
-
-  private Future<?> launchTopicConsumer(
-      final String formatPluginName,
-      final GeoWaveAvroFormatPlugin<?, ?> avroFormatPlugin,
-      final KafkaIngestRunData ingestRunData,
-      final List<String> queue) throws IllegalArgumentException {
-    final ExecutorService executorService = Executors.newFixedThreadPool(queue.size());
-    return executorService.submit(new Runnable() {
-
-      @Override
-      public void run() {
-        try {
-          consumeFromTopic(formatPluginName, avroFormatPlugin, ingestRunData, queue);
-        } catch (final Exception e) {
-          LOGGER.error("Error consuming from Kafka topic [" + formatPluginName + "]", e);
-        }
-      }
-    });
-  }
-
-  public <T> void consumeFromTopic(
-      final String formatPluginName,
-      final GeoWaveAvroFormatPlugin<T, ?> avroFormatPlugin,
-      final KafkaIngestRunData ingestRunData,
-      final List<String> queue) {
-
-    final ConsumerConnector consumer = buildKafkaConsumer();
-    if (consumer == null) {
-      throw new RuntimeException(
-          "Kafka consumer connector is null, unable to create message streams");
-    }
-    try {
-      LOGGER.debug(
-          "Kafka consumer setup for format ["
-              + formatPluginName
-              + "] against topic ["
-              + formatPluginName
-              + "]");
-      final Map<String, Integer> topicCount = new HashMap<>();
-      topicCount.put(formatPluginName, 1);
-
-      final Map<String, List<KafkaStream<byte[], byte[]>>> consumerStreams =
-          consumer.createMessageStreams(topicCount);
-      final List<KafkaStream<byte[], byte[]>> streams = consumerStreams.get(formatPluginName);
-
-      queue.remove(formatPluginName);
-      consumeMessages(formatPluginName, avroFormatPlugin, ingestRunData, streams.get(0));
-    } finally {
-      consumer.shutdown();
-    }
-  }
-
-  protected <T> void consumeMessages(
-      final String formatPluginName,
-      final GeoWaveAvroFormatPlugin<T, ?> avroFormatPlugin,
-      final KafkaIngestRunData ingestRunData,
-      final KafkaStream<byte[], byte[]> stream) {
-    int currentBatchId = 0;
-    final int batchSize = kafkaOptions.getBatchSize();
-    try {
-      final ConsumerIterator<byte[], byte[]> messageIterator = stream.iterator();
-      while (messageIterator.hasNext()) {
-        final byte[] msg = messageIterator.next().message();
-        LOGGER.info("[" + formatPluginName + "] message received");
-        final T dataRecord =
-            GenericAvroSerializer.deserialize(msg, avroFormatPlugin.getAvroSchema());
-
-        if (dataRecord != null) {
-          try {
-            processMessage(dataRecord, ingestRunData, avroFormatPlugin);
-            if (++currentBatchId > batchSize) {
-              if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(String.format("Flushing %d items", currentBatchId));
-              }
-              ingestRunData.flush();
-              currentBatchId = 0;
-            }
-          } catch (final Exception e) {
-            LOGGER.error("Error processing message: " + e.getMessage(), e);
-          }
-        }
-      }
-    } catch (final ConsumerTimeoutException te) {
-      // Flush any outstanding items
-      if (currentBatchId > 0) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(String.format("Flushing %d items", currentBatchId));
-        }
-        ingestRunData.flush();
-        currentBatchId = 0;
-      }
-      if (kafkaOptions.isFlushAndReconnect()) {
-        LOGGER.info(
-            "Consumer timed out from Kafka topic [" + formatPluginName + "]... Reconnecting...",
-            te);
-        consumeMessages(formatPluginName, avroFormatPlugin, ingestRunData, stream);
-      } else {
-        LOGGER.info("Consumer timed out from Kafka topic [" + formatPluginName + "]... ", te);
-      }
-    } catch (final Exception e) {
-      LOGGER.warn("Consuming from Kafka topic [" + formatPluginName + "] was interrupted... ", e);
-    }
-  }
-
-  protected synchronized <T> void processMessage(
-      final T dataRecord,
-      final KafkaIngestRunData ingestRunData,
-      final GeoWaveAvroFormatPlugin<T, ?> plugin) throws IOException {
-
-    final IngestPluginBase<T, ?> ingestPlugin = plugin.getIngestWithAvroPlugin();
-    final IndexProvider indexProvider = plugin;
-
-    final Map<String, Writer> writerMap = new HashMap<>();
+  private Map<String, Index> getIndexMap(final GeoWaveAvroFormatPlugin<?, ?> plugin)
+      throws IOException {
     final Map<String, Index> indexMap = new HashMap<>();
-
     for (final IndexPluginOptions indexOption : indexOptions) {
       final Index primaryIndex = indexOption.createIndex();
       if (primaryIndex == null) {
@@ -277,44 +163,106 @@ public class IngestFromKafkaDriver {
       indexMap.put(primaryIndex.getName(), primaryIndex);
     }
 
+    final IndexProvider indexProvider = plugin;
     final Index[] requiredIndices = indexProvider.getRequiredIndices();
     if ((requiredIndices != null) && (requiredIndices.length > 0)) {
       for (final Index requiredIndex : requiredIndices) {
         indexMap.put(requiredIndex.getName(), requiredIndex);
       }
     }
+    return indexMap;
+  }
 
-    try (CloseableIterator<?> geowaveDataIt =
-        ingestPlugin.toGeoWaveData(
-            dataRecord,
-            indexMap.keySet().toArray(new String[0]),
-            ingestOptions.getVisibility())) {
-      while (geowaveDataIt.hasNext()) {
-        final GeoWaveData<?> geowaveData = (GeoWaveData<?>) geowaveDataIt.next();
-        final DataTypeAdapter adapter = ingestRunData.getDataAdapter(geowaveData);
-        if (adapter == null) {
-          LOGGER.warn("Adapter not found for " + geowaveData.getValue());
-          continue;
-        }
-        Writer indexWriter = writerMap.get(adapter.getTypeName());
-        if (indexWriter == null) {
-          final List<Index> indexList = new ArrayList<>();
-          for (final String indexName : geowaveData.getIndexNames()) {
-            final Index index = indexMap.get(indexName);
-            if (index == null) {
-              LOGGER.warn("Index '" + indexName + "' not found for " + geowaveData.getValue());
-              continue;
-            }
-            indexList.add(index);
-          }
-          indexWriter =
-              ingestRunData.getIndexWriter(adapter, indexList.toArray(new Index[indexList.size()]));
-          writerMap.put(adapter.getTypeName(), indexWriter);
-        }
+  private Properties buildConsumerProperties() {
+    final Properties properties = new Properties();
+    properties.putAll(kafkaOptions.getProperties());
+    properties.put(
+        ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+        ByteArrayDeserializer.class.getName());
+    properties.put(
+        ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+        ByteArrayDeserializer.class.getName());
+    // offsets are committed by the workers once a batch has been flushed
+    properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    if ((kafkaOptions.getZookeeperConnect() != null)
+        && !properties.containsKey(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG)) {
+      LOGGER.warn(
+          "The Kafka consumer no longer connects to ZooKeeper, ignoring zookeeperConnect ["
+              + kafkaOptions.getZookeeperConnect()
+              + "]. Use bootstrapServers to specify the Kafka brokers instead.");
+    }
 
-        indexWriter.write(geowaveData.getValue());
+    // translate the offset reset values of the legacy consumer
+    final String autoOffsetReset = properties.getProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
+    if ("smallest".equals(autoOffsetReset)) {
+      properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    } else if ("largest".equals(autoOffsetReset)) {
+      properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    }
+    return properties;
+  }
+
+  private int getPartitionCount(final String topic, final Properties consumerProperties) {
+    try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties)) {
+      final List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+      if ((partitions == null) || partitions.isEmpty()) {
+        return 1;
       }
+      return partitions.size();
+    }
+  }
+
+  /**
+   * Launch one worker per partition of the topic. The workers share the consumer group, so the
+   * partitions are balanced across them, and across any other process consuming in the same
+   * group.
+   */
+  private <T> List<Future<?>> launchTopicConsumers(
+      final String formatPluginName,
+      final GeoWaveAvroFormatPlugin<T, ?> avroFormatPlugin,
+      final List<DataTypeAdapter<?>> adapters,
+      final DataStore dataStore,
+      final Map<String, Index> indexMap,
+      final List<String> queue) {
+    final Properties consumerProperties = buildConsumerProperties();
+    final int numPartitions = getPartitionCount(formatPluginName, consumerProperties);
+    LOGGER.debug(
+        "Kafka consumers setup for format ["
+            + formatPluginName
+            + "] against "
+            + numPartitions
+            + " partitions of topic ["
+            + formatPluginName
+            + "]");
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(numPartitions);
+    final List<Future<?>> topicFutures = new ArrayList<>();
+    for (int i = 0; i < numPartitions; i++) {
+      topicFutures.add(
+          executorService.submit(
+              new KafkaIngestWorker<>(
+                  formatPluginName,
+                  avroFormatPlugin,
+                  new KafkaIngestRunData(adapters, dataStore),
+                  indexMap,
+                  ingestOptions.getVisibility(),
+                  consumerProperties,
+                  kafkaOptions,
+                  consumerLag,
+                  queue)));
     }
+    executorService.shutdown();
+    return topicFutures;
+  }
+
+  /**
+   * The number of messages each partition being consumed is behind the end of its topic, as of the
+   * last offsets committed for the partition.
+   *
+   * @return the consumer lag by topic partition
+   */
+  public Map<TopicPartition, Long> getConsumerLag() {
+    return Collections.unmodifiableMap(consumerLag);
   }
 
   public List<Future<?>> getFutures() {
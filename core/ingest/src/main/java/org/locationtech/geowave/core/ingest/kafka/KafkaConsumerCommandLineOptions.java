@@ -17,36 +17,40 @@ public class KafkaConsumerCommandLineOptions extends KafkaCommandLineOptions {
       description = "A string that uniquely identifies the group of consumer processes to which this consumer belongs. By setting the same group id multiple processes indicate that they are all part of the same consumer group.")
   private String groupId;
 
-  @PropertyReference("zookeeper.connect")
+  @PropertyReference("bootstrap.servers")
+  @Parameter(
+      names = "--bootstrapServers",
+      description = "A list of host/port pairs to use for establishing the initial connection to the Kafka cluster, in the form host1:port1,host2:port2. The list only needs to contain enough brokers to discover the rest of the cluster.")
+  private String bootstrapServers;
+
   @Parameter(
       names = "--zookeeperConnect",
-      description = "Specifies the ZooKeeper connection string in the form hostname:port where host and port are the host and port of a ZooKeeper server. To allow connecting through other ZooKeeper nodes when that ZooKeeper machine is down you can also specify multiple hosts in the form hostname1:port1,hostname2:port2,hostname3:port3.")
+      description = "Deprecated, the consumer no longer connects to ZooKeeper. Use --bootstrapServers to specify the Kafka brokers instead.")
   private String zookeeperConnect;
 
   @PropertyReference("auto.offset.reset")
   @Parameter(
       names = "--autoOffsetReset",
-      description = "What to do when there is no initial offset in ZooKeeper or if an offset is out of range:\n"
-          + "\t* smallest : automatically reset the offset to the smallest offset\n"
-          + "\t* largest : automatically reset the offset to the largest offset\n"
+      description = "What to do when there is no committed offset for the consumer group or if an offset is out of range:\n"
+          + "\t* earliest (or smallest) : automatically reset the offset to the earliest offset\n"
+          + "\t* latest (or largest) : automatically reset the offset to the latest offset\n"
           + "\t* anything else: throw exception to the consumer\n")
   private String autoOffsetReset;
 
-  @PropertyReference("fetch.message.max.bytes")
+  @PropertyReference("max.partition.fetch.bytes")
   @Parameter(
       names = "--fetchMessageMaxBytes",
       description = "The number of bytes of messages to attempt to fetch for each topic-partition in each fetch request. These bytes will be read into memory for each partition, so this helps control the memory used by the consumer. The fetch request size must be at least as large as the maximum message size the server allows or else it is possible for the producer to send messages larger than the consumer can fetch.")
   private String fetchMessageMaxBytes;
 
-  @PropertyReference("consumer.timeout.ms")
   @Parameter(
       names = "--consumerTimeoutMs",
-      description = "By default, this value is -1 and a consumer blocks indefinitely if no new message is available for consumption. By setting the value to a positive integer, a timeout exception is thrown to the consumer if no message is available for consumption after the specified timeout value.")
+      description = "By default, this value is -1 and a consumer waits indefinitely if no new message is available for consumption. By setting the value to a positive integer, the consumer flushes and stops if no message is available for consumption after the specified timeout value.")
   private String consumerTimeoutMs;
 
   @Parameter(
       names = "--reconnectOnTimeout",
-      description = "This flag will flush when the consumer timeout occurs (based on kafka property 'consumer.timeout.ms') and immediately reconnect")
+      description = "This flag will flush when the consumer timeout occurs (based on --consumerTimeoutMs) and continue consuming")
   private boolean reconnectOnTimeout = false;
 
   @Parameter(
@@ -54,6 +58,11 @@ public class KafkaConsumerCommandLineOptions extends KafkaCommandLineOptions {
       description = "The data will automatically flush after this number of entries")
   private int batchSize = 10000;
 
+  @Parameter(
+      names = "--batchTimeoutMs",
+      description = "The data will automatically flush after this number of milliseconds since the first entry of a batch was received")
+  private int batchTimeoutMs = 5000;
+
   public boolean isFlushAndReconnect() {
     return reconnectOnTimeout;
   }
@@ -70,6 +79,14 @@ public class KafkaConsumerCommandLineOptions extends KafkaCommandLineOptions {
     this.groupId = groupId;
   }
 
+  public String getBootstrapServers() {
+    return bootstrapServers;
+  }
+
+  public void setBootstrapServers(String bootstrapServers) {
+    this.bootstrapServers = bootstrapServers;
+  }
+
   public String getZookeeperConnect() {
     return zookeeperConnect;
   }
@@ -113,4 +130,12 @@ public class KafkaConsumerCommandLineOptions extends KafkaCommandLineOptions {
   public void setBatchSize(int batchSize) {
     this.batchSize = batchSize;
   }
+
+  public int getBatchTimeoutMs() {
+    return batchTimeoutMs;
+  }
+
+  public void setBatchTimeoutMs(int batchTimeoutMs) {
+    this.batchTimeoutMs = batchTimeoutMs;
+  }
 }
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.ingest.kafka;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The offsets of a micro-batch of Kafka records. The offsets of a batch are committed only after
+ * the writers were flushed, and a failed flush rewinds the consumer to the start of the batch.
+ *
+ * <p> Delivery is therefore at least once. The rows of a rewound batch that were written before the
+ * flush failed are written again when the batch is consumed again. A row written again has the same
+ * keys as before and replaces it, but statistics such as counts include it twice.
+ */
+class KafkaIngestBatch {
+  private static final Logger LOGGER = LoggerFactory.getLogger(KafkaIngestBatch.class);
+
+  private final Map<TopicPartition, Long> startOffsets = new HashMap<>();
+  private final Map<TopicPartition, OffsetAndMetadata> endOffsets = new HashMap<>();
+  private final Set<TopicPartition> rewoundPartitions = new HashSet<>();
+  private int size = 0;
+  private long startTime = 0;
+
+  public void add(final ConsumerRecord<?, ?> record) {
+    final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+    if (!startOffsets.containsKey(partition)) {
+      startOffsets.put(partition, record.offset());
+    }
+    endOffsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+    if (size++ == 0) {
+      startTime = System.currentTimeMillis();
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** @return the time the first record of the batch was added */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * Flush the writers and commit the offsets of the batch, then update the lag of its partitions.
+   * The batch is empty afterwards, whether or not it was committed.
+   *
+   * @param consumer the consumer of the records of the batch
+   * @param writers flushes the writers of the records of the batch
+   * @param consumerLag the lag of each partition, updated once the offsets were committed
+   * @return true if the offsets of the batch were committed
+   */
+  public boolean flush(
+      final Consumer<?, ?> consumer,
+      final Runnable writers,
+      final Map<TopicPartition, Long> consumerLag) {
+    rewoundPartitions.clear();
+    if (size == 0) {
+      return true;
+    }
+    try {
+      writers.run();
+    } catch (final Exception e) {
+      LOGGER.error(
+          "Unable to flush items from Kafka partitions "
+              + startOffsets.keySet()
+              + ", consuming the batch again",
+          e);
+      for (final Entry<TopicPartition, Long> startOffset : startOffsets.entrySet()) {
+        consumer.seek(startOffset.getKey(), startOffset.getValue());
+        rewoundPartitions.add(startOffset.getKey());
+      }
+      clear();
+      return false;
+    }
+    try {
+      consumer.commitSync(endOffsets);
+    } catch (final CommitFailedException e) {
+      // the partitions were reassigned, the batch will be consumed again by their new owner
+      LOGGER.warn("Unable to commit offsets for Kafka partitions " + endOffsets.keySet(), e);
+      clear();
+      return false;
+    }
+    updateConsumerLag(consumer, consumerLag);
+    clear();
+    return true;
+  }
+
+  /**
+   * Rewind the consumer to the records of a poll that were not added to a batch because the
+   * previous flush failed. The records are consumed again after the rewound batch rather than
+   * added to a new batch, which could otherwise commit offsets beyond the rewound records.
+   * Partitions that were rewound by the failed flush are already positioned before these records,
+   * and partitions that are no longer assigned are left to their new owner.
+   *
+   * @param consumer the consumer of the records
+   * @param unprocessed the records of the poll after the last record of the failed batch
+   */
+  public void rewindUnprocessed(
+      final Consumer<?, ?> consumer,
+      final Iterator<? extends ConsumerRecord<?, ?>> unprocessed) {
+    final Set<TopicPartition> assignment = consumer.assignment();
+    final Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+    while (unprocessed.hasNext()) {
+      final ConsumerRecord<?, ?> record = unprocessed.next();
+      final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+      if (!firstOffsets.containsKey(partition)) {
+        firstOffsets.put(partition, record.offset());
+      }
+    }
+    for (final Entry<TopicPartition, Long> firstOffset : firstOffsets.entrySet()) {
+      if (!rewoundPartitions.contains(firstOffset.getKey())
+          && assignment.contains(firstOffset.getKey())) {
+        consumer.seek(firstOffset.getKey(), firstOffset.getValue());
+      }
+    }
+  }
+
+  private void updateConsumerLag(
+      final Consumer<?, ?> consumer,
+      final Map<TopicPartition, Long> consumerLag) {
+    final Map<TopicPartition, Long> logEndOffsets = consumer.endOffsets(endOffsets.keySet());
+    for (final Entry<TopicPartition, OffsetAndMetadata> committed : endOffsets.entrySet()) {
+      final Long logEndOffset = logEndOffsets.get(committed.getKey());
+      if (logEndOffset != null) {
+        final long lag = Math.max(0, logEndOffset - committed.getValue().offset());
+        consumerLag.put(committed.getKey(), lag);
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Consumer lag of " + committed.getKey() + " is " + lag);
+        }
+      }
+    }
+  }
+
+  private void clear() {
+    startOffsets.clear();
+    endOffsets.clear();
+    size = 0;
+  }
+}
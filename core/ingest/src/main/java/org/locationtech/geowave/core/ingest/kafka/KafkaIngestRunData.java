@@ -44,7 +44,10 @@ public class KafkaIngestRunData implements Closeable {
       final Index... requiredIndices) throws MismatchedIndexToAdapterMapping {
     Writer indexWriter = adapterIdToWriterCache.get(adapter.getTypeName());
     if (indexWriter == null) {
-      dataStore.addType(adapter, requiredIndices);
+      // every partition of a topic is consumed with its own run data against the same store
+      synchronized (dataStore) {
+        dataStore.addType(adapter, requiredIndices);
+      }
       indexWriter = dataStore.createWriter(adapter.getTypeName());
       adapterIdToWriterCache.put(adapter.getTypeName(), indexWriter);
     }
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.ingest.kafka;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.locationtech.geowave.core.ingest.avro.GenericAvroSerializer;
+import org.locationtech.geowave.core.ingest.avro.GeoWaveAvroFormatPlugin;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.api.DataTypeAdapter;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.api.Writer;
+import org.locationtech.geowave.core.store.ingest.GeoWaveData;
+import org.locationtech.geowave.core.store.ingest.IngestPluginBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes the partitions of a topic that the consumer group assigns to this worker and ingests
+ * them in micro-batches. A batch is flushed once it reaches the batch size or the batch timeout,
+ * and the offsets of a batch are only committed after the writers were flushed successfully. If a
+ * flush fails the consumer is rewound to the start of the batch so it is consumed again, see
+ * {@link KafkaIngestBatch} for the at least once delivery this results in.
+ *
+ * @param <T> the type of the Avro records of the topic
+ */
+class KafkaIngestWorker<T> implements Runnable, ConsumerRebalanceListener {
+  private static final Logger LOGGER = LoggerFactory.getLogger(KafkaIngestWorker.class);
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final String topic;
+  private final GeoWaveAvroFormatPlugin<T, ?> avroFormatPlugin;
+  private final KafkaIngestRunData ingestRunData;
+  private final Map<String, Index> indexMap;
+  private final String visibility;
+  private final Properties consumerProperties;
+  private final int batchSize;
+  private final long batchTimeoutMs;
+  private final long consumerTimeoutMs;
+  private final boolean reconnectOnTimeout;
+  private final Map<TopicPartition, Long> consumerLag;
+  private final List<String> queue;
+
+  private final Map<String, Writer> writerMap = new HashMap<>();
+  private final KafkaIngestBatch batch = new KafkaIngestBatch();
+  private KafkaConsumer<byte[], byte[]> consumer;
+
+  public KafkaIngestWorker(
+      final String topic,
+      final GeoWaveAvroFormatPlugin<T, ?> avroFormatPlugin,
+      final KafkaIngestRunData ingestRunData,
+      final Map<String, Index> indexMap,
+      final String visibility,
+      final Properties consumerProperties,
+      final KafkaConsumerCommandLineOptions kafkaOptions,
+      final Map<TopicPartition, Long> consumerLag,
+      final List<String> queue) {
+    this.topic = topic;
+    this.avroFormatPlugin = avroFormatPlugin;
+    this.ingestRunData = ingestRunData;
+    this.indexMap = indexMap;
+    this.visibility = visibility;
+    this.consumerProperties = consumerProperties;
+    this.consumerLag = consumerLag;
+    this.queue = queue;
+    batchSize = kafkaOptions.getBatchSize();
+    batchTimeoutMs = kafkaOptions.getBatchTimeoutMs();
+    reconnectOnTimeout = kafkaOptions.isFlushAndReconnect();
+    final String consumerTimeout = kafkaOptions.getConsumerTimeoutMs();
+    consumerTimeoutMs = consumerTimeout == null ? -1 : Long.parseLong(consumerTimeout.trim());
+  }
+
+  @Override
+  public void run() {
+    try (KafkaConsumer<byte[], byte[]> kafkaConsumer = new KafkaConsumer<>(consumerProperties)) {
+      consumer = kafkaConsumer;
+      consumer.subscribe(Collections.singletonList(topic), this);
+      queue.remove(topic);
+      LOGGER.debug("Kafka consumer subscribed to topic [" + topic + "]");
+
+      long lastRecordTime = System.currentTimeMillis();
+      while (!Thread.currentThread().isInterrupted()) {
+        final ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT_MS);
+        final Iterator<ConsumerRecord<byte[], byte[]>> recordIt = records.iterator();
+        while (recordIt.hasNext()) {
+          addToBatch(recordIt.next());
+          if ((batch.size() >= batchSize) && !flushBatch()) {
+            // the rest of the poll is consumed again after the rewound batch
+            batch.rewindUnprocessed(consumer, recordIt);
+            break;
+          }
+        }
+        final long now = System.currentTimeMillis();
+        if ((batch.size() > 0) && ((now - batch.getStartTime()) >= batchTimeoutMs)) {
+          flushBatch();
+        }
+        if (!records.isEmpty()) {
+          lastRecordTime = now;
+        } else if ((consumerTimeoutMs > 0) && ((now - lastRecordTime) >= consumerTimeoutMs)) {
+          flushBatch();
+          if (!reconnectOnTimeout) {
+            LOGGER.info("Consumer timed out from Kafka topic [" + topic + "]");
+            break;
+          }
+          LOGGER.info("Consumer timed out from Kafka topic [" + topic + "]... Continuing...");
+          lastRecordTime = now;
+        }
+      }
+      // Flush any outstanding items
+      flushBatch();
+    } catch (final Exception e) {
+      LOGGER.warn("Consuming from Kafka topic [" + topic + "] was interrupted... ", e);
+    } finally {
+      consumer = null;
+      try {
+        ingestRunData.close();
+      } catch (final IOException e) {
+        LOGGER.warn("Unable to close writers for Kafka topic [" + topic + "]", e);
+      }
+    }
+  }
+
+  @Override
+  public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+    // commit what has been consumed so far, the next owner of the partitions starts from there
+    flushBatch();
+    for (final TopicPartition partition : partitions) {
+      consumerLag.remove(partition);
+    }
+  }
+
+  @Override
+  public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+    LOGGER.debug("Kafka consumer assigned partitions " + partitions);
+  }
+
+  private void addToBatch(final ConsumerRecord<byte[], byte[]> record) {
+    batch.add(record);
+    final T dataRecord =
+        GenericAvroSerializer.deserialize(record.value(), avroFormatPlugin.getAvroSchema());
+    if (dataRecord != null) {
+      try {
+        processMessage(dataRecord);
+      } catch (final Exception e) {
+        LOGGER.error("Error processing message: " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /** @return false if the batch could not be committed and the consumer was rewound */
+  private boolean flushBatch() {
+    if (batch.size() == 0) {
+      return true;
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format("Flushing %d items", batch.size()));
+    }
+    return batch.flush(consumer, ingestRunData::flush, consumerLag);
+  }
+
+  private void processMessage(final T dataRecord) throws IOException {
+    final IngestPluginBase<T, ?> ingestPlugin = avroFormatPlugin.getIngestWithAvroPlugin();
+    try (CloseableIterator<?> geowaveDataIt =
+        ingestPlugin.toGeoWaveData(
+            dataRecord,
+            indexMap.keySet().toArray(new String[0]),
+            visibility)) {
+      while (geowaveDataIt.hasNext()) {
+        final GeoWaveData<?> geowaveData = (GeoWaveData<?>) geowaveDataIt.next();
+        final DataTypeAdapter adapter = ingestRunData.getDataAdapter(geowaveData);
+        if (adapter == null) {
+          LOGGER.warn("Adapter not found for " + geowaveData.getValue());
+          continue;
+        }
+        Writer indexWriter = writerMap.get(adapter.getTypeName());
+        if (indexWriter == null) {
+          final List<Index> indexList = new ArrayList<>();
+          for (final String indexName : geowaveData.getIndexNames()) {
+            final Index index = indexMap.get(indexName);
+            if (index == null) {
+              LOGGER.warn("Index '" + indexName + "' not found for " + geowaveData.getValue());
+              continue;
+            }
+            indexList.add(index);
+          }
+          indexWriter =
+              ingestRunData.getIndexWriter(adapter, indexList.toArray(new Index[indexList.size()]));
+          writerMap.put(adapter.getTypeName(), indexWriter);
+        }
+
+        indexWriter.write(geowaveData.getValue());
+      }
+    }
+  }
+}
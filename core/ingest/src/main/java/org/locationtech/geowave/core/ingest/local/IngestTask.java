@@ -10,6 +10,7 @@ package org.locationtech.geowave.core.ingest.local;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,6 +31,8 @@ import org.slf4j.LoggerFactory;
  */
 public class IngestTask implements Runnable {
   private static final Logger LOGGER = LoggerFactory.getLogger(IngestTask.class);
+  // entries already on the queue are written together, up to this many at a time
+  private static final int MAX_BATCH_SIZE = 500;
   private final String id;
   private final BlockingQueue<GeoWaveData<?>> readQueue;
   private final LocalIngestRunData runData;
@@ -93,6 +96,7 @@ public class IngestTask implements Runnable {
     try {
       LOGGER.debug(String.format("Worker executing for plugin [%s]", this.getId()));
 
+      final List<GeoWaveData<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
       while (true) {
         GeoWaveData<?> geowaveData = readQueue.poll(100, TimeUnit.MILLISECONDS);
         if (geowaveData == null) {
@@ -107,20 +111,32 @@ public class IngestTask implements Runnable {
           continue;
         }
 
-        final DataTypeAdapter adapter = runData.getDataAdapter(geowaveData);
-        if (adapter == null) {
-          LOGGER.warn(
-              String.format(
-                  "Adapter not found for [%s] worker [%s]",
-                  geowaveData.getValue(),
-                  this.getId()));
-          continue;
+        batch.add(geowaveData);
+        readQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+        // group the batch by type so each writer can index its entries together
+        final Map<String, DataTypeAdapter> adapters = new HashMap<>();
+        final Map<String, List<GeoWaveData<?>>> entriesPerType = new LinkedHashMap<>();
+        for (final GeoWaveData<?> entry : batch) {
+          final DataTypeAdapter adapter = runData.getDataAdapter(entry);
+          if (adapter == null) {
+            LOGGER.warn(
+                String.format(
+                    "Adapter not found for [%s] worker [%s]",
+                    entry.getValue(),
+                    this.getId()));
+            continue;
+          }
+          adapters.put(adapter.getTypeName(), adapter);
+          entriesPerType.computeIfAbsent(adapter.getTypeName(), k -> new ArrayList<>()).add(entry);
+          count++;
         }
+        batch.clear();
 
         // Ingest the data!
-        dbWriteMs += ingestData(geowaveData, adapter);
-
-        count++;
+        for (final Entry<String, List<GeoWaveData<?>>> entries : entriesPerType.entrySet()) {
+          dbWriteMs += ingestData(entries.getValue(), adapters.get(entries.getKey()));
+        }
       }
     } catch (Exception e) {
       // This should really never happen, because we don't limit the
@@ -150,13 +166,16 @@ public class IngestTask implements Runnable {
     }
   }
 
-  private long ingestData(GeoWaveData<?> geowaveData, DataTypeAdapter adapter) throws Exception {
+  private long ingestData(
+      final List<GeoWaveData<?>> entries,
+      final DataTypeAdapter adapter) throws Exception {
 
     String typeName = adapter.getTypeName();
     // Write the data to the data store.
     Writer writer = indexWriters.get(typeName);
 
     if (writer == null) {
+      final GeoWaveData<?> geowaveData = entries.get(0);
       List<Index> indices = new ArrayList<Index>();
       for (final String indexName : geowaveData.getIndexNames()) {
         Index index = specifiedPrimaryIndexes.get(indexName);
@@ -181,9 +200,14 @@ public class IngestTask implements Runnable {
       indexWriters.put(typeName, writer);
     }
 
+    final List<Object> values = new ArrayList<>(entries.size());
+    for (final GeoWaveData<?> geowaveData : entries) {
+      values.add(geowaveData.getValue());
+    }
+
     // Time the DB write
     long hack = System.currentTimeMillis();
-    writer.write(geowaveData.getValue());
+    writer.writeAll(values);
     long durMs = System.currentTimeMillis() - hack;
 
     return durMs;
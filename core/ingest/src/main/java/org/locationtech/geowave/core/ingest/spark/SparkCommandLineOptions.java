@@ -27,6 +27,11 @@ public class SparkCommandLineOptions {
   @Parameter(names = {"-c", "--numcores"}, description = "Number of cores")
   private int numCores = -1;
 
+  @Parameter(
+      names = "--bulkLoadDir",
+      description = "Write the ingested data as sorted files beneath this HDFS directory and bulk import them into the data store rather than writing the data directly, only supported for Accumulo and HBase")
+  private String bulkLoadDirectory = null;
+
   public SparkCommandLineOptions() {}
 
   public String getAppName() {
@@ -68,4 +73,12 @@ public class SparkCommandLineOptions {
   public void setNumCores(int numCores) {
     this.numCores = numCores;
   }
+
+  public String getBulkLoadDirectory() {
+    return bulkLoadDirectory;
+  }
+
+  public void setBulkLoadDirectory(String bulkLoadDirectory) {
+    this.bulkLoadDirectory = bulkLoadDirectory;
+  }
 }
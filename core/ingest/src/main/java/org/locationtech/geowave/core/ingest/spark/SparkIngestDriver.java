@@ -32,7 +32,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.UUID;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FsUrlStreamHandlerFactory;
+import org.apache.spark.TaskContext;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.sql.SparkSession;
@@ -53,7 +56,10 @@ import org.locationtech.geowave.core.store.cli.remote.options.IndexPluginOptions
 import org.locationtech.geowave.core.store.cli.remote.options.StoreLoader;
 import org.locationtech.geowave.core.store.cli.remote.options.VisibilityOptions;
 import org.locationtech.geowave.core.store.ingest.LocalFileIngestPlugin;
+import org.locationtech.geowave.mapreduce.BaseMapReduceDataStore;
 import org.locationtech.geowave.mapreduce.operations.ConfigHDFSCommand;
+import org.locationtech.geowave.mapreduce.output.BulkLoadOutputCommitter;
+import org.locationtech.geowave.mapreduce.output.GeoWaveOutputFormat;
 import org.locationtech.geowave.mapreduce.s3.GeoWaveAmazonS3Factory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -162,6 +168,7 @@ public class SparkIngestDriver implements Serializable {
       jsc = JavaSparkContext.fromSparkContext(session.sparkContext());
     }
 
+    final String bulkLoadDirectory = sparkOptions.getBulkLoadDirectory();
     final JavaRDD<URI> fileRDD =
         jsc.parallelize(Lists.transform(inputFileList, path -> path.toUri()), numPartitions);
     if (isS3) {
@@ -182,6 +189,7 @@ public class SparkIngestDriver implements Serializable {
             indexList,
             ingestOptions,
             configProperties,
+            bulkLoadDirectory,
             inputFiles.iterator());
       });
     } else if (isHDFS) {
@@ -200,14 +208,41 @@ public class SparkIngestDriver implements Serializable {
             indexList,
             ingestOptions,
             configProperties,
+            bulkLoadDirectory,
             uri);
       });
     }
 
+    if (bulkLoadDirectory != null) {
+      // the files of every partition are imported at once after all of them have been written, and
+      // only the files of the one committed attempt of each partition are imported
+      final org.apache.hadoop.fs.Path bulkLoadPath =
+          new org.apache.hadoop.fs.Path(bulkLoadDirectory);
+      BulkLoadOutputCommitter.commitJob(jsc.hadoopConfiguration(), bulkLoadPath);
+      GeoWaveOutputFormat.importBulkLoadDirectory(
+          jsc.hadoopConfiguration(),
+          loadStoreOptions(configFile, configProperties, inputStoreName),
+          bulkLoadPath);
+    }
+
     close(session);
     return true;
   }
 
+  private DataStorePluginOptions loadStoreOptions(
+      final File configFile,
+      final Properties configProperties,
+      final String inputStoreName) {
+    final StoreLoader inputStoreLoader = new StoreLoader(inputStoreName);
+    if (!inputStoreLoader.loadFromConfig(
+        configProperties,
+        DataStorePluginOptions.getStoreNamespace(inputStoreName),
+        configFile)) {
+      throw new ParameterException("Cannot find store name: " + inputStoreLoader.getStoreName());
+    }
+    return inputStoreLoader.getDataStorePlugin();
+  }
+
   public void processInput(
       final File configFile,
       final LocalInputCommandLineOptions localInput,
@@ -215,6 +250,7 @@ public class SparkIngestDriver implements Serializable {
       final String indexList,
       final VisibilityOptions ingestOptions,
       final Properties configProperties,
+      final String bulkLoadDirectory,
       final Iterator<URI> inputFiles) throws IOException {
 
     // Based on the selected formats, select the format plugins
@@ -228,14 +264,7 @@ public class SparkIngestDriver implements Serializable {
     final Map<String, LocalFileIngestPlugin<?>> ingestPlugins =
         pluginFormats.createLocalIngestPlugins();
 
-    final StoreLoader inputStoreLoader = new StoreLoader(inputStoreName);
-    if (!inputStoreLoader.loadFromConfig(
-        configProperties,
-        DataStorePluginOptions.getStoreNamespace(inputStoreName),
-        configFile)) {
-      throw new ParameterException("Cannot find store name: " + inputStoreLoader.getStoreName());
-    }
-    inputStoreOptions = inputStoreLoader.getDataStorePlugin();
+    inputStoreOptions = loadStoreOptions(configFile, configProperties, inputStoreName);
 
     final IndexLoader indexLoader = new IndexLoader(indexList);
     if (!indexLoader.loadFromConfig(configProperties)) {
@@ -273,6 +302,26 @@ public class SparkIngestDriver implements Serializable {
     localIngestDriver.startExecutor();
 
     final DataStore dataStore = inputStoreOptions.createDataStore();
+    // failed and speculative attempts of a partition write their files beneath their own directory
+    // and only the attempt that commits first has its files imported
+    final TaskContext taskContext = TaskContext.get();
+    final String bulkLoadAttemptId =
+        (taskContext == null) ? UUID.randomUUID().toString()
+            : taskContext.stageId() + "-" + taskContext.taskAttemptId();
+    final String bulkLoadTaskId =
+        (taskContext == null) ? bulkLoadAttemptId
+            : taskContext.stageId() + "-" + taskContext.partitionId();
+    final Configuration bulkLoadConf = new Configuration();
+    if ((bulkLoadDirectory != null)
+        && !((dataStore instanceof BaseMapReduceDataStore)
+            && ((BaseMapReduceDataStore) dataStore).setBulkLoadDirectory(
+                bulkLoadConf,
+                BulkLoadOutputCommitter.getTaskAttemptDirectory(
+                    new org.apache.hadoop.fs.Path(bulkLoadDirectory),
+                    bulkLoadAttemptId)))) {
+      throw new ParameterException(
+          "Data store type '" + inputStoreOptions.getType() + "' does not support bulk loading");
+    }
     try (LocalIngestRunData runData = new LocalIngestRunData(adapters, dataStore)) {
 
       final List<PluginVisitor<LocalFileIngestPlugin<?>>> pluginVisitors =
@@ -307,6 +356,13 @@ public class SparkIngestDriver implements Serializable {
     } finally {
       localIngestDriver.shutdownExecutor();
     }
+    if (bulkLoadDirectory != null) {
+      BulkLoadOutputCommitter.commitTask(
+          bulkLoadConf,
+          new org.apache.hadoop.fs.Path(bulkLoadDirectory),
+          bulkLoadAttemptId,
+          bulkLoadTaskId);
+    }
   }
 
   public void close(SparkSession session) {
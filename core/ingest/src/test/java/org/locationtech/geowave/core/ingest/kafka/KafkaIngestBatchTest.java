@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.ingest.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KafkaIngestBatchTest {
+  private static final String TOPIC = "topic";
+  private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+  private MockConsumer<byte[], byte[]> consumer;
+  private Map<TopicPartition, Long> consumerLag;
+
+  @Before
+  public void setUp() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.assign(Arrays.asList(PARTITION_0, PARTITION_1));
+    final Map<TopicPartition, Long> logEndOffsets = new HashMap<>();
+    logEndOffsets.put(PARTITION_0, 10L);
+    logEndOffsets.put(PARTITION_1, 20L);
+    consumer.updateEndOffsets(logEndOffsets);
+    consumerLag = new HashMap<>();
+  }
+
+  @Test
+  public void testCommitAfterFlush() {
+    final KafkaIngestBatch batch = new KafkaIngestBatch();
+    batch.add(record(PARTITION_0, 3));
+    batch.add(record(PARTITION_0, 4));
+    batch.add(record(PARTITION_1, 7));
+    assertEquals(3, batch.size());
+
+    final int[] flushes = new int[1];
+    assertTrue(batch.flush(consumer, () -> flushes[0]++, consumerLag));
+    assertEquals(1, flushes[0]);
+    assertEquals(0, batch.size());
+    // the committed offset of a partition is the offset of the next record to consume
+    assertEquals(5, consumer.committed(PARTITION_0).offset());
+    assertEquals(8, consumer.committed(PARTITION_1).offset());
+    assertEquals(Long.valueOf(5), consumerLag.get(PARTITION_0));
+    assertEquals(Long.valueOf(12), consumerLag.get(PARTITION_1));
+
+    // an empty batch doesn't flush the writers
+    assertTrue(batch.flush(consumer, () -> flushes[0]++, consumerLag));
+    assertEquals(1, flushes[0]);
+  }
+
+  @Test
+  public void testRewindOnFailedFlush() {
+    final KafkaIngestBatch batch = new KafkaIngestBatch();
+    batch.add(record(PARTITION_0, 3));
+    batch.add(record(PARTITION_0, 4));
+    batch.add(record(PARTITION_1, 7));
+    // the records of the batch have been consumed
+    consumer.seek(PARTITION_0, 5);
+    consumer.seek(PARTITION_1, 8);
+
+    assertFalse(
+        batch.flush(
+            consumer,
+            () -> {
+              throw new IllegalStateException("flush failed");
+            },
+            consumerLag));
+    assertEquals(0, batch.size());
+    // nothing is committed and the consumer is rewound to the first record of the batch
+    assertNull(consumer.committed(PARTITION_0));
+    assertNull(consumer.committed(PARTITION_1));
+    assertEquals(3, consumer.position(PARTITION_0));
+    assertEquals(7, consumer.position(PARTITION_1));
+    assertTrue(consumerLag.isEmpty());
+
+    // the batch consumed again is committed once it is flushed
+    batch.add(record(PARTITION_0, 3));
+    batch.add(record(PARTITION_0, 4));
+    assertTrue(batch.flush(consumer, () -> {}, consumerLag));
+    assertEquals(5, consumer.committed(PARTITION_0).offset());
+    assertNull(consumer.committed(PARTITION_1));
+    assertEquals(Long.valueOf(5), consumerLag.get(PARTITION_0));
+    assertFalse(consumerLag.containsKey(PARTITION_1));
+  }
+
+  @Test
+  public void testRewindUnprocessedAfterFailedFlush() {
+    final KafkaIngestBatch batch = new KafkaIngestBatch();
+    batch.add(record(PARTITION_0, 3));
+    batch.add(record(PARTITION_0, 4));
+    // the whole poll has been consumed, including records after the batch
+    consumer.seek(PARTITION_0, 7);
+    consumer.seek(PARTITION_1, 9);
+
+    assertFalse(
+        batch.flush(
+            consumer,
+            () -> {
+              throw new IllegalStateException("flush failed");
+            },
+            consumerLag));
+    // the rest of the poll is not added to a new batch, it is consumed again after the batch
+    batch.rewindUnprocessed(
+        consumer,
+        Arrays.asList(record(PARTITION_0, 5), record(PARTITION_1, 7), record(PARTITION_1, 8))
+            .iterator());
+    assertEquals(0, batch.size());
+    // the failed batch starts before the unprocessed records of its partition
+    assertEquals(3, consumer.position(PARTITION_0));
+    assertEquals(7, consumer.position(PARTITION_1));
+    assertNull(consumer.committed(PARTITION_0));
+    assertNull(consumer.committed(PARTITION_1));
+  }
+
+  private static ConsumerRecord<byte[], byte[]> record(
+      final TopicPartition partition,
+      final long offset) {
+    return new ConsumerRecord<>(
+        partition.topic(),
+        partition.partition(),
+        offset,
+        new byte[0],
+        new byte[0]);
+  }
+}
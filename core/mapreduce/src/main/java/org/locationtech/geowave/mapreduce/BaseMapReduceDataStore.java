@@ -11,6 +11,7 @@ package org.locationtech.geowave.mapreduce;
 import java.io.IOException;
 import java.util.List;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.RecordReader;
@@ -29,6 +30,7 @@ import org.locationtech.geowave.core.store.query.options.CommonQueryOptions;
 import org.locationtech.geowave.core.store.query.options.DataTypeQueryOptions;
 import org.locationtech.geowave.core.store.query.options.IndexQueryOptions;
 import org.locationtech.geowave.mapreduce.input.GeoWaveInputKey;
+import org.locationtech.geowave.mapreduce.output.BulkLoadDataStoreOperations;
 import org.locationtech.geowave.mapreduce.output.GeoWaveOutputFormat.GeoWaveRecordWriter;
 import org.locationtech.geowave.mapreduce.output.GeoWaveOutputKey;
 import org.locationtech.geowave.mapreduce.splits.GeoWaveRecordReader;
@@ -70,6 +72,22 @@ public class BaseMapReduceDataStore extends BaseDataStore implements MapReduceDa
     // to set specialized configuration for a job prior to submission
   }
 
+  /**
+   * Write the index rows of every writer subsequently created by this data store as sorted files
+   * beneath the directory, to be bulk imported once all of the files are written.
+   *
+   * @param conf the configuration used to access the file system of the directory
+   * @param directory the directory to write the files beneath
+   * @return false if the underlying store does not support bulk loading
+   */
+  public boolean setBulkLoadDirectory(final Configuration conf, final Path directory) {
+    if (baseOperations instanceof BulkLoadDataStoreOperations) {
+      ((BulkLoadDataStoreOperations) baseOperations).setBulkLoadDirectory(conf, directory);
+      return true;
+    }
+    return false;
+  }
+
   @Override
   public RecordReader<GeoWaveInputKey, ?> createRecordReader(
       final CommonQueryOptions commonOptions,
@@ -40,7 +40,12 @@ public class GeoWaveConfiguratorBase {
   private static final String KEY_SEPARATOR = "-";
 
   public static enum GeoWaveConfg {
-    INDEX, DATA_ADAPTER, INTERNAL_ADAPTER, ADAPTER_TO_INDEX, STORE_CONFIG_OPTION
+    INDEX,
+    DATA_ADAPTER,
+    INTERNAL_ADAPTER,
+    ADAPTER_TO_INDEX,
+    STORE_CONFIG_OPTION,
+    BULK_LOAD_DIRECTORY
   }
 
   /**
@@ -150,6 +155,25 @@ public class GeoWaveConfiguratorBase {
     return getStoreOptionsMapInternal(implementingClass, getConfiguration(context));
   }
 
+  public static void setBulkLoadDirectory(
+      final Class<?> implementingClass,
+      final Configuration config,
+      final String bulkLoadDirectory) {
+    if (bulkLoadDirectory != null) {
+      config.set(
+          enumToConfKey(implementingClass, GeoWaveConfg.BULK_LOAD_DIRECTORY),
+          bulkLoadDirectory);
+    } else {
+      config.unset(enumToConfKey(implementingClass, GeoWaveConfg.BULK_LOAD_DIRECTORY));
+    }
+  }
+
+  public static String getBulkLoadDirectory(
+      final Class<?> implementingClass,
+      final Configuration config) {
+    return config.get(enumToConfKey(implementingClass, GeoWaveConfg.BULK_LOAD_DIRECTORY));
+  }
+
   public static void addIndex(
       final Class<?> implementingClass,
       final Configuration config,
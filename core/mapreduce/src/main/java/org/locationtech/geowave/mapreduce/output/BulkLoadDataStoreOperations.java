@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.mapreduce.output;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.locationtech.geowave.mapreduce.MapReduceDataStoreOperations;
+
+/**
+ * Data store operations that can write index rows as sorted files to be bulk imported into the
+ * index tables, rather than sending every row through the write path of the tablet or region
+ * servers.
+ */
+public interface BulkLoadDataStoreOperations extends MapReduceDataStoreOperations {
+  /**
+   * Redirect the rows of every index writer subsequently created by these operations into sorted
+   * files beneath the given directory, with one subdirectory per index table. Metadata, including
+   * statistics, and data index rows are still written directly to the store.
+   *
+   * @param conf the configuration used to access the file system of the directory
+   * @param directory the directory to write the files beneath
+   */
+  void setBulkLoadDirectory(Configuration conf, Path directory);
+
+  /**
+   * Import all of the files written beneath the directory into their index tables.
+   *
+   * @param conf the configuration used to access the file system of the directory
+   * @param directory the directory the files were written beneath
+   * @throws IOException if any of the files could not be imported
+   */
+  void importBulkLoadDirectory(Configuration conf, Path directory) throws IOException;
+}
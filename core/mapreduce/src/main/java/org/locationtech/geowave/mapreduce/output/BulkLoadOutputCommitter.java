@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.mapreduce.output;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileAlreadyExistsException;
+import org.apache.hadoop.fs.FileContext;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Options;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.JobStatus.State;
+import org.apache.hadoop.mapreduce.OutputCommitter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the bulk load files of a job so that only the files of a single successful attempt of
+ * every task are imported. Each task attempt writes its files beneath its own attempt directory.
+ * Committing a task renames the attempt directory to the directory of the task, which fails if
+ * another attempt of the task has already committed, and committing the job moves the files of
+ * every committed task into the bulk load directory. Files of failed, killed or speculative
+ * attempts are never moved and are deleted with the temporary directory.
+ */
+public class BulkLoadOutputCommitter extends OutputCommitter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkLoadOutputCommitter.class);
+  // bulk imports skip directories starting with an underscore
+  private static final String TEMPORARY_DIRECTORY = "_temporary";
+  private static final String ATTEMPTS_DIRECTORY = "attempts";
+  private static final String TASKS_DIRECTORY = "tasks";
+
+  private final Path bulkLoadDirectory;
+
+  /** @param bulkLoadDirectory the directory that the files are imported from */
+  public BulkLoadOutputCommitter(final Path bulkLoadDirectory) {
+    this.bulkLoadDirectory = bulkLoadDirectory;
+  }
+
+  @Override
+  public void setupJob(final JobContext jobContext) throws IOException {}
+
+  @Override
+  public void setupTask(final TaskAttemptContext taskContext) throws IOException {}
+
+  @Override
+  public boolean needsTaskCommit(final TaskAttemptContext taskContext) throws IOException {
+    final Path attemptDirectory =
+        getTaskAttemptDirectory(bulkLoadDirectory, taskContext.getTaskAttemptID().toString());
+    return attemptDirectory.getFileSystem(taskContext.getConfiguration()).exists(attemptDirectory);
+  }
+
+  @Override
+  public void commitTask(final TaskAttemptContext taskContext) throws IOException {
+    commitTask(
+        taskContext.getConfiguration(),
+        bulkLoadDirectory,
+        taskContext.getTaskAttemptID().toString(),
+        taskContext.getTaskAttemptID().getTaskID().toString());
+  }
+
+  @Override
+  public void abortTask(final TaskAttemptContext taskContext) throws IOException {
+    final Path attemptDirectory =
+        getTaskAttemptDirectory(bulkLoadDirectory, taskContext.getTaskAttemptID().toString());
+    attemptDirectory.getFileSystem(taskContext.getConfiguration()).delete(attemptDirectory, true);
+  }
+
+  @Override
+  public void commitJob(final JobContext jobContext) throws IOException {
+    commitJob(jobContext.getConfiguration(), bulkLoadDirectory);
+  }
+
+  @Override
+  public void abortJob(final JobContext jobContext, final State state) throws IOException {
+    final Path temporaryDirectory = new Path(bulkLoadDirectory, TEMPORARY_DIRECTORY);
+    temporaryDirectory.getFileSystem(jobContext.getConfiguration()).delete(
+        temporaryDirectory,
+        true);
+  }
+
+  /**
+   * @param bulkLoadDirectory the directory that the files are imported from
+   * @param attemptId a unique ID of the task attempt
+   * @return the directory the task attempt should write its files beneath
+   */
+  public static Path getTaskAttemptDirectory(final Path bulkLoadDirectory, final String attemptId) {
+    return new Path(
+        new Path(new Path(bulkLoadDirectory, TEMPORARY_DIRECTORY), ATTEMPTS_DIRECTORY),
+        attemptId);
+  }
+
+  /**
+   * Commit the files written by a task attempt, unless another attempt of the same task has already
+   * committed, in which case the files of this attempt are discarded.
+   *
+   * @param conf the configuration used to access the file system of the directory
+   * @param bulkLoadDirectory the directory that the files are imported from
+   * @param attemptId the ID of the task attempt that wrote the files
+   * @param taskId the ID of the task, shared by all of its attempts
+   * @return whether the files of this attempt were committed
+   * @throws IOException if the files could not be committed
+   */
+  public static boolean commitTask(
+      final Configuration conf,
+      final Path bulkLoadDirectory,
+      final String attemptId,
+      final String taskId) throws IOException {
+    final Path attemptDirectory = getTaskAttemptDirectory(bulkLoadDirectory, attemptId);
+    final FileSystem fs = attemptDirectory.getFileSystem(conf);
+    if (!fs.exists(attemptDirectory)) {
+      return false;
+    }
+    final Path taskDirectory =
+        new Path(
+            new Path(new Path(bulkLoadDirectory, TEMPORARY_DIRECTORY), TASKS_DIRECTORY),
+            taskId);
+    fs.mkdirs(taskDirectory.getParent());
+    try {
+      // the rename is atomic and fails if the task directory exists, so only one attempt commits
+      FileContext.getFileContext(taskDirectory.toUri(), conf).rename(
+          attemptDirectory,
+          taskDirectory,
+          Options.Rename.NONE);
+      return true;
+    } catch (final FileAlreadyExistsException e) {
+      LOGGER.info("Another attempt of task '" + taskId + "' has already committed");
+      fs.delete(attemptDirectory, true);
+      return false;
+    }
+  }
+
+  /**
+   * Move the files of every committed task into the bulk load directory so they can be imported,
+   * and delete the files of all other attempts.
+   *
+   * @param conf the configuration used to access the file system of the directory
+   * @param bulkLoadDirectory the directory that the files are imported from
+   * @throws IOException if the files could not be moved
+   */
+  public static void commitJob(final Configuration conf, final Path bulkLoadDirectory)
+      throws IOException {
+    final FileSystem fs = bulkLoadDirectory.getFileSystem(conf);
+    final Path temporaryDirectory = new Path(bulkLoadDirectory, TEMPORARY_DIRECTORY);
+    final Path tasksDirectory = new Path(temporaryDirectory, TASKS_DIRECTORY);
+    if (fs.exists(tasksDirectory)) {
+      for (final FileStatus taskDirectory : fs.listStatus(tasksDirectory)) {
+        moveFiles(fs, taskDirectory.getPath(), bulkLoadDirectory);
+      }
+    }
+    fs.delete(temporaryDirectory, true);
+  }
+
+  private static void moveFiles(final FileSystem fs, final Path source, final Path target)
+      throws IOException {
+    fs.mkdirs(target);
+    for (final FileStatus status : fs.listStatus(source)) {
+      final Path targetPath = new Path(target, status.getPath().getName());
+      if (status.isDirectory()) {
+        // the index table and column family directories are shared by every task
+        moveFiles(fs, status.getPath(), targetPath);
+      } else if (!fs.rename(status.getPath(), targetPath)) {
+        throw new IOException("Unable to move '" + status.getPath() + "' to '" + targetPath + "'");
+      }
+    }
+  }
+}
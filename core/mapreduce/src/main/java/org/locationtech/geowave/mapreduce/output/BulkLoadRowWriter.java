@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.mapreduce.output;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.apache.hadoop.conf.Configuration;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+import org.locationtech.geowave.core.store.entities.GeoWaveKey;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.operations.RowWriter;
+
+/**
+ * A row writer that buffers the key/value entries of rows in memory, partitioned by the splits of
+ * the index table, and writes each partition as a sorted file once the buffer is full or the
+ * writer is flushed. Every file covers a single tablet or region so it can be bulk imported without
+ * being split.
+ *
+ * @param <E> the type of the key/value entries of the underlying store
+ */
+public abstract class BulkLoadRowWriter<E> implements RowWriter {
+  public static final String BUFFER_SIZE_MB_KEY = "geowave.bulkload.bufferSizeMB";
+  private static final int DEFAULT_BUFFER_SIZE_MB = 128;
+  private static final long BYTES_PER_MB = 1024L * 1024L;
+
+  private final byte[][] splits;
+  private final Comparator<E> comparator;
+  private final List<List<E>> partitions;
+  private final long maxBufferedBytes;
+  private long bufferedBytes = 0;
+  private int fileCount = 0;
+  private final String filePrefix = UUID.randomUUID().toString();
+
+  /**
+   * @param conf the configuration to read the buffer size from
+   * @param splits the sorted first rows of every partition of the table except the first
+   * @param comparator the sort order of the entries within a file
+   */
+  protected BulkLoadRowWriter(
+      final Configuration conf,
+      final byte[][] splits,
+      final Comparator<E> comparator) {
+    this.splits = splits;
+    this.comparator = comparator;
+    maxBufferedBytes = conf.getInt(BUFFER_SIZE_MB_KEY, DEFAULT_BUFFER_SIZE_MB) * BYTES_PER_MB;
+    partitions = new ArrayList<>(splits.length + 1);
+    for (int i = 0; i <= splits.length; i++) {
+      partitions.add(new ArrayList<>());
+    }
+  }
+
+  @Override
+  public synchronized void write(final GeoWaveRow[] rows) {
+    for (final GeoWaveRow row : rows) {
+      write(row);
+    }
+  }
+
+  @Override
+  public synchronized void write(final GeoWaveRow row) {
+    final List<E> partition = partitions.get(getPartition(splits, GeoWaveKey.getCompositeId(row)));
+    for (final E entry : toEntries(row)) {
+      partition.add(entry);
+      bufferedBytes += getSize(entry);
+    }
+    if (bufferedBytes >= maxBufferedBytes) {
+      flush();
+    }
+  }
+
+  @Override
+  public synchronized void flush() {
+    for (final List<E> partition : partitions) {
+      if (!partition.isEmpty()) {
+        partition.sort(comparator);
+        try {
+          writeFile(filePrefix + "-" + fileCount++, partition);
+        } catch (final IOException e) {
+          throw new RuntimeException("Unable to write bulk load file", e);
+        }
+        partition.clear();
+      }
+    }
+    bufferedBytes = 0;
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+
+  /**
+   * @param splits the sorted first rows of every partition except the first
+   * @param row the row to get the partition of
+   * @return the index of the partition that contains the row
+   */
+  static int getPartition(final byte[][] splits, final byte[] row) {
+    // binary search for the number of splits that are less than or equal to the row
+    int low = 0;
+    int high = splits.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (ByteArrayUtils.compare(splits[mid], row) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param row the row to convert
+   * @return the key/value entries of the row
+   */
+  protected abstract List<E> toEntries(GeoWaveRow row);
+
+  /**
+   * @param entry the entry to measure
+   * @return the approximate number of bytes the entry uses in memory
+   */
+  protected abstract long getSize(E entry);
+
+  /**
+   * Write one file of sorted entries that all belong to the same partition of the table.
+   *
+   * @param fileName a name that is unique to this file
+   * @param sortedEntries the entries to write in sort order
+   * @throws IOException if the file could not be written
+   */
+  protected abstract void writeFile(String fileName, List<E> sortedEntries) throws IOException;
+}
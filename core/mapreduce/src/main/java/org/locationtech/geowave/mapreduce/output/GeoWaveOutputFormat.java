@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.OutputCommitter;
 import org.apache.hadoop.mapreduce.OutputFormat;
@@ -35,6 +36,8 @@ import org.locationtech.geowave.core.store.api.WriteResults;
 import org.locationtech.geowave.core.store.api.Writer;
 import org.locationtech.geowave.core.store.cli.remote.options.DataStorePluginOptions;
 import org.locationtech.geowave.core.store.index.IndexStore;
+import org.locationtech.geowave.core.store.operations.DataStoreOperations;
+import org.locationtech.geowave.mapreduce.BaseMapReduceDataStore;
 import org.locationtech.geowave.mapreduce.GeoWaveConfiguratorBase;
 import org.locationtech.geowave.mapreduce.JobContextAdapterStore;
 import org.locationtech.geowave.mapreduce.JobContextIndexStore;
@@ -91,6 +94,18 @@ public class GeoWaveOutputFormat extends OutputFormat<GeoWaveOutputKey<Object>,
       final IndexStore jobContextIndexStore =
           new JobContextIndexStore(context, persistentIndexStore);
       final DataStore dataStore = GeoWaveStoreFinder.createDataStore(configOptions);
+      final String bulkLoadDirectory = getBulkLoadDirectory(context);
+      // each task attempt writes its own files which are only imported if the attempt is
+      // committed
+      if ((bulkLoadDirectory != null)
+          && !((dataStore instanceof BaseMapReduceDataStore)
+              && ((BaseMapReduceDataStore) dataStore).setBulkLoadDirectory(
+                  context.getConfiguration(),
+                  BulkLoadOutputCommitter.getTaskAttemptDirectory(
+                      new Path(bulkLoadDirectory),
+                      context.getTaskAttemptID().toString())))) {
+        throw new IOException("Data store does not support bulk loading");
+      }
       return new GeoWaveRecordWriter(
           context,
           dataStore,
@@ -115,6 +130,46 @@ public class GeoWaveOutputFormat extends OutputFormat<GeoWaveOutputKey<Object>,
     }
   }
 
+  /**
+   * Write the index rows as sorted files beneath the directory instead of writing them to the data
+   * store. The files of each task attempt are only moved into the directory when the attempt is
+   * committed. Once the job completes, the files must be imported with
+   * {@link #importBulkLoadDirectory(Configuration, DataStorePluginOptions, Path)}.
+   *
+   * @param config the job configuration
+   * @param directory the directory to write the files beneath, or null to write directly to the
+   *        data store
+   */
+  public static void setBulkLoadDirectory(final Configuration config, final String directory) {
+    GeoWaveConfiguratorBase.setBulkLoadDirectory(CLASS, config, directory);
+  }
+
+  public static String getBulkLoadDirectory(final JobContext context) {
+    return GeoWaveConfiguratorBase.getBulkLoadDirectory(
+        CLASS,
+        GeoWaveConfiguratorBase.getConfiguration(context));
+  }
+
+  /**
+   * Import the files written beneath a bulk load directory into the index tables of the data store.
+   *
+   * @param config the configuration used to access the file system of the directory
+   * @param storeOptions the data store to import the files into
+   * @param directory the directory the files were written beneath
+   * @throws IOException if the data store does not support bulk loading or the import fails
+   */
+  public static void importBulkLoadDirectory(
+      final Configuration config,
+      final DataStorePluginOptions storeOptions,
+      final Path directory) throws IOException {
+    final DataStoreOperations operations = storeOptions.createDataStoreOperations();
+    if (!(operations instanceof BulkLoadDataStoreOperations)) {
+      throw new IOException(
+          "Data store type '" + storeOptions.getType() + "' does not support bulk loading");
+    }
+    ((BulkLoadDataStoreOperations) operations).importBulkLoadDirectory(config, directory);
+  }
+
   public static void addIndex(final Configuration config, final Index index) {
     JobContextIndexStore.addIndex(config, index);
   }
@@ -182,6 +237,10 @@ public class GeoWaveOutputFormat extends OutputFormat<GeoWaveOutputKey<Object>,
   @Override
   public OutputCommitter getOutputCommitter(final TaskAttemptContext context)
       throws IOException, InterruptedException {
+    final String bulkLoadDirectory = getBulkLoadDirectory(context);
+    if (bulkLoadDirectory != null) {
+      return new BulkLoadOutputCommitter(new Path(bulkLoadDirectory));
+    }
     return new NullOutputFormat<ByteArray, Object>().getOutputCommitter(context);
   }
 
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.mapreduce.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkLoadOutputCommitterTest {
+  private final Configuration conf = new Configuration();
+  private File tempDirectory;
+  private Path bulkLoadDirectory;
+  private FileSystem fs;
+
+  @Before
+  public void setUp() throws IOException {
+    tempDirectory = Files.createTempDirectory("bulkload").toFile();
+    bulkLoadDirectory = new Path(tempDirectory.toURI().toString(), "bulk");
+    fs = bulkLoadDirectory.getFileSystem(conf);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(tempDirectory);
+  }
+
+  @Test
+  public void testOnlyOneAttemptPerTaskIsCommitted() throws IOException {
+    writeFile("attempt_0_m_0_0", "index1/family/file0");
+    writeFile("attempt_0_m_0_1", "index1/family/file1");
+    writeFile("attempt_0_m_1_0", "index1/family/file2");
+    writeFile("attempt_0_m_1_0", "index2/file3");
+    // a failed attempt that is never committed
+    writeFile("attempt_0_m_2_0", "index2/file4");
+
+    assertTrue(
+        BulkLoadOutputCommitter.commitTask(conf, bulkLoadDirectory, "attempt_0_m_0_0", "task_0"));
+    // a speculative attempt of the same task can't commit once the first has
+    assertFalse(
+        BulkLoadOutputCommitter.commitTask(conf, bulkLoadDirectory, "attempt_0_m_0_1", "task_0"));
+    assertTrue(
+        BulkLoadOutputCommitter.commitTask(conf, bulkLoadDirectory, "attempt_0_m_1_0", "task_1"));
+    // an attempt that didn't write any files has nothing to commit
+    assertFalse(
+        BulkLoadOutputCommitter.commitTask(conf, bulkLoadDirectory, "attempt_0_m_3_0", "task_3"));
+    BulkLoadOutputCommitter.commitJob(conf, bulkLoadDirectory);
+
+    final Set<String> expected = new TreeSet<>();
+    expected.add("index1/family/file0");
+    expected.add("index1/family/file2");
+    expected.add("index2/file3");
+    assertEquals(expected, listFiles(bulkLoadDirectory, ""));
+  }
+
+  @Test
+  public void testCommitJobWithoutTasks() throws IOException {
+    BulkLoadOutputCommitter.commitJob(conf, bulkLoadDirectory);
+    assertTrue(listFiles(bulkLoadDirectory, "").isEmpty());
+  }
+
+  private void writeFile(final String attemptId, final String fileName) throws IOException {
+    final Path attemptDirectory =
+        BulkLoadOutputCommitter.getTaskAttemptDirectory(bulkLoadDirectory, attemptId);
+    fs.create(new Path(attemptDirectory, fileName)).close();
+  }
+
+  private Set<String> listFiles(final Path directory, final String prefix) throws IOException {
+    final Set<String> files = new TreeSet<>();
+    if (!fs.exists(directory)) {
+      return files;
+    }
+    for (final FileStatus status : fs.listStatus(directory)) {
+      final String name = prefix + status.getPath().getName();
+      if (status.isDirectory()) {
+        files.addAll(listFiles(status.getPath(), name + "/"));
+      } else if (!name.endsWith(".crc")) {
+        files.add(name);
+      }
+    }
+    return files;
+  }
+}
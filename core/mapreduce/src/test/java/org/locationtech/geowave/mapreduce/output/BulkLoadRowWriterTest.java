@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.mapreduce.output;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class BulkLoadRowWriterTest {
+  private static final byte[][] SPLITS =
+      new byte[][] {new byte[] {0x10}, new byte[] {0x20, 0x00}, new byte[] {0x30}};
+
+  @Test
+  public void testNoSplits() {
+    assertEquals(0, BulkLoadRowWriter.getPartition(new byte[0][], new byte[] {0x10}));
+    assertEquals(0, BulkLoadRowWriter.getPartition(new byte[0][], new byte[0]));
+  }
+
+  @Test
+  public void testBeforeFirstSplit() {
+    assertEquals(0, BulkLoadRowWriter.getPartition(SPLITS, new byte[0]));
+    assertEquals(0, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x0F, 0x7F}));
+  }
+
+  @Test
+  public void testSplitStartsPartition() {
+    // a split is the first row of its partition
+    assertEquals(1, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x10}));
+    assertEquals(2, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x20, 0x00}));
+    assertEquals(3, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x30}));
+  }
+
+  @Test
+  public void testBetweenSplits() {
+    assertEquals(1, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x10, 0x00}));
+    assertEquals(1, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x20}));
+    assertEquals(2, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x20, 0x00, 0x00}));
+    assertEquals(2, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x2F, 0x7F}));
+  }
+
+  @Test
+  public void testAfterLastSplit() {
+    assertEquals(3, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {0x30, 0x00}));
+    assertEquals(3, BulkLoadRowWriter.getPartition(SPLITS, new byte[] {(byte) 0xFF}));
+  }
+}
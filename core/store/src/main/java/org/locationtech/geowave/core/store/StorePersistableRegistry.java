@@ -28,6 +28,10 @@ import org.locationtech.geowave.core.store.index.CustomNameIndex;
 import org.locationtech.geowave.core.store.index.IndexImpl;
 import org.locationtech.geowave.core.store.index.IndexMetaDataSet;
 import org.locationtech.geowave.core.store.index.NullIndex;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionDefinition;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionField;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexQuery;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy;
 import org.locationtech.geowave.core.store.index.numeric.NumberRangeFilter;
 import org.locationtech.geowave.core.store.index.numeric.NumericFieldIndexStrategy;
 import org.locationtech.geowave.core.store.index.temporal.DateRangeFilter;
@@ -114,6 +118,10 @@ public class StorePersistableRegistry implements PersistableRegistrySpi {
         new PersistableIdAndConstructor((short) 250, FilterList::new),
         new PersistableIdAndConstructor((short) 251, PrefixIdQuery::new),
         new PersistableIdAndConstructor((short) 252, InsertionIdQuery::new),
-        new PersistableIdAndConstructor((short) 253, EverythingQuery::new)};
+        new PersistableIdAndConstructor((short) 253, EverythingQuery::new),
+        new PersistableIdAndConstructor((short) 254, AttributeDimensionDefinition::new),
+        new PersistableIdAndConstructor((short) 255, AttributeDimensionField::new),
+        new PersistableIdAndConstructor((short) 256, AttributeIndexStrategy::new),
+        new PersistableIdAndConstructor((short) 257, AttributeIndexQuery::new)};
   }
 }
@@ -30,6 +30,8 @@ import org.locationtech.geowave.core.store.data.field.FieldVisibilityHandler;
 import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
 import org.locationtech.geowave.core.store.index.CommonIndexModel;
 import org.locationtech.geowave.core.store.index.CommonIndexValue;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionField;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexFieldHandler;
 import org.locationtech.geowave.core.store.util.GenericTypeResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -242,18 +244,36 @@ public abstract class AbstractDataAdapter<T> implements DataTypeAdapter<T> {
     IndexFieldHandler<T, ? extends CommonIndexValue, Object> fieldHandler =
         fieldNameMatchingFieldHandlers.get(dimension.getFieldName());
     if (fieldHandler == null) {
-      // if that fails, go for type matching
-      fieldHandler =
-          FieldUtils.getAssignableValueFromClassMap(
-              GenericTypeResolver.resolveTypeArgument(
-                  dimension.getClass(),
-                  NumericDimensionField.class),
-              typeMatchingFieldHandlers);
+      if (dimension instanceof AttributeDimensionField) {
+        // attribute indices read their value from the native field of the attribute
+        fieldHandler =
+            getAttributeFieldHandler(((AttributeDimensionField) dimension).getAttributeName());
+      } else {
+        // if that fails, go for type matching
+        fieldHandler =
+            FieldUtils.getAssignableValueFromClassMap(
+                GenericTypeResolver.resolveTypeArgument(
+                    dimension.getClass(),
+                    NumericDimensionField.class),
+                typeMatchingFieldHandlers);
+      }
       fieldNameMatchingFieldHandlers.put(dimension.getFieldName(), fieldHandler);
     }
     return fieldHandler;
   }
 
+  private IndexFieldHandler<T, ? extends CommonIndexValue, Object> getAttributeFieldHandler(
+      final String attributeName) {
+    if (nativeFieldHandlers != null) {
+      for (final NativeFieldHandler<T, Object> nativeHandler : nativeFieldHandlers) {
+        if (nativeHandler.getFieldName().equals(attributeName)) {
+          return new AttributeIndexFieldHandler<>(nativeHandler, fieldVisiblityHandler);
+        }
+      }
+    }
+    return null;
+  }
+
   @Override
   public byte[] toBinary() {
     // run through the list of field handlers and persist whatever is
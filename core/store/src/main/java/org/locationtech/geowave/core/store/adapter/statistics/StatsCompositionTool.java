@@ -12,7 +12,12 @@ import java.io.Closeable;
 import java.io.Flushable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.store.DataStoreStatisticsProvider;
 import org.locationtech.geowave.core.store.adapter.InternalDataAdapter;
 import org.locationtech.geowave.core.store.api.DataTypeAdapter;
@@ -23,11 +28,19 @@ import org.locationtech.geowave.core.store.callback.ScanCallback;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.annotations.VisibleForTesting;
 
 /**
  * This tool does not react to callbacks if the provided statistics store is null or the provided
  * data adapter does not implement {@link DataStatisticsStore}.
  *
+ * <p> Each thread updates its own shard of statistics builders so that concurrent callbacks do not
+ * contend with each other. The shards are merged when the statistics are flushed, which happens on
+ * {@link #flush()} and whenever the updates of all shards reach the flush threshold or the flush
+ * interval elapses. Each shard also counts its own updates, and a thread only sums the counts of
+ * all shards after its share of the threshold, so a flush may come about half a threshold late.
+ * Flushing also discards the shards of threads that have terminated.
+ *
  * @param <T> Entry type
  */
 public class StatsCompositionTool<T> implements
@@ -38,15 +51,28 @@ public class StatsCompositionTool<T> implements
     Closeable,
     Flushable {
   private static final Logger LOGGER = LoggerFactory.getLogger(StatsCompositionTool.class);
+  /** The default number of updates after which the statistics are flushed */
   public static final int FLUSH_STATS_THRESHOLD = 1000000;
+  public static final String SKIP_FLUSH_PROPERTY = "StatsCompositionTool.skipFlush";
+  public static final String FLUSH_THRESHOLD_PROPERTY = "StatsCompositionTool.flushThreshold";
+  public static final String FLUSH_INTERVAL_PROPERTY = "StatsCompositionTool.flushIntervalMs";
+  // how often a thread checks the flush interval when there is no flush threshold
+  private static final int INTERVAL_CHECK_UPDATES = 1000;
 
-  int updateCount = 0;
   DataStatisticsStore statisticsStore;
-  List<DataStatisticsBuilder<T, ?, ?>> statisticsBuilders = null;
+  private final Index index;
+  private final DataTypeAdapter<T> adapter;
+  private final DataStoreStatisticsProvider<T> statisticsProvider;
+  private final StatisticsId[] statisticsIds;
+  private final Set<Shard<T>> shards = ConcurrentHashMap.newKeySet();
+  private final ThreadLocal<Shard<T>> threadShard = ThreadLocal.withInitial(this::newShard);
   final Object MUTEX = new Object();
   protected boolean skipFlush = false;
+  private volatile int flushThreshold = FLUSH_STATS_THRESHOLD;
+  private volatile long flushIntervalMs = 0;
+  private volatile long lastFlushTime = System.currentTimeMillis();
   private boolean overwrite;
-  private short adapterId;
+  private final short adapterId;
 
   public StatsCompositionTool(
       final DataStoreStatisticsProvider<T> statisticsProvider,
@@ -65,51 +91,80 @@ public class StatsCompositionTool<T> implements
     this.statisticsStore = statisticsStore;
     this.overwrite = overwrite;
     this.adapterId = adapter.getAdapterId();
-    this.init(index, adapter.getAdapter(), statisticsProvider);
+    this.index = index;
+    this.adapter = adapter.getAdapter();
+    this.statisticsProvider = statisticsProvider;
+    statisticsIds = statisticsProvider.getSupportedStatistics();
+    init();
   }
 
-  private void init(
-      final Index index,
-      final DataTypeAdapter<T> adapter,
-      final DataStoreStatisticsProvider<T> statisticsProvider) {
-    final StatisticsId[] statisticsIds = statisticsProvider.getSupportedStatistics();
-    statisticsBuilders = new ArrayList<>(statisticsIds.length);
-    for (final StatisticsId id : statisticsIds) {
-      statisticsBuilders.add(new DataStatisticsBuilder<>(index, adapter, statisticsProvider, id));
-    }
+  private void init() {
     try {
-      final Object v = System.getProperty("StatsCompositionTool.skipFlush");
+      final Object v = System.getProperty(SKIP_FLUSH_PROPERTY);
       skipFlush = ((v != null) && v.toString().equalsIgnoreCase("true"));
     } catch (final Exception ex) {
-      LOGGER.error("Unable to determine property StatsCompositionTool.skipFlush", ex);
+      LOGGER.error("Unable to determine property " + SKIP_FLUSH_PROPERTY, ex);
+    }
+    try {
+      flushThreshold = Integer.getInteger(FLUSH_THRESHOLD_PROPERTY, FLUSH_STATS_THRESHOLD);
+      flushIntervalMs = Long.getLong(FLUSH_INTERVAL_PROPERTY, 0L);
+    } catch (final Exception ex) {
+      LOGGER.error("Unable to determine flush policy properties", ex);
     }
   }
 
+  private Shard<T> newShard() {
+    final List<DataStatisticsBuilder<T, ?, ?>> builders = new ArrayList<>(statisticsIds.length);
+    for (final StatisticsId id : statisticsIds) {
+      builders.add(new DataStatisticsBuilder<>(index, adapter, statisticsProvider, id));
+    }
+    final Shard<T> shard = new Shard<>(builders, Thread.currentThread());
+    shards.add(shard);
+    return shard;
+  }
+
+  /**
+   * @param flushThreshold the number of updates by all threads after which the statistics are
+   *        flushed, anything <= 0 disables flushing by count
+   */
+  public void setFlushThreshold(final int flushThreshold) {
+    this.flushThreshold = flushThreshold;
+  }
+
+  /**
+   * @param flushIntervalMs the number of milliseconds after which updated statistics are flushed,
+   *        anything <= 0 disables flushing by time
+   */
+  public void setFlushInterval(final long flushIntervalMs) {
+    this.flushIntervalMs = flushIntervalMs;
+  }
+
   @Override
   public void entryDeleted(final T entry, final GeoWaveRow... kvs) {
-    if (statisticsBuilders == null) {
-      return;
-    }
-    synchronized (MUTEX) {
-      for (final DataStatisticsBuilder<T, ?, ?> builder : statisticsBuilders) {
+    final Shard<T> shard = threadShard.get();
+    final boolean check;
+    synchronized (shard) {
+      for (final DataStatisticsBuilder<T, ?, ?> builder : shard.builders) {
         builder.entryDeleted(entry, kvs);
       }
-      updateCount++;
+      check = countUpdate(shard);
+    }
+    if (check) {
       checkStats();
     }
   }
 
   @Override
   public void entryScanned(final T entry, final GeoWaveRow kv) {
-    if (statisticsBuilders == null) {
-      return;
-    }
-
-    synchronized (MUTEX) {
-      for (final DataStatisticsBuilder<T, ?, ?> builder : statisticsBuilders) {
+    final Shard<T> shard = threadShard.get();
+    final boolean check;
+    synchronized (shard) {
+      for (final DataStatisticsBuilder<T, ?, ?> builder : shard.builders) {
         builder.entryScanned(entry, kv);
       }
-      updateCount++;
+      check = countUpdate(shard);
+    }
+    if (check) {
       checkStats();
     }
   }
@@ -117,21 +172,44 @@ public class StatsCompositionTool<T> implements
   /** Update statistics store */
   @Override
   public void flush() {
-    if (statisticsBuilders == null) {
-      return;
-    }
-
     synchronized (MUTEX) {
-      for (final DataStatisticsBuilder<T, ?, ?> builder : statisticsBuilders) {
-        final Collection<InternalDataStatistics<T, ?, ?>> statistics =
-            (Collection) builder.getStatistics();
+      for (final Shard<T> shard : shards) {
+        synchronized (shard) {
+          shard.updateCount = 0;
+        }
+      }
+      for (int i = 0; i < statisticsIds.length; i++) {
+        final Map<ByteArray, InternalDataStatistics<T, ?, ?>> merged = new HashMap<>();
+        final List<InternalDataStatistics<T, ?, ?>> sets = new ArrayList<>();
+        for (final Shard<T> shard : shards) {
+          synchronized (shard) {
+            final Collection<InternalDataStatistics<T, ?, ?>> statistics =
+                (Collection) shard.builders.get(i).getStatistics();
+            for (final InternalDataStatistics<T, ?, ?> s : statistics) {
+              if (s instanceof DataStatisticsSet) {
+                // sets do not support merging, their members are merged by the store instead
+                sets.add(s);
+              } else {
+                final InternalDataStatistics<T, ?, ?> existing =
+                    merged.putIfAbsent(new ByteArray(s.getVisibility()), s);
+                if (existing != null) {
+                  existing.merge(s);
+                }
+              }
+            }
+            statistics.clear();
+          }
+        }
         if (overwrite) {
-          final StatisticsId id = builder.getStatisticsId();
+          final StatisticsId id = statisticsIds[i];
           // TODO how should we deal with authorizations/visibilities
           // here
           statisticsStore.removeStatistics(adapterId, id.getExtendedId(), id.getType());
         }
-        for (final InternalDataStatistics<T, ?, ?> s : statistics) {
+        for (final InternalDataStatistics<T, ?, ?> s : merged.values()) {
+          statisticsStore.incorporateStatistics(s);
+        }
+        for (final InternalDataStatistics<T, ?, ?> s : sets) {
           // using a set and simply checking instanceof this is the
           // simplest approach to enable per partition statistics
           // within the current design
@@ -141,47 +219,45 @@ public class StatsCompositionTool<T> implements
           // statistic, which is wrapped by the composition tool,
           // which is used by the stats manager within a feature data
           // adapter etc.
-          if (s instanceof DataStatisticsSet) {
-            for (final InternalDataStatistics<T, ?, ?> statInSet : ((DataStatisticsSet) s).getStatisticsSet()) {
-              statisticsStore.incorporateStatistics(statInSet);
-            }
-          } else {
-            statisticsStore.incorporateStatistics(s);
+          for (final InternalDataStatistics<T, ?, ?> statInSet : ((DataStatisticsSet) s).getStatisticsSet()) {
+            statisticsStore.incorporateStatistics(statInSet);
           }
         }
-        statistics.clear();
       }
+      // the shard of a terminated thread has been drained and will never be updated again
+      shards.removeIf(shard -> !shard.owner.isAlive());
       // just overwrite the initial set of values
       overwrite = false;
+      lastFlushTime = System.currentTimeMillis();
     }
   }
 
   /** Reset statistics, losing and updates since last flush */
   public void reset() {
-    if (statisticsBuilders == null) {
-      return;
-    }
-
     synchronized (MUTEX) {
-      for (final DataStatisticsBuilder<T, ?, ?> builder : statisticsBuilders) {
-        final Collection<InternalDataStatistics<T, ?, ?>> statistics =
-            (Collection) builder.getStatistics();
-        statistics.clear();
+      for (final Shard<T> shard : shards) {
+        synchronized (shard) {
+          for (final DataStatisticsBuilder<T, ?, ?> builder : shard.builders) {
+            builder.getStatistics().clear();
+          }
+          shard.updateCount = 0;
+        }
       }
+      shards.removeIf(shard -> !shard.owner.isAlive());
     }
   }
 
   @Override
   public void entryIngested(final T entry, final GeoWaveRow... kvs) {
-    if (statisticsBuilders == null) {
-      return;
-    }
-
-    synchronized (MUTEX) {
-      for (final DataStatisticsBuilder<T, ?, ?> builder : statisticsBuilders) {
+    final Shard<T> shard = threadShard.get();
+    final boolean check;
+    synchronized (shard) {
+      for (final DataStatisticsBuilder<T, ?, ?> builder : shard.builders) {
         builder.entryIngested(entry, kvs);
       }
-      updateCount++;
+      check = countUpdate(shard);
+    }
+    if (check) {
       checkStats();
     }
   }
@@ -195,10 +271,73 @@ public class StatsCompositionTool<T> implements
     this.statisticsStore = statisticsStore;
   }
 
+  @VisibleForTesting
+  int getShardCount() {
+    return shards.size();
+  }
+
+  /** @return true if the statistics should be checked for a flush after this update */
+  private boolean countUpdate(final Shard<T> shard) {
+    shard.updateCount++;
+    if (--shard.updatesUntilCheck > 0) {
+      return false;
+    }
+    // check again once this thread has made its share of the updates for the threshold, so that
+    // the shards are only summed a few times for every flush
+    final int threshold = flushThreshold;
+    shard.updatesUntilCheck =
+        threshold > 0 ? Math.max(1, threshold / (2 * Math.max(1, shards.size())))
+            : INTERVAL_CHECK_UPDATES;
+    return true;
+  }
+
+  private long getPendingUpdates() {
+    long updates = 0;
+    for (final Shard<T> shard : shards) {
+      synchronized (shard) {
+        updates += shard.updateCount;
+      }
+    }
+    return updates;
+  }
+
   private void checkStats() {
-    if (!skipFlush && (updateCount >= FLUSH_STATS_THRESHOLD)) {
-      updateCount = 0;
-      flush();
+    // the shard is released before flushing, flushing acquires every shard in turn
+    if (skipFlush) {
+      return;
+    }
+    final int threshold = flushThreshold;
+    if ((threshold > 0) && (getPendingUpdates() >= threshold)) {
+      synchronized (MUTEX) {
+        // another thread may have flushed while this one waited
+        if (getPendingUpdates() >= threshold) {
+          flush();
+        }
+      }
+      return;
+    }
+    final long interval = flushIntervalMs;
+    if ((interval > 0) && ((System.currentTimeMillis() - lastFlushTime) >= interval)) {
+      synchronized (MUTEX) {
+        // another thread may have flushed while this one waited
+        if ((System.currentTimeMillis() - lastFlushTime) >= interval) {
+          flush();
+        }
+      }
+    }
+  }
+
+  /** The statistics builders updated by a single thread, guarded by the shard's monitor */
+  private static class Shard<T> {
+    private final List<DataStatisticsBuilder<T, ?, ?>> builders;
+    private final Thread owner;
+    private int updateCount = 0;
+    // only used by the owner, the first update checks the statistics to size the interval
+    private int updatesUntilCheck = 1;
+
+    private Shard(final List<DataStatisticsBuilder<T, ?, ?>> builders, final Thread owner) {
+      this.builders = builders;
+      this.owner = owner;
     }
   }
 }
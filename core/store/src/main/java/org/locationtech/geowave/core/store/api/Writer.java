@@ -9,7 +9,9 @@
 package org.locationtech.geowave.core.store.api;
 
 import java.io.Closeable;
+import java.util.List;
 import org.locationtech.geowave.core.store.data.VisibilityWriter;
+import org.locationtech.geowave.core.store.util.DataStoreUtils;
 
 public interface Writer<T> extends Closeable {
   /**
@@ -29,6 +31,38 @@ public interface Writer<T> extends Closeable {
    */
   WriteResults write(final T entry, final VisibilityWriter<T> fieldVisibilityWriter);
 
+  /**
+   * Write a batch of entries using any basic visibilities set elsewhere. Writers that can index
+   * several entries at once, such as the writer of a single index, compute the insertion IDs of
+   * the whole batch together, so this is preferable to writing one entry at a time when entries
+   * are already buffered.
+   *
+   * @param entries the entries to write
+   * @return the Insertion IDs representing where each entry was written, in the order of the
+   *         entries
+   */
+  default WriteResults[] writeAll(final List<T> entries) {
+    return writeAll(entries, DataStoreUtils.UNCONSTRAINED_VISIBILITY);
+  }
+
+  /**
+   * Write a batch of entries using visibilities determined by the fieldVisibilityWriter
+   *
+   * @param entries the entries to write
+   * @param fieldVisibilityWriter method for determining visibility per field
+   * @return the Insertion IDs representing where each entry was written, in the order of the
+   *         entries
+   */
+  default WriteResults[] writeAll(
+      final List<T> entries,
+      final VisibilityWriter<T> fieldVisibilityWriter) {
+    final WriteResults[] results = new WriteResults[entries.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = write(entries.get(i), fieldVisibilityWriter);
+    }
+    return results;
+  }
+
   /**
    * get the indices that are being written to
    *
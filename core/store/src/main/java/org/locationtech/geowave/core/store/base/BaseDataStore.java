@@ -295,6 +295,8 @@ public class BaseDataStore implements DataStore {
     } else {
       dataIdsToDelete = null;
     }
+    // shared by every index and adapter of the query, and closed with the query's results
+    final DedupeFilter filter = new DedupeFilter();
     if (!delete
         && baseOptions.isSecondaryIndexing()
         && ((sanitizedConstraints instanceof DataIdQuery)
@@ -377,7 +379,6 @@ public class BaseDataStore implements DataStore {
       final boolean isAggregationAdapterIndexSpecific =
           (queryOptions.getAggregation() != null)
               && (queryOptions.getAggregation().getRight() instanceof AdapterAndIndexBasedAggregation);
-      final DedupeFilter filter = new DedupeFilter();
       MemoryPersistentAdapterStore tempAdapterStore;
 
       try {
@@ -548,6 +549,7 @@ public class BaseDataStore implements DataStore {
         if ((dataIdsToDelete != null) && !dataIdsToDelete.isEmpty()) {
           deleteFromDataIndex(dataIdsToDelete, queryOptions.getAuthorizations());
         }
+        filter.close();
       }
 
     }, Iterators.concat(new CastIterator<T>(results.iterator())));
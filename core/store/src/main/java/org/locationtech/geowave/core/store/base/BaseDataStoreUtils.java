@@ -56,6 +56,7 @@ import org.locationtech.geowave.core.store.base.dataidx.BatchDataIndexRetrieval;
 import org.locationtech.geowave.core.store.base.dataidx.DataIndexRetrieval;
 import org.locationtech.geowave.core.store.base.dataidx.DataIndexUtils;
 import org.locationtech.geowave.core.store.callback.ScanCallback;
+import org.locationtech.geowave.core.store.data.CommonIndexedPersistenceEncoding;
 import org.locationtech.geowave.core.store.data.DataWriter;
 import org.locationtech.geowave.core.store.data.VisibilityWriter;
 import org.locationtech.geowave.core.store.data.field.FieldVisibilityHandler;
@@ -317,10 +318,65 @@ public class BaseDataStoreUtils {
       final boolean secondaryIndex,
       final boolean dataIdIndex,
       final boolean visibilityEnabled) {
-    final CommonIndexModel indexModel = index.getIndexModel();
-    final AdapterPersistenceEncoding encodedData = adapter.encode(entry, indexModel);
-    final InsertionIds insertionIds = dataIdIndex ? null : encodedData.getInsertionIds(index);
+    final AdapterPersistenceEncoding encodedData = adapter.encode(entry, index.getIndexModel());
+    return getWriteInfo(
+        entry,
+        adapter,
+        index,
+        encodedData,
+        dataIdIndex ? null : encodedData.getInsertionIds(index),
+        customFieldVisibilityWriter,
+        secondaryIndex,
+        dataIdIndex,
+        visibilityEnabled);
+  }
+
+  /**
+   * Get the write info of a batch of entries for an index. The insertion IDs of the entries are
+   * computed together by the index strategy, which is cheaper than computing them one entry at a
+   * time.
+   */
+  protected static <T> IntermediaryWriteEntryInfo[] getWriteInfo(
+      final List<T> entries,
+      final InternalDataAdapter<T> adapter,
+      final Index index,
+      final VisibilityWriter<T> customFieldVisibilityWriter,
+      final boolean secondaryIndex,
+      final boolean visibilityEnabled) {
+    final List<AdapterPersistenceEncoding> encodedData = new ArrayList<>(entries.size());
+    for (final T entry : entries) {
+      encodedData.add(adapter.encode(entry, index.getIndexModel()));
+    }
+    final InsertionIds[] insertionIds =
+        CommonIndexedPersistenceEncoding.getInsertionIds(encodedData, index);
+    final IntermediaryWriteEntryInfo[] entryInfos = new IntermediaryWriteEntryInfo[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      entryInfos[i] =
+          getWriteInfo(
+              entries.get(i),
+              adapter,
+              index,
+              encodedData.get(i),
+              insertionIds[i],
+              customFieldVisibilityWriter,
+              secondaryIndex,
+              false,
+              visibilityEnabled);
+    }
+    return entryInfos;
+  }
 
+  private static <T> IntermediaryWriteEntryInfo getWriteInfo(
+      final T entry,
+      final InternalDataAdapter<T> adapter,
+      final Index index,
+      final AdapterPersistenceEncoding encodedData,
+      final InsertionIds insertionIds,
+      final VisibilityWriter<T> customFieldVisibilityWriter,
+      final boolean secondaryIndex,
+      final boolean dataIdIndex,
+      final boolean visibilityEnabled) {
+    final CommonIndexModel indexModel = index.getIndexModel();
     final short internalAdapterId = adapter.getAdapterId();
 
     final byte[] dataId = adapter.getDataId(entry);
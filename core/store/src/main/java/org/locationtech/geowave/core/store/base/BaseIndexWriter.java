@@ -11,6 +11,7 @@ package org.locationtech.geowave.core.store.base;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.util.List;
 import org.locationtech.geowave.core.index.StringUtils;
 import org.locationtech.geowave.core.store.DataStoreOptions;
 import org.locationtech.geowave.core.store.adapter.InternalDataAdapter;
@@ -91,6 +92,41 @@ class BaseIndexWriter<T> implements Writer<T> {
     return new WriteResults(index.getName(), entryInfo.getInsertionIds());
   }
 
+  @Override
+  public WriteResults[] writeAll(
+      final List<T> entries,
+      final VisibilityWriter<T> fieldVisibilityWriter) {
+    final WriteResults[] results = new WriteResults[entries.size()];
+    synchronized (this) {
+      ensureOpen();
+
+      if (writer == null) {
+        LOGGER.error("Null writer - empty list returned");
+        for (int i = 0; i < results.length; i++) {
+          results[i] = new WriteResults();
+        }
+        return results;
+      }
+      final IntermediaryWriteEntryInfo[] entryInfos =
+          BaseDataStoreUtils.getWriteInfo(
+              entries,
+              adapter,
+              index,
+              fieldVisibilityWriter,
+              options.isSecondaryIndexing(),
+              options.isVisibilityEnabled());
+      for (int i = 0; i < entryInfos.length; i++) {
+        verifyVisibility(fieldVisibilityWriter, entryInfos[i]);
+        final GeoWaveRow[] rows = entryInfos[i].getRows();
+
+        writer.write(rows);
+        callback.entryIngested(entries.get(i), rows);
+        results[i] = new WriteResults(index.getName(), entryInfos[i].getInsertionIds());
+      }
+    }
+    return results;
+  }
+
   @Override
   public void close() {
     try {
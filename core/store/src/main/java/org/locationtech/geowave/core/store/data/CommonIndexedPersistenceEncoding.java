@@ -9,8 +9,11 @@
 package org.locationtech.geowave.core.store.data;
 
 import com.google.common.math.DoubleMath;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.apache.commons.lang3.ArrayUtils;
@@ -22,6 +25,7 @@ import org.locationtech.geowave.core.index.sfc.SFCDimensionDefinition;
 import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
 import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.store.adapter.FitToIndexPersistenceEncoding;
 import org.locationtech.geowave.core.store.api.Index;
 import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
 import org.locationtech.geowave.core.store.index.CommonIndexValue;
@@ -62,7 +66,69 @@ public class CommonIndexedPersistenceEncoding extends IndexedPersistenceEncoding
   public InsertionIds getInsertionIds(final Index index) {
     final MultiDimensionalNumericData boxRangeData =
         getNumericData(index.getIndexModel().getDimensions());
-    final InsertionIds untrimmedResult = index.getIndexStrategy().getInsertionIds(boxRangeData);
+    return trimInsertionIds(
+        boxRangeData,
+        index.getIndexStrategy().getInsertionIds(boxRangeData),
+        index);
+  }
+
+  /**
+   * Given an index, convert a batch of persistent encodings to insertion IDs for that index. This
+   * is equivalent to calling {@link #getInsertionIds(Index)} on each encoding, but lets the index
+   * strategy compute the IDs of all entries together, which is useful for writers that buffer
+   * entries.
+   *
+   * @param encodings the encodings to get insertion IDs for
+   * @param index the index
+   * @return the insertion IDs for each encoding, in the same order as the encodings
+   */
+  public static InsertionIds[] getInsertionIds(
+      final List<? extends CommonIndexedPersistenceEncoding> encodings,
+      final Index index) {
+    final NumericDimensionField[] dimensions = index.getIndexModel().getDimensions();
+    final InsertionIds[] retVal = new InsertionIds[encodings.size()];
+    final MultiDimensionalNumericData[] boxRangeData =
+        new MultiDimensionalNumericData[encodings.size()];
+    final List<Integer> batchedEntries = new ArrayList<>(encodings.size());
+    for (int i = 0; i < encodings.size(); i++) {
+      final CommonIndexedPersistenceEncoding encoding = encodings.get(i);
+      if (encoding instanceof FitToIndexPersistenceEncoding) {
+        retVal[i] = encoding.getInsertionIds(index);
+        continue;
+      }
+      boxRangeData[i] = encoding.getNumericData(dimensions);
+      if (Arrays.asList(boxRangeData[i].getDataPerDimension()).contains(null)) {
+        retVal[i] = encoding.getInsertionIds(index);
+      } else {
+        batchedEntries.add(i);
+      }
+    }
+    if (batchedEntries.isEmpty()) {
+      return retVal;
+    }
+    final double[][] minsPerDimension = new double[dimensions.length][batchedEntries.size()];
+    final double[][] maxesPerDimension = new double[dimensions.length][batchedEntries.size()];
+    for (int e = 0; e < batchedEntries.size(); e++) {
+      final NumericData[] dataPerDimension =
+          boxRangeData[batchedEntries.get(e)].getDataPerDimension();
+      for (int d = 0; d < dimensions.length; d++) {
+        minsPerDimension[d][e] = dataPerDimension[d].getMin();
+        maxesPerDimension[d][e] = dataPerDimension[d].getMax();
+      }
+    }
+    final InsertionIds[] batchedIds =
+        index.getIndexStrategy().getInsertionIds(minsPerDimension, maxesPerDimension);
+    for (int e = 0; e < batchedEntries.size(); e++) {
+      final int i = batchedEntries.get(e);
+      retVal[i] = encodings.get(i).trimInsertionIds(boxRangeData[i], batchedIds[e], index);
+    }
+    return retVal;
+  }
+
+  private InsertionIds trimInsertionIds(
+      final MultiDimensionalNumericData boxRangeData,
+      final InsertionIds untrimmedResult,
+      final Index index) {
     for (final SinglePartitionInsertionIds insertionId : untrimmedResult.getPartitionKeys()) {
       final byte[] partitionKey = insertionId.getPartitionKey();
       final int size = insertionId.getSortKeys().size();
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.index.StringUtils;
+import org.locationtech.geowave.core.index.dimension.BasicDimensionDefinition;
+
+/**
+ * The dimension of an attribute index. It is unbounded, the values of a single attribute are
+ * indexed by their sort key (see {@link AttributeIndexStrategy#getSortKey(Object)}).
+ */
+public class AttributeDimensionDefinition extends BasicDimensionDefinition {
+  private String attributeName;
+
+  public AttributeDimensionDefinition() {
+    super(-Double.MAX_VALUE, Double.MAX_VALUE);
+  }
+
+  public AttributeDimensionDefinition(final String attributeName) {
+    this();
+    this.attributeName = attributeName;
+  }
+
+  public String getAttributeName() {
+    return attributeName;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = super.hashCode();
+    result = (prime * result) + ((attributeName == null) ? 0 : attributeName.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (!super.equals(obj)) {
+      return false;
+    }
+    final AttributeDimensionDefinition other = (AttributeDimensionDefinition) obj;
+    if (attributeName == null) {
+      return other.attributeName == null;
+    }
+    return attributeName.equals(other.attributeName);
+  }
+
+  @Override
+  public byte[] toBinary() {
+    return StringUtils.stringToBinary(attributeName);
+  }
+
+  @Override
+  public void fromBinary(final byte[] bytes) {
+    attributeName = StringUtils.stringFromBinary(bytes);
+  }
+}
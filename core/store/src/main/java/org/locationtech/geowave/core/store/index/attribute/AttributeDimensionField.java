@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
+import org.locationtech.geowave.core.index.dimension.bin.BinRange;
+import org.locationtech.geowave.core.index.persist.PersistenceUtils;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.store.data.field.FieldReader;
+import org.locationtech.geowave.core.store.data.field.FieldWriter;
+import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
+
+/**
+ * This field definition indexes a single attribute of a data type. The field is named after the
+ * attribute but distinct from it, the attribute itself remains part of the row's extended data.
+ */
+public class AttributeDimensionField implements NumericDimensionField<AttributeValue> {
+  private static final String FIELD_NAME_PREFIX = "attr_idx_";
+  private AttributeDimensionDefinition baseDefinition;
+  private final AttributeValueReader reader;
+  private final AttributeValueWriter writer;
+
+  public AttributeDimensionField() {
+    reader = new AttributeValueReader();
+    writer = new AttributeValueWriter();
+  }
+
+  public AttributeDimensionField(final String attributeName) {
+    this();
+    baseDefinition = new AttributeDimensionDefinition(attributeName);
+  }
+
+  public String getAttributeName() {
+    return baseDefinition.getAttributeName();
+  }
+
+  @Override
+  public double normalize(final double value) {
+    return baseDefinition.normalize(value);
+  }
+
+  @Override
+  public double denormalize(final double value) {
+    return baseDefinition.denormalize(value);
+  }
+
+  @Override
+  public BinRange[] getNormalizedRanges(final NumericData index) {
+    return baseDefinition.getNormalizedRanges(index);
+  }
+
+  @Override
+  public NumericRange getDenormalizedRange(final BinRange range) {
+    return baseDefinition.getDenormalizedRange(range);
+  }
+
+  @Override
+  public int getFixedBinIdSize() {
+    return baseDefinition.getFixedBinIdSize();
+  }
+
+  @Override
+  public double getRange() {
+    return baseDefinition.getRange();
+  }
+
+  @Override
+  public NumericRange getBounds() {
+    return baseDefinition.getBounds();
+  }
+
+  @Override
+  public NumericData getFullRange() {
+    return baseDefinition.getFullRange();
+  }
+
+  @Override
+  public NumericData getNumericData(final AttributeValue dataElement) {
+    return dataElement.toNumericData();
+  }
+
+  @Override
+  public String getFieldName() {
+    return FIELD_NAME_PREFIX + baseDefinition.getAttributeName();
+  }
+
+  @Override
+  public FieldWriter<?, AttributeValue> getWriter() {
+    return writer;
+  }
+
+  @Override
+  public FieldReader<AttributeValue> getReader() {
+    return reader;
+  }
+
+  @Override
+  public NumericDimensionDefinition getBaseDefinition() {
+    return baseDefinition;
+  }
+
+  @Override
+  public byte[] toBinary() {
+    return PersistenceUtils.toBinary(baseDefinition);
+  }
+
+  @Override
+  public void fromBinary(final byte[] bytes) {
+    baseDefinition = (AttributeDimensionDefinition) PersistenceUtils.fromBinary(bytes);
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = (prime * result) + ((baseDefinition == null) ? 0 : baseDefinition.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final AttributeDimensionField other = (AttributeDimensionField) obj;
+    if (baseDefinition == null) {
+      return other.baseDefinition == null;
+    }
+    return baseDefinition.equals(other.baseDefinition);
+  }
+}
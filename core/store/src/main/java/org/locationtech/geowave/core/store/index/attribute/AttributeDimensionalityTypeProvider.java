@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.cli.remote.options.IndexPluginOptions.BaseIndexBuilder;
+import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
+import org.locationtech.geowave.core.store.index.BasicIndexModel;
+import org.locationtech.geowave.core.store.index.CommonIndexValue;
+import org.locationtech.geowave.core.store.index.CustomNameIndex;
+import org.locationtech.geowave.core.store.spi.DimensionalityTypeProviderSpi;
+
+/**
+ * Provides secondary indices on a single attribute of a data type. The index is maintained on every
+ * write like any other index, and a query that constrains the attribute can seek it instead of
+ * scanning the table. It is most useful with secondary indexing enabled on the data store, so the
+ * index only holds data IDs and the rows are joined back through the data ID index.
+ */
+public class AttributeDimensionalityTypeProvider implements
+    DimensionalityTypeProviderSpi<AttributeOptions> {
+  private static final String DEFAULT_ATTRIBUTE_ID_STR = "ATTR_IDX";
+
+  public AttributeDimensionalityTypeProvider() {}
+
+  @Override
+  public String getDimensionalityTypeName() {
+    return "attribute";
+  }
+
+  @Override
+  public String getDimensionalityTypeDescription() {
+    return "This dimensionality type indexes a single attribute of any type.";
+  }
+
+  @Override
+  public int getPriority() {
+    // an attribute index is never a sensible default
+    return -1;
+  }
+
+  @Override
+  public AttributeOptions createOptions() {
+    return new AttributeOptions();
+  }
+
+  @Override
+  public Index createIndex(final AttributeOptions options) {
+    return internalCreateIndex(options);
+  }
+
+  private static Index internalCreateIndex(final AttributeOptions options) {
+    final String attributeName = options.getAttributeName();
+    final BasicIndexModel indexModel =
+        new BasicIndexModel(
+            new NumericDimensionField[] {new AttributeDimensionField(attributeName)});
+    return new CustomNameIndex(
+        new AttributeIndexStrategy(attributeName),
+        indexModel,
+        DEFAULT_ATTRIBUTE_ID_STR + "_" + attributeName);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Class<? extends CommonIndexValue>[] getRequiredIndexTypes() {
+    // the attribute is read from the native fields of any data type
+    return new Class[] {};
+  }
+
+  public static class AttributeIndexBuilder extends BaseIndexBuilder<AttributeIndexBuilder> {
+    private final AttributeOptions options;
+
+    public AttributeIndexBuilder(final String attributeName) {
+      options = new AttributeOptions();
+      options.setAttributeName(attributeName);
+    }
+
+    @Override
+    public Index createIndex() {
+      return createIndex(internalCreateIndex(options));
+    }
+  }
+
+  /**
+   * @param index an index
+   * @return the name of the attribute the index is on, or null if it is not an attribute index
+   */
+  public static String getAttributeName(final Index index) {
+    if ((index == null) || (index.getIndexModel() == null)) {
+      return null;
+    }
+    for (final NumericDimensionField<?> field : index.getIndexModel().getDimensions()) {
+      if (field instanceof AttributeDimensionField) {
+        return ((AttributeDimensionField) field).getAttributeName();
+      }
+    }
+    return null;
+  }
+
+  public static boolean isAttribute(final Index index) {
+    return getAttributeName(index) != null;
+  }
+}
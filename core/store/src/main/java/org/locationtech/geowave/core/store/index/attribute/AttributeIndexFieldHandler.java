@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.store.adapter.IndexFieldHandler;
+import org.locationtech.geowave.core.store.adapter.NativeFieldHandler;
+import org.locationtech.geowave.core.store.data.PersistentDataset;
+import org.locationtech.geowave.core.store.data.PersistentValue;
+import org.locationtech.geowave.core.store.data.field.FieldVisibilityHandler;
+
+/**
+ * This class handles the index value of an attribute index for any data adapter that has a native
+ * field handler for the attribute. The attribute is not consumed by the index field, it is still
+ * persisted with the rest of the native fields.
+ *
+ * @param <RowType>
+ */
+public class AttributeIndexFieldHandler<RowType> implements
+    IndexFieldHandler<RowType, AttributeValue, Object> {
+  private final NativeFieldHandler<RowType, Object> nativeFieldHandler;
+  private final FieldVisibilityHandler<RowType, Object> visibilityHandler;
+
+  public AttributeIndexFieldHandler(
+      final NativeFieldHandler<RowType, Object> nativeFieldHandler,
+      final FieldVisibilityHandler<RowType, Object> visibilityHandler) {
+    this.nativeFieldHandler = nativeFieldHandler;
+    this.visibilityHandler = visibilityHandler;
+  }
+
+  @Override
+  public String[] getNativeFieldNames() {
+    return new String[] {};
+  }
+
+  @Override
+  public AttributeValue toIndexValue(final RowType row) {
+    final Object value = nativeFieldHandler.getFieldValue(row);
+    final byte[] visibility;
+    if (visibilityHandler != null) {
+      visibility = visibilityHandler.getVisibility(row, nativeFieldHandler.getFieldName(), value);
+    } else {
+      visibility = new byte[] {};
+    }
+    return new AttributeValue(AttributeIndexStrategy.getSortKey(value), visibility);
+  }
+
+  @Override
+  public AttributeValue toIndexValue(final PersistentDataset<Object> adapterPersistenceEncoding) {
+    return new AttributeValue(
+        AttributeIndexStrategy.getSortKey(
+            adapterPersistenceEncoding.getValue(nativeFieldHandler.getFieldName())));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public PersistentValue<Object>[] toNativeValues(final AttributeValue indexValue) {
+    // the attribute is read from the native fields
+    return new PersistentValue[] {};
+  }
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.locationtech.geowave.core.index.StringUtils;
+import org.locationtech.geowave.core.index.VarintUtils;
+import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy.ConstrainedRange;
+import org.locationtech.geowave.core.store.index.numeric.NumericQueryConstraint;
+import org.locationtech.geowave.core.store.index.temporal.TemporalQueryConstraint;
+import org.locationtech.geowave.core.store.index.text.TextQueryConstraint;
+import org.locationtech.geowave.core.store.query.constraints.QueryConstraints;
+import org.locationtech.geowave.core.store.query.filter.QueryFilter;
+
+/**
+ * Constrains an attribute index by the numeric, temporal or text constraints of its attribute. Each
+ * constraint is an alternative, a row matches if its attribute matches any of them. The constraints
+ * only select the ranges of the index to read, they are not applied as filters, so the predicate
+ * they were derived from still has to be applied to the rows that are read.
+ */
+public class AttributeIndexQuery implements QueryConstraints {
+  private static final byte NUMERIC = 0;
+  private static final byte TEMPORAL = 1;
+  private static final byte TEXT = 2;
+
+  private List<FilterableConstraints> constraints;
+
+  public AttributeIndexQuery() {}
+
+  /**
+   * @param constraints numeric, temporal or text constraints on the attribute of an attribute index
+   */
+  public AttributeIndexQuery(final List<FilterableConstraints> constraints) {
+    this.constraints = constraints;
+  }
+
+  public List<FilterableConstraints> getConstraints() {
+    return constraints;
+  }
+
+  @Override
+  public List<QueryFilter> createFilters(final Index index) {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public List<MultiDimensionalNumericData> getIndexConstraints(final Index index) {
+    final String attributeName = AttributeDimensionalityTypeProvider.getAttributeName(index);
+    final List<MultiDimensionalNumericData> indexConstraints = new ArrayList<>();
+    for (final FilterableConstraints c : constraints) {
+      if (c.getFieldName().equals(attributeName)) {
+        indexConstraints.add(
+            new BasicNumericDataset(new NumericData[] {new ConstrainedRange(c)}));
+      }
+    }
+    return indexConstraints;
+  }
+
+  @Override
+  public byte[] toBinary() {
+    final List<byte[]> constraintBinaries = new ArrayList<>(constraints.size());
+    int byteLength = VarintUtils.unsignedIntByteLength(constraints.size());
+    for (final FilterableConstraints c : constraints) {
+      final byte[] constraintBinary = toBinary(c);
+      byteLength += VarintUtils.unsignedIntByteLength(constraintBinary.length);
+      byteLength += constraintBinary.length;
+      constraintBinaries.add(constraintBinary);
+    }
+    final ByteBuffer buf = ByteBuffer.allocate(byteLength);
+    VarintUtils.writeUnsignedInt(constraintBinaries.size(), buf);
+    for (final byte[] constraintBinary : constraintBinaries) {
+      VarintUtils.writeUnsignedInt(constraintBinary.length, buf);
+      buf.put(constraintBinary);
+    }
+    return buf.array();
+  }
+
+  @Override
+  public void fromBinary(final byte[] bytes) {
+    final ByteBuffer buf = ByteBuffer.wrap(bytes);
+    final int numConstraints = VarintUtils.readUnsignedInt(buf);
+    constraints = new ArrayList<>(numConstraints);
+    for (int i = 0; i < numConstraints; i++) {
+      final byte[] constraintBinary = new byte[VarintUtils.readUnsignedInt(buf)];
+      buf.get(constraintBinary);
+      constraints.add(fromBinary(ByteBuffer.wrap(constraintBinary)));
+    }
+  }
+
+  private static byte[] toBinary(final FilterableConstraints c) {
+    final byte[] fieldNameBinary = StringUtils.stringToBinary(c.getFieldName());
+    final byte type;
+    final boolean inclusiveLow;
+    final boolean inclusiveHigh;
+    final ByteBuffer valueBuf;
+    if (c instanceof NumericQueryConstraint) {
+      final NumericQueryConstraint numeric = (NumericQueryConstraint) c;
+      type = NUMERIC;
+      inclusiveLow = numeric.isInclusiveLow();
+      inclusiveHigh = numeric.isInclusiveHigh();
+      valueBuf = ByteBuffer.allocate(16);
+      valueBuf.putDouble(numeric.getMinValue());
+      valueBuf.putDouble(numeric.getMaxValue());
+    } else if (c instanceof TemporalQueryConstraint) {
+      final TemporalQueryConstraint temporal = (TemporalQueryConstraint) c;
+      type = TEMPORAL;
+      inclusiveLow = temporal.isInclusiveLow();
+      inclusiveHigh = temporal.isInclusiveHigh();
+      valueBuf = ByteBuffer.allocate(16);
+      valueBuf.putLong(temporal.getStart().getTime());
+      valueBuf.putLong(temporal.getEnd().getTime());
+    } else if (c instanceof TextQueryConstraint) {
+      final TextQueryConstraint text = (TextQueryConstraint) c;
+      type = TEXT;
+      // the match value is exact, the case sensitivity is kept in the low flag
+      inclusiveLow = text.isCaseSensitive();
+      inclusiveHigh = true;
+      valueBuf = ByteBuffer.wrap(StringUtils.stringToBinary(text.getMatchValue()));
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported attribute constraints '" + c.getClass().getName() + "'");
+    }
+    final byte[] valueBinary = valueBuf.array();
+    final ByteBuffer buf =
+        ByteBuffer.allocate(
+            2
+                + VarintUtils.unsignedIntByteLength(fieldNameBinary.length)
+                + fieldNameBinary.length
+                + valueBinary.length);
+    buf.put(type);
+    buf.put((byte) ((inclusiveLow ? 1 : 0) | (inclusiveHigh ? 2 : 0)));
+    VarintUtils.writeUnsignedInt(fieldNameBinary.length, buf);
+    buf.put(fieldNameBinary);
+    buf.put(valueBinary);
+    return buf.array();
+  }
+
+  private static FilterableConstraints fromBinary(final ByteBuffer buf) {
+    final byte type = buf.get();
+    final byte flags = buf.get();
+    final boolean inclusiveLow = (flags & 1) != 0;
+    final boolean inclusiveHigh = (flags & 2) != 0;
+    final byte[] fieldNameBinary = new byte[VarintUtils.readUnsignedInt(buf)];
+    buf.get(fieldNameBinary);
+    final String fieldName = StringUtils.stringFromBinary(fieldNameBinary);
+    switch (type) {
+      case NUMERIC:
+        return new NumericQueryConstraint(
+            fieldName,
+            buf.getDouble(),
+            buf.getDouble(),
+            inclusiveLow,
+            inclusiveHigh);
+      case TEMPORAL:
+        return new TemporalQueryConstraint(
+            fieldName,
+            new Date(buf.getLong()),
+            new Date(buf.getLong()),
+            inclusiveLow,
+            inclusiveHigh);
+      default:
+        final byte[] matchValueBinary = new byte[buf.remaining()];
+        buf.get(matchValueBinary);
+        return new TextQueryConstraint(
+            fieldName,
+            StringUtils.stringFromBinary(matchValueBinary),
+            inclusiveLow);
+    }
+  }
+}
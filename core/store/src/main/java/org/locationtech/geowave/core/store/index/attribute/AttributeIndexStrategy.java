@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.locationtech.geowave.core.index.IndexMetaData;
+import org.locationtech.geowave.core.index.InsertionIds;
+import org.locationtech.geowave.core.index.MultiDimensionalCoordinateRanges;
+import org.locationtech.geowave.core.index.MultiDimensionalCoordinates;
+import org.locationtech.geowave.core.index.NumericIndexStrategy;
+import org.locationtech.geowave.core.index.QueryRanges;
+import org.locationtech.geowave.core.index.StringUtils;
+import org.locationtech.geowave.core.index.dimension.NumericDimensionDefinition;
+import org.locationtech.geowave.core.index.persist.PersistenceUtils;
+import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.index.sfc.data.NumericValue;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.numeric.NumericFieldIndexStrategy;
+import org.locationtech.geowave.core.store.index.numeric.NumericQueryConstraint;
+import org.locationtech.geowave.core.store.index.temporal.TemporalIndexStrategy;
+import org.locationtech.geowave.core.store.index.temporal.TemporalQueryConstraint;
+import org.locationtech.geowave.core.store.index.text.TextIndexStrategy;
+import org.locationtech.geowave.core.store.index.text.TextQueryConstraint;
+
+/**
+ * A 1-dimensional index strategy for a single attribute of a data type. Sort keys and query ranges
+ * are delegated to the field index strategy for the type of the attribute: numbers and booleans use
+ * {@link NumericFieldIndexStrategy}, dates use {@link TemporalIndexStrategy} and any other value is
+ * indexed by its string representation with {@link TextIndexStrategy}. Query ranges are computed
+ * from the {@link FilterableConstraints} of those strategies, which are passed through the index
+ * constraints of an {@link AttributeIndexQuery}.
+ */
+public class AttributeIndexStrategy implements NumericIndexStrategy {
+  // null values sort before the keys of every other numeric and temporal value
+  private static final byte[] NULL_SORT_KEY = new byte[] {0};
+  private static final NumericFieldIndexStrategy NUMERIC_STRATEGY =
+      new NumericFieldIndexStrategy();
+  private static final TemporalIndexStrategy TEMPORAL_STRATEGY = new TemporalIndexStrategy();
+  private static final TextIndexStrategy TEXT_STRATEGY = new TextIndexStrategy();
+
+  private AttributeDimensionDefinition definition;
+
+  public AttributeIndexStrategy() {}
+
+  public AttributeIndexStrategy(final String attributeName) {
+    definition = new AttributeDimensionDefinition(attributeName);
+  }
+
+  public String getAttributeName() {
+    return definition.getAttributeName();
+  }
+
+  /**
+   * @param value an attribute value
+   * @return the value indexed by the numeric strategy, or null if the value is not numeric
+   */
+  public static Double toNumericValue(final Object value) {
+    if (value instanceof Number) {
+      final double doubleValue = ((Number) value).doubleValue();
+      // -0.0 and 0.0 have different keys but are equal
+      return doubleValue == 0 ? 0d : doubleValue;
+    }
+    if (value instanceof Boolean) {
+      return ((Boolean) value) ? 1d : 0d;
+    }
+    return null;
+  }
+
+  /**
+   * @param value an attribute value
+   * @return the value indexed by the temporal strategy, or null if the value is not temporal
+   */
+  public static Date toTemporalValue(final Object value) {
+    if (value instanceof Date) {
+      return (Date) value;
+    }
+    if (value instanceof Calendar) {
+      return ((Calendar) value).getTime();
+    }
+    return null;
+  }
+
+  /**
+   * Get the sort key of an attribute value.
+   *
+   * @param value the attribute value, may be null
+   * @return the sort key
+   */
+  public static byte[] getSortKey(final Object value) {
+    if (value == null) {
+      return NULL_SORT_KEY;
+    }
+    final InsertionIds insertionIds;
+    final Double numericValue = toNumericValue(value);
+    final Date temporalValue = toTemporalValue(value);
+    if (numericValue != null) {
+      insertionIds = NUMERIC_STRATEGY.getInsertionIds(numericValue);
+    } else if (temporalValue != null) {
+      insertionIds = TEMPORAL_STRATEGY.getInsertionIds(temporalValue);
+    } else {
+      insertionIds = TEXT_STRATEGY.getInsertionIds(value.toString());
+    }
+    return insertionIds.getFirstPartitionAndSortKeyPair().getRight();
+  }
+
+  /**
+   * @param constraints constraints on the attribute
+   * @return the query ranges of the field index strategy for the constraints, or an unbounded range
+   *         for constraints that are not supported
+   */
+  public static QueryRanges getQueryRanges(final FilterableConstraints constraints) {
+    if (constraints instanceof NumericQueryConstraint) {
+      return NUMERIC_STRATEGY.getQueryRanges((NumericQueryConstraint) constraints);
+    }
+    if (constraints instanceof TemporalQueryConstraint) {
+      return TEMPORAL_STRATEGY.getQueryRanges((TemporalQueryConstraint) constraints);
+    }
+    if (constraints instanceof TextQueryConstraint) {
+      return TEXT_STRATEGY.getQueryRanges((TextQueryConstraint) constraints);
+    }
+    return new QueryRanges();
+  }
+
+  @Override
+  public QueryRanges getQueryRanges(
+      final MultiDimensionalNumericData indexedRange,
+      final IndexMetaData... hints) {
+    return getQueryRanges(indexedRange, -1, hints);
+  }
+
+  @Override
+  public QueryRanges getQueryRanges(
+      final MultiDimensionalNumericData indexedRange,
+      final int maxEstimatedRangeDecomposition,
+      final IndexMetaData... hints) {
+    final NumericData range = indexedRange.getDataPerDimension()[0];
+    if (range instanceof ConstrainedRange) {
+      return getQueryRanges(((ConstrainedRange) range).getConstraints());
+    }
+    // a plain range doesn't tell the type of the attribute
+    return new QueryRanges();
+  }
+
+  @Override
+  public InsertionIds getInsertionIds(final MultiDimensionalNumericData indexedData) {
+    return getInsertionIds(indexedData, 1);
+  }
+
+  @Override
+  public InsertionIds getInsertionIds(
+      final MultiDimensionalNumericData indexedData,
+      final int maxEstimatedDuplicateIds) {
+    final NumericData value = indexedData.getDataPerDimension()[0];
+    if (value == null) {
+      return new InsertionIds();
+    }
+    if (value instanceof SortKeyValue) {
+      return new InsertionIds(
+          Collections.singletonList(((SortKeyValue) value).getSortKey()));
+    }
+    // attribute values are single values, a range is indexed by its minimum
+    return new InsertionIds(Collections.singletonList(getSortKey(value.getMin())));
+  }
+
+  @Override
+  public NumericDimensionDefinition[] getOrderedDimensionDefinitions() {
+    return new NumericDimensionDefinition[] {definition};
+  }
+
+  @Override
+  public MultiDimensionalNumericData getRangeForId(
+      final byte[] partitionKey,
+      final byte[] sortKey) {
+    // sort keys of different types of attributes can't be told apart
+    return new BasicNumericDataset(new NumericData[] {definition.getFullRange()});
+  }
+
+  @Override
+  public MultiDimensionalCoordinates getCoordinatesPerDimension(
+      final byte[] partitionKey,
+      final byte[] sortKey) {
+    return new MultiDimensionalCoordinates();
+  }
+
+  @Override
+  public MultiDimensionalCoordinateRanges[] getCoordinateRangesPerDimension(
+      final MultiDimensionalNumericData dataRange,
+      final IndexMetaData... hints) {
+    return new MultiDimensionalCoordinateRanges[] {new MultiDimensionalCoordinateRanges()};
+  }
+
+  @Override
+  public double[] getHighestPrecisionIdRangePerDimension() {
+    return new double[] {1d};
+  }
+
+  @Override
+  public String getId() {
+    return StringUtils.intToString(hashCode());
+  }
+
+  @Override
+  public List<IndexMetaData> createMetaData() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int getPartitionKeyLength() {
+    return 0;
+  }
+
+  @Override
+  public byte[][] getInsertionPartitionKeys(final MultiDimensionalNumericData insertionData) {
+    return null;
+  }
+
+  @Override
+  public byte[][] getQueryPartitionKeys(
+      final MultiDimensionalNumericData queryData,
+      final IndexMetaData... hints) {
+    return null;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = (prime * result) + ((definition == null) ? 0 : definition.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final AttributeIndexStrategy other = (AttributeIndexStrategy) obj;
+    if (definition == null) {
+      return other.definition == null;
+    }
+    return definition.equals(other.definition);
+  }
+
+  @Override
+  public byte[] toBinary() {
+    return PersistenceUtils.toBinary(definition);
+  }
+
+  @Override
+  public void fromBinary(final byte[] bytes) {
+    definition = (AttributeDimensionDefinition) PersistenceUtils.fromBinary(bytes);
+  }
+
+  /** The index value of an attribute value, which carries the sort key of the value. */
+  public static class SortKeyValue extends NumericValue {
+    private static final long serialVersionUID = 1L;
+    private final byte[] sortKey;
+
+    public SortKeyValue(final byte[] sortKey) {
+      super(0);
+      this.sortKey = sortKey;
+    }
+
+    public byte[] getSortKey() {
+      return sortKey;
+    }
+  }
+
+  /** The index constraints of a query on the attribute, which carries the attribute constraints. */
+  public static class ConstrainedRange extends NumericRange {
+    private static final long serialVersionUID = 1L;
+    private final FilterableConstraints constraints;
+
+    public ConstrainedRange(final FilterableConstraints constraints) {
+      super(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+      this.constraints = constraints;
+    }
+
+    public FilterableConstraints getConstraints() {
+      return constraints;
+    }
+  }
+}
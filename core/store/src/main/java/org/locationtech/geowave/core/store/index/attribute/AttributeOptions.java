@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.store.spi.DimensionalityTypeOptions;
+import com.beust.jcommander.Parameter;
+
+public class AttributeOptions implements DimensionalityTypeOptions {
+  @Parameter(
+      names = {"--attributeName"},
+      required = true,
+      description = "The name of the attribute to index.  Queries that constrain this attribute by equality, or by a range for numeric and temporal attributes, can seek this index.")
+  protected String attributeName;
+
+  public String getAttributeName() {
+    return attributeName;
+  }
+
+  public void setAttributeName(final String attributeName) {
+    this.attributeName = attributeName;
+  }
+}
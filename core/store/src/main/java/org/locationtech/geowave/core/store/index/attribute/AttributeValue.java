@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.store.dimension.NumericDimensionField;
+import org.locationtech.geowave.core.store.index.CommonIndexValue;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy.ConstrainedRange;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy.SortKeyValue;
+
+/**
+ * The common index value of an attribute index, the sort key of the attribute of a row (see
+ * {@link AttributeIndexStrategy#getSortKey(Object)}).
+ */
+public class AttributeValue implements CommonIndexValue {
+  private final byte[] sortKey;
+  private byte[] visibility;
+
+  public AttributeValue(final byte[] sortKey) {
+    this(sortKey, null);
+  }
+
+  public AttributeValue(final byte[] sortKey, final byte[] visibility) {
+    this.sortKey = sortKey;
+    this.visibility = visibility;
+  }
+
+  public byte[] getSortKey() {
+    return sortKey;
+  }
+
+  public NumericData toNumericData() {
+    return new SortKeyValue(sortKey);
+  }
+
+  @Override
+  public byte[] getVisibility() {
+    return visibility;
+  }
+
+  @Override
+  public void setVisibility(final byte[] visibility) {
+    this.visibility = visibility;
+  }
+
+  @Override
+  public boolean overlaps(final NumericDimensionField[] field, final NumericData[] rangeData) {
+    if (!(rangeData[0] instanceof ConstrainedRange)) {
+      // a plain range can't be compared to a sort key
+      return true;
+    }
+    final ConstrainedRange range = (ConstrainedRange) rangeData[0];
+    return AttributeIndexStrategy.getQueryRanges(range.getConstraints()).getCompositeQueryRanges()
+        .stream().anyMatch(
+            r -> (ByteArrayUtils.compare(sortKey, r.getStart()) >= 0)
+                && (ByteArrayUtils.compare(sortKey, r.getEndAsNextPrefix()) < 0));
+  }
+}
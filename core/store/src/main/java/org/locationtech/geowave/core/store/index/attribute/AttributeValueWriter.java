@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import org.locationtech.geowave.core.store.data.field.FieldWriter;
+
+public class AttributeValueWriter implements FieldWriter<Object, AttributeValue> {
+  public AttributeValueWriter() {}
+
+  @Override
+  public byte[] writeField(final AttributeValue fieldValue) {
+    if (fieldValue == null) {
+      return new byte[] {};
+    }
+    return fieldValue.getSortKey();
+  }
+
+  @Override
+  public byte[] getVisibility(
+      final Object rowValue,
+      final String fieldName,
+      final AttributeValue fieldValue) {
+    return fieldValue.getVisibility();
+  }
+}
@@ -62,6 +62,14 @@ public class NumericQueryConstraint implements FilterableConstraints {
     return upperValue.doubleValue();
   }
 
+  public boolean isInclusiveLow() {
+    return inclusiveLow;
+  }
+
+  public boolean isInclusiveHigh() {
+    return inclusiveHigh;
+  }
+
   @Override
   public QueryFilter getFilter() {
     return new NumberRangeFilter(fieldName, lowerValue, upperValue, inclusiveLow, inclusiveHigh);
@@ -59,6 +59,22 @@ public class TemporalQueryConstraint implements FilterableConstraints {
     return false;
   }
 
+  public Date getStart() {
+    return start;
+  }
+
+  public Date getEnd() {
+    return end;
+  }
+
+  public boolean isInclusiveLow() {
+    return inclusiveLow;
+  }
+
+  public boolean isInclusiveHigh() {
+    return inclusiveHigh;
+  }
+
   @Override
   public QueryFilter getFilter() {
     return new DateRangeFilter(fieldName, start, end, inclusiveLow, inclusiveHigh);
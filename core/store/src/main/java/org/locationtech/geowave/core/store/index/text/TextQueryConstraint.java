@@ -45,6 +45,14 @@ public class TextQueryConstraint implements FilterableConstraints {
     return fieldName;
   }
 
+  public String getMatchValue() {
+    return matchValue;
+  }
+
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
   @Override
   public QueryFilter getFilter() {
     return new TextExactMatchFilter(fieldName, matchValue, caseSensitive);
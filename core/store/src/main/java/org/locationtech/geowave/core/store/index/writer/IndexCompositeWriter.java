@@ -47,25 +47,66 @@ public class IndexCompositeWriter<T> implements Writer<T> {
     return internalWrite(entry, (w -> w.write(entry, fieldVisibilityWriter)));
   }
 
+  @Override
+  public WriteResults[] writeAll(final List<T> entries) {
+    return internalWriteAll(entries, (w -> w.writeAll(entries)));
+  }
+
+  @Override
+  public WriteResults[] writeAll(
+      final List<T> entries,
+      final VisibilityWriter<T> fieldVisibilityWriter) {
+    return internalWriteAll(entries, (w -> w.writeAll(entries, fieldVisibilityWriter)));
+  }
+
   protected WriteResults internalWrite(
       final T entry,
       final Function<Writer<T>, WriteResults> internalWriter) {
     final Map<String, List<SinglePartitionInsertionIds>> insertionIdsPerIndex = new HashMap<>();
     for (final Writer<T> indexWriter : writers) {
-      final WriteResults ids = internalWriter.apply(indexWriter);
-      for (final String indexName : ids.getWrittenIndexNames()) {
-        List<SinglePartitionInsertionIds> partitionInsertionIds =
-            insertionIdsPerIndex.get(indexName);
-        if (partitionInsertionIds == null) {
-          partitionInsertionIds = new ArrayList<>();
-          insertionIdsPerIndex.put(indexName, partitionInsertionIds);
-        }
-        partitionInsertionIds.addAll(ids.getInsertionIdsWritten(indexName).getPartitionKeys());
-      }
+      addWriteResults(internalWriter.apply(indexWriter), insertionIdsPerIndex);
     }
     return new WriteResults(Maps.transformValues(insertionIdsPerIndex, v -> new InsertionIds(v)));
   }
 
+  protected WriteResults[] internalWriteAll(
+      final List<T> entries,
+      final Function<Writer<T>, WriteResults[]> internalWriter) {
+    final List<Map<String, List<SinglePartitionInsertionIds>>> insertionIdsPerEntry =
+        new ArrayList<>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      insertionIdsPerEntry.add(new HashMap<>());
+    }
+    // each index writer is given the whole batch so it can index the entries together
+    for (final Writer<T> indexWriter : writers) {
+      final WriteResults[] results = internalWriter.apply(indexWriter);
+      for (int i = 0; i < results.length; i++) {
+        addWriteResults(results[i], insertionIdsPerEntry.get(i));
+      }
+    }
+    final WriteResults[] retVal = new WriteResults[entries.size()];
+    for (int i = 0; i < retVal.length; i++) {
+      retVal[i] =
+          new WriteResults(
+              Maps.transformValues(insertionIdsPerEntry.get(i), v -> new InsertionIds(v)));
+    }
+    return retVal;
+  }
+
+  private static void addWriteResults(
+      final WriteResults ids,
+      final Map<String, List<SinglePartitionInsertionIds>> insertionIdsPerIndex) {
+    for (final String indexName : ids.getWrittenIndexNames()) {
+      List<SinglePartitionInsertionIds> partitionInsertionIds =
+          insertionIdsPerIndex.get(indexName);
+      if (partitionInsertionIds == null) {
+        partitionInsertionIds = new ArrayList<>();
+        insertionIdsPerIndex.put(indexName, partitionInsertionIds);
+      }
+      partitionInsertionIds.addAll(ids.getInsertionIdsWritten(indexName).getPartitionKeys());
+    }
+  }
+
   @Override
   public Index[] getIndices() {
     final List<Index> ids = new ArrayList<>();
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates the rows of the memory data store from large slabs rather than one buffer per row. Rows
+ * are carved off the current slab by bumping its position and the space of a freed row is never
+ * reused, so a slab is released once every row allocated from it has been freed and it is no
+ * longer the current slab. Rows that are too large to share a slab get a slab of their own.
+ *
+ * <p> The memory usage is the capacity of every slab that has not been released, and the memory
+ * cap is reserved atomically before a slab is allocated so concurrent writers can't exceed it.
+ */
+public class MemoryArena {
+  private static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+  private final boolean offHeap;
+  private final long maxMemoryBytes;
+  private final int slabSize;
+  private final AtomicLong memoryUsage = new AtomicLong(0);
+  private volatile Slab currentSlab = null;
+
+  /**
+   * @param offHeap whether to allocate the slabs off heap
+   * @param maxMemoryBytes the maximum number of bytes the slabs may use, anything <= 0 is unlimited
+   */
+  public MemoryArena(final boolean offHeap, final long maxMemoryBytes) {
+    this(
+        offHeap,
+        maxMemoryBytes,
+        maxMemoryBytes > 0 ? (int) Math.min(DEFAULT_SLAB_SIZE, maxMemoryBytes) : DEFAULT_SLAB_SIZE);
+  }
+
+  protected MemoryArena(final boolean offHeap, final long maxMemoryBytes, final int slabSize) {
+    this.offHeap = offHeap;
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.slabSize = slabSize;
+  }
+
+  /** @return the number of bytes used by the slabs that have not been released */
+  public long getMemoryUsage() {
+    return memoryUsage.get();
+  }
+
+  /**
+   * @param length the number of bytes to allocate
+   * @return the allocation, which must be freed once it is no longer used
+   * @throws IllegalStateException if the allocation would exceed the memory cap
+   */
+  public Allocation allocate(final int length) {
+    if (length > (slabSize / 8)) {
+      // large rows would waste most of a shared slab, so they get a slab of their own
+      final Slab slab = newSlab(length);
+      final Allocation allocation = slab.allocate(length);
+      retire(slab);
+      return allocation;
+    }
+    while (true) {
+      final Slab slab = currentSlab;
+      if (slab != null) {
+        final Allocation allocation = slab.allocate(length);
+        if (allocation != null) {
+          return allocation;
+        }
+      }
+      synchronized (this) {
+        if (currentSlab == slab) {
+          // reserve the new slab before retiring the full one so a failed reservation leaves the
+          // current slab usable by smaller rows
+          final Slab newSlab = newSlab(slabSize);
+          if (slab != null) {
+            retire(slab);
+          }
+          currentSlab = newSlab;
+        }
+      }
+    }
+  }
+
+  private Slab newSlab(final int capacity) {
+    long usage;
+    do {
+      usage = memoryUsage.get();
+      if ((maxMemoryBytes > 0) && ((usage + capacity) > maxMemoryBytes)) {
+        throw new IllegalStateException(
+            "Unable to write row, the memory data store is limited to "
+                + maxMemoryBytes
+                + " bytes");
+      }
+    } while (!memoryUsage.compareAndSet(usage, usage + capacity));
+    return new Slab(
+        offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+  }
+
+  private void retire(final Slab slab) {
+    if (slab.retire()) {
+      memoryUsage.addAndGet(-slab.buffer.capacity());
+    }
+  }
+
+  /** A row allocated from a slab. */
+  public class Allocation {
+    private final Slab slab;
+    private final ByteBuffer buffer;
+
+    private Allocation(final Slab slab, final ByteBuffer buffer) {
+      this.slab = slab;
+      this.buffer = buffer;
+    }
+
+    /**
+     * @return the bytes of the allocation, readers should use absolute gets or a duplicate so they
+     *         don't share a position
+     */
+    public ByteBuffer getBuffer() {
+      return buffer;
+    }
+
+    /** Free the allocation, releasing its slab if it was the last live allocation of the slab. */
+    public void free() {
+      if (slab.free(buffer.capacity())) {
+        memoryUsage.addAndGet(-slab.buffer.capacity());
+      }
+    }
+  }
+
+  private class Slab {
+    private final ByteBuffer buffer;
+    private int position = 0;
+    private int liveBytes = 0;
+    private boolean retired = false;
+
+    private Slab(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private synchronized Allocation allocate(final int length) {
+      if (retired || ((position + length) > buffer.capacity())) {
+        return null;
+      }
+      final ByteBuffer slice = buffer.duplicate();
+      slice.position(position);
+      slice.limit(position + length);
+      position += length;
+      liveBytes += length;
+      return new Allocation(this, slice.slice());
+    }
+
+    /** @return true if the slab has no live allocations and should be released */
+    private synchronized boolean retire() {
+      retired = true;
+      return liveBytes == 0;
+    }
+
+    /** @return true if the slab has been retired and this was its last live allocation */
+    private synchronized boolean free(final int length) {
+      liveBytes -= length;
+      return retired && (liveBytes == 0);
+    }
+  }
+}
@@ -14,14 +14,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.SortedSet;
-import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.log4j.Logger;
 import org.locationtech.geowave.core.index.ByteArray;
@@ -42,10 +42,8 @@ import org.locationtech.geowave.core.store.api.Index;
 import org.locationtech.geowave.core.store.data.DeferredReadCommonIndexedPersistenceEncoding;
 import org.locationtech.geowave.core.store.data.PersistentDataset;
 import org.locationtech.geowave.core.store.data.UnreadFieldDataList;
-import org.locationtech.geowave.core.store.entities.GeoWaveKeyImpl;
 import org.locationtech.geowave.core.store.entities.GeoWaveMetadata;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
-import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
 import org.locationtech.geowave.core.store.entities.GeoWaveValue;
 import org.locationtech.geowave.core.store.flatten.FlattenedUnreadData;
@@ -70,11 +68,11 @@ import com.google.common.primitives.UnsignedBytes;
 
 public class MemoryDataStoreOperations implements DataStoreOperations {
   private static final Logger LOGGER = Logger.getLogger(MemoryDataStoreOperations.class);
-  private final Map<String, SortedSet<MemoryStoreEntry>> storeData =
-      Collections.synchronizedMap(new HashMap<String, SortedSet<MemoryStoreEntry>>());
+  private final Map<String, MemoryIndexTable> storeData = new ConcurrentHashMap<>();
   private final Map<MetadataType, SortedSet<MemoryMetadataEntry>> metadataStore =
-      Collections.synchronizedMap(new HashMap<MetadataType, SortedSet<MemoryMetadataEntry>>());
+      new ConcurrentHashMap<>();
   private final DataStoreOptions options;
+  private final MemoryArena arena;
 
   public MemoryDataStoreOperations() {
     this(new BaseDataStoreOptions() {
@@ -87,7 +85,25 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
   }
 
   public MemoryDataStoreOperations(final DataStoreOptions options) {
+    this(options, false, -1);
+  }
+
+  /**
+   * @param options the data store options
+   * @param offHeap whether to keep the rows in direct buffers outside of the java heap
+   * @param maxMemoryBytes the maximum number of bytes the rows may use, anything <= 0 is unlimited
+   */
+  public MemoryDataStoreOperations(
+      final DataStoreOptions options,
+      final boolean offHeap,
+      final long maxMemoryBytes) {
     this.options = options;
+    arena = new MemoryArena(offHeap, maxMemoryBytes);
+  }
+
+  /** @return the number of bytes allocated for the rows of all indices */
+  public long getMemoryUsage() {
+    return arena.getMemoryUsage();
   }
 
   @Override
@@ -100,6 +116,7 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
 
   @Override
   public void deleteAll() throws Exception {
+    storeData.values().forEach(MemoryIndexTable::clear);
     storeData.clear();
     metadataStore.clear();
   }
@@ -132,91 +149,57 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
     return new MyIndexDeleter(indexName, authorizations);
   }
 
-  protected SortedSet<MemoryStoreEntry> getRowsForIndex(final String id) {
-    SortedSet<MemoryStoreEntry> set = storeData.get(id);
-    if (set == null) {
-      set = Collections.synchronizedSortedSet(new TreeSet<MemoryStoreEntry>());
-      storeData.put(id, set);
-    }
-    return set;
+  protected MemoryIndexTable getRowsForIndex(final String id) {
+    return storeData.computeIfAbsent(id, k -> new MemoryIndexTable(arena));
   }
 
   @Override
   public <T> RowReader<T> createReader(final ReaderParams<T> readerParams) {
-    final SortedSet<MemoryStoreEntry> internalData =
-        storeData.get(readerParams.getIndex().getName());
-    int counter = 0;
-    List<MemoryStoreEntry> retVal = new ArrayList<>();
+    final MemoryIndexTable internalData = storeData.get(readerParams.getIndex().getName());
+    if (internalData == null) {
+      return new MyIndexReader<>(
+          Collections.emptyIterator(),
+          readerParams.getRowTransformer());
+    }
+    Iterator<GeoWaveRow> it;
     final Collection<SinglePartitionQueryRanges> partitionRanges =
         readerParams.getQueryRanges().getPartitionQueryRanges();
     if ((partitionRanges == null) || partitionRanges.isEmpty()) {
-      retVal.addAll(internalData);
-      // remove unauthorized
-      final Iterator<MemoryStoreEntry> it = retVal.iterator();
-      while (it.hasNext()) {
-        if (!isAuthorized(it.next(), readerParams.getAdditionalAuthorizations())) {
-          it.remove();
-        }
-      }
-      if ((readerParams.getLimit() != null)
-          && (readerParams.getLimit() > 0)
-          && (retVal.size() > readerParams.getLimit())) {
-        retVal = retVal.subList(0, readerParams.getLimit());
-      }
+      it = internalData.rows();
     } else {
+      final List<Iterator<GeoWaveRow>> rangeIterators = new ArrayList<>();
       for (final SinglePartitionQueryRanges p : partitionRanges) {
         for (final ByteArrayRange r : p.getSortKeyRanges()) {
-          final SortedSet<MemoryStoreEntry> set;
-          if (r.isSingleValue()) {
-            set =
-                internalData.subSet(
-                    new MemoryStoreEntry(p.getPartitionKey(), r.getStart()),
-                    new MemoryStoreEntry(
-                        p.getPartitionKey(),
-                        ByteArrayUtils.getNextPrefix(r.getStart())));
-          } else {
-            set =
-                internalData.tailSet(
-                    new MemoryStoreEntry(p.getPartitionKey(), r.getStart())).headSet(
-                        new MemoryStoreEntry(p.getPartitionKey(), r.getEndAsNextPrefix()));
-          }
-          // remove unauthorized
-          final Iterator<MemoryStoreEntry> it = set.iterator();
-          while (it.hasNext()) {
-            if (!isAuthorized(it.next(), readerParams.getAdditionalAuthorizations())) {
-              it.remove();
-            }
-          }
-          if ((readerParams.getLimit() != null)
-              && (readerParams.getLimit() > 0)
-              && ((counter + set.size()) > readerParams.getLimit())) {
-            final List<MemoryStoreEntry> subset = new ArrayList<>(set);
-            retVal.addAll(subset.subList(0, readerParams.getLimit() - counter));
-            break;
-          } else {
-            retVal.addAll(set);
-            counter += set.size();
-            if ((readerParams.getLimit() != null)
-                && (readerParams.getLimit() > 0)
-                && (counter >= readerParams.getLimit())) {
-              break;
-            }
-          }
+          final byte[] partitionKey =
+              p.getPartitionKey() == null ? new byte[0] : p.getPartitionKey();
+          final byte[] end =
+              r.isSingleValue() ? ByteArrayUtils.getNextPrefix(r.getStart())
+                  : r.getEndAsNextPrefix();
+          rangeIterators.add(
+              internalData.rows(
+                  ByteArrayUtils.combineArrays(partitionKey, r.getStart()),
+                  ByteArrayUtils.combineArrays(partitionKey, end)));
         }
       }
+      it = Iterators.concat(rangeIterators.iterator());
     }
-    return new MyIndexReader(Iterators.filter(retVal.iterator(), new Predicate<MemoryStoreEntry>() {
+    // remove unauthorized
+    it = Iterators.filter(it, r -> isAuthorized(r, readerParams.getAdditionalAuthorizations()));
+    if ((readerParams.getLimit() != null) && (readerParams.getLimit() > 0)) {
+      it = Iterators.limit(it, readerParams.getLimit());
+    }
+    return new MyIndexReader<>(Iterators.filter(it, new Predicate<GeoWaveRow>() {
       @Override
-      public boolean apply(final MemoryStoreEntry input) {
+      public boolean apply(final GeoWaveRow input) {
         if ((readerParams.getFilter() != null) && options.isServerSideLibraryEnabled()) {
           final PersistentDataset<CommonIndexValue> commonData = new PersistentDataset<>();
           final List<FlattenedUnreadData> unreadData = new ArrayList<>();
           final List<String> commonIndexFieldNames =
               DataStoreUtils.getUniqueDimensionFields(readerParams.getIndex().getIndexModel());
-          for (final GeoWaveValue v : input.getRow().getFieldValues()) {
+          for (final GeoWaveValue v : input.getFieldValues()) {
             unreadData.add(
                 DataStoreUtils.aggregateFieldData(
-                    input.getRow(),
+                    input,
                     v,
                     commonData,
                     readerParams.getIndex().getIndexModel(),
@@ -225,11 +208,11 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
           return readerParams.getFilter().accept(
               readerParams.getIndex().getIndexModel(),
               new DeferredReadCommonIndexedPersistenceEncoding(
-                  input.getRow().getAdapterId(),
-                  input.getRow().getDataId(),
-                  input.getRow().getPartitionKey(),
-                  input.getRow().getSortKey(),
-                  input.getRow().getNumberOfDuplicates(),
+                  input.getAdapterId(),
+                  input.getDataId(),
+                  input.getPartitionKey(),
+                  input.getSortKey(),
+                  input.getNumberOfDuplicates(),
                   commonData,
                   unreadData.isEmpty() ? null : new UnreadFieldDataList(unreadData)));
         }
@@ -238,8 +221,8 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
     }), readerParams.getRowTransformer());
   }
 
-  private boolean isAuthorized(final MemoryStoreEntry row, final String... authorizations) {
-    for (final GeoWaveValue value : row.getRow().getFieldValues()) {
+  private boolean isAuthorized(final GeoWaveRow row, final String... authorizations) {
+    for (final GeoWaveValue value : row.getFieldValues()) {
       if (!MemoryStoreUtils.isAuthorized(value.getVisibility(), authorizations)) {
         return false;
       }
@@ -251,10 +234,10 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
     private final Iterator<T> it;
 
     public MyIndexReader(
-        final Iterator<MemoryStoreEntry> it,
+        final Iterator<GeoWaveRow> it,
         final GeoWaveRowIteratorTransformer<T> rowTransformer) {
       super();
-      this.it = rowTransformer.apply(Iterators.transform(it, e -> e.row));
+      this.it = rowTransformer.apply(it);
     }
 
     @Override
@@ -300,17 +283,7 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
 
     @Override
     public void write(final GeoWaveRow row) {
-      SortedSet<MemoryStoreEntry> rowTreeSet = storeData.get(indexName);
-      if (rowTreeSet == null) {
-        rowTreeSet = new TreeSet<>();
-        storeData.put(indexName, rowTreeSet);
-      }
-      if (rowTreeSet.contains(new MemoryStoreEntry(row))) {
-        rowTreeSet.remove(new MemoryStoreEntry(row));
-      }
-      if (!rowTreeSet.add(new MemoryStoreEntry(row))) {
-        LOGGER.warn("Unable to add new entry");
-      }
+      getRowsForIndex(indexName).write(row);
     }
   }
 
@@ -328,11 +301,10 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
 
     @Override
     public void delete(final GeoWaveRow row) {
-      final MemoryStoreEntry entry = new MemoryStoreEntry(row);
-      if (isAuthorized(entry, authorizations)) {
-        final SortedSet<MemoryStoreEntry> rowTreeSet = storeData.get(indexName);
-        if (rowTreeSet != null) {
-          if (!rowTreeSet.remove(entry)) {
+      if (isAuthorized(row, authorizations)) {
+        final MemoryIndexTable table = storeData.get(indexName);
+        if (table != null) {
+          if (!table.delete(row)) {
             LOGGER.warn("Unable to remove entry");
           }
         }
@@ -345,88 +317,6 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
     }
   }
 
-  public static class MemoryStoreEntry implements Comparable<MemoryStoreEntry> {
-    private final GeoWaveRow row;
-
-    public MemoryStoreEntry(final byte[] comparisonPartitionKey, final byte[] comparisonSortKey) {
-      row =
-          new GeoWaveRowImpl(
-              new GeoWaveKeyImpl(
-                  new byte[] {0},
-                  (short) 0, // new byte[] {},
-                  comparisonPartitionKey,
-                  comparisonSortKey,
-                  0),
-              null);
-    }
-
-    public MemoryStoreEntry(final GeoWaveRow row) {
-      this.row = row;
-    }
-
-    public GeoWaveRow getRow() {
-      return row;
-    }
-
-    public byte[] getCompositeInsertionId() {
-      return ((GeoWaveKeyImpl) ((GeoWaveRowImpl) row).getKey()).getCompositeInsertionId();
-    }
-
-    @Override
-    public int compareTo(final MemoryStoreEntry other) {
-      final int indexIdCompare =
-          UnsignedBytes.lexicographicalComparator().compare(
-              getCompositeInsertionId(),
-              other.getCompositeInsertionId());
-      if (indexIdCompare != 0) {
-        return indexIdCompare;
-      }
-      final int dataIdCompare =
-          UnsignedBytes.lexicographicalComparator().compare(
-              row.getDataId(),
-              other.getRow().getDataId());
-      if (dataIdCompare != 0) {
-        return dataIdCompare;
-      }
-      final int adapterIdCompare =
-          UnsignedBytes.lexicographicalComparator().compare(
-              ByteArrayUtils.shortToByteArray(row.getAdapterId()),
-              ByteArrayUtils.shortToByteArray(other.getRow().getAdapterId()));
-      if (adapterIdCompare != 0) {
-        return adapterIdCompare;
-      }
-      return 0;
-    }
-
-    @Override
-    public int hashCode() {
-      final int prime = 31;
-      int result = 1;
-      result = (prime * result) + ((row == null) ? 0 : row.hashCode());
-      return result;
-    }
-
-    @Override
-    public boolean equals(final Object obj) {
-      if (this == obj) {
-        return true;
-      }
-      if (obj == null) {
-        return false;
-      }
-      if (getClass() != obj.getClass()) {
-        return false;
-      }
-      final MemoryStoreEntry other = (MemoryStoreEntry) obj;
-      if (row == null) {
-        if (other.row != null) {
-          return false;
-        }
-      }
-      return compareTo(other) == 0;
-    }
-  }
-
   @Override
   public MetadataWriter createMetadataWriter(final MetadataType metadataType) {
     return new MyMetadataWriter<>(metadataType);
@@ -601,14 +491,8 @@ public class MemoryDataStoreOperations implements DataStoreOperations {
 
     @Override
     public void write(final GeoWaveMetadata metadata) {
-      SortedSet<MemoryMetadataEntry> typeStore = metadataStore.get(type);
-      if (typeStore == null) {
-        typeStore = new TreeSet<>();
-        metadataStore.put(type, typeStore);
-      }
-      if (typeStore.contains(new MemoryMetadataEntry(metadata))) {
-        typeStore.remove(new MemoryMetadataEntry(metadata));
-      }
+      final SortedSet<MemoryMetadataEntry> typeStore =
+          metadataStore.computeIfAbsent(type, k -> new ConcurrentSkipListSet<>());
       if (!typeStore.add(new MemoryMetadataEntry(metadata))) {
         LOGGER.warn("Unable to add new metadata");
       }
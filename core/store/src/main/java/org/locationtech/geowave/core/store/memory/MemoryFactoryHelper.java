@@ -35,7 +35,16 @@ public class MemoryFactoryHelper implements StoreFactoryHelper {
     synchronized (OPERATIONS_CACHE) {
       DataStoreOperations operations = OPERATIONS_CACHE.get(options.getGeoWaveNamespace());
       if (operations == null) {
-        operations = new MemoryDataStoreOperations(options.getStoreOptions());
+        if (options instanceof MemoryRequiredOptions) {
+          final MemoryRequiredOptions memoryOptions = (MemoryRequiredOptions) options;
+          operations =
+              new MemoryDataStoreOperations(
+                  options.getStoreOptions(),
+                  memoryOptions.isOffHeap(),
+                  memoryOptions.getMaxMemoryMB() * 1024L * 1024L);
+        } else {
+          operations = new MemoryDataStoreOperations(options.getStoreOptions());
+        }
         OPERATIONS_CACHE.put(options.getGeoWaveNamespace(), operations);
       }
       return operations;
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.locationtech.geowave.core.store.entities.GeoWaveKey;
+import org.locationtech.geowave.core.store.entities.GeoWaveKeyImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+import org.locationtech.geowave.core.store.entities.GeoWaveValueImpl;
+import org.locationtech.geowave.core.store.memory.MemoryArena.Allocation;
+import com.google.common.collect.Iterators;
+
+/**
+ * The rows of a single index in the memory data store. The values of rows are serialized into slabs
+ * of a {@link MemoryArena}, which are optionally allocated off heap, and kept in a concurrent skip
+ * list ordered by their keys. The keys are kept on heap, a key that referenced a slab would keep the
+ * whole slab reachable after its rows are freed. Range reads iterate over a weakly consistent view of the skip list so they
+ * never block writers or other readers.
+ *
+ * <p> The key of a row is its composite insertion ID without the number of duplicates, so a row
+ * that is written again with a different number of duplicates replaces the row rather than being
+ * stored alongside it.
+ */
+public class MemoryIndexTable {
+  private static final Comparator<ByteBuffer> KEY_COMPARATOR = MemoryIndexTable::compareKeys;
+  private final ConcurrentSkipListMap<ByteBuffer, Allocation> rows =
+      new ConcurrentSkipListMap<>(KEY_COMPARATOR);
+  private final MemoryArena arena;
+
+  /** @param arena the arena the rows are allocated from, shared by all tables of a store */
+  public MemoryIndexTable(final MemoryArena arena) {
+    this.arena = arena;
+  }
+
+  /**
+   * @param row the row to write
+   * @throws IllegalStateException if the row would exceed the memory cap of the store
+   */
+  public void write(final GeoWaveRow row) {
+    final Allocation allocation = arena.allocate(valueLength(row));
+    writeValue(row, allocation.getBuffer().duplicate());
+    // the skip list keeps the existing key when a row is replaced, which is fine as it is on heap
+    final Allocation previous = rows.put(ByteBuffer.wrap(getKey(row)), allocation);
+    if (previous != null) {
+      previous.free();
+    }
+  }
+
+  /**
+   * @param row the row to delete
+   * @return true if the row was found and deleted
+   */
+  public boolean delete(final GeoWaveRow row) {
+    final Allocation previous = rows.remove(ByteBuffer.wrap(getKey(row)));
+    if (previous != null) {
+      previous.free();
+      return true;
+    }
+    return false;
+  }
+
+  public void clear() {
+    for (final ByteBuffer key : rows.keySet()) {
+      final Allocation previous = rows.remove(key);
+      if (previous != null) {
+        previous.free();
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return rows.isEmpty();
+  }
+
+  /** @return all of the rows of this table in sort order */
+  public Iterator<GeoWaveRow> rows() {
+    return Iterators.transform(rows.entrySet().iterator(), MemoryIndexTable::readRow);
+  }
+
+  /**
+   * @param start the inclusive start of the composite insertion IDs to read
+   * @param end the exclusive end of the composite insertion IDs to read
+   * @return the rows within the range in sort order
+   */
+  public Iterator<GeoWaveRow> rows(final byte[] start, final byte[] end) {
+    return Iterators.transform(
+        rows.subMap(
+            ByteBuffer.wrap(start),
+            true,
+            ByteBuffer.wrap(end),
+            false).entrySet().iterator(),
+        MemoryIndexTable::readRow);
+  }
+
+  private static byte[] getKey(final GeoWaveRow row) {
+    if ((row.getPartitionKey() == null) && (row.getSortKey() == null)) {
+      return row.getDataId();
+    }
+    return GeoWaveKey.getCompositeId(
+        new GeoWaveKeyImpl(
+            row.getDataId(),
+            row.getAdapterId(),
+            row.getPartitionKey(),
+            row.getSortKey(),
+            0));
+  }
+
+  private static int compareKeys(final ByteBuffer key1, final ByteBuffer key2) {
+    // absolute gets leave the buffer positions untouched so concurrent readers can share keys
+    final int length1 = key1.limit();
+    final int length2 = key2.limit();
+    final int length = Math.min(length1, length2);
+    for (int i = 0; i < length; i++) {
+      final int a = key1.get(i) & 0xFF;
+      final int b = key2.get(i) & 0xFF;
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return length1 - length2;
+  }
+
+  private static int arrayLength(final byte[] array) {
+    return 4 + (array == null ? 0 : array.length);
+  }
+
+  private static void writeArray(final byte[] array, final ByteBuffer buf) {
+    if (array == null) {
+      buf.putInt(-1);
+    } else {
+      buf.putInt(array.length);
+      buf.put(array);
+    }
+  }
+
+  private static byte[] readArray(final ByteBuffer buf) {
+    final int length = buf.getInt();
+    if (length < 0) {
+      return null;
+    }
+    final byte[] array = new byte[length];
+    buf.get(array);
+    return array;
+  }
+
+  private static int valueLength(final GeoWaveRow row) {
+    int length =
+        2
+            + 4
+            + arrayLength(row.getDataId())
+            + arrayLength(row.getPartitionKey())
+            + arrayLength(row.getSortKey())
+            + 4;
+    for (final GeoWaveValue v : row.getFieldValues()) {
+      length +=
+          arrayLength(v.getFieldMask())
+              + arrayLength(v.getVisibility())
+              + arrayLength(v.getValue());
+    }
+    return length;
+  }
+
+  private static void writeValue(final GeoWaveRow row, final ByteBuffer buf) {
+    buf.putShort(row.getAdapterId());
+    buf.putInt(row.getNumberOfDuplicates());
+    writeArray(row.getDataId(), buf);
+    writeArray(row.getPartitionKey(), buf);
+    writeArray(row.getSortKey(), buf);
+    buf.putInt(row.getFieldValues().length);
+    for (final GeoWaveValue v : row.getFieldValues()) {
+      writeArray(v.getFieldMask(), buf);
+      writeArray(v.getVisibility(), buf);
+      writeArray(v.getValue(), buf);
+    }
+  }
+
+  private static GeoWaveRow readRow(final Entry<ByteBuffer, Allocation> row) {
+    // read from a duplicate so concurrent readers do not share a position
+    final ByteBuffer buf = row.getValue().getBuffer().duplicate();
+    final short adapterId = buf.getShort();
+    final int numberOfDuplicates = buf.getInt();
+    final byte[] dataId = readArray(buf);
+    final byte[] partitionKey = readArray(buf);
+    final byte[] sortKey = readArray(buf);
+    final GeoWaveValue[] values = new GeoWaveValue[buf.getInt()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = new GeoWaveValueImpl(readArray(buf), readArray(buf), readArray(buf));
+    }
+    return new GeoWaveRowImpl(
+        new GeoWaveKeyImpl(dataId, adapterId, partitionKey, sortKey, numberOfDuplicates),
+        values);
+  }
+}
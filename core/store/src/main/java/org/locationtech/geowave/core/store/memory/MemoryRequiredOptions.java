@@ -12,9 +12,20 @@ import org.locationtech.geowave.core.store.BaseDataStoreOptions;
 import org.locationtech.geowave.core.store.DataStoreOptions;
 import org.locationtech.geowave.core.store.StoreFactoryFamilySpi;
 import org.locationtech.geowave.core.store.StoreFactoryOptions;
+import com.beust.jcommander.Parameter;
 
-/** No additional options for memory. */
+/** Options for the memory data store. */
 public class MemoryRequiredOptions extends StoreFactoryOptions {
+  @Parameter(
+      names = "--offHeap",
+      description = "Whether to keep the rows in direct buffers outside of the java heap. Defaults to false.")
+  private boolean offHeap = false;
+
+  @Parameter(
+      names = "--maxMemoryMB",
+      description = "The maximum size (in MB) of the rows of all indices. Anything <= 0 is unlimited. Defaults to -1.")
+  private long maxMemoryMB = -1;
+
   private final DataStoreOptions options = new BaseDataStoreOptions() {
 
     @Override
@@ -33,4 +44,20 @@ public class MemoryRequiredOptions extends StoreFactoryOptions {
   public DataStoreOptions getStoreOptions() {
     return options;
   }
+
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  public void setOffHeap(final boolean offHeap) {
+    this.offHeap = offHeap;
+  }
+
+  public long getMaxMemoryMB() {
+    return maxMemoryMB;
+  }
+
+  public void setMaxMemoryMB(final long maxMemoryMB) {
+    this.maxMemoryMB = maxMemoryMB;
+  }
 }
@@ -10,38 +10,60 @@ package org.locationtech.geowave.core.store.operations;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import org.locationtech.geowave.core.store.CloseableIterator;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An abstract class that offers data stores a way to scan and decode rows in parallel. It is up to
  * the data store implementation to provide implementations of {@link ParallelDecoder.RowProvider}
  * to be used for providing rows from the underlying database.
  *
+ * <p> Decoding runs on a thread pool that is shared by all decoders in the JVM. Each decoder uses
+ * at most its configured number of threads from that pool. Decoded rows are handed to the consumer
+ * in chunks through a bounded buffer. A decode task never blocks a pool thread on a full buffer,
+ * it suspends instead and is resubmitted once the consumer has drained half of the buffer, so a
+ * slow consumer only holds back its own decoder. The size of the shared pool can be set with the
+ * {@value #MAX_THREADS_PROPERTY} system property.
+ *
  * <p> Note: The row transformer passed in MUST be thread-safe, as decoding happens in parallel.
  *
  * @param <T> the type of the decoded rows
  */
 public abstract class ParallelDecoder<T> implements CloseableIterator<T> {
-  private BlockingQueue<Object> results;
-  private ExecutorService threadPool;
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelDecoder.class);
+  public static final String MAX_THREADS_PROPERTY = "geowave.decoder.maxThreads";
+  private static final int DEFAULT_NUM_THREADS = 8;
+  private static final int RESULT_BUFFER_SIZE = 10000;
+  private static final int RESULT_CHUNK_SIZE = 256;
+  private static final ExecutorService DECODE_THREAD_POOL = createDecodeThreadPool();
+
   private final GeoWaveRowIteratorTransformer<T> rowTransformer;
-  private static int RESULT_BUFFER_SIZE = 10000;
-  private int remainingTasks = 0;
   private final int numThreads;
-  private static Object TASK_END_MARKER = new Object();
+  private final ResultBuffer results = new ResultBuffer(RESULT_BUFFER_SIZE, this::submitDecodeTask);
+  private final Queue<RowProvider> pendingRowProviders = new ConcurrentLinkedQueue<>();
+  private final List<DecodeSubmission> decodeTasks = new ArrayList<>();
 
-  private Exception exception = null;
+  private Iterator<Object> currentChunk = null;
 
   /**
    * Create a parallel decoder with the given row transformer.
@@ -49,33 +71,47 @@ public abstract class ParallelDecoder<T> implements CloseableIterator<T> {
    * @param rowTransformer the thread-safe row transformer to use for decoding rows
    */
   public ParallelDecoder(final GeoWaveRowIteratorTransformer<T> rowTransformer) {
-    this(rowTransformer, 8);
+    this(rowTransformer, DEFAULT_NUM_THREADS);
   }
 
   /**
    * Create a parallel decoder with the given row transformer and number of threads.
    *
    * @param rowTransformer the thread-safe row transformer to use for decoding rows
-   * @param numThreads the number of threads to allow in the thread pool
+   * @param numThreads the maximum number of threads of the shared decode pool to use for this
+   *        decoder
    */
   public ParallelDecoder(
       final GeoWaveRowIteratorTransformer<T> rowTransformer,
       final int numThreads) {
     this.numThreads = numThreads;
     this.rowTransformer = rowTransformer;
-    this.threadPool =
+  }
+
+  private static ExecutorService createDecodeThreadPool() {
+    final int maxThreads =
+        Integer.getInteger(
+            MAX_THREADS_PROPERTY,
+            Math.max(DEFAULT_NUM_THREADS * 2, Runtime.getRuntime().availableProcessors() * 4));
+    final AtomicInteger threadCount = new AtomicInteger(0);
+    final ThreadFactory threadFactory = r -> {
+      final Thread thread = new Thread(r, "geowave-decoder-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    final ThreadPoolExecutor threadPool =
         new ThreadPoolExecutor(
-            numThreads,
-            numThreads,
+            maxThreads,
+            maxThreads,
             60,
             TimeUnit.SECONDS,
             new LinkedBlockingQueue<Runnable>(),
-            Executors.defaultThreadFactory());
-    ((ThreadPoolExecutor) this.threadPool).allowCoreThreadTimeOut(true);
-    results = new ArrayBlockingQueue<>(RESULT_BUFFER_SIZE);
+            threadFactory);
+    threadPool.allowCoreThreadTimeOut(true);
+    return threadPool;
   }
 
-  /** @return the number of threads allowed in the thread pool */
+  /** @return the maximum number of threads this decoder will use */
   protected int getNumThreads() {
     return numThreads;
   }
@@ -86,21 +122,13 @@ public abstract class ParallelDecoder<T> implements CloseableIterator<T> {
    */
   protected abstract List<RowProvider> getRowProviders() throws Exception;
 
-  private synchronized void setDecodeException(final Exception e) {
-    if (exception == null) {
-      this.exception = e;
-      this.threadPool.shutdownNow();
+  private void setDecodeException(final Exception e) {
+    if (results.setException(e)) {
+      cancelDecodeTasks();
+      closeSuspendedDecodeTasks();
     }
   }
 
-  private synchronized boolean hasException() {
-    return this.exception != null;
-  }
-
-  private synchronized Exception getException() {
-    return this.exception;
-  }
-
   /**
    * Start the parallel decode.
    *
@@ -108,92 +136,206 @@ public abstract class ParallelDecoder<T> implements CloseableIterator<T> {
    */
   public void startDecode() throws Exception {
     final List<RowProvider> rowProviders = getRowProviders();
-    remainingTasks = rowProviders.size();
-    for (final RowProvider rowProvider : rowProviders) {
-      threadPool.submit(new DecodeTask<>(rowProvider, this));
+    pendingRowProviders.addAll(rowProviders);
+    final int numTasks = Math.min(numThreads, rowProviders.size());
+    results.setRemainingTasks(numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      submitDecodeTask(new DecodeTask<>(this));
+    }
+  }
+
+  private void submitDecodeTask(final DecodeTask<?> task) {
+    synchronized (decodeTasks) {
+      // suspended tasks are resubmitted, so only queued or running submissions are kept
+      decodeTasks.removeIf(s -> s.future.isDone());
+      final DecodeSubmission submission = new DecodeSubmission(task);
+      submission.future = DECODE_THREAD_POOL.submit(submission);
+      decodeTasks.add(submission);
+    }
+  }
+
+  private void closeSuspendedDecodeTasks() {
+    for (final DecodeTask<?> task : results.removeSuspendedTasks()) {
+      task.closeRowProvider();
+    }
+  }
+
+  private void cancelDecodeTasks() {
+    synchronized (decodeTasks) {
+      for (final DecodeSubmission submission : decodeTasks) {
+        submission.future.cancel(true);
+        // a task that was cancelled while it was still queued never runs, so its row provider has
+        // to be closed here
+        if (submission.started.compareAndSet(false, true)) {
+          submission.task.closeRowProvider();
+        }
+      }
+      decodeTasks.clear();
+    }
+  }
+
+  /**
+   * A single submission of a decode task to the pool. A suspended task is submitted again when it
+   * is resumed, so whether the task has started is tracked per submission.
+   */
+  private static class DecodeSubmission implements Runnable {
+    private final DecodeTask<?> task;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private Future<?> future;
+
+    public DecodeSubmission(final DecodeTask<?> task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      // the task is claimed by whichever of the pool and the canceller gets to it first
+      if (started.compareAndSet(false, true)) {
+        task.run();
+      }
     }
   }
 
   /**
-   * Task to decode the rows from a single row provider.
+   * Task to decode rows, each task takes row providers off the pending queue until there are none
+   * left so that a decoder never uses more than its configured number of threads. When the result
+   * buffer is full the task keeps its progress and returns its thread to the pool, the buffer
+   * resubmits it once there is room again.
    *
    * @param <T> the type of the decoded rows
    */
   private static class DecodeTask<T> implements Runnable {
-
-    private final RowProvider rowProvider;
     private final ParallelDecoder<T> parent;
+    private RowProvider rowProvider = null;
+    private Iterator<T> transformed = null;
+    private List<Object> chunk = new ArrayList<>(RESULT_CHUNK_SIZE);
+    private boolean handOffPending = false;
 
-    public DecodeTask(final RowProvider rowProvider, final ParallelDecoder<T> parent) {
-      this.rowProvider = rowProvider;
+    public DecodeTask(final ParallelDecoder<T> parent) {
       this.parent = parent;
     }
 
-    private boolean shouldTerminate() {
-      return Thread.currentThread().isInterrupted();
-    }
-
-    private void offerResult(final Object result) throws InterruptedException {
-      while (!shouldTerminate() && !parent.results.offer(result)) {
-        // Results buffer is full, wait until there is some space
-        Thread.sleep(1);
-      }
-    }
-
     @Override
     public void run() {
       try {
-        rowProvider.init();
-        final Iterator<T> transformed = parent.rowTransformer.apply(rowProvider);
-        while (transformed.hasNext() && !shouldTerminate()) {
-          offerResult(transformed.next());
+        if (handOffPending && !handOff()) {
+          return;
         }
-        // No more rows, signal the end of this task.
-        offerResult(TASK_END_MARKER);
-      } catch (final Exception e) {
-        // Don't overwrite the original exception if there is one
-        if (!parent.hasException()) {
+        while (!parent.results.isStopped()) {
+          if (rowProvider == null) {
+            rowProvider = parent.pendingRowProviders.poll();
+            if (rowProvider == null) {
+              break;
+            }
+            rowProvider.init();
+            transformed = parent.rowTransformer.apply(rowProvider);
+          }
+          if (!decode()) {
+            // suspended until the consumer makes room in the buffer
+            return;
+          }
+          closeRowProvider();
+        }
+      } catch (final InterruptedException e) {
+        // the decoder was closed or another task failed
+        if (!parent.results.isClosed()) {
           parent.setDecodeException(e);
         }
-      } finally {
+      } catch (final Exception e) {
+        parent.setDecodeException(e);
+      }
+      closeRowProvider();
+      parent.results.taskFinished();
+    }
+
+    /** @return {@code false} if the task was suspended because the buffer is full */
+    private boolean decode() throws InterruptedException {
+      while (!parent.results.isStopped() && transformed.hasNext()) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedException();
+        }
+        chunk.add(transformed.next());
+        // hand off a full chunk, or a partial one if the consumer is waiting for results
+        if (((chunk.size() >= RESULT_CHUNK_SIZE) || parent.results.isConsumerWaiting())
+            && !handOff()) {
+          return false;
+        }
+      }
+      return chunk.isEmpty() || handOff();
+    }
+
+    /** @return {@code false} if the task was suspended because the buffer is full */
+    private boolean handOff() {
+      // a suspended task may be resumed on another thread before this one returns, so the state it
+      // resumes from is set before the chunk is offered
+      handOffPending = true;
+      switch (parent.results.offer(chunk, this)) {
+        case SUSPENDED:
+          return false;
+        case ADDED:
+          chunk = new ArrayList<>(RESULT_CHUNK_SIZE);
+          break;
+        default:
+          // the decoder was closed or failed, the task stops at its next check
+          chunk.clear();
+          break;
+      }
+      handOffPending = false;
+      return true;
+    }
+
+    private void closeRowProvider() {
+      if (rowProvider != null) {
         try {
           rowProvider.close();
         } catch (final IOException e) {
-          // Ignore
+          LOGGER.warn("Unable to close row provider", e);
         }
+        rowProvider = null;
+        transformed = null;
       }
     }
   }
 
   @Override
   public void close() {
-    threadPool.shutdownNow();
+    results.close();
+    cancelDecodeTasks();
+    closeSuspendedDecodeTasks();
+    // row providers that were never started still need to release their resources
+    RowProvider rowProvider;
+    while ((rowProvider = pendingRowProviders.poll()) != null) {
+      try {
+        rowProvider.close();
+      } catch (final IOException e) {
+        LOGGER.warn("Unable to close row provider", e);
+      }
+    }
   }
 
   Object nextResult = null;
 
   private void computeNext() {
-    try {
-      nextResult = null;
-      while (remainingTasks > 0) {
-        while (!hasException() && ((nextResult = results.poll()) == null)) {
-          // No results available, but there are still tasks running,
-          // wait for more results.
-          Thread.sleep(1);
-        }
-        // task end was signaled, reduce remaining task count.
-        if (nextResult == TASK_END_MARKER) {
-          remainingTasks--;
-          nextResult = null;
-          continue;
+    nextResult = null;
+    while ((currentChunk == null) || !currentChunk.hasNext()) {
+      try {
+        final List<Object> chunk = results.take();
+        if (chunk == null) {
+          currentChunk = null;
+          break;
         }
+        currentChunk = chunk.iterator();
+      } catch (final InterruptedException e) {
+        setDecodeException(e);
         break;
       }
-    } catch (final InterruptedException e) {
-      setDecodeException(e);
     }
-    if (hasException()) {
-      throw new RuntimeException(getException());
+    final Exception exception = results.getException();
+    if (exception != null) {
+      throw new RuntimeException(exception);
+    }
+    if ((currentChunk != null) && currentChunk.hasNext()) {
+      nextResult = currentChunk.next();
     }
   }
 
@@ -216,9 +358,181 @@ public abstract class ParallelDecoder<T> implements CloseableIterator<T> {
     return (T) next;
   }
 
+  private static enum OfferResult {
+    ADDED, SUSPENDED, REJECTED
+  }
+
+  /**
+   * Bounded buffer of decoded result chunks. Producers are suspended while the buffer holds more
+   * than the maximum number of results and are resumed once the consumer has drained half of it.
+   * The consumer blocks while the buffer is empty and tasks are still running.
+   */
+  private static class ResultBuffer {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<List<Object>> chunks = new ArrayDeque<>();
+    private final List<DecodeTask<?>> suspendedTasks = new ArrayList<>();
+    private final Consumer<DecodeTask<?>> resumeTask;
+    private final int maxBufferedResults;
+    private int bufferedResults = 0;
+    private int remainingTasks = 0;
+    private volatile boolean closed = false;
+    private volatile Exception exception = null;
+    private volatile boolean consumerWaiting = false;
+
+    public ResultBuffer(
+        final int maxBufferedResults,
+        final Consumer<DecodeTask<?>> resumeTask) {
+      this.maxBufferedResults = maxBufferedResults;
+      this.resumeTask = resumeTask;
+    }
+
+    public void setRemainingTasks(final int remainingTasks) {
+      lock.lock();
+      try {
+        this.remainingTasks = remainingTasks;
+        notEmpty.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public boolean isConsumerWaiting() {
+      return consumerWaiting;
+    }
+
+    /**
+     * Add a chunk to the buffer without blocking. If the buffer is full the task is suspended and
+     * is resubmitted once the consumer has made room, the task must not be touched by the calling
+     * thread after it has been suspended.
+     */
+    public OfferResult offer(final List<Object> chunk, final DecodeTask<?> task) {
+      lock.lock();
+      try {
+        if (closed || (exception != null)) {
+          return OfferResult.REJECTED;
+        }
+        if (bufferedResults >= maxBufferedResults) {
+          suspendedTasks.add(task);
+          return OfferResult.SUSPENDED;
+        }
+        chunks.add(chunk);
+        bufferedResults += chunk.size();
+        notEmpty.signal();
+        return OfferResult.ADDED;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** @return the suspended tasks, which will no longer be resumed */
+    public List<DecodeTask<?>> removeSuspendedTasks() {
+      lock.lock();
+      try {
+        final List<DecodeTask<?>> tasks = new ArrayList<>(suspendedTasks);
+        suspendedTasks.clear();
+        return tasks;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return the next chunk of results, or null if all tasks have finished, the buffer was closed
+     *         or a task failed
+     */
+    public List<Object> take() throws InterruptedException {
+      List<DecodeTask<?>> resumedTasks = null;
+      lock.lockInterruptibly();
+      try {
+        while (chunks.isEmpty() && !closed && (exception == null) && (remainingTasks > 0)) {
+          consumerWaiting = true;
+          try {
+            notEmpty.await();
+          } finally {
+            consumerWaiting = false;
+          }
+        }
+        if (closed || (exception != null)) {
+          return null;
+        }
+        final List<Object> chunk = chunks.poll();
+        if (chunk != null) {
+          bufferedResults -= chunk.size();
+          if (!suspendedTasks.isEmpty() && (bufferedResults <= (maxBufferedResults / 2))) {
+            resumedTasks = new ArrayList<>(suspendedTasks);
+            suspendedTasks.clear();
+          }
+        }
+        return chunk;
+      } finally {
+        lock.unlock();
+        if (resumedTasks != null) {
+          resumedTasks.forEach(resumeTask);
+        }
+      }
+    }
+
+    public void taskFinished() {
+      lock.lock();
+      try {
+        remainingTasks--;
+        notEmpty.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** @return true if this is the first exception to be set */
+    public boolean setException(final Exception e) {
+      lock.lock();
+      try {
+        if ((exception != null) || closed) {
+          return false;
+        }
+        exception = e;
+        notEmpty.signalAll();
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public Exception getException() {
+      lock.lock();
+      try {
+        return exception;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public boolean isClosed() {
+      return closed;
+    }
+
+    /** @return true if the buffer has been closed or a task has failed */
+    public boolean isStopped() {
+      return closed || (exception != null);
+    }
+
+    public void close() {
+      lock.lock();
+      try {
+        closed = true;
+        chunks.clear();
+        bufferedResults = 0;
+        notEmpty.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
   /**
    * Row provider used by the parallel decoder to get {@link GeoWaveRow}s from the underlying
-   * database.
+   * database. A row provider that was never initialized may still be closed if the decoder is
+   * closed before the provider was started.
    */
   public abstract static class RowProvider implements Closeable, Iterator<GeoWaveRow> {
     public abstract void init();
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.operations;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
+
+/**
+ * An implementation of {@link ParallelDecoder} that reads several scans in parallel. Each scan is
+ * opened lazily on a decode thread so no more scans are open at once than there are threads working
+ * on the query. The row transformer is applied to each scan separately.
+ *
+ * @param <T> the type of the decoded rows
+ */
+public class ScanParallelDecoder<T> extends ParallelDecoder<T> {
+  private final List<Supplier<CloseableIterator<GeoWaveRow>>> scans;
+
+  public ScanParallelDecoder(
+      final GeoWaveRowIteratorTransformer<T> rowTransformer,
+      final List<Supplier<CloseableIterator<GeoWaveRow>>> scans,
+      final int numThreads) {
+    super(rowTransformer, numThreads);
+    this.scans = scans;
+  }
+
+  @Override
+  protected List<RowProvider> getRowProviders() throws Exception {
+    return scans.stream().map(ScanRowProvider::new).collect(Collectors.toList());
+  }
+
+  private static class ScanRowProvider extends RowProvider {
+    private final Supplier<CloseableIterator<GeoWaveRow>> scan;
+    private CloseableIterator<GeoWaveRow> iterator = null;
+
+    public ScanRowProvider(final Supplier<CloseableIterator<GeoWaveRow>> scan) {
+      this.scan = scan;
+    }
+
+    @Override
+    public void init() {
+      iterator = scan.get();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return (iterator != null) && iterator.hasNext();
+    }
+
+    @Override
+    public GeoWaveRow next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (iterator != null) {
+        iterator.close();
+        iterator = null;
+      }
+    }
+  }
+}
@@ -23,9 +23,9 @@ import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransforme
  * @param <T> the type of the decoded rows
  */
 public class SimpleParallelDecoder<T> extends ParallelDecoder<T> {
-  private ArrayBlockingQueue<GeoWaveRow> consumedRows;
-  private Thread consumerThread;
-  private volatile boolean isTerminating = false;
+  private static final Object END_OF_ROWS = new Object();
+  private final ArrayBlockingQueue<Object> consumedRows;
+  private final Thread consumerThread;
   private static final int CONSUMED_ROW_BUFFER_SIZE = 10000;
 
   public SimpleParallelDecoder(
@@ -36,19 +36,33 @@ public class SimpleParallelDecoder<T> extends ParallelDecoder<T> {
     consumerThread = new Thread(new Runnable() {
       @Override
       public void run() {
-        while (sourceIterator.hasNext()) {
-          final GeoWaveRow next = sourceIterator.next();
-          while (!consumedRows.offer(next)) {
-            // queue is full, wait for space
-            try {
-              Thread.sleep(1);
-            } catch (final InterruptedException e) {
-              isTerminating = true;
-              return;
+        boolean interrupted = false;
+        try {
+          while (sourceIterator.hasNext()) {
+            // blocks while the queue is full
+            consumedRows.put(sourceIterator.next());
+          }
+        } catch (final InterruptedException e) {
+          // the decoder was closed, its decode tasks are cancelled so nothing drains the queue
+          interrupted = true;
+        } finally {
+          // let every row provider know that there are no more rows
+          for (int i = 0; i < getNumThreads(); i++) {
+            if (interrupted) {
+              // never block on a queue that is no longer drained
+              consumedRows.offer(END_OF_ROWS);
+            } else {
+              try {
+                consumedRows.put(END_OF_ROWS);
+              } catch (final InterruptedException e) {
+                interrupted = true;
+              }
             }
           }
+          if (interrupted) {
+            Thread.currentThread().interrupt();
+          }
         }
-        isTerminating = true;
       }
     });
     consumerThread.setDaemon(true);
@@ -84,6 +98,7 @@ public class SimpleParallelDecoder<T> extends ParallelDecoder<T> {
   private static class BlockingQueueRowProvider<T> extends ParallelDecoder.RowProvider {
 
     private final SimpleParallelDecoder<T> source;
+    private boolean finished = false;
 
     public BlockingQueueRowProvider(final SimpleParallelDecoder<T> source) {
       this.source = source;
@@ -97,16 +112,20 @@ public class SimpleParallelDecoder<T> extends ParallelDecoder<T> {
     private GeoWaveRow next = null;
 
     private void computeNext() {
-      while ((next = source.consumedRows.poll()) == null) {
-        if (source.isTerminating) {
-          next = source.consumedRows.poll();
-          break;
-        }
-        try {
-          Thread.sleep(1);
-        } catch (final InterruptedException e) {
-          return;
+      if (finished) {
+        return;
+      }
+      try {
+        final Object row = source.consumedRows.take();
+        if (row == END_OF_ROWS) {
+          finished = true;
+        } else {
+          next = (GeoWaveRow) row;
         }
+      } catch (final InterruptedException e) {
+        // preserve the interrupt so the decode task can stop
+        Thread.currentThread().interrupt();
+        finished = true;
       }
     }
 
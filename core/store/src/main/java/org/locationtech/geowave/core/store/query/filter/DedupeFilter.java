@@ -8,25 +8,28 @@
  */
 package org.locationtech.geowave.core.store.query.filter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.io.Closeable;
 import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.store.data.IndexedPersistenceEncoding;
 import org.locationtech.geowave.core.store.index.CommonIndexModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This filter will perform de-duplication using the combination of data adapter ID and data ID to
- * determine uniqueness. It can be performed client-side and/or distributed.
+ * determine uniqueness. It can be performed client-side and/or distributed. The visited data IDs
+ * are tracked by a {@link DedupeHashSet} so the filter can be shared by parallel decoders and its
+ * memory is bounded for queries that visit a very large number of data IDs. The filter should be
+ * closed once the query is finished to release any hashes that were spilled to disk.
  */
-public class DedupeFilter implements QueryFilter {
-  private final Map<Short, Set<ByteArray>> adapterIdToVisitedDataIdMap;
+public class DedupeFilter implements QueryFilter, Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DedupeFilter.class);
+  private final DedupeHashSet visitedDataIds;
 
   private boolean dedupAcrossIndices = false;
 
   public DedupeFilter() {
-    adapterIdToVisitedDataIdMap = new HashMap<>();
+    visitedDataIds = new DedupeHashSet();
   }
 
   @Override
@@ -52,17 +55,30 @@ public class DedupeFilter implements QueryFilter {
   }
 
   public boolean applyDedupeFilter(final short adapterId, final ByteArray dataId) {
-    synchronized (adapterIdToVisitedDataIdMap) {
-      Set<ByteArray> visitedDataIds = adapterIdToVisitedDataIdMap.get(adapterId);
-      if (visitedDataIds == null) {
-        visitedDataIds = new HashSet<>();
-        adapterIdToVisitedDataIdMap.put(adapterId, visitedDataIds);
-      } else if (visitedDataIds.contains(dataId)) {
-        return false;
-      }
-      visitedDataIds.add(dataId);
-      return true;
+    return visitedDataIds.add(adapterId, dataId.getBytes());
+  }
+
+  /** @return the approximate number of bytes of heap used to track the visited data IDs */
+  public long getMemoryUsage() {
+    return visitedDataIds.getMemoryUsage();
+  }
+
+  /** @return the number of bytes of visited data ID hashes that were spilled to disk */
+  public long getSpilledBytes() {
+    return visitedDataIds.getSpilledBytes();
+  }
+
+  @Override
+  public void close() {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "De-duplication used "
+              + getMemoryUsage()
+              + " bytes in memory and spilled "
+              + getSpilledBytes()
+              + " bytes to disk");
     }
+    visitedDataIds.close();
   }
 
   public void setDedupAcrossIndices(final boolean dedupAcrossIndices) {
@@ -0,0 +1,460 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.query.filter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * A concurrent set of visited data IDs used for de-duplication. Rather than the data IDs
+ * themselves, the set keeps a 128-bit hash of each adapter ID and data ID pair in primitive open
+ * addressing tables, so the chance of two different data IDs being treated as duplicates is
+ * negligible. The tables are striped so that threads only contend when they visit the same stripe.
+ *
+ * <p> When the tables exceed the memory budget (set with the {@value #MAX_MEMORY_MB_PROPERTY}
+ * system property) their hashes are sorted and spilled to a memory mapped temporary file. A bloom
+ * filter is kept in memory for each spilled file so that data IDs that were never visited rarely
+ * need to search the spilled hashes. The spilled files are deleted as soon as they are mapped, so
+ * their disk space is released once the set is closed and the mappings are unmapped.
+ */
+public class DedupeHashSet implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DedupeHashSet.class);
+  public static final String MAX_MEMORY_MB_PROPERTY = "geowave.dedupe.maxMemoryMB";
+  private static final long DEFAULT_MAX_MEMORY_MB = 256;
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  private static final int NUM_STRIPES = 64;
+  private static final int INITIAL_STRIPE_CAPACITY = 64;
+  private static final int BLOOM_FILTER_BITS_PER_ENTRY = 10;
+  private static final int BLOOM_FILTER_HASHES = 7;
+
+  private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+  // visiting a data ID holds the read lock, spilling holds the write lock so the stripes can't
+  // change while they are written out
+  private final ReentrantReadWriteLock spillLock = new ReentrantReadWriteLock();
+  private final List<SpilledHashes> spilled = new CopyOnWriteArrayList<>();
+  private final AtomicLong tableMemoryUsage = new AtomicLong(0);
+  private final long maxMemoryBytes;
+  private volatile boolean spillFailed = false;
+
+  public DedupeHashSet() {
+    this(Long.getLong(MAX_MEMORY_MB_PROPERTY, DEFAULT_MAX_MEMORY_MB) * 1024L * 1024L);
+  }
+
+  /**
+   * @param maxMemoryBytes the number of bytes the in-memory tables may use before they are spilled
+   *        to disk
+   */
+  public DedupeHashSet(final long maxMemoryBytes) {
+    // a spill is mapped as a single buffer so it must fit within 2GB
+    this.maxMemoryBytes = Math.min(maxMemoryBytes, Integer.MAX_VALUE);
+    for (int i = 0; i < NUM_STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Add a data ID to the set.
+   *
+   * @param adapterId the internal adapter ID of the data
+   * @param dataId the data ID
+   * @return true if the data ID had not been visited before, false if it is a duplicate
+   */
+  public boolean add(final short adapterId, final byte[] dataId) {
+    final byte[] hash =
+        HASH_FUNCTION.newHasher(dataId.length + 2).putShort(adapterId).putBytes(
+            dataId).hash().asBytes();
+    final ByteBuffer buf = ByteBuffer.wrap(hash).order(ByteOrder.LITTLE_ENDIAN);
+    return add(buf.getLong(0), buf.getLong(8));
+  }
+
+  protected boolean add(final long hash1, final long hash2) {
+    if ((hash1 == 0) && (hash2 == 0)) {
+      // zero is the empty slot marker
+      return add(hash1, 1);
+    }
+    boolean spillRequired = false;
+    spillLock.readLock().lock();
+    try {
+      final Stripe stripe = stripes[(int) (hash2 & (NUM_STRIPES - 1))];
+      synchronized (stripe) {
+        if (stripe.contains(hash1, hash2)) {
+          return false;
+        }
+        for (final SpilledHashes s : spilled) {
+          if (s.contains(hash1, hash2)) {
+            return false;
+          }
+        }
+        final long growth = stripe.add(hash1, hash2);
+        if ((growth > 0)
+            && (tableMemoryUsage.addAndGet(growth) > maxMemoryBytes)
+            && !spillFailed) {
+          spillRequired = true;
+        }
+      }
+    } finally {
+      spillLock.readLock().unlock();
+    }
+    if (spillRequired) {
+      spill();
+    }
+    return true;
+  }
+
+  /**
+   * @return the approximate number of bytes of heap used by the set, this includes the bloom
+   *         filters of spilled hashes but not the memory mapped spill files
+   */
+  public long getMemoryUsage() {
+    long memoryUsage = tableMemoryUsage.get();
+    for (final SpilledHashes s : spilled) {
+      memoryUsage += s.bloomFilterMemoryUsage();
+    }
+    return memoryUsage;
+  }
+
+  /** @return the number of bytes of hashes that have been spilled to disk */
+  public long getSpilledBytes() {
+    return getSpilledCount() * 16;
+  }
+
+  /** @return the number of hashes that have been spilled to disk */
+  public long getSpilledCount() {
+    long count = 0;
+    for (final SpilledHashes s : spilled) {
+      count += s.size;
+    }
+    return count;
+  }
+
+  private void spill() {
+    spillLock.writeLock().lock();
+    try {
+      if (tableMemoryUsage.get() <= maxMemoryBytes) {
+        // another thread already spilled the tables
+        return;
+      }
+      final SpilledHashes s = SpilledHashes.spill(stripes);
+      if (s == null) {
+        // the hashes could not be written, keep them in memory rather than lose them
+        spillFailed = true;
+        return;
+      }
+      spilled.add(s);
+      long memoryUsage = 0;
+      for (final Stripe stripe : stripes) {
+        stripe.clear();
+        memoryUsage += stripe.memoryUsage();
+      }
+      tableMemoryUsage.set(memoryUsage);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "Spilled "
+                + s.size
+                + " de-duplication hashes to disk, "
+                + getMemoryUsage()
+                + " bytes are now used in memory and "
+                + getSpilledBytes()
+                + " bytes are spilled");
+      }
+    } finally {
+      spillLock.writeLock().unlock();
+    }
+  }
+
+  /** Release the in-memory tables and the spilled hashes, the set is empty afterwards */
+  @Override
+  public void close() {
+    spillLock.writeLock().lock();
+    try {
+      for (final Stripe stripe : stripes) {
+        synchronized (stripe) {
+          stripe.clear();
+        }
+      }
+      tableMemoryUsage.set(0);
+      // dropping the last reference to a mapping unmaps it, which frees the deleted spill file
+      spilled.clear();
+    } finally {
+      spillLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * An open addressing hash table of 128-bit hashes stored as pairs of longs. The table is only
+   * allocated once the first hash is added, so most queries, which visit few data IDs, don't pay
+   * for every stripe.
+   */
+  private static class Stripe {
+    private long[] table = null;
+    private int size = 0;
+
+    private boolean contains(final long hash1, final long hash2) {
+      if (table == null) {
+        return false;
+      }
+      final int mask = (table.length / 2) - 1;
+      int slot = (int) (hash1 ^ (hash1 >>> 32)) & mask;
+      while (true) {
+        final long h1 = table[slot * 2];
+        final long h2 = table[(slot * 2) + 1];
+        if ((h1 == 0) && (h2 == 0)) {
+          return false;
+        }
+        if ((h1 == hash1) && (h2 == hash2)) {
+          return true;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    /** @return the number of bytes the table grew by */
+    private long add(final long hash1, final long hash2) {
+      long growth = 0;
+      if (table == null) {
+        table = new long[INITIAL_STRIPE_CAPACITY * 2];
+        growth = table.length * 8L;
+      }
+      // keep the load factor at or below one half so probe sequences stay short
+      if (((size + 1) * 2) > (table.length / 2)) {
+        final long[] oldTable = table;
+        table = new long[oldTable.length * 2];
+        for (int i = 0; i < oldTable.length; i += 2) {
+          if ((oldTable[i] != 0) || (oldTable[i + 1] != 0)) {
+            insert(oldTable[i], oldTable[i + 1]);
+          }
+        }
+        growth += (table.length - oldTable.length) * 8L;
+      }
+      insert(hash1, hash2);
+      size++;
+      return growth;
+    }
+
+    private void insert(final long hash1, final long hash2) {
+      final int mask = (table.length / 2) - 1;
+      int slot = (int) (hash1 ^ (hash1 >>> 32)) & mask;
+      while ((table[slot * 2] != 0) || (table[(slot * 2) + 1] != 0)) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot * 2] = hash1;
+      table[(slot * 2) + 1] = hash2;
+    }
+
+    /** @return the hashes of this table as sorted pairs of longs */
+    private long[] toSortedPairs() {
+      final long[] pairs = new long[size * 2];
+      if (table == null) {
+        return pairs;
+      }
+      int i = 0;
+      for (int j = 0; j < table.length; j += 2) {
+        if ((table[j] != 0) || (table[j + 1] != 0)) {
+          pairs[i++] = table[j];
+          pairs[i++] = table[j + 1];
+        }
+      }
+      sortPairs(pairs, 0, size - 1);
+      return pairs;
+    }
+
+    private void clear() {
+      table = null;
+      size = 0;
+    }
+
+    private long memoryUsage() {
+      return table == null ? 0 : table.length * 8L;
+    }
+  }
+
+  private static int comparePairs(
+      final long a1,
+      final long a2,
+      final long b1,
+      final long b2) {
+    final int comp = Long.compare(a1, b1);
+    if (comp != 0) {
+      return comp;
+    }
+    return Long.compare(a2, b2);
+  }
+
+  /** Quicksort of the pairs of longs from pair index {@code low} to {@code high} inclusive */
+  private static void sortPairs(final long[] pairs, int low, int high) {
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      final long pivot1 = pairs[mid * 2];
+      final long pivot2 = pairs[(mid * 2) + 1];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (comparePairs(pairs[i * 2], pairs[(i * 2) + 1], pivot1, pivot2) < 0) {
+          i++;
+        }
+        while (comparePairs(pairs[j * 2], pairs[(j * 2) + 1], pivot1, pivot2) > 0) {
+          j--;
+        }
+        if (i <= j) {
+          swapPairs(pairs, i++, j--);
+        }
+      }
+      // recurse into the smaller side to bound the stack depth
+      if ((j - low) < (high - i)) {
+        sortPairs(pairs, low, j);
+        low = i;
+      } else {
+        sortPairs(pairs, i, high);
+        high = j;
+      }
+    }
+  }
+
+  private static void swapPairs(final long[] pairs, final int i, final int j) {
+    final long tmp1 = pairs[i * 2];
+    final long tmp2 = pairs[(i * 2) + 1];
+    pairs[i * 2] = pairs[j * 2];
+    pairs[(i * 2) + 1] = pairs[(j * 2) + 1];
+    pairs[j * 2] = tmp1;
+    pairs[(j * 2) + 1] = tmp2;
+  }
+
+  /**
+   * Hashes spilled to a memory mapped file. The file holds the sorted hashes of each stripe one
+   * after the other, so a lookup only has to binary search the segment of the hash's stripe.
+   */
+  private static class SpilledHashes {
+    private final LongBuffer hashes;
+    private final int[] stripeOffsets;
+    private final long[] bloomFilter;
+    private final long size;
+
+    private SpilledHashes(
+        final LongBuffer hashes,
+        final int[] stripeOffsets,
+        final long[] bloomFilter,
+        final long size) {
+      this.hashes = hashes;
+      this.stripeOffsets = stripeOffsets;
+      this.bloomFilter = bloomFilter;
+      this.size = size;
+    }
+
+    private static SpilledHashes spill(final Stripe[] stripes) {
+      long size = 0;
+      for (final Stripe stripe : stripes) {
+        size += stripe.size;
+      }
+      final long[] bloomFilter =
+          new long[(int) Math.max(1, ((size * BLOOM_FILTER_BITS_PER_ENTRY) + 63) / 64)];
+      final int[] stripeOffsets = new int[stripes.length + 1];
+      File file = null;
+      try {
+        file = File.createTempFile("geowave-dedupe", ".bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            FileChannel channel = raf.getChannel()) {
+          int offset = 0;
+          for (int i = 0; i < stripes.length; i++) {
+            stripeOffsets[i] = offset;
+            final long[] pairs = stripes[i].toSortedPairs();
+            final ByteBuffer buf =
+                ByteBuffer.allocate(pairs.length * 8).order(ByteOrder.nativeOrder());
+            buf.asLongBuffer().put(pairs);
+            while (buf.hasRemaining()) {
+              channel.write(buf);
+            }
+            for (int p = 0; p < pairs.length; p += 2) {
+              addToBloomFilter(bloomFilter, pairs[p], pairs[p + 1]);
+            }
+            offset += pairs.length / 2;
+          }
+          stripeOffsets[stripes.length] = offset;
+          final LongBuffer hashes =
+              channel.map(MapMode.READ_ONLY, 0, size * 16).order(
+                  ByteOrder.nativeOrder()).asLongBuffer();
+          return new SpilledHashes(hashes, stripeOffsets, bloomFilter, size);
+        }
+      } catch (final IOException e) {
+        LOGGER.warn("Unable to spill de-duplication hashes to disk", e);
+        return null;
+      } finally {
+        // the mapping stays valid after the file is deleted
+        if ((file != null) && !file.delete()) {
+          file.deleteOnExit();
+        }
+      }
+    }
+
+    private boolean contains(final long hash1, final long hash2) {
+      if (!mightContain(bloomFilter, hash1, hash2)) {
+        return false;
+      }
+      final int stripe = (int) (hash2 & (NUM_STRIPES - 1));
+      int low = stripeOffsets[stripe];
+      int high = stripeOffsets[stripe + 1] - 1;
+      while (low <= high) {
+        final int mid = (low + high) >>> 1;
+        final int comp =
+            comparePairs(hashes.get(mid * 2), hashes.get((mid * 2) + 1), hash1, hash2);
+        if (comp < 0) {
+          low = mid + 1;
+        } else if (comp > 0) {
+          high = mid - 1;
+        } else {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private long bloomFilterMemoryUsage() {
+      return bloomFilter.length * 8L;
+    }
+
+    private static void addToBloomFilter(
+        final long[] bloomFilter,
+        final long hash1,
+        final long hash2) {
+      final long numBits = bloomFilter.length * 64L;
+      for (int i = 0; i < BLOOM_FILTER_HASHES; i++) {
+        final long bit = ((hash1 + (i * hash2)) & Long.MAX_VALUE) % numBits;
+        bloomFilter[(int) (bit >>> 6)] |= (1L << bit);
+      }
+    }
+
+    private static boolean mightContain(
+        final long[] bloomFilter,
+        final long hash1,
+        final long hash2) {
+      final long numBits = bloomFilter.length * 64L;
+      for (int i = 0; i < BLOOM_FILTER_HASHES; i++) {
+        final long bit = ((hash1 + (i * hash2)) & Long.MAX_VALUE) % numBits;
+        if ((bloomFilter[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -123,6 +123,13 @@ public class CompoundHierarchicalIndexStrategyWrapper implements HierarchicalNum
     return parentStrategies.get(0).getInsertionIds(indexedData);
   }
 
+  @Override
+  public InsertionIds[] getInsertionIds(
+      final double[][] minsPerDimension,
+      final double[][] maxesPerDimension) {
+    return parentStrategies.get(0).getInsertionIds(minsPerDimension, maxesPerDimension);
+  }
+
   @Override
   public double[] getHighestPrecisionIdRangePerDimension() {
     return parentStrategies.get(0).getHighestPrecisionIdRangePerDimension();
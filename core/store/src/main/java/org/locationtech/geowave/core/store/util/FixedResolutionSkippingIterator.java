@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.util;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+import org.locationtech.geowave.core.index.IndexUtils;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.operations.RangeReaderParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subsamples rows that are sorted by sort key to a fixed resolution, returning only the first row
+ * of each cell of the resolution. This is the counterpart of the fixed cardinality skipping
+ * iterators of stores that can skip server side: after a row is returned, the source is sought to
+ * the first sort key of the next cell, so the number of rows read is bounded by the number of cells
+ * that contain data rather than by the number of rows within the ranges.
+ *
+ * <p> Sources that implement {@link SeekableIterator} skip the rest of each cell in a single seek.
+ * Any other source is read in full and the skipped rows are just dropped.
+ *
+ * @param <T> the type of row
+ */
+public class FixedResolutionSkippingIterator<T> implements CloseableIterator<T> {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(FixedResolutionSkippingIterator.class);
+
+  /**
+   * An iterator over rows sorted by sort key that can skip ahead to a sort key.
+   *
+   * @param <T> the type of row
+   */
+  public static interface SeekableIterator<T> extends CloseableIterator<T> {
+    /**
+     * Skip ahead so that the next row is the first row with a sort key greater than or equal to the
+     * given sort key. Implementations may stop short of the sort key but must never skip past it.
+     * The sort key is always after the sort key of the last row returned.
+     *
+     * @param sortKey the sort key to seek to
+     */
+    void seek(byte[] sortKey);
+  }
+
+  /**
+   * Seeks within a single sort key range for stores that cannot seek within a scan. The range is
+   * read by a query from a start sort key to the end of the range and seeking splits the range,
+   * abandoning the current query and issuing a new one from the sought sort key. Queries should
+   * fetch rows in small pages because most of each page is skipped when subsampling.
+   *
+   * @param <T> the type of row
+   */
+  public abstract static class RangeSplittingIterator<T> implements SeekableIterator<T> {
+    private final ByteArrayRange range;
+    private final byte[] rangeEnd;
+    private CloseableIterator<T> current = null;
+    private boolean closed = false;
+
+    public RangeSplittingIterator(final ByteArrayRange range) {
+      this.range = range;
+      rangeEnd = range.getEnd() == null ? null : range.getEndAsNextPrefix();
+    }
+
+    /**
+     * @param range the portion of the original range to query, its start is null only if the
+     *        original range is unbounded
+     * @return the rows of the range
+     */
+    protected abstract CloseableIterator<T> query(ByteArrayRange range);
+
+    @Override
+    public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+      if (current == null) {
+        current = query(range);
+      }
+      return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    @Override
+    public void seek(final byte[] sortKey) {
+      if (closed) {
+        return;
+      }
+      if (current != null) {
+        current.close();
+      }
+      if ((rangeEnd != null) && (ByteArrayUtils.compare(sortKey, rangeEnd) >= 0)) {
+        current = new CloseableIterator.Empty<>();
+      } else {
+        current = query(new ByteArrayRange(sortKey, range.getEnd()));
+      }
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    }
+  }
+
+  private final CloseableIterator<T> source;
+  private final Function<T, byte[]> sortKeyFunction;
+  private final Predicate<T> filter;
+  private final int bitPosition;
+  private byte[] skipUntilSortKey = null;
+  private boolean seekRequired = false;
+  private boolean reachedEnd = false;
+  private T nextValue = null;
+
+  /**
+   * @param source the rows, sorted by sort key
+   * @param sortKeyFunction gets the sort key of a row
+   * @param bitPosition the bit position on the sort key of the subsampling resolution
+   */
+  public FixedResolutionSkippingIterator(
+      final CloseableIterator<T> source,
+      final Function<T, byte[]> sortKeyFunction,
+      final int bitPosition) {
+    this(source, sortKeyFunction, null, bitPosition);
+  }
+
+  /**
+   * @param source the rows, sorted by sort key
+   * @param sortKeyFunction gets the sort key of a row
+   * @param filter rows that don't pass the filter are dropped and don't count as the row of their
+   *        cell, may be null
+   * @param bitPosition the bit position on the sort key of the subsampling resolution
+   */
+  public FixedResolutionSkippingIterator(
+      final CloseableIterator<T> source,
+      final Function<T, byte[]> sortKeyFunction,
+      final Predicate<T> filter,
+      final int bitPosition) {
+    this.source = source;
+    this.sortKeyFunction = sortKeyFunction;
+    this.filter = filter;
+    this.bitPosition = bitPosition;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextValue != null) {
+      return true;
+    }
+    if (reachedEnd) {
+      return false;
+    }
+    // seek lazily so that nothing is read past the last row that is consumed
+    if (seekRequired) {
+      seekRequired = false;
+      if (source instanceof SeekableIterator) {
+        ((SeekableIterator<T>) source).seek(skipUntilSortKey);
+      }
+    }
+    while (source.hasNext()) {
+      final T row = source.next();
+      final byte[] sortKey = sortKeyFunction.apply(row);
+      if ((skipUntilSortKey != null) && (ByteArrayUtils.compare(sortKey, skipUntilSortKey) < 0)) {
+        continue;
+      }
+      if ((filter != null) && !filter.test(row)) {
+        continue;
+      }
+      final byte[] nextSortKey = IndexUtils.getNextRowForSkip(sortKey, bitPosition);
+      if (nextSortKey == null) {
+        reachedEnd = true;
+      } else {
+        skipUntilSortKey = nextSortKey;
+        seekRequired = true;
+      }
+      nextValue = row;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final T retVal = nextValue;
+    nextValue = null;
+    return retVal;
+  }
+
+  @Override
+  public void close() {
+    source.close();
+  }
+
+  /**
+   * Get the bit position on the sort key to subsample the results of a read at, if the read should
+   * be subsampled by the data store.
+   *
+   * @param params the reader params
+   * @param visibilityEnabled whether visibility is enabled on the data store
+   * @return the bit position, or null if the read is not subsampled or can't be subsampled by
+   *         skipping rows because rows have to be merged
+   */
+  public static Integer getBitPosition(
+      final RangeReaderParams<?> params,
+      final boolean visibilityEnabled) {
+    final double[] maxResolutionSubsamplingPerDimension =
+        params.getMaxResolutionSubsamplingPerDimension();
+    if ((maxResolutionSubsamplingPerDimension == null)
+        || (maxResolutionSubsamplingPerDimension.length == 0)
+        || DataStoreUtils.isMergingIteratorRequired(params, visibilityEnabled)) {
+      return null;
+    }
+    final Index index = params.getIndex();
+    final int dimensions = index.getIndexStrategy().getOrderedDimensionDefinitions().length;
+    if (maxResolutionSubsamplingPerDimension.length != dimensions) {
+      LOGGER.warn(
+          "Unable to subsample for index '"
+              + index.getName()
+              + "'. Subsample dimensions = "
+              + maxResolutionSubsamplingPerDimension.length
+              + " when indexed dimensions = "
+              + dimensions);
+      return null;
+    }
+    return IndexUtils.getBitPositionOnSortKeyFromSubsamplingArray(
+        index.getIndexStrategy(),
+        maxResolutionSubsamplingPerDimension);
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.adapter.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.locationtech.geowave.core.store.BaseDataStoreOptions;
+import org.locationtech.geowave.core.store.DataStoreStatisticsProvider;
+import org.locationtech.geowave.core.store.EntryVisibilityHandler;
+import org.locationtech.geowave.core.store.adapter.InternalDataAdapter;
+import org.locationtech.geowave.core.store.adapter.InternalDataAdapterWrapper;
+import org.locationtech.geowave.core.store.api.DataTypeAdapter;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.api.StatisticsQueryBuilder;
+import org.locationtech.geowave.core.store.index.CommonIndexModel;
+import org.locationtech.geowave.core.store.index.IndexImpl;
+import org.locationtech.geowave.core.store.memory.MemoryDataStoreOperations;
+import org.locationtech.geowave.core.store.metadata.DataStatisticsStoreImpl;
+
+public class StatsCompositionToolTest {
+  private static final short ADAPTER_ID = 1;
+  private static final int THREADS = 8;
+
+  @Test
+  public void testConcurrentMerge() throws InterruptedException {
+    final List<InternalDataStatistics<?, ?, ?>> incorporated = new ArrayList<>();
+    final StatsCompositionTool<String> tool = createTool(incorporated);
+    tool.setFlushThreshold(0);
+    ingest(tool, 1000);
+    assertTrue(incorporated.isEmpty());
+    assertEquals(THREADS, tool.getShardCount());
+
+    tool.flush();
+    // the shards of every thread are merged into a single statistic
+    assertEquals(1, incorporated.size());
+    assertEquals(THREADS * 1000, ((CountDataStatistics<?>) incorporated.get(0)).getCount());
+    // the shards of the terminated threads are discarded
+    assertEquals(0, tool.getShardCount());
+  }
+
+  @Test
+  public void testGlobalFlushThreshold() throws InterruptedException {
+    final List<InternalDataStatistics<?, ?, ?>> incorporated = new ArrayList<>();
+    final StatsCompositionTool<String> tool = createTool(incorporated);
+    tool.setFlushThreshold(100);
+    // no single thread reaches the threshold, but all of them together do
+    ingest(tool, 30);
+    assertFalse(incorporated.isEmpty());
+
+    tool.flush();
+    long count = 0;
+    for (final InternalDataStatistics<?, ?, ?> s : incorporated) {
+      count += ((CountDataStatistics<?>) s).getCount();
+    }
+    assertEquals(THREADS * 30, count);
+  }
+
+  private static void ingest(final StatsCompositionTool<String> tool, final int entriesPerThread)
+      throws InterruptedException {
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < entriesPerThread; j++) {
+          tool.entryIngested("entry" + j);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  private static StatsCompositionTool<String> createTool(
+      final List<InternalDataStatistics<?, ?, ?>> incorporated) {
+    final InternalDataAdapter<String> adapter = new InternalDataAdapterWrapper<>(null, ADAPTER_ID);
+    final Index index = new IndexImpl(null, null);
+    final List<InternalDataStatistics<?, ?, ?>> synchronizedIncorporated =
+        Collections.synchronizedList(incorporated);
+    return new StatsCompositionTool<>(
+        new CountStatisticsProvider(adapter),
+        new DataStatisticsStoreImpl(new MemoryDataStoreOperations(), new BaseDataStoreOptions()) {
+          @Override
+          public void incorporateStatistics(final InternalDataStatistics<?, ?, ?> statistics) {
+            synchronizedIncorporated.add(statistics);
+          }
+        },
+        index,
+        adapter);
+  }
+
+  private static class CountStatisticsProvider extends DataStoreStatisticsProvider<String> {
+    private CountStatisticsProvider(final InternalDataAdapter<String> adapter) {
+      super(adapter, null, false);
+    }
+
+    @Override
+    public StatisticsId[] getSupportedStatistics() {
+      return new StatisticsId[] {new StatisticsId(CountDataStatistics.STATS_TYPE, "")};
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R, B extends StatisticsQueryBuilder<R, B>> InternalDataStatistics<String, R, B> createDataStatistics(
+        final StatisticsId statisticsId) {
+      return (InternalDataStatistics<String, R, B>) new CountDataStatistics<String>(ADAPTER_ID);
+    }
+
+    @Override
+    public EntryVisibilityHandler<String> getVisibilityHandler(
+        final CommonIndexModel indexModel,
+        final DataTypeAdapter<String> adapter,
+        final StatisticsId statisticsId) {
+      return new EmptyStatisticVisibility<>();
+    }
+  }
+}
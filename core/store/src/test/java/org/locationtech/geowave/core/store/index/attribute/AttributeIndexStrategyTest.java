@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.index.attribute;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.InsertionIds;
+import org.locationtech.geowave.core.index.QueryRanges;
+import org.locationtech.geowave.core.index.persist.PersistenceUtils;
+import org.locationtech.geowave.core.index.sfc.data.BasicNumericDataset;
+import org.locationtech.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericData;
+import org.locationtech.geowave.core.index.sfc.data.NumericRange;
+import org.locationtech.geowave.core.store.api.Index;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionalityTypeProvider.AttributeIndexBuilder;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy.ConstrainedRange;
+import org.locationtech.geowave.core.store.index.numeric.NumericQueryConstraint;
+import org.locationtech.geowave.core.store.index.temporal.TemporalQueryConstraint;
+import org.locationtech.geowave.core.store.index.text.TextQueryConstraint;
+import com.google.common.primitives.UnsignedBytes;
+
+public class AttributeIndexStrategyTest {
+  private final AttributeIndexStrategy strategy = new AttributeIndexStrategy("population");
+
+  @Test
+  public void testInsertions() {
+    final InsertionIds insertionIds = insert(10);
+    Assert.assertEquals(1, insertionIds.getCompositeInsertionIds().size());
+    Assert.assertTrue(insert(null).getCompositeInsertionIds().size() == 1);
+  }
+
+  @Test
+  public void testEquals() {
+    final QueryRanges ranges = query(10, 10);
+    Assert.assertTrue(!ranges.isMultiRange());
+    final byte[] key = insert(10).getCompositeInsertionIds().get(0);
+    Assert.assertTrue(contains(ranges, key));
+    Assert.assertFalse(contains(ranges, insert(11).getCompositeInsertionIds().get(0)));
+    Assert.assertTrue(contains(query(10.0, 10.0), insert(10L).getCompositeInsertionIds().get(0)));
+  }
+
+  @Test
+  public void testRange() {
+    final QueryRanges ranges = query(-5, 100);
+    Assert.assertTrue(contains(ranges, insert(-5).getCompositeInsertionIds().get(0)));
+    Assert.assertTrue(contains(ranges, insert(0).getCompositeInsertionIds().get(0)));
+    Assert.assertTrue(contains(ranges, insert(-0.0).getCompositeInsertionIds().get(0)));
+    Assert.assertTrue(contains(ranges, insert(99.5f).getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert(-6).getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert(101).getCompositeInsertionIds().get(0)));
+    // null values never match a range
+    final QueryRanges everything = query(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    Assert.assertTrue(
+        contains(everything, insert(Double.MAX_VALUE).getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(everything, insert(null).getCompositeInsertionIds().get(0)));
+  }
+
+  @Test
+  public void testTemporal() {
+    final QueryRanges ranges =
+        query(
+            new TemporalQueryConstraint(
+                "population",
+                new Date(1000),
+                new Date(2000),
+                true,
+                true));
+    Assert.assertTrue(contains(ranges, insert(new Date(1000)).getCompositeInsertionIds().get(0)));
+    Assert.assertTrue(contains(ranges, insert(new Date(1500)).getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert(new Date(999)).getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert(new Date(2001)).getCompositeInsertionIds().get(0)));
+  }
+
+  @Test
+  public void testText() {
+    // text is indexed by its exact value, not by a hash
+    final QueryRanges ranges = query(new TextQueryConstraint("population", "abc", true));
+    Assert.assertTrue(contains(ranges, insert("abc").getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert("abd").getCompositeInsertionIds().get(0)));
+    Assert.assertFalse(contains(ranges, insert("ABC").getCompositeInsertionIds().get(0)));
+  }
+
+  @Test
+  public void testUnconstrained() {
+    // a plain range doesn't tell the type of the attribute, so it can't be mapped to sort keys
+    Assert.assertNull(
+        strategy.getQueryRanges(
+            new BasicNumericDataset(
+                new NumericData[] {new NumericRange(0, 10)})).getPartitionQueryRanges());
+  }
+
+  @Test
+  public void testPersistence() {
+    final AttributeIndexStrategy persisted =
+        (AttributeIndexStrategy) PersistenceUtils.fromBinary(PersistenceUtils.toBinary(strategy));
+    Assert.assertEquals(strategy, persisted);
+    Assert.assertEquals("population", persisted.getAttributeName());
+  }
+
+  @Test
+  public void testQuery() {
+    final Index index = new AttributeIndexBuilder("population").createIndex();
+    final AttributeIndexQuery query =
+        new AttributeIndexQuery(
+            Arrays.asList(
+                new NumericQueryConstraint("population", 1, 5, true, false),
+                new TemporalQueryConstraint(
+                    "population",
+                    new Date(1000),
+                    new Date(2000),
+                    false,
+                    true),
+                new TextQueryConstraint("population", "abc", true),
+                new TextQueryConstraint("other", "abc", false)));
+    final AttributeIndexQuery persisted =
+        (AttributeIndexQuery) PersistenceUtils.fromBinary(PersistenceUtils.toBinary(query));
+    final List<FilterableConstraints> constraints = persisted.getConstraints();
+    Assert.assertEquals(4, constraints.size());
+    final NumericQueryConstraint numeric = (NumericQueryConstraint) constraints.get(0);
+    Assert.assertEquals(1, numeric.getMinValue(), 0);
+    Assert.assertEquals(5, numeric.getMaxValue(), 0);
+    Assert.assertTrue(numeric.isInclusiveLow());
+    Assert.assertFalse(numeric.isInclusiveHigh());
+    final TemporalQueryConstraint temporal = (TemporalQueryConstraint) constraints.get(1);
+    Assert.assertEquals(new Date(1000), temporal.getStart());
+    Assert.assertEquals(new Date(2000), temporal.getEnd());
+    Assert.assertFalse(temporal.isInclusiveLow());
+    Assert.assertTrue(temporal.isInclusiveHigh());
+    final TextQueryConstraint text = (TextQueryConstraint) constraints.get(3);
+    Assert.assertEquals("other", text.getFieldName());
+    Assert.assertEquals("abc", text.getMatchValue());
+    Assert.assertFalse(text.isCaseSensitive());
+
+    // only the constraints on the indexed attribute apply, each is a separate range
+    final List<MultiDimensionalNumericData> indexConstraints = persisted.getIndexConstraints(index);
+    Assert.assertEquals(3, indexConstraints.size());
+    final QueryRanges textRanges = index.getIndexStrategy().getQueryRanges(indexConstraints.get(2));
+    Assert.assertTrue(contains(textRanges, AttributeIndexStrategy.getSortKey("abc")));
+    Assert.assertTrue(persisted.createFilters(index).isEmpty());
+  }
+
+  private InsertionIds insert(final Object value) {
+    return strategy.getInsertionIds(
+        new BasicNumericDataset(
+            new NumericData[] {new AttributeValue(AttributeIndexStrategy.getSortKey(value))
+                .toNumericData()}));
+  }
+
+  private QueryRanges query(final double min, final double max) {
+    return query(new NumericQueryConstraint("population", min, max, true, true));
+  }
+
+  private QueryRanges query(final FilterableConstraints constraints) {
+    return strategy.getQueryRanges(
+        new BasicNumericDataset(new NumericData[] {new ConstrainedRange(constraints)}));
+  }
+  private static boolean contains(final QueryRanges ranges, final byte[] key) {
+    for (final ByteArrayRange range : ranges.getCompositeQueryRanges()) {
+      if ((UnsignedBytes.lexicographicalComparator().compare(range.getStart(), key) <= 0)
+          && (UnsignedBytes.lexicographicalComparator().compare(key, range.getEnd()) <= 0)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -14,6 +14,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import org.junit.Test;
@@ -33,6 +34,7 @@ import org.locationtech.geowave.core.store.api.DataStore;
 import org.locationtech.geowave.core.store.api.DataTypeAdapter;
 import org.locationtech.geowave.core.store.api.Index;
 import org.locationtech.geowave.core.store.api.QueryBuilder;
+import org.locationtech.geowave.core.store.api.WriteResults;
 import org.locationtech.geowave.core.store.api.Writer;
 import org.locationtech.geowave.core.store.data.CommonIndexedPersistenceEncoding;
 import org.locationtech.geowave.core.store.data.IndexedPersistenceEncoding;
@@ -140,6 +142,50 @@ public class MemoryDataStoreTest {
     }
   }
 
+  @Test
+  public void testWriteAll() throws IOException, MismatchedIndexToAdapterMapping {
+    final Index index1 =
+        new IndexImpl(
+            new MockComponents.MockIndexStrategy(),
+            new MockComponents.TestIndexModel("tm1"));
+    final Index index2 =
+        new IndexImpl(
+            new MockComponents.MockIndexStrategy(),
+            new MockComponents.TestIndexModel("tm2"));
+    final String namespace = "test3_" + getClass().getName();
+    final StoreFactoryFamilySpi storeFamily = new MemoryStoreFactoryFamily();
+    final MemoryRequiredOptions opts = new MemoryRequiredOptions();
+    opts.setGeoWaveNamespace(namespace);
+    final DataStore dataStore = storeFamily.getDataStoreFactory().createStore(opts);
+    final DataTypeAdapter<Integer> adapter = new MockComponents.MockAbstractDataAdapter();
+
+    dataStore.addType(adapter, index1, index2);
+    try (final Writer<Integer> indexWriter = dataStore.createWriter(adapter.getTypeName())) {
+      final WriteResults[] results = indexWriter.writeAll(Arrays.asList(25, 35, 45));
+      assertEquals(3, results.length);
+      // each entry is written to both indices
+      for (final WriteResults result : results) {
+        assertEquals(
+            new HashSet<>(Arrays.asList(index1.getName(), index2.getName())),
+            result.getWrittenIndexNames());
+        assertFalse(result.getInsertionIdsWritten(index1.getName()).isEmpty());
+      }
+    }
+
+    for (final Index index : new Index[] {index1, index2}) {
+      try (CloseableIterator<?> itemIt =
+          dataStore.query(
+              QueryBuilder.newBuilder().addTypeName(adapter.getTypeName()).indexName(
+                  index.getName()).constraints(new TestQuery(23, 36)).build())) {
+        assertTrue(itemIt.hasNext());
+        assertEquals(new Integer(25), itemIt.next());
+        assertTrue(itemIt.hasNext());
+        assertEquals(new Integer(35), itemIt.next());
+        assertFalse(itemIt.hasNext());
+      }
+    }
+  }
+
   @Test
   public void testMultipleIndices() throws IOException, MismatchedIndexToAdapterMapping {
     final Index index1 =
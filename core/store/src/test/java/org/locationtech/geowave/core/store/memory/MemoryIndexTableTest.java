@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.memory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.List;
+import org.junit.Test;
+import org.locationtech.geowave.core.store.entities.GeoWaveKeyImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+import org.locationtech.geowave.core.store.entities.GeoWaveValueImpl;
+import com.google.common.collect.Lists;
+
+public class MemoryIndexTableTest {
+  @Test
+  public void testOrdering() {
+    final MemoryIndexTable table = new MemoryIndexTable(new MemoryArena(false, -1));
+    // sort keys are compared as unsigned bytes
+    table.write(row(new byte[] {(byte) 0x80, 0x00}, "a", 0, "value1"));
+    table.write(row(new byte[] {0x01, 0x00}, "b", 0, "value2"));
+    table.write(row(new byte[] {0x7F, 0x00}, "c", 0, "value3"));
+    table.write(row(new byte[] {0x01, 0x05}, "d", 0, "value4"));
+    final List<GeoWaveRow> rows = Lists.newArrayList(table.rows());
+    assertEquals(4, rows.size());
+    assertArrayEquals(new byte[] {0x01, 0x00}, rows.get(0).getSortKey());
+    assertArrayEquals(new byte[] {0x01, 0x05}, rows.get(1).getSortKey());
+    assertArrayEquals(new byte[] {0x7F, 0x00}, rows.get(2).getSortKey());
+    assertArrayEquals(new byte[] {(byte) 0x80, 0x00}, rows.get(3).getSortKey());
+
+    final List<GeoWaveRow> range =
+        Lists.newArrayList(table.rows(new byte[] {0x01, 0x05}, new byte[] {(byte) 0x80, 0x00}));
+    assertEquals(2, range.size());
+    assertArrayEquals("d".getBytes(), range.get(0).getDataId());
+    assertArrayEquals("c".getBytes(), range.get(1).getDataId());
+  }
+
+  @Test
+  public void testDuplicateKeys() {
+    final MemoryArena arena = new MemoryArena(false, -1);
+    final MemoryIndexTable table = new MemoryIndexTable(arena);
+    // rows with the same insertion ID and different data IDs are kept alongside each other
+    table.write(row(new byte[] {0x01}, "a", 0, "value1"));
+    table.write(row(new byte[] {0x01}, "b", 0, "value2"));
+    assertEquals(2, Lists.newArrayList(table.rows()).size());
+
+    // the same row written again replaces the row, even with a different number of duplicates
+    table.write(row(new byte[] {0x01}, "a", 2, "value3"));
+    final List<GeoWaveRow> rows = Lists.newArrayList(table.rows());
+    assertEquals(2, rows.size());
+    assertArrayEquals("a".getBytes(), rows.get(0).getDataId());
+    assertEquals(2, rows.get(0).getNumberOfDuplicates());
+    assertArrayEquals("value3".getBytes(), rows.get(0).getFieldValues()[0].getValue());
+
+    // deleting ignores the number of duplicates
+    assertTrue(table.delete(row(new byte[] {0x01}, "a", 0, "value3")));
+    assertFalse(table.delete(row(new byte[] {0x01}, "a", 2, "value3")));
+    assertTrue(table.delete(row(new byte[] {0x01}, "b", 0, "value2")));
+    assertTrue(table.isEmpty());
+  }
+
+  @Test
+  public void testSlabs() {
+    final MemoryArena arena = new MemoryArena(true, 4096, 1024);
+    final MemoryIndexTable table = new MemoryIndexTable(arena);
+    int i = 0;
+    try {
+      while (true) {
+        table.write(row(new byte[] {(byte) (i >> 8), (byte) i}, "id" + i, 0, "value" + i));
+        i++;
+      }
+    } catch (final IllegalStateException e) {
+      // expected once the slabs reach the memory cap
+    }
+    // rows share slabs, which never exceed the cap
+    assertTrue(i > 4);
+    assertEquals(4096, arena.getMemoryUsage());
+    final List<GeoWaveRow> rows = Lists.newArrayList(table.rows());
+    assertEquals(i, rows.size());
+    for (int j = 0; j < i; j++) {
+      assertArrayEquals(("value" + j).getBytes(), rows.get(j).getFieldValues()[0].getValue());
+    }
+    // rows larger than a shared slab get a slab of their own
+    try {
+      table.write(row(new byte[] {0x7F}, "large", 0, new String(new byte[512])));
+      fail("the memory cap has been reached");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+    // slabs are released once all of their rows are freed
+    table.clear();
+    assertTrue(arena.getMemoryUsage() < 4096);
+    table.write(row(new byte[] {0x7F}, "large", 0, new String(new byte[512])));
+    assertEquals(1, Lists.newArrayList(table.rows()).size());
+  }
+
+  @Test
+  public void testOverwrite() {
+    final MemoryArena arena = new MemoryArena(true, 4096, 1024);
+    final MemoryIndexTable table = new MemoryIndexTable(arena);
+    // far more overwrites than fit under the cap, the slabs of replaced rows are released
+    for (int i = 0; i < 10000; i++) {
+      table.write(row(new byte[] {0x01}, "a", 0, "value" + i));
+    }
+    assertTrue(arena.getMemoryUsage() <= 4096);
+    final List<GeoWaveRow> rows = Lists.newArrayList(table.rows());
+    assertEquals(1, rows.size());
+    assertArrayEquals("value9999".getBytes(), rows.get(0).getFieldValues()[0].getValue());
+  }
+
+  private static GeoWaveRow row(
+      final byte[] sortKey,
+      final String dataId,
+      final int numberOfDuplicates,
+      final String value) {
+    return new GeoWaveRowImpl(
+        new GeoWaveKeyImpl(
+            dataId.getBytes(),
+            (short) 1,
+            new byte[0],
+            sortKey,
+            numberOfDuplicates),
+        new GeoWaveValue[] {new GeoWaveValueImpl(new byte[] {1}, new byte[0], value.getBytes())});
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+
+public class ParallelDecoderTest {
+
+  @Test(timeout = 60000)
+  public void testCloseReleasesRowProviders() throws Exception {
+    final int numProviders = 16;
+    final AtomicInteger initialized = new AtomicInteger(0);
+    final AtomicInteger closed = new AtomicInteger(0);
+    final ParallelDecoder<GeoWaveRow> decoder =
+        new ParallelDecoder<GeoWaveRow>(GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER, 4) {
+          @Override
+          protected List<RowProvider> getRowProviders() {
+            final List<RowProvider> rowProviders = new ArrayList<>();
+            for (int i = 0; i < numProviders; i++) {
+              rowProviders.add(new EndlessRowProvider(initialized, closed));
+            }
+            return rowProviders;
+          }
+        };
+    decoder.startDecode();
+    // enough rows that the buffer fills and decode tasks are suspended and resumed
+    for (int i = 0; i < 100000; i++) {
+      assertTrue(decoder.hasNext());
+      decoder.next();
+    }
+    decoder.close();
+    // interrupted tasks close their row providers asynchronously
+    while (closed.get() < numProviders) {
+      Thread.sleep(10);
+    }
+    assertEquals(numProviders, closed.get());
+    assertTrue(initialized.get() <= numProviders);
+  }
+
+  private static class EndlessRowProvider extends ParallelDecoder.RowProvider {
+    private final AtomicInteger initialized;
+    private final AtomicInteger closed;
+
+    public EndlessRowProvider(final AtomicInteger initialized, final AtomicInteger closed) {
+      this.initialized = initialized;
+      this.closed = closed;
+    }
+
+    @Override
+    public void init() {
+      initialized.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+      closed.incrementAndGet();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return true;
+    }
+
+    @Override
+    public GeoWaveRow next() {
+      return new GeoWaveRowImpl(null, new GeoWaveValue[0]);
+    }
+  }
+}
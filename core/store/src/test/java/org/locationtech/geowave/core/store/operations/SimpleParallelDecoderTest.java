@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
+import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+
+public class SimpleParallelDecoderTest {
+
+  @Test
+  public void testDecodesAllRows() throws Exception {
+    // more rows than fit in the result buffer so producers have to wait on the consumer
+    final int numRows = 50000;
+    final SimpleParallelDecoder<GeoWaveRow> decoder =
+        new SimpleParallelDecoder<>(
+            GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER,
+            new RowIterator(numRows));
+    decoder.startDecode();
+    int count = 0;
+    while (decoder.hasNext()) {
+      decoder.next();
+      count++;
+    }
+    decoder.close();
+    assertEquals(numRows, count);
+  }
+
+  @Test
+  public void testCloseBeforeExhausted() throws Exception {
+    final SimpleParallelDecoder<GeoWaveRow> decoder =
+        new SimpleParallelDecoder<>(
+            GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER,
+            new RowIterator(Integer.MAX_VALUE));
+    decoder.startDecode();
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(decoder.hasNext());
+      decoder.next();
+    }
+    // closing must release the blocked decode tasks rather than hang
+    decoder.close();
+  }
+
+  @Test(timeout = 60000)
+  public void testSlowConsumersDoNotStallOtherDecoders() throws Exception {
+    // enough stalled decoders to occupy every thread of the shared pool if full buffers blocked
+    final List<SimpleParallelDecoder<GeoWaveRow>> stalled = new ArrayList<>();
+    for (int i = 0; i < (Runtime.getRuntime().availableProcessors() * 8); i++) {
+      final SimpleParallelDecoder<GeoWaveRow> decoder =
+          new SimpleParallelDecoder<>(
+              GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER,
+              new RowIterator(Integer.MAX_VALUE));
+      decoder.startDecode();
+      assertTrue(decoder.hasNext());
+      stalled.add(decoder);
+    }
+    try {
+      final SimpleParallelDecoder<GeoWaveRow> decoder =
+          new SimpleParallelDecoder<>(
+              GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER,
+              new RowIterator(50000));
+      decoder.startDecode();
+      int count = 0;
+      while (decoder.hasNext()) {
+        decoder.next();
+        count++;
+      }
+      decoder.close();
+      assertEquals(50000, count);
+    } finally {
+      stalled.forEach(SimpleParallelDecoder::close);
+    }
+  }
+
+  private static class RowIterator implements Iterator<GeoWaveRow> {
+    private final int numRows;
+    private int current = 0;
+
+    public RowIterator(final int numRows) {
+      this.numRows = numRows;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return current < numRows;
+    }
+
+    @Override
+    public GeoWaveRow next() {
+      current++;
+      return new GeoWaveRowImpl(null, new GeoWaveValue[0]);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.query.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.locationtech.geowave.core.index.StringUtils;
+
+public class DedupeHashSetTest {
+
+  @Test
+  public void testDuplicates() {
+    final DedupeHashSet set = new DedupeHashSet();
+    assertTrue(set.add((short) 1, StringUtils.stringToBinary("a")));
+    assertTrue(set.add((short) 1, StringUtils.stringToBinary("b")));
+    // the same data ID for a different adapter is not a duplicate
+    assertTrue(set.add((short) 2, StringUtils.stringToBinary("a")));
+    assertFalse(set.add((short) 1, StringUtils.stringToBinary("a")));
+    assertFalse(set.add((short) 2, StringUtils.stringToBinary("a")));
+  }
+
+  @Test
+  public void testLazyAllocation() {
+    final DedupeHashSet set = new DedupeHashSet();
+    assertEquals(0, set.getMemoryUsage());
+    set.add((short) 1, StringUtils.stringToBinary("a"));
+    // only the stripe of the added data ID is allocated
+    final long memoryUsage = set.getMemoryUsage();
+    assertTrue(memoryUsage > 0);
+    assertTrue(memoryUsage < (16 * 1024));
+  }
+
+  @Test
+  public void testSpill() {
+    // a budget small enough that the hashes are spilled to disk several times
+    final DedupeHashSet set = new DedupeHashSet(256 * 1024);
+    final int numIds = 100000;
+    for (int i = 0; i < numIds; i++) {
+      assertTrue(set.add((short) 1, StringUtils.stringToBinary(Integer.toString(i))));
+    }
+    assertTrue(set.getSpilledCount() > 0);
+    assertTrue(set.getMemoryUsage() < (512 * 1024));
+    for (int i = 0; i < numIds; i++) {
+      assertFalse(set.add((short) 1, StringUtils.stringToBinary(Integer.toString(i))));
+    }
+    assertTrue(set.add((short) 1, StringUtils.stringToBinary(Integer.toString(numIds))));
+  }
+
+  @Test
+  public void testClose() {
+    final DedupeHashSet set = new DedupeHashSet(256 * 1024);
+    for (int i = 0; i < 100000; i++) {
+      set.add((short) 1, StringUtils.stringToBinary(Integer.toString(i)));
+    }
+    assertTrue(set.getSpilledBytes() > 0);
+    set.close();
+    // the in-memory tables and the spilled hashes are released
+    assertEquals(0, set.getMemoryUsage());
+    assertEquals(0, set.getSpilledBytes());
+  }
+
+  @Test
+  public void testConcurrentAdds() throws InterruptedException {
+    final DedupeHashSet set = new DedupeHashSet(256 * 1024);
+    final int numIds = 50000;
+    final AtomicInteger accepted = new AtomicInteger(0);
+    final List<Thread> threads = new ArrayList<>();
+    // every thread visits every data ID, each should be accepted exactly once
+    for (int t = 0; t < 4; t++) {
+      final Thread thread = new Thread(() -> {
+        for (int i = 0; i < numIds; i++) {
+          if (set.add((short) 1, StringUtils.stringToBinary(Integer.toString(i)))) {
+            accepted.incrementAndGet();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(numIds, accepted.get());
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.core.store.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+import org.locationtech.geowave.core.index.IndexUtils;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.RangeSplittingIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.SeekableIterator;
+import com.google.common.collect.Lists;
+
+public class FixedResolutionSkippingIteratorTest {
+  private static final int BIT_POSITION = 11;
+
+  @Test
+  public void testSeek() {
+    final List<byte[]> rows = getRows();
+    final ListIterator nonSeekable = new ListIterator(rows, false);
+    final ListIterator seekable = new ListIterator(rows, true);
+    final List<byte[]> expected =
+        Lists.newArrayList(
+            new FixedResolutionSkippingIterator<>(nonSeekable, r -> r, BIT_POSITION));
+    final List<byte[]> actual =
+        Lists.newArrayList(new FixedResolutionSkippingIterator<>(seekable, r -> r, BIT_POSITION));
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertArrayEquals(expected.get(i), actual.get(i));
+    }
+    // each row is in a different cell
+    for (int i = 1; i < actual.size(); i++) {
+      Assert.assertTrue(
+          ByteArrayUtils.compare(
+              actual.get(i),
+              IndexUtils.getNextRowForSkip(actual.get(i - 1), BIT_POSITION)) >= 0);
+    }
+    Assert.assertTrue(actual.size() < rows.size());
+    Assert.assertEquals(rows.size(), nonSeekable.rowsRead);
+    Assert.assertTrue(seekable.rowsRead < (2 * actual.size()));
+  }
+
+  @Test
+  public void testFilter() {
+    final List<byte[]> rows = getRows();
+    // a row that fails the filter doesn't take up its cell
+    final List<byte[]> actual =
+        Lists.newArrayList(
+            new FixedResolutionSkippingIterator<>(
+                new ListIterator(rows, true),
+                r -> r,
+                r -> (r[1] & 0x01) == 1,
+                BIT_POSITION));
+    Assert.assertFalse(actual.isEmpty());
+    for (final byte[] row : actual) {
+      Assert.assertEquals(1, row[1] & 0x01);
+    }
+  }
+
+  @Test
+  public void testRangeSplitting() {
+    final List<byte[]> rows = getRows();
+    final List<ByteArrayRange> queries = new ArrayList<>();
+    final ByteArrayRange range = new ByteArrayRange(new byte[] {0x10}, new byte[] {0x30});
+    final List<byte[]> actual =
+        Lists.newArrayList(
+            new FixedResolutionSkippingIterator<>(new RangeSplittingIterator<byte[]>(range) {
+              @Override
+              protected CloseableIterator<byte[]> query(final ByteArrayRange subRange) {
+                queries.add(subRange);
+                final List<byte[]> results = new ArrayList<>();
+                for (final byte[] row : rows) {
+                  if ((ByteArrayUtils.compare(row, subRange.getStart()) >= 0)
+                      && (ByteArrayUtils.compare(row, subRange.getEndAsNextPrefix()) < 0)) {
+                    results.add(row);
+                  }
+                }
+                return new CloseableIterator.Wrapper<>(results.iterator());
+              }
+            }, r -> r, BIT_POSITION));
+    Assert.assertFalse(actual.isEmpty());
+    for (final byte[] row : actual) {
+      Assert.assertTrue(ByteArrayUtils.compare(row, range.getStart()) >= 0);
+      Assert.assertTrue(ByteArrayUtils.compare(row, range.getEndAsNextPrefix()) < 0);
+    }
+    // one query for the range and one for each cell after the first, the last may be skipped when
+    // the next cell is past the end of the range
+    Assert.assertTrue(queries.size() <= (actual.size() + 1));
+    for (final ByteArrayRange query : queries) {
+      Assert.assertArrayEquals(range.getEnd(), query.getEnd());
+    }
+  }
+
+  private static List<byte[]> getRows() {
+    final List<byte[]> rows = new ArrayList<>();
+    for (int i = 0; i < 0x40; i++) {
+      for (int j = 0; j < 0x100; j += 3) {
+        rows.add(new byte[] {(byte) i, (byte) j});
+      }
+    }
+    return rows;
+  }
+
+  private static class ListIterator implements SeekableIterator<byte[]> {
+    private final List<byte[]> rows;
+    private final boolean seekable;
+    private int index = 0;
+    private int rowsRead = 0;
+
+    private ListIterator(final List<byte[]> rows, final boolean seekable) {
+      this.rows = rows;
+      this.seekable = seekable;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < rows.size();
+    }
+
+    @Override
+    public byte[] next() {
+      rowsRead++;
+      return rows.get(index++);
+    }
+
+    @Override
+    public void seek(final byte[] sortKey) {
+      if (!seekable) {
+        return;
+      }
+      while ((index < rows.size()) && (ByteArrayUtils.compare(rows.get(index), sortKey) < 0)) {
+        index++;
+      }
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,405 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.adapter.vector.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.locationtech.geowave.core.geotime.store.GeotoolsFeatureDataAdapter;
+import org.locationtech.geowave.core.geotime.store.query.api.VectorQueryBuilder;
+import org.locationtech.geowave.core.index.StringUtils;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.api.DataStore;
+import org.locationtech.geowave.core.store.api.DataTypeAdapter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBWriter;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+
+/**
+ * Writes features as an Apache Arrow IPC stream of record batches. Every attribute becomes a column
+ * of a primitive Arrow type where one exists, dates become UTC millisecond timestamps and
+ * geometries are written either as WKB or as lists of interleaved x and y coordinates. Null values
+ * are written as nulls in every encoding. The feature IDs are written to the
+ * {@link #FEATURE_ID_COLUMN} column.
+ *
+ * <p> The schema is written when the writer is created so consumers can read it before the first
+ * batch arrives, and the output stream is flushed after every batch.
+ *
+ * <p> This converts the features returned by a regular query, so each result is still decoded into
+ * a feature before its values are copied into the vectors. Queries only read the written
+ * attributes, but filling the vectors straight from the stored field values would need a query path
+ * that returns raw field values, and could not evaluate CQL filters, which are applied to features.
+ */
+public class ArrowFeatureWriter implements Closeable {
+  public static final String FEATURE_ID_COLUMN = "__fid";
+  public static final int DEFAULT_BATCH_SIZE = 10000;
+
+  public static enum GeometryEncoding {
+    /** Write geometries as well-known binary */
+    WKB,
+    /** Write the coordinates of all parts of a geometry as a list of interleaved x and y values */
+    COORDINATES
+  }
+
+  private final OutputStream out;
+  private final BufferAllocator allocator;
+  private final VectorSchemaRoot root;
+  private final ArrowStreamWriter writer;
+  private final String[] attributeNames;
+  private final ValueWriter[] valueWriters;
+  private final int batchSize;
+  private int rowCount = 0;
+  // the positions of the written attributes in the type of the last feature, the results of a
+  // query almost always share one type so they are only looked up when it changes
+  private SimpleFeatureType lastFeatureType = null;
+  private int[] attributeIndices;
+
+  /**
+   * @param featureType the type of the features
+   * @param attributeNames the attributes to write, all attributes if null or empty
+   * @param geometryEncoding the encoding of geometry attributes
+   * @param batchSize the number of features per record batch
+   * @param out the stream to write to, which is not closed by this writer
+   * @throws IOException if the schema could not be written
+   */
+  public ArrowFeatureWriter(
+      final SimpleFeatureType featureType,
+      final String[] attributeNames,
+      final GeometryEncoding geometryEncoding,
+      final int batchSize,
+      final OutputStream out) throws IOException {
+    this.out = out;
+    this.batchSize = batchSize;
+    final List<AttributeDescriptor> descriptors = new ArrayList<>();
+    if ((attributeNames == null) || (attributeNames.length == 0)) {
+      descriptors.addAll(featureType.getAttributeDescriptors());
+    } else {
+      for (final String name : attributeNames) {
+        final AttributeDescriptor descriptor = featureType.getDescriptor(name);
+        if (descriptor == null) {
+          throw new IllegalArgumentException(
+              "Attribute '"
+                  + name
+                  + "' does not exist in type '"
+                  + featureType.getTypeName()
+                  + "'");
+        }
+        descriptors.add(descriptor);
+      }
+    }
+    this.attributeNames = new String[descriptors.size()];
+    valueWriters = new ValueWriter[descriptors.size() + 1];
+    final List<Field> fields = new ArrayList<>(descriptors.size() + 1);
+    fields.add(field(FEATURE_ID_COLUMN, ArrowType.Utf8.INSTANCE));
+    valueWriters[0] = ArrowFeatureWriter::writeString;
+    for (int i = 0; i < descriptors.size(); i++) {
+      final AttributeDescriptor descriptor = descriptors.get(i);
+      this.attributeNames[i] = descriptor.getLocalName();
+      addColumn(
+          descriptor.getLocalName(),
+          descriptor.getType().getBinding(),
+          geometryEncoding,
+          fields,
+          valueWriters,
+          i + 1);
+    }
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    root = VectorSchemaRoot.create(new Schema(fields), allocator);
+    allocateVectors();
+    writer = new ArrowStreamWriter(root, null, out);
+    writer.start();
+    out.flush();
+  }
+
+  /**
+   * @param feature the feature to add to the current batch
+   * @throws IOException if the batch is full and could not be written
+   */
+  public void write(final SimpleFeature feature) throws IOException {
+    final List<FieldVector> vectors = root.getFieldVectors();
+    valueWriters[0].write(vectors.get(0), rowCount, feature.getID());
+    final int[] indices = getAttributeIndices(feature.getFeatureType());
+    for (int i = 0; i < attributeNames.length; i++) {
+      final Object value = indices[i] < 0 ? null : feature.getAttribute(indices[i]);
+      final FieldVector vector = vectors.get(i + 1);
+      if (value != null) {
+        valueWriters[i + 1].write(vector, rowCount, value);
+      } else if (vector instanceof ListVector) {
+        writeNullList((ListVector) vector, rowCount);
+      }
+    }
+    if (++rowCount >= batchSize) {
+      writeBatch();
+    }
+  }
+
+  /**
+   * @param features the features to write, the iterator is closed once they are written
+   * @return the number of features written
+   * @throws IOException if a batch could not be written
+   */
+  public long writeAll(final CloseableIterator<SimpleFeature> features) throws IOException {
+    long count = 0;
+    try {
+      while (features.hasNext()) {
+        write(features.next());
+        count++;
+      }
+    } finally {
+      features.close();
+    }
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (rowCount > 0) {
+        writeBatch();
+      }
+      writer.end();
+      out.flush();
+    } finally {
+      root.close();
+      allocator.close();
+    }
+  }
+
+  private int[] getAttributeIndices(final SimpleFeatureType featureType) {
+    if (featureType != lastFeatureType) {
+      attributeIndices = new int[attributeNames.length];
+      for (int i = 0; i < attributeNames.length; i++) {
+        attributeIndices[i] = featureType.indexOf(attributeNames[i]);
+      }
+      lastFeatureType = featureType;
+    }
+    return attributeIndices;
+  }
+
+  private void writeBatch() throws IOException {
+    root.setRowCount(rowCount);
+    writer.writeBatch();
+    out.flush();
+    rowCount = 0;
+    // the batch has been written, so its buffers are released and allocated again for the next
+    for (final FieldVector vector : root.getFieldVectors()) {
+      vector.clear();
+    }
+    allocateVectors();
+  }
+
+  private void allocateVectors() {
+    for (final FieldVector vector : root.getFieldVectors()) {
+      vector.allocateNew();
+    }
+  }
+
+  /**
+   * Query the features of a type and write them as an Arrow stream.
+   *
+   * @param dataStore the store to query
+   * @param typeName the type to query
+   * @param cql an optional CQL filter of the features
+   * @param attributeNames the attributes to read and write, all attributes if null or empty
+   * @param geometryEncoding the encoding of geometry attributes
+   * @param batchSize the number of features per record batch
+   * @param out the stream to write to, which is not closed
+   * @return the number of features written
+   * @throws IOException if the features could not be written
+   */
+  public static long writeQueryResults(
+      final DataStore dataStore,
+      final String typeName,
+      final String cql,
+      final String[] attributeNames,
+      final GeometryEncoding geometryEncoding,
+      final int batchSize,
+      final OutputStream out) throws IOException {
+    final SimpleFeatureType featureType = getFeatureType(dataStore, typeName);
+    try (ArrowFeatureWriter writer =
+        new ArrowFeatureWriter(featureType, attributeNames, geometryEncoding, batchSize, out)) {
+      return writer.writeAll(query(dataStore, typeName, cql, attributeNames));
+    }
+  }
+
+  /**
+   * @param dataStore the store of the type
+   * @param typeName the name of the type
+   * @return the feature type
+   * @throws IllegalArgumentException if the type does not exist or is not a vector type
+   */
+  public static SimpleFeatureType getFeatureType(final DataStore dataStore, final String typeName) {
+    for (final DataTypeAdapter<?> adapter : dataStore.getTypes()) {
+      if (adapter.getTypeName().equals(typeName)
+          && (adapter instanceof GeotoolsFeatureDataAdapter)) {
+        return ((GeotoolsFeatureDataAdapter) adapter).getFeatureType();
+      }
+    }
+    throw new IllegalArgumentException("Type '" + typeName + "' is not a vector type");
+  }
+
+  /**
+   * Query the features of a type, reading only the attributes that are written.
+   *
+   * @param dataStore the store to query
+   * @param typeName the type to query
+   * @param cql an optional CQL filter of the features
+   * @param attributeNames the attributes to read, all attributes if null or empty
+   * @return the features, which must be closed
+   */
+  public static CloseableIterator<SimpleFeature> query(
+      final DataStore dataStore,
+      final String typeName,
+      final String cql,
+      final String[] attributeNames) {
+    VectorQueryBuilder bldr = VectorQueryBuilder.newBuilder().addTypeName(typeName);
+    if ((attributeNames != null) && (attributeNames.length > 0)) {
+      // only the exported attributes are read from the store
+      bldr = bldr.subsetFields(typeName, attributeNames);
+    }
+    if ((cql != null) && !cql.isEmpty()) {
+      bldr = bldr.constraints(bldr.constraintsFactory().cqlConstraints(cql));
+    }
+    return dataStore.query(bldr.build());
+  }
+
+  private static void addColumn(
+      final String name,
+      final Class<?> binding,
+      final GeometryEncoding geometryEncoding,
+      final List<Field> fields,
+      final ValueWriter[] valueWriters,
+      final int index) {
+    if (Geometry.class.isAssignableFrom(binding)) {
+      if (GeometryEncoding.COORDINATES.equals(geometryEncoding)) {
+        fields.add(
+            new Field(
+                name,
+                FieldType.nullable(ArrowType.List.INSTANCE),
+                Collections.singletonList(
+                    field("item", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)))));
+        valueWriters[index] = ArrowFeatureWriter::writeCoordinates;
+      } else {
+        fields.add(field(name, ArrowType.Binary.INSTANCE));
+        valueWriters[index] = (vector, i, value) -> ((VarBinaryVector) vector).setSafe(
+            i,
+            new WKBWriter().write((Geometry) value));
+      }
+    } else if (String.class.isAssignableFrom(binding)) {
+      fields.add(field(name, ArrowType.Utf8.INSTANCE));
+      valueWriters[index] = ArrowFeatureWriter::writeString;
+    } else if (Integer.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.Int(32, true)));
+      valueWriters[index] =
+          (vector, i, value) -> ((IntVector) vector).setSafe(i, ((Number) value).intValue());
+    } else if (Long.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.Int(64, true)));
+      valueWriters[index] =
+          (vector, i, value) -> ((BigIntVector) vector).setSafe(i, ((Number) value).longValue());
+    } else if (Short.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.Int(16, true)));
+      valueWriters[index] =
+          (vector, i, value) -> ((SmallIntVector) vector).setSafe(i, ((Number) value).shortValue());
+    } else if (Byte.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.Int(8, true)));
+      valueWriters[index] =
+          (vector, i, value) -> ((TinyIntVector) vector).setSafe(i, ((Number) value).byteValue());
+    } else if (Double.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)));
+      valueWriters[index] =
+          (vector, i, value) -> ((Float8Vector) vector).setSafe(i, ((Number) value).doubleValue());
+    } else if (Float.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE)));
+      valueWriters[index] =
+          (vector, i, value) -> ((Float4Vector) vector).setSafe(i, ((Number) value).floatValue());
+    } else if (Boolean.class.isAssignableFrom(binding)) {
+      fields.add(field(name, ArrowType.Bool.INSTANCE));
+      valueWriters[index] =
+          (vector, i, value) -> ((BitVector) vector).setSafe(i, ((Boolean) value) ? 1 : 0);
+    } else if (Date.class.isAssignableFrom(binding)) {
+      fields.add(field(name, new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC")));
+      valueWriters[index] =
+          (vector, i, value) -> ((TimeStampMilliTZVector) vector).setSafe(
+              i,
+              ((Date) value).getTime());
+    } else {
+      // anything else is written as its string representation
+      fields.add(field(name, ArrowType.Utf8.INSTANCE));
+      valueWriters[index] = ArrowFeatureWriter::writeString;
+    }
+  }
+
+  private static Field field(final String name, final ArrowType type) {
+    return new Field(name, FieldType.nullable(type), Collections.emptyList());
+  }
+
+  private static void writeString(final FieldVector vector, final int index, final Object value) {
+    ((VarCharVector) vector).setSafe(index, StringUtils.stringToBinary(value.toString()));
+  }
+
+  private static void writeCoordinates(
+      final FieldVector vector,
+      final int index,
+      final Object value) {
+    final UnionListWriter listWriter = ((ListVector) vector).getWriter();
+    listWriter.setPosition(index);
+    listWriter.startList();
+    for (final Coordinate c : ((Geometry) value).getCoordinates()) {
+      listWriter.writeFloat8(c.x);
+      listWriter.writeFloat8(c.y);
+    }
+    listWriter.endList();
+  }
+
+  private static void writeNullList(final ListVector vector, final int index) {
+    // list offsets can not skip rows, so an empty list keeps the offsets of the following rows in
+    // place and is then marked as null
+    final UnionListWriter listWriter = vector.getWriter();
+    listWriter.setPosition(index);
+    listWriter.startList();
+    listWriter.endList();
+    BitVectorHelper.setValidityBit(vector.getValidityBuffer(), index, 0);
+  }
+
+  @FunctionalInterface
+  private static interface ValueWriter {
+    void write(FieldVector vector, int index, Object value);
+  }
+}
@@ -8,9 +8,11 @@
  */
 package org.locationtech.geowave.adapter.vector.index;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import org.locationtech.geowave.core.geotime.store.query.OptimalCQLQuery;
 import org.locationtech.geowave.core.geotime.store.query.api.VectorStatisticsQueryBuilder;
 import org.locationtech.geowave.core.index.IndexUtils;
 import org.locationtech.geowave.core.index.QueryRanges;
@@ -21,9 +23,13 @@ import org.locationtech.geowave.core.store.adapter.statistics.StatisticsId;
 import org.locationtech.geowave.core.store.adapter.statistics.histogram.NumericHistogram;
 import org.locationtech.geowave.core.store.api.Index;
 import org.locationtech.geowave.core.store.api.StatisticsQuery;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionalityTypeProvider;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexQuery;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery;
 import org.locationtech.geowave.core.store.util.DataStoreUtils;
 import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,7 +64,13 @@ public class ChooseBestMatchIndexQueryStrategy implements IndexQueryStrategySPI
           if (nextIdx.getIndexStrategy().getOrderedDimensionDefinitions().length == 0) {
             continue;
           }
-          final List<MultiDimensionalNumericData> constraints = query.getIndexConstraints(nextIdx);
+          final boolean isAttributeIndex = AttributeDimensionalityTypeProvider.isAttribute(nextIdx);
+          final List<MultiDimensionalNumericData> constraints;
+          if (isAttributeIndex) {
+            constraints = getAttributeConstraints(nextIdx, hints);
+          } else {
+            constraints = query.getIndexConstraints(nextIdx);
+          }
           boolean containsRowRangeHistograms = false;
 
           final StatisticsQuery<NumericHistogram> query =
@@ -80,8 +92,13 @@ public class ChooseBestMatchIndexQueryStrategy implements IndexQueryStrategySPI
 
           if (IndexUtils.isFullTableScan(constraints)) {
             // keep this is as a default in case all indices
-            // result in a full table scan
-            if (bestIdx == null) {
+            // result in a full table scan, rows found through an
+            // attribute index may have to be joined back to the data
+            // so prefer any other index
+            if ((bestIdx == null)
+                || ((min == Long.MAX_VALUE)
+                    && !isAttributeIndex
+                    && AttributeDimensionalityTypeProvider.isAttribute(bestIdx))) {
               bestIdx = nextIdx;
             }
           } else {
@@ -128,4 +145,22 @@ public class ChooseBestMatchIndexQueryStrategy implements IndexQueryStrategySPI
       public void close() {}
     };
   }
+
+  /**
+   * The spatial and temporal query never constrains an attribute index, the attribute constraints
+   * come from the CQL filter.
+   */
+  private static List<MultiDimensionalNumericData> getAttributeConstraints(
+      final Index index,
+      final Map<QueryHint, Object> hints) {
+    final AttributeIndexQuery attributeQuery =
+        OptimalCQLQuery.createAttributeQuery(
+            (Filter) hints.get(QueryHint.CQL_FILTER),
+            (SimpleFeatureType) hints.get(QueryHint.FEATURE_TYPE),
+            index);
+    if (attributeQuery == null) {
+      return Collections.emptyList();
+    }
+    return attributeQuery.getIndexConstraints(index);
+  }
 }
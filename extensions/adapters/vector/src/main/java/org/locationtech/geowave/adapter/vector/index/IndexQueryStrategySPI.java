@@ -18,7 +18,10 @@ import org.opengis.feature.simple.SimpleFeature;
 
 public interface IndexQueryStrategySPI {
   public enum QueryHint {
-    MAX_RANGE_DECOMPOSITION
+    MAX_RANGE_DECOMPOSITION,
+    // the CQL filter and the feature type are used to constrain attribute indices
+    CQL_FILTER,
+    FEATURE_TYPE
   }
 
   public CloseableIterator<Index> getIndices(
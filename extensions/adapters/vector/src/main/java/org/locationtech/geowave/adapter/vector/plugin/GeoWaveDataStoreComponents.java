@@ -34,6 +34,7 @@ import org.locationtech.geowave.core.store.data.visibility.UniformVisibilityWrit
 import org.locationtech.geowave.core.store.index.IndexStore;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery;
 import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.filter.Filter;
 import org.spark_project.guava.collect.Maps;
 
 public class GeoWaveDataStoreComponents {
@@ -103,12 +104,17 @@ public class GeoWaveDataStoreComponents {
   public CloseableIterator<Index> getIndices(
       final Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>> stats,
       final BasicQuery query,
+      final Filter filter,
       final boolean spatialOnly) {
     final GeoWaveGTDataStore gtStore = getGTstore();
     final Map<QueryHint, Object> queryHints = Maps.newHashMap();
     queryHints.put(
         QueryHint.MAX_RANGE_DECOMPOSITION,
         gtStore.getDataStoreOptions().getMaxRangeDecomposition());
+    if (filter != null) {
+      queryHints.put(QueryHint.CQL_FILTER, filter);
+      queryHints.put(QueryHint.FEATURE_TYPE, adapter.getFeatureType());
+    }
     final Index[] indices = gtStore.getIndicesForAdapter(adapter, spatialOnly);
     if (spatialOnly && (indices.length == 0)) {
       throw new UnsupportedOperationException("Query required spatial index, but none were found.");
@@ -201,7 +201,7 @@ public class GeoWaveFeatureReader implements FeatureReader<SimpleFeatureType, Si
       spatialOnly = true;
     }
     try (CloseableIterator<Index> indexIt =
-        getComponents().getIndices(statsMap, query, spatialOnly)) {
+        getComponents().getIndices(statsMap, query, issuer.getFilter(), spatialOnly)) {
       while (indexIt.hasNext()) {
         final Index index = indexIt.next();
 
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.adapter.vector.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.junit.Test;
+import org.locationtech.geowave.adapter.vector.export.ArrowFeatureWriter.GeometryEncoding;
+import org.locationtech.geowave.core.geotime.util.GeometryUtils;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class ArrowFeatureWriterTest {
+  private static final SimpleFeatureType TYPE;
+
+  static {
+    final SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+    typeBuilder.setName("test");
+    typeBuilder.setCRS(GeometryUtils.getDefaultCRS());
+    typeBuilder.add("geom", LineString.class);
+    typeBuilder.add("name", String.class);
+    typeBuilder.add("count", Long.class);
+    typeBuilder.add("when", Date.class);
+    TYPE = typeBuilder.buildFeatureType();
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException, ParseException {
+    final List<SimpleFeature> features = createFeatures();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ArrowFeatureWriter writer =
+        new ArrowFeatureWriter(TYPE, null, GeometryEncoding.WKB, 2, out)) {
+      for (final SimpleFeature feature : features) {
+        writer.write(feature);
+      }
+    }
+
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        ArrowStreamReader reader =
+            new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+      final VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertEquals(
+          Arrays.asList(ArrowFeatureWriter.FEATURE_ID_COLUMN, "geom", "name", "count", "when"),
+          fieldNames(root));
+
+      // the features are split into batches of the batch size
+      final List<Integer> batchSizes = new ArrayList<>();
+      int row = 0;
+      while (reader.loadNextBatch()) {
+        batchSizes.add(root.getRowCount());
+        final VarCharVector ids =
+            (VarCharVector) root.getVector(ArrowFeatureWriter.FEATURE_ID_COLUMN);
+        final VarBinaryVector geoms = (VarBinaryVector) root.getVector("geom");
+        final VarCharVector names = (VarCharVector) root.getVector("name");
+        final BigIntVector counts = (BigIntVector) root.getVector("count");
+        final TimeStampMilliTZVector whens = (TimeStampMilliTZVector) root.getVector("when");
+        for (int i = 0; i < root.getRowCount(); i++, row++) {
+          final SimpleFeature expected = features.get(row);
+          assertEquals(expected.getID(), ids.getObject(i).toString());
+          if (expected.getDefaultGeometry() == null) {
+            assertTrue(geoms.isNull(i));
+          } else {
+            assertEquals(
+                expected.getDefaultGeometry(),
+                new WKBReader().read(geoms.getObject(i)));
+          }
+          if (expected.getAttribute("name") == null) {
+            assertTrue(names.isNull(i));
+          } else {
+            assertEquals(expected.getAttribute("name"), names.getObject(i).toString());
+          }
+          assertEquals(expected.getAttribute("count"), counts.getObject(i));
+          assertEquals(((Date) expected.getAttribute("when")).getTime(), whens.get(i));
+        }
+      }
+      assertEquals(Arrays.asList(2, 1), batchSizes);
+      assertEquals(features.size(), row);
+    }
+  }
+
+  @Test
+  public void testCoordinates() throws IOException {
+    final List<SimpleFeature> features = createFeatures();
+    // a geometry after the null geometry must keep its own coordinates
+    features.add(features.get(1));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ArrowFeatureWriter writer =
+        new ArrowFeatureWriter(
+            TYPE,
+            new String[] {"geom"},
+            GeometryEncoding.COORDINATES,
+            ArrowFeatureWriter.DEFAULT_BATCH_SIZE,
+            out)) {
+      for (final SimpleFeature feature : features) {
+        writer.write(feature);
+      }
+    }
+
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        ArrowStreamReader reader =
+            new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+      final VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      // only the requested attributes are written
+      assertEquals(Arrays.asList(ArrowFeatureWriter.FEATURE_ID_COLUMN, "geom"), fieldNames(root));
+      assertTrue(reader.loadNextBatch());
+      assertEquals(features.size(), root.getRowCount());
+      final ListVector geoms = (ListVector) root.getVector("geom");
+      for (int i = 0; i < features.size(); i++) {
+        final Geometry geometry = (Geometry) features.get(i).getDefaultGeometry();
+        if (geometry == null) {
+          assertTrue(geoms.isNull(i));
+          continue;
+        }
+        assertFalse(geoms.isNull(i));
+        final List<?> coordinates = geoms.getObject(i);
+        final int numCoordinates = geometry.getNumPoints();
+        assertEquals(numCoordinates * 2, coordinates.size());
+        for (int c = 0; c < numCoordinates; c++) {
+          assertEquals(geometry.getCoordinates()[c].x, (Double) coordinates.get(c * 2), 0);
+          assertEquals(geometry.getCoordinates()[c].y, (Double) coordinates.get((c * 2) + 1), 0);
+        }
+      }
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAttribute() throws IOException {
+    new ArrowFeatureWriter(
+        TYPE,
+        new String[] {"unknown"},
+        GeometryEncoding.WKB,
+        ArrowFeatureWriter.DEFAULT_BATCH_SIZE,
+        new ByteArrayOutputStream());
+  }
+
+  private static List<String> fieldNames(final VectorSchemaRoot root) {
+    final List<String> names = new ArrayList<>();
+    for (final Field field : root.getSchema().getFields()) {
+      names.add(field.getName());
+    }
+    return names;
+  }
+
+  private static List<SimpleFeature> createFeatures() {
+    final SimpleFeatureBuilder builder = new SimpleFeatureBuilder(TYPE);
+    final List<SimpleFeature> features = new ArrayList<>();
+    builder.set(
+        "geom",
+        GeometryUtils.GEOMETRY_FACTORY.createLineString(
+            new Coordinate[] {new Coordinate(0, 0), new Coordinate(1.5, -2.25)}));
+    builder.set("name", "first");
+    builder.set("count", 1L);
+    builder.set("when", new Date(1000));
+    features.add(builder.buildFeature("fid1"));
+    builder.set(
+        "geom",
+        GeometryUtils.GEOMETRY_FACTORY.createLineString(
+            new Coordinate[] {new Coordinate(3, 4), new Coordinate(5, 6), new Coordinate(7, 8)}));
+    builder.set("count", 2L);
+    builder.set("when", new Date(2000));
+    features.add(builder.buildFeature("fid2"));
+    builder.set("geom", null);
+    builder.set("name", "third");
+    builder.set("count", 3L);
+    builder.set("when", new Date(3000));
+    features.add(builder.buildFeature("fid3"));
+    return features;
+  }
+}
@@ -17,7 +17,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Random;
+import org.geotools.data.DataUtilities;
+import org.geotools.filter.text.ecql.ECQL;
 import org.junit.Test;
+import org.locationtech.geowave.adapter.vector.index.IndexQueryStrategySPI.QueryHint;
 import org.locationtech.geowave.core.geotime.index.dimension.LatitudeDefinition;
 import org.locationtech.geowave.core.geotime.index.dimension.LongitudeDefinition;
 import org.locationtech.geowave.core.geotime.index.dimension.TimeDefinition;
@@ -41,11 +44,14 @@ import org.locationtech.geowave.core.store.entities.GeoWaveRowImpl;
 import org.locationtech.geowave.core.store.entities.GeoWaveValue;
 import org.locationtech.geowave.core.store.index.CommonIndexValue;
 import org.locationtech.geowave.core.store.index.NullIndex;
+import org.locationtech.geowave.core.store.index.attribute.AttributeDimensionalityTypeProvider.AttributeIndexBuilder;
+import org.locationtech.geowave.core.store.index.attribute.AttributeIndexStrategy;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery.ConstraintData;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery.ConstraintSet;
 import org.locationtech.geowave.core.store.query.constraints.BasicQuery.Constraints;
 import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
 import com.beust.jcommander.internal.Maps;
 
 public class ChooseBestMatchIndexQueryStrategyTest {
@@ -157,6 +163,78 @@ public class ChooseBestMatchIndexQueryStrategyTest {
     assertFalse(it.hasNext());
   }
 
+  @Test
+  public void testChooseConstrainedAttributeIndex() throws Exception {
+    final Index attributeIndex = new AttributeIndexBuilder("pop").createIndex();
+    final Index spatialIndex = new SpatialIndexBuilder().createIndex();
+    final Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>> statsMap =
+        createAttributeStats(attributeIndex);
+
+    // the spatial index is unconstrained, the attribute index is constrained by the filter
+    final Iterator<Index> it =
+        new ChooseBestMatchIndexQueryStrategy().getIndices(
+            statsMap,
+            new BasicQuery(new Constraints()),
+            new Index[] {spatialIndex, attributeIndex},
+            createHints("pop = 10"));
+    assertTrue(it.hasNext());
+    assertEquals(attributeIndex.getName(), it.next().getName());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void testPreferOtherIndexToUnconstrainedAttributeIndex() throws Exception {
+    final Index attributeIndex = new AttributeIndexBuilder("pop").createIndex();
+    final Index spatialIndex = new SpatialIndexBuilder().createIndex();
+    final Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>> statsMap =
+        createAttributeStats(attributeIndex);
+
+    // both indices are full table scans, the attribute index should not be the default
+    final Iterator<Index> it =
+        new ChooseBestMatchIndexQueryStrategy().getIndices(
+            statsMap,
+            new BasicQuery(new Constraints()),
+            new Index[] {attributeIndex, spatialIndex},
+            createHints("name = 'a'"));
+    assertTrue(it.hasNext());
+    assertEquals(spatialIndex.getName(), it.next().getName());
+    assertFalse(it.hasNext());
+  }
+
+  private static Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>>
+      createAttributeStats(final Index attributeIndex) {
+    final RowRangeHistogramStatistics<SimpleFeature> attributeStats =
+        new RowRangeHistogramStatistics<>(null, attributeIndex.getName(), null);
+    for (int i = 0; i < 1000; i++) {
+      attributeStats.entryIngested(
+          null,
+          new GeoWaveRowImpl(
+              new GeoWaveKeyImpl(
+                  new byte[] {1},
+                  (short) 1,
+                  new byte[0],
+                  AttributeIndexStrategy.getSortKey(i),
+                  0),
+              new GeoWaveValue[] {}));
+    }
+    final Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>> statsMap = new HashMap<>();
+    statsMap.put(
+        VectorStatisticsQueryBuilder.newBuilder().factory().rowHistogram().indexName(
+            attributeIndex.getName()).build().getId(),
+        attributeStats);
+    return statsMap;
+  }
+
+  private static Map<QueryHint, Object> createHints(final String cql) throws Exception {
+    final SimpleFeatureType type =
+        DataUtilities.createType("test", "geometry:Point:srid=4326,pop:Integer,name:String");
+    final Map<QueryHint, Object> hints = new HashMap<>();
+    hints.put(QueryHint.MAX_RANGE_DECOMPOSITION, 2000);
+    hints.put(QueryHint.CQL_FILTER, ECQL.toFilter(cql));
+    hints.put(QueryHint.FEATURE_TYPE, type);
+    return hints;
+  }
+
   public Iterator<Index> getIndices(
       final Map<StatisticsId, InternalDataStatistics<SimpleFeature, ?, ?>> stats,
       final BasicQuery query,
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.adapter.vector.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import org.geotools.filter.FilterFactoryImpl;
+import org.geotools.filter.text.cql2.CQL;
+import org.geotools.filter.text.cql2.CQLException;
+import org.geotools.filter.text.ecql.ECQL;
+import org.junit.Test;
+import org.locationtech.geowave.adapter.vector.util.DateUtilities;
+import org.locationtech.geowave.core.geotime.util.ExtractAttributeConstraintsVisitor;
+import org.locationtech.geowave.core.store.index.FilterableConstraints;
+import org.locationtech.geowave.core.store.index.numeric.NumericQueryConstraint;
+import org.locationtech.geowave.core.store.index.temporal.TemporalQueryConstraint;
+import org.locationtech.geowave.core.store.index.text.TextQueryConstraint;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory;
+
+public class ExtractAttributeConstraintsVisitorTest {
+  private final ExtractAttributeConstraintsVisitor popVisitor =
+      new ExtractAttributeConstraintsVisitor("pop", Integer.class);
+  private final ExtractAttributeConstraintsVisitor nameVisitor =
+      new ExtractAttributeConstraintsVisitor("name", String.class);
+  private final ExtractAttributeConstraintsVisitor whenVisitor =
+      new ExtractAttributeConstraintsVisitor("when", Date.class);
+
+  @Test
+  public void testNumericComparisons() throws CQLException {
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("pop = 10")), 10, 10);
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("pop > 10")),
+        10,
+        Double.POSITIVE_INFINITY);
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("pop <= 10")),
+        Double.NEGATIVE_INFINITY,
+        10);
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("pop BETWEEN 5 AND 10")), 5, 10);
+  }
+
+  @Test
+  public void testReversedOperands() throws CQLException {
+    // "10 < pop" is the same as "pop > 10"
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("10 < pop")),
+        10,
+        Double.POSITIVE_INFINITY);
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("10 >= pop")),
+        Double.NEGATIVE_INFINITY,
+        10);
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("10 = pop")), 10, 10);
+  }
+
+  @Test
+  public void testAnd() throws CQLException {
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("pop > 5 AND pop < 10")), 5, 10);
+    // an unconstrained child doesn't loosen the constraints of the others
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("pop > 5 AND name = 'a'")),
+        5,
+        Double.POSITIVE_INFINITY);
+    // disjoint ranges keep the first range, the filter removes every row
+    assertNumeric(
+        popVisitor.getConstraints(ECQL.toFilter("pop < 5 AND pop > 10")),
+        Double.NEGATIVE_INFINITY,
+        5);
+    assertNull(popVisitor.getConstraints(ECQL.toFilter("name = 'a' AND name = 'b'")));
+  }
+
+  @Test
+  public void testOr() throws CQLException {
+    final List<FilterableConstraints> constraints =
+        popVisitor.getConstraints(ECQL.toFilter("pop = 1 OR pop = 3"));
+    assertEquals(2, constraints.size());
+    assertNumeric(constraints.subList(0, 1), 1, 1);
+    assertNumeric(constraints.subList(1, 2), 3, 3);
+    // any unconstrained child leaves the attribute unconstrained
+    assertNull(popVisitor.getConstraints(ECQL.toFilter("pop = 1 OR name = 'a'")));
+    assertNull(popVisitor.getConstraints(ECQL.toFilter("NOT (pop = 1)")));
+
+    final List<FilterableConstraints> textConstraints =
+        nameVisitor.getConstraints(ECQL.toFilter("name IN ('a', 'b')"));
+    assertEquals(2, textConstraints.size());
+    assertEquals("a", ((TextQueryConstraint) textConstraints.get(0)).getMatchValue());
+    assertEquals("b", ((TextQueryConstraint) textConstraints.get(1)).getMatchValue());
+  }
+
+  @Test
+  public void testText() throws CQLException {
+    final List<FilterableConstraints> constraints =
+        nameVisitor.getConstraints(ECQL.toFilter("name = 'abc'"));
+    assertEquals(1, constraints.size());
+    final TextQueryConstraint text = (TextQueryConstraint) constraints.get(0);
+    assertEquals("name", text.getFieldName());
+    assertEquals("abc", text.getMatchValue());
+    assertTrue(text.isCaseSensitive());
+    // text is indexed by its exact value, it has no ranges
+    assertNull(nameVisitor.getConstraints(ECQL.toFilter("name > 'abc'")));
+    assertNull(nameVisitor.getConstraints(ECQL.toFilter("name LIKE 'abc%'")));
+  }
+
+  @Test
+  public void testMatchingCase() {
+    final FilterFactory factory = new FilterFactoryImpl();
+    final Filter caseSensitive =
+        factory.equal(factory.property("name"), factory.literal("abc"), true);
+    final Filter caseInsensitive =
+        factory.equal(factory.property("name"), factory.literal("abc"), false);
+    assertEquals(1, nameVisitor.getConstraints(caseSensitive).size());
+    assertNull(nameVisitor.getConstraints(caseInsensitive));
+    // case doesn't matter to numbers
+    final Filter numeric = factory.equal(factory.property("pop"), factory.literal(10), false);
+    assertNumeric(popVisitor.getConstraints(numeric), 10, 10);
+  }
+
+  @Test
+  public void testLiteralConversion() throws CQLException {
+    // literals are converted to the type of the attribute
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("pop = '10'")), 10, 10);
+    assertNumeric(popVisitor.getConstraints(ECQL.toFilter("pop BETWEEN '5' AND '10'")), 5, 10);
+    // a literal that can't be converted leaves the attribute unconstrained
+    assertNull(popVisitor.getConstraints(ECQL.toFilter("pop = 'abc'")));
+    // other attributes are ignored
+    assertNull(popVisitor.getConstraints(ECQL.toFilter("other = 10")));
+  }
+
+  @Test
+  public void testTemporalOperators() throws CQLException, ParseException {
+    final Date start = DateUtilities.parseISO("2005-05-19T20:32:56Z");
+    final Date end = DateUtilities.parseISO("2005-05-19T21:32:56Z");
+    final Date min = new Date(Long.MIN_VALUE);
+    final Date max = new Date(Long.MAX_VALUE);
+    assertTemporal(
+        whenVisitor.getConstraints(CQL.toFilter("when AFTER 2005-05-19T20:32:56Z")),
+        start,
+        max);
+    assertTemporal(
+        whenVisitor.getConstraints(CQL.toFilter("when BEFORE 2005-05-19T20:32:56Z")),
+        min,
+        start);
+    assertTemporal(
+        whenVisitor.getConstraints(
+            CQL.toFilter("when DURING 2005-05-19T20:32:56Z/2005-05-19T21:32:56Z")),
+        start,
+        end);
+    // after a period is after its end, before a period is before its start
+    assertTemporal(
+        whenVisitor.getConstraints(
+            CQL.toFilter("when AFTER 2005-05-19T20:32:56Z/2005-05-19T21:32:56Z")),
+        end,
+        max);
+    assertTemporal(
+        whenVisitor.getConstraints(
+            CQL.toFilter("when BEFORE 2005-05-19T20:32:56Z/2005-05-19T21:32:56Z")),
+        min,
+        start);
+    assertTemporal(
+        whenVisitor.getConstraints(
+            ECQL.toFilter("when > 2005-05-19T20:32:56Z AND when < 2005-05-19T21:32:56Z")),
+        start,
+        end);
+    // temporal operators don't constrain other types of attributes
+    assertNull(popVisitor.getConstraints(CQL.toFilter("pop AFTER 2005-05-19T20:32:56Z")));
+  }
+
+  private static void assertNumeric(
+      final List<FilterableConstraints> constraints,
+      final double min,
+      final double max) {
+    assertEquals(1, constraints.size());
+    assertTrue(constraints.get(0) instanceof NumericQueryConstraint);
+    final NumericQueryConstraint numeric = (NumericQueryConstraint) constraints.get(0);
+    assertEquals(min, numeric.getMinValue(), 0);
+    assertEquals(max, numeric.getMaxValue(), 0);
+  }
+
+  private static void assertTemporal(
+      final List<FilterableConstraints> constraints,
+      final Date start,
+      final Date end) {
+    assertEquals(1, constraints.size());
+    assertTrue(constraints.get(0) instanceof TemporalQueryConstraint);
+    final TemporalQueryConstraint temporal = (TemporalQueryConstraint) constraints.get(0);
+    assertEquals(start, temporal.getStart());
+    assertEquals(end, temporal.getEnd());
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.accumulo.operations;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.client.rfile.RFileWriter;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.locationtech.geowave.core.index.ByteArray;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.mapreduce.output.BulkLoadRowWriter;
+
+/**
+ * Writes the rows of an index as sorted RFiles, one set of files per tablet, to be imported into
+ * the index table with {@link AccumuloOperations#importBulkLoadDirectory}. The keys are written
+ * without timestamps so the import assigns them.
+ */
+public class AccumuloBulkLoadWriter extends BulkLoadRowWriter<KeyValue> {
+  private static final Comparator<KeyValue> KEY_COMPARATOR =
+      (kv1, kv2) -> kv1.getKey().compareTo(kv2.getKey());
+  private final FileSystem fs;
+  private final Path directory;
+  private final AccumuloOperations operations;
+  private final String tableName;
+
+  /**
+   * @param conf the configuration to read the buffer size from
+   * @param fs the file system to write the files to
+   * @param directory the directory of the index table to write the files in
+   * @param splits the first rows of every tablet of the table except the first
+   * @param operations the operations used to ensure partitions have their own tablets
+   * @param tableName the unqualified name of the index table
+   */
+  public AccumuloBulkLoadWriter(
+      final Configuration conf,
+      final FileSystem fs,
+      final Path directory,
+      final byte[][] splits,
+      final AccumuloOperations operations,
+      final String tableName) {
+    super(conf, splits, KEY_COMPARATOR);
+    this.fs = fs;
+    this.directory = directory;
+    this.operations = operations;
+    this.tableName = tableName;
+  }
+
+  /**
+   * @param tableSplits the splits of the table, sorted
+   * @return the first row of every tablet of the table except the first
+   */
+  public static byte[][] getTabletStartRows(final Collection<Text> tableSplits) {
+    final byte[][] startRows = new byte[tableSplits.size()][];
+    int i = 0;
+    for (final Text split : tableSplits) {
+      // a split is the last row of its tablet, so the next tablet starts at the row directly
+      // following it
+      final byte[] nextRow = Arrays.copyOf(split.getBytes(), split.getLength() + 1);
+      nextRow[split.getLength()] = 0;
+      startRows[i++] = nextRow;
+    }
+    return startRows;
+  }
+
+  @Override
+  protected List<KeyValue> toEntries(final GeoWaveRow row) {
+    final byte[] partition = row.getPartitionKey();
+    if ((partition != null) && (partition.length > 0)) {
+      operations.ensurePartition(new ByteArray(partition), tableName);
+    }
+    final Mutation m = AccumuloWriter.rowToMutation(row);
+    final List<KeyValue> entries = new ArrayList<>(m.size());
+    for (final ColumnUpdate cu : m.getUpdates()) {
+      entries.add(
+          new KeyValue(
+              new Key(
+                  m.getRow(),
+                  cu.getColumnFamily(),
+                  cu.getColumnQualifier(),
+                  cu.getColumnVisibility(),
+                  cu.getTimestamp()),
+              cu.getValue()));
+    }
+    return entries;
+  }
+
+  @Override
+  protected long getSize(final KeyValue entry) {
+    return entry.getKey().getSize() + entry.getValue().getSize();
+  }
+
+  @Override
+  protected void writeFile(final String fileName, final List<KeyValue> sortedEntries)
+      throws IOException {
+    try (RFileWriter writer =
+        RFile.newWriter().to(new Path(directory, fileName + ".rf").toString()).withFileSystem(
+            fs).build()) {
+      for (final KeyValue entry : sortedEntries) {
+        writer.append(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+}
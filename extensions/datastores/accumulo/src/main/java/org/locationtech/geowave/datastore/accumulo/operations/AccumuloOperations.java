@@ -53,6 +53,10 @@ import org.apache.accumulo.core.iterators.user.VersioningIterator;
 import org.apache.accumulo.core.iterators.user.WholeRowIterator;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.commons.lang.ArrayUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
 import org.apache.log4j.Logger;
 import org.locationtech.geowave.core.index.ByteArray;
@@ -117,7 +121,7 @@ import org.locationtech.geowave.datastore.accumulo.iterators.WholeRowQueryFilter
 import org.locationtech.geowave.datastore.accumulo.mapreduce.AccumuloSplitsProvider;
 import org.locationtech.geowave.datastore.accumulo.util.AccumuloUtils;
 import org.locationtech.geowave.datastore.accumulo.util.ConnectorPool;
-import org.locationtech.geowave.mapreduce.MapReduceDataStoreOperations;
+import org.locationtech.geowave.mapreduce.output.BulkLoadDataStoreOperations;
 import org.locationtech.geowave.mapreduce.splits.GeoWaveRowRange;
 import org.locationtech.geowave.mapreduce.splits.RecordReaderParams;
 import com.aol.cyclops.util.function.TriFunction;
@@ -132,7 +136,7 @@ import com.google.common.collect.Streams;
  * This class holds all parameters necessary for establishing Accumulo connections and provides
  * basic factory methods for creating a batch scanner and a batch writer
  */
-public class AccumuloOperations implements MapReduceDataStoreOperations, ServerSideOperations {
+public class AccumuloOperations implements BulkLoadDataStoreOperations, ServerSideOperations {
   private static final Logger LOGGER = Logger.getLogger(AccumuloOperations.class);
   private static final int DEFAULT_NUM_THREADS = 16;
   private static final long DEFAULT_TIMEOUT_MILLIS = 1000L; // 1 second
@@ -151,6 +155,8 @@ public class AccumuloOperations implements MapReduceDataStoreOperations, ServerS
   private final Map<String, Set<String>> ensuredAuthorizationCache = new HashMap<>();
   private final Map<String, Set<ByteArray>> ensuredPartitionCache = new HashMap<>();
   private final AccumuloOptions options;
+  private Configuration bulkLoadConf = null;
+  private Path bulkLoadDirectory = null;
 
   /**
    * This is will create an Accumulo connector based on passed in connection information and
@@ -1314,6 +1320,9 @@ public class AccumuloOperations implements MapReduceDataStoreOperations, ServerS
 
   @Override
   public RowWriter createWriter(final Index index, final InternalDataAdapter<?> adapter) {
+    if (bulkLoadDirectory != null) {
+      return createBulkLoadWriter(index, adapter);
+    }
     return internalCreateWriter(
         index,
         adapter,
@@ -1328,6 +1337,17 @@ public class AccumuloOperations implements MapReduceDataStoreOperations, ServerS
       final InternalDataAdapter<?> adapter,
       final TriFunction<BatchWriter, AccumuloOperations, String, RowWriter> rowWriterSupplier) {
     final String tableName = index.getName();
+    ensureIndexTable(tableName, adapter);
+
+    try {
+      return rowWriterSupplier.apply(createBatchWriter(tableName), this, tableName);
+    } catch (final TableNotFoundException e) {
+      LOGGER.error("Table does not exist", e);
+    }
+    return null;
+  }
+
+  private void ensureIndexTable(final String tableName, final InternalDataAdapter<?> adapter) {
     if (createTable(
         tableName,
         options.isServerSideLibraryEnabled(),
@@ -1341,15 +1361,71 @@ public class AccumuloOperations implements MapReduceDataStoreOperations, ServerS
         LOGGER.error("unexpected error while looking up locality group", e);
       }
     }
+  }
 
+  private RowWriter createBulkLoadWriter(final Index index, final InternalDataAdapter<?> adapter) {
+    final String tableName = index.getName();
+    ensureIndexTable(tableName, adapter);
     try {
-      return rowWriterSupplier.apply(createBatchWriter(tableName), this, tableName);
-    } catch (final TableNotFoundException e) {
-      LOGGER.error("Table does not exist", e);
+      final Collection<Text> tableSplits =
+          connector.tableOperations().listSplits(getQualifiedTableName(tableName));
+      return new AccumuloBulkLoadWriter(
+          bulkLoadConf,
+          bulkLoadDirectory.getFileSystem(bulkLoadConf),
+          new Path(bulkLoadDirectory, tableName),
+          AccumuloBulkLoadWriter.getTabletStartRows(tableSplits),
+          this,
+          tableName);
+    } catch (TableNotFoundException | AccumuloSecurityException | AccumuloException
+        | IOException e) {
+      LOGGER.error("Unable to create bulk load writer for table '" + tableName + "'", e);
     }
     return null;
   }
 
+  @Override
+  public void setBulkLoadDirectory(final Configuration conf, final Path directory) {
+    bulkLoadConf = conf;
+    bulkLoadDirectory = directory;
+  }
+
+  @Override
+  public void importBulkLoadDirectory(final Configuration conf, final Path directory)
+      throws IOException {
+    final FileSystem fs = directory.getFileSystem(conf);
+    if (!fs.exists(directory)) {
+      return;
+    }
+    for (final FileStatus tableDirectory : fs.listStatus(directory)) {
+      final String tableName = tableDirectory.getPath().getName();
+      if (!tableDirectory.isDirectory() || tableName.startsWith("_")) {
+        continue;
+      }
+      final Path failureDirectory = new Path(new Path(directory, "_failures"), tableName);
+      fs.mkdirs(failureDirectory);
+      try {
+        connector.tableOperations().importDirectory(
+            getQualifiedTableName(tableName),
+            tableDirectory.getPath().toString(),
+            failureDirectory.toString(),
+            true);
+      } catch (TableNotFoundException | AccumuloException | AccumuloSecurityException e) {
+        throw new IOException("Unable to import bulk load files into table '" + tableName + "'", e);
+      }
+      final FileStatus[] failures = fs.listStatus(failureDirectory);
+      if (failures.length > 0) {
+        throw new IOException(
+            "Unable to import "
+                + failures.length
+                + " bulk load files into table '"
+                + tableName
+                + "', they were moved to '"
+                + failureDirectory
+                + "'");
+      }
+    }
+  }
+
   public BatchWriter createBatchWriter(final String tableName) throws TableNotFoundException {
     final String qName = getQualifiedTableName(tableName);
     final BatchWriterConfig config = new BatchWriterConfig();
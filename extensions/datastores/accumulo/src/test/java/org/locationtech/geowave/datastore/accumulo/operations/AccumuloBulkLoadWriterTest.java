@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.accumulo.operations;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+
+public class AccumuloBulkLoadWriterTest {
+  @Test
+  public void testTabletStartRows() {
+    final byte[][] startRows =
+        AccumuloBulkLoadWriter.getTabletStartRows(
+            Arrays.asList(new Text(new byte[] {0x10}), new Text(new byte[] {0x20, 0x01})));
+    assertEquals(2, startRows.length);
+    assertArrayEquals(new byte[] {0x10, 0x00}, startRows[0]);
+    assertArrayEquals(new byte[] {0x20, 0x01, 0x00}, startRows[1]);
+    // the split row itself belongs to the tablet it ends while the row directly following it
+    // starts the next tablet
+    assertTrue(ByteArrayUtils.compare(new byte[] {0x10}, startRows[0]) < 0);
+    assertTrue(ByteArrayUtils.compare(new byte[] {0x10, 0x00, 0x00}, startRows[0]) > 0);
+  }
+
+  @Test
+  public void testTabletStartRowsIgnoreUnusedBuffer() {
+    // a text that is reused for a shorter value keeps the rest of its larger backing array
+    final Text split = new Text(new byte[] {0x10, 0x20, 0x30});
+    split.set(new byte[] {0x40});
+    final byte[][] startRows =
+        AccumuloBulkLoadWriter.getTabletStartRows(Collections.singletonList(split));
+    assertArrayEquals(new byte[] {0x40, 0x00}, startRows[0]);
+  }
+
+  @Test
+  public void testNoSplits() {
+    assertEquals(0, AccumuloBulkLoadWriter.getTabletStartRows(Collections.emptyList()).length);
+  }
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.ArrayUtils;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.SinglePartitionQueryRanges;
@@ -30,6 +31,9 @@ import org.locationtech.geowave.core.store.CloseableIteratorWrapper;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowMergingIterator;
+import org.locationtech.geowave.core.store.operations.ScanParallelDecoder;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.RangeSplittingIterator;
 import org.locationtech.geowave.core.store.util.RowConsumer;
 import org.locationtech.geowave.datastore.cassandra.CassandraRow;
 import org.locationtech.geowave.datastore.cassandra.CassandraRow.CassandraField;
@@ -42,6 +46,7 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.TypeCodec;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import com.google.common.util.concurrent.FutureCallback;
@@ -50,7 +55,11 @@ import com.google.common.util.concurrent.Futures;
 public class BatchedRangeRead<T> {
   private static final Logger LOGGER = LoggerFactory.getLogger(BatchedRangeRead.class);
   private static final int MAX_CONCURRENT_READ = 100;
+  // each subsampled range is read by a chain of synchronous queries on a thread of its own
+  private static final int MAX_CONCURRENT_SUBSAMPLED_READ = 16;
   private static final int MAX_BOUNDED_READS_ENQUEUED = 1000000;
+  // subsampled reads only use the first row of each query so there is no point fetching more
+  private static final int SUBSAMPLING_FETCH_SIZE = 10;
   private final CassandraOperations operations;
   private final PreparedStatement preparedRead;
   private final Collection<SinglePartitionQueryRanges> ranges;
@@ -58,6 +67,7 @@ public class BatchedRangeRead<T> {
   private final GeoWaveRowIteratorTransformer<T> rowTransformer;
   private final boolean rowMerging;
   Predicate<GeoWaveRow> filter;
+  private final Integer subsampleBitPosition;
 
   // only allow so many outstanding async reads or writes, use this semaphore
   // to control it
@@ -70,7 +80,8 @@ public class BatchedRangeRead<T> {
       final Collection<SinglePartitionQueryRanges> ranges,
       final boolean rowMerging,
       final GeoWaveRowIteratorTransformer<T> rowTransformer,
-      final Predicate<GeoWaveRow> filter) {
+      final Predicate<GeoWaveRow> filter,
+      final Integer subsampleBitPosition) {
     this.preparedRead = preparedRead;
     this.operations = operations;
     this.adapterIds = adapterIds;
@@ -78,50 +89,110 @@ public class BatchedRangeRead<T> {
     this.rowMerging = rowMerging;
     this.rowTransformer = rowTransformer;
     this.filter = filter;
+    this.subsampleBitPosition = subsampleBitPosition;
   }
 
   public CloseableIterator<T> results() {
+    if (subsampleBitPosition != null) {
+      return executeSubsampledQuery();
+    }
     final List<BoundStatement> statements = new ArrayList<>();
     for (final SinglePartitionQueryRanges r : ranges) {
-      final byte[] partitionKey =
-          ((r.getPartitionKey() == null) || (r.getPartitionKey().length == 0))
-              ? CassandraUtils.EMPTY_PARTITION_KEY
-              : r.getPartitionKey();
+      final byte[] partitionKey = getPartitionKey(r);
       for (final ByteArrayRange range : r.getSortKeyRanges()) {
-        final BoundStatement boundRead = new BoundStatement(preparedRead);
-        final byte[] start = range.getStart() != null ? range.getStart() : new byte[0];
-        final byte[] end =
-            range.getEnd() != null ? range.getEndAsNextPrefix()
-                : new byte[] {
-                    (byte) 0xFF,
-                    (byte) 0xFF,
-                    (byte) 0xFF,
-                    (byte) 0xFF,
-                    (byte) 0xFF,
-                    (byte) 0xFF,
-                    (byte) 0xFF};
-        boundRead.set(
-            CassandraField.GW_SORT_KEY.getLowerBoundBindMarkerName(),
-            ByteBuffer.wrap(start),
-            ByteBuffer.class);
+        statements.add(bindRead(partitionKey, range, adapterIds));
+      }
+    }
+    return executeQueryAsync(statements.toArray(new BoundStatement[] {}));
+  }
+
+  private static byte[] getPartitionKey(final SinglePartitionQueryRanges r) {
+    return ((r.getPartitionKey() == null) || (r.getPartitionKey().length == 0))
+        ? CassandraUtils.EMPTY_PARTITION_KEY
+        : r.getPartitionKey();
+  }
+
+  private BoundStatement bindRead(
+      final byte[] partitionKey,
+      final ByteArrayRange range,
+      final short[] adapterIds) {
+    final BoundStatement boundRead = new BoundStatement(preparedRead);
+    final byte[] start = range.getStart() != null ? range.getStart() : new byte[0];
+    final byte[] end =
+        range.getEnd() != null ? range.getEndAsNextPrefix()
+            : new byte[] {
+                (byte) 0xFF,
+                (byte) 0xFF,
+                (byte) 0xFF,
+                (byte) 0xFF,
+                (byte) 0xFF,
+                (byte) 0xFF,
+                (byte) 0xFF};
+    boundRead.set(
+        CassandraField.GW_SORT_KEY.getLowerBoundBindMarkerName(),
+        ByteBuffer.wrap(start),
+        ByteBuffer.class);
 
-        boundRead.set(
-            CassandraField.GW_SORT_KEY.getUpperBoundBindMarkerName(),
-            ByteBuffer.wrap(end),
-            ByteBuffer.class);
-        boundRead.set(
-            CassandraField.GW_PARTITION_ID_KEY.getBindMarkerName(),
-            ByteBuffer.wrap(partitionKey),
-            ByteBuffer.class);
+    boundRead.set(
+        CassandraField.GW_SORT_KEY.getUpperBoundBindMarkerName(),
+        ByteBuffer.wrap(end),
+        ByteBuffer.class);
+    boundRead.set(
+        CassandraField.GW_PARTITION_ID_KEY.getBindMarkerName(),
+        ByteBuffer.wrap(partitionKey),
+        ByteBuffer.class);
 
-        boundRead.set(
-            CassandraField.GW_ADAPTER_ID_KEY.getBindMarkerName(),
-            Arrays.asList(ArrayUtils.toObject(adapterIds)),
-            TypeCodec.list(TypeCodec.smallInt()));
-        statements.add(boundRead);
+    boundRead.set(
+        CassandraField.GW_ADAPTER_ID_KEY.getBindMarkerName(),
+        Arrays.asList(ArrayUtils.toObject(adapterIds)),
+        TypeCodec.list(TypeCodec.smallInt()));
+    return boundRead;
+  }
+
+  /**
+   * Cassandra can't skip rows within a query, so each range is split at the cell boundaries of the
+   * subsampling resolution instead, reading a row and then querying the rest of the range from the
+   * next cell. Rows are clustered by adapter ID before sort key, so each adapter is read separately
+   * to keep the rows of each query sorted by sort key. The queries of a range depend on each other,
+   * so the ranges are read in parallel instead.
+   */
+  private CloseableIterator<T> executeSubsampledQuery() {
+    final List<Supplier<CloseableIterator<GeoWaveRow>>> scans = new ArrayList<>();
+    for (final SinglePartitionQueryRanges r : ranges) {
+      final byte[] partitionKey = getPartitionKey(r);
+      for (final ByteArrayRange range : r.getSortKeyRanges()) {
+        for (final short adapterId : adapterIds) {
+          scans.add(
+              () -> new FixedResolutionSkippingIterator<>(
+                  new RangeSplittingIterator<GeoWaveRow>(range) {
+                    @Override
+                    protected CloseableIterator<GeoWaveRow> query(final ByteArrayRange subRange) {
+                      final BoundStatement boundRead =
+                          bindRead(partitionKey, subRange, new short[] {adapterId});
+                      boundRead.setFetchSize(SUBSAMPLING_FETCH_SIZE);
+                      return new CloseableIterator.Wrapper<>(
+                          Iterators.transform(
+                              operations.getSession().execute(boundRead).iterator(),
+                              row -> new CassandraRow(row)));
+                    }
+                  },
+                  GeoWaveRow::getSortKey,
+                  filter,
+                  subsampleBitPosition));
+        }
       }
     }
-    return executeQueryAsync(statements.toArray(new BoundStatement[] {}));
+    // the row transformer is applied to each range separately, so the client side subsampling of
+    // the transformer sees sorted rows
+    final ScanParallelDecoder<T> decoder =
+        new ScanParallelDecoder<>(rowTransformer, scans, MAX_CONCURRENT_SUBSAMPLED_READ);
+    try {
+      decoder.startDecode();
+    } catch (final Exception e) {
+      decoder.close();
+      throw new RuntimeException("Unable to start subsampled read", e);
+    }
+    return decoder;
   }
 
   public CloseableIterator<T> executeQueryAsync(final Statement... statements) {
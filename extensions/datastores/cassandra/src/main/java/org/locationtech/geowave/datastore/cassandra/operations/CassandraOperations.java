@@ -204,7 +204,8 @@ public class CassandraOperations implements MapReduceDataStoreOperations {
       final Collection<SinglePartitionQueryRanges> ranges,
       final boolean rowMerging,
       final GeoWaveRowIteratorTransformer<?> rowTransformer,
-      final Predicate<GeoWaveRow> rowFilter) {
+      final Predicate<GeoWaveRow> rowFilter,
+      final Integer subsampleBitPosition) {
     PreparedStatement preparedRead;
     final String safeTableName = getCassandraSafeName(tableName);
     synchronized (state.preparedRangeReadsPerTable) {
@@ -240,7 +241,8 @@ public class CassandraOperations implements MapReduceDataStoreOperations {
         ranges,
         rowMerging,
         rowTransformer,
-        rowFilter);
+        rowFilter,
+        subsampleBitPosition);
   }
 
   public CloseableIterator<CassandraRow> executeQuery(final Statement... statements) {
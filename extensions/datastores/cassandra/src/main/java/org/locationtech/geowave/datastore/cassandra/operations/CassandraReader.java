@@ -25,6 +25,7 @@ import org.locationtech.geowave.core.store.operations.ReaderParams;
 import org.locationtech.geowave.core.store.operations.RowReader;
 import org.locationtech.geowave.core.store.query.filter.ClientVisibilityFilter;
 import org.locationtech.geowave.core.store.util.DataStoreUtils;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
 import org.locationtech.geowave.datastore.cassandra.CassandraRow;
 import org.locationtech.geowave.mapreduce.splits.GeoWaveRowRange;
 import org.locationtech.geowave.mapreduce.splits.RecordReaderParams;
@@ -98,7 +99,10 @@ public class CassandraReader<T> implements RowReader<T> {
               DataStoreUtils.isMergingIteratorRequired(readerParams, visibilityEnabled),
               rowTransformer,
               new ClientVisibilityFilter(
-                  Sets.newHashSet(readerParams.getAdditionalAuthorizations()))).results();
+                  Sets.newHashSet(readerParams.getAdditionalAuthorizations())),
+              FixedResolutionSkippingIterator.getBitPosition(
+                  readerParams,
+                  visibilityEnabled)).results();
     } else {
       // TODO figure out the query select by adapter IDs here
       final Select select = operations.getSelect(readerParams.getIndex().getName());
@@ -138,7 +142,8 @@ public class CassandraReader<T> implements RowReader<T> {
             Collections.singleton(partitionRange),
             DataStoreUtils.isMergingIteratorRequired(recordReaderParams, visibilityEnabled),
             rowTransformer,
-            new ClientVisibilityFilter(authorizations)).results();
+            new ClientVisibilityFilter(authorizations),
+            null).results();
   }
 
   @Override
@@ -11,16 +11,19 @@ package org.locationtech.geowave.datastore.dynamodb.operations;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.bouncycastle.util.Arrays;
 import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.index.SinglePartitionQueryRanges;
+import org.locationtech.geowave.core.store.CloseableIterator;
 import org.locationtech.geowave.core.store.adapter.InternalAdapterStore;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
@@ -29,10 +32,13 @@ import org.locationtech.geowave.core.store.operations.ParallelDecoder;
 import org.locationtech.geowave.core.store.operations.RangeReaderParams;
 import org.locationtech.geowave.core.store.operations.ReaderParams;
 import org.locationtech.geowave.core.store.operations.RowReader;
+import org.locationtech.geowave.core.store.operations.ScanParallelDecoder;
 import org.locationtech.geowave.core.store.operations.SimpleParallelDecoder;
 import org.locationtech.geowave.core.store.query.filter.ClientVisibilityFilter;
 import org.locationtech.geowave.core.store.query.filter.DedupeFilter;
 import org.locationtech.geowave.core.store.util.DataStoreUtils;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.RangeSplittingIterator;
 import org.locationtech.geowave.datastore.dynamodb.DynamoDBRow;
 import org.locationtech.geowave.datastore.dynamodb.util.AsyncPaginatedQuery;
 import org.locationtech.geowave.datastore.dynamodb.util.AsyncPaginatedScan;
@@ -56,6 +62,9 @@ import com.google.common.collect.Streams;
 
 public class DynamoDBReader<T> implements RowReader<T> {
   private static final boolean ASYNC = false;
+  // subsampled reads only use the first item of each query so there is no point reading more
+  private static final int SUBSAMPLING_QUERY_LIMIT = 10;
+  private static final int MAX_CONCURRENT_SUBSAMPLED_READ = 16;
   private final ReaderParams<T> readerParams;
   private final RecordReaderParams recordReaderParams;
   private final DynamoDBOperations operations;
@@ -114,6 +123,13 @@ public class DynamoDBReader<T> implements RowReader<T> {
     final Collection<SinglePartitionQueryRanges> ranges =
         readerParams.getQueryRanges().getPartitionQueryRanges();
 
+    final Integer subsampleBitPosition =
+        FixedResolutionSkippingIterator.getBitPosition(readerParams, visibilityEnabled);
+    if ((subsampleBitPosition != null) && (ranges != null) && !ranges.isEmpty()) {
+      startSubsampledRead(tableName, ranges, subsampleBitPosition);
+      return;
+    }
+
     if ((ranges != null) && !ranges.isEmpty()) {
       ranges.forEach(
           (queryRequest -> requests.addAll(
@@ -250,6 +266,60 @@ public class DynamoDBReader<T> implements RowReader<T> {
     }
   }
 
+  /**
+   * DynamoDB can't skip items within a query, so each range is split at the cell boundaries of the
+   * subsampling resolution instead, reading an item and then querying the rest of the range from
+   * the next cell. The queries of a range depend on each other, so the ranges are read in parallel
+   * instead.
+   */
+  private void startSubsampledRead(
+      final String tableName,
+      final Collection<SinglePartitionQueryRanges> ranges,
+      final int subsampleBitPosition) {
+    final List<Supplier<CloseableIterator<GeoWaveRow>>> scans = new ArrayList<>();
+    for (final SinglePartitionQueryRanges r : ranges) {
+      final byte[] partitionKey = getPartitionKey(r);
+      final Collection<ByteArrayRange> sortKeyRanges =
+          ((r.getSortKeyRanges() != null) && !r.getSortKeyRanges().isEmpty())
+              ? r.getSortKeyRanges()
+              : Collections.singleton(new ByteArrayRange(null, null));
+      for (final short adapterId : getAdapterIds(
+          readerParams.getAdapterIds(),
+          readerParams.getInternalAdapterStore())) {
+        for (final ByteArrayRange sortKeyRange : sortKeyRanges) {
+          scans.add(
+              () -> new FixedResolutionSkippingIterator<>(
+                  new RangeSplittingIterator<GeoWaveRow>(sortKeyRange) {
+                    @Override
+                    protected CloseableIterator<GeoWaveRow> query(final ByteArrayRange range) {
+                      return new CloseableIterator.Wrapper<>(
+                          Iterators.transform(
+                              executeQueryRequest(
+                                  getQuery(tableName, partitionKey, range, adapterId).withLimit(
+                                      SUBSAMPLING_QUERY_LIMIT)),
+                              item -> new DynamoDBRow(item)));
+                    }
+                  },
+                  GeoWaveRow::getSortKey,
+                  visibilityFilter,
+                  subsampleBitPosition));
+        }
+      }
+    }
+    // the row transformer is applied to each range separately, so the client side subsampling of
+    // the transformer sees sorted rows
+    final ParallelDecoder<T> decoder =
+        new ScanParallelDecoder<>(rowTransformer, scans, MAX_CONCURRENT_SUBSAMPLED_READ);
+    try {
+      decoder.startDecode();
+    } catch (final Exception e) {
+      decoder.close();
+      Throwables.propagate(e);
+    }
+    iterator = decoder;
+    closeable = decoder;
+  }
+
   @Override
   public void close() {
     if (closeable != null) {
@@ -344,18 +414,12 @@ public class DynamoDBReader<T> implements RowReader<T> {
   private List<QueryRequest> addQueryRanges(
       final String tableName,
       final SinglePartitionQueryRanges r,
-      short[] adapterIds,
+      final short[] adapterIds,
       final InternalAdapterStore adapterStore) {
     final List<QueryRequest> retVal = new ArrayList<>();
-    final byte[] partitionKey =
-        ((r.getPartitionKey() == null) || (r.getPartitionKey().length == 0))
-            ? DynamoDBWriter.EMPTY_PARTITION_KEY
-            : r.getPartitionKey();
-    if (((adapterIds == null) || (adapterIds.length == 0)) && (adapterStore != null)) {
-      adapterIds = adapterStore.getAdapterIds();
-    }
+    final byte[] partitionKey = getPartitionKey(r);
 
-    for (final Short adapterId : adapterIds) {
+    for (final Short adapterId : getAdapterIds(adapterIds, adapterStore)) {
       final Collection<ByteArrayRange> sortKeyRanges = r.getSortKeyRanges();
       if ((sortKeyRanges != null) && !sortKeyRanges.isEmpty()) {
         sortKeyRanges.forEach(
@@ -368,6 +432,21 @@ public class DynamoDBReader<T> implements RowReader<T> {
     return retVal;
   }
 
+  private static byte[] getPartitionKey(final SinglePartitionQueryRanges r) {
+    return ((r.getPartitionKey() == null) || (r.getPartitionKey().length == 0))
+        ? DynamoDBWriter.EMPTY_PARTITION_KEY
+        : r.getPartitionKey();
+  }
+
+  private static short[] getAdapterIds(
+      final short[] adapterIds,
+      final InternalAdapterStore adapterStore) {
+    if (((adapterIds == null) || (adapterIds.length == 0)) && (adapterStore != null)) {
+      return adapterStore.getAdapterIds();
+    }
+    return adapterIds;
+  }
+
   private Iterator<Map<String, AttributeValue>> executeQueryRequest(
       final QueryRequest queryRequest) {
     final QueryResult result = operations.getClient().query(queryRequest);
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.hbase.operations;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
+import org.apache.hadoop.hbase.mapreduce.CellCreator;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.locationtech.geowave.core.index.StringUtils;
+import org.locationtech.geowave.core.store.entities.GeoWaveKey;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveValue;
+import org.locationtech.geowave.mapreduce.output.BulkLoadRowWriter;
+
+/**
+ * Writes the rows of an index as sorted HFiles, one set of files per region, to be loaded into the
+ * index table with {@link HBaseOperations#importBulkLoadDirectory}. Every row of a writer belongs
+ * to the column family of a single adapter, so the files are written in the directory of that
+ * family as expected by the incremental load.
+ */
+public class HBaseBulkLoadWriter extends BulkLoadRowWriter<Cell> {
+  private final FileSystem fs;
+  private final Path familyDirectory;
+  private final byte[] family;
+  private final Configuration hbaseConf;
+  private final CellCreator cellCreator;
+  private final HFileContext fileContext;
+
+  /**
+   * @param conf the configuration to read the buffer size from
+   * @param hbaseConf the configuration of the HBase connection, used to resolve visibility labels
+   * @param fs the file system to write the files to
+   * @param directory the directory of the index table to write the files in
+   * @param splits the start rows of every region of the table except the first
+   * @param family the column family of the rows
+   */
+  public HBaseBulkLoadWriter(
+      final Configuration conf,
+      final Configuration hbaseConf,
+      final FileSystem fs,
+      final Path directory,
+      final byte[][] splits,
+      final String family) {
+    super(conf, splits, KeyValue.COMPARATOR);
+    this.fs = fs;
+    this.hbaseConf = hbaseConf;
+    this.family = StringUtils.stringToBinary(family);
+    familyDirectory = new Path(directory, family);
+    cellCreator = new CellCreator(hbaseConf);
+    // visibilities are written as cell tags, which requires them to be included in the files
+    fileContext = new HFileContextBuilder().withIncludesTags(true).build();
+  }
+
+  @Override
+  protected List<Cell> toEntries(final GeoWaveRow row) {
+    final byte[] rowBytes = GeoWaveKey.getCompositeId(row);
+    final long timestamp = System.currentTimeMillis();
+    final List<Cell> cells = new ArrayList<>(row.getFieldValues().length);
+    for (final GeoWaveValue value : row.getFieldValues()) {
+      final String visibility =
+          (value.getVisibility() != null) && (value.getVisibility().length > 0)
+              ? StringUtils.stringFromBinary(value.getVisibility())
+              : null;
+      try {
+        cells.add(
+            cellCreator.create(
+                rowBytes,
+                0,
+                rowBytes.length,
+                family,
+                0,
+                family.length,
+                value.getFieldMask(),
+                0,
+                value.getFieldMask().length,
+                timestamp,
+                value.getValue(),
+                0,
+                value.getValue().length,
+                visibility));
+      } catch (final IOException e) {
+        throw new RuntimeException("Unable to create cell for visibility '" + visibility + "'", e);
+      }
+    }
+    return cells;
+  }
+
+  @Override
+  protected long getSize(final Cell entry) {
+    return CellUtil.estimatedSerializedSizeOf(entry);
+  }
+
+  @Override
+  protected void writeFile(final String fileName, final List<Cell> sortedEntries)
+      throws IOException {
+    final HFile.Writer writer =
+        HFile.getWriterFactory(hbaseConf, new CacheConfig(hbaseConf)).withPath(
+            fs,
+            new Path(familyDirectory, fileName)).withFileContext(fileContext).create();
+    try {
+      for (final Cell cell : sortedEntries) {
+        writer.append(cell);
+      }
+      writer.appendFileInfo(StoreFile.BULKLOAD_TIME_KEY, Bytes.toBytes(System.currentTimeMillis()));
+    } finally {
+      writer.close();
+    }
+  }
+}
@@ -55,6 +55,7 @@ import org.apache.hadoop.hbase.client.coprocessor.Batch;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.ipc.BlockingRpcCallback;
+import org.apache.hadoop.hbase.mapreduce.LoadIncrementalHFiles;
 import org.apache.hadoop.hbase.protobuf.generated.AdminProtos.GetRegionInfoResponse.CompactionState;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.shaded.com.google.protobuf.ByteString;
@@ -123,8 +124,8 @@ import org.locationtech.geowave.datastore.hbase.server.MergingVisibilityServerOp
 import org.locationtech.geowave.datastore.hbase.server.ServerSideOperationUtils;
 import org.locationtech.geowave.datastore.hbase.util.ConnectionPool;
 import org.locationtech.geowave.datastore.hbase.util.HBaseUtils;
-import org.locationtech.geowave.mapreduce.MapReduceDataStoreOperations;
 import org.locationtech.geowave.mapreduce.URLClassloaderUtils;
+import org.locationtech.geowave.mapreduce.output.BulkLoadDataStoreOperations;
 import org.locationtech.geowave.mapreduce.splits.RecordReaderParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -132,7 +133,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
-public class HBaseOperations implements MapReduceDataStoreOperations, ServerSideOperations {
+public class HBaseOperations implements BulkLoadDataStoreOperations, ServerSideOperations {
   private static final Logger LOGGER = LoggerFactory.getLogger(HBaseOperations.class);
   private boolean iteratorsAttached;
   protected static final String DEFAULT_TABLE_NAMESPACE = "";
@@ -153,6 +154,8 @@ public class HBaseOperations implements MapReduceDataStoreOperations, ServerSide
   private final HashMap<TableName, Set<GeoWaveColumnFamily>> cfCache = new HashMap<>();
 
   private final HBaseOptions options;
+  private Configuration bulkLoadConf = null;
+  private Path bulkLoadDirectory = null;
 
   public static final Pair<GeoWaveColumnFamily, Boolean>[] METADATA_CFS_VERSIONING =
       new Pair[] {
@@ -869,6 +872,9 @@ public class HBaseOperations implements MapReduceDataStoreOperations, ServerSide
 
   @Override
   public RowWriter createWriter(final Index index, final InternalDataAdapter<?> adapter) {
+    if (bulkLoadDirectory != null) {
+      return createBulkLoadWriter(index, adapter);
+    }
     return internalCreateWriter(index, adapter, (m -> new HBaseWriter(m)));
   }
 
@@ -886,23 +892,7 @@ public class HBaseOperations implements MapReduceDataStoreOperations, ServerSide
       final Function<BufferedMutator, RowWriter> writerSupplier) {
     final TableName tableName = getTableName(index.getName());
     try {
-      final GeoWaveColumnFamily[] columnFamilies = new GeoWaveColumnFamily[1];
-      columnFamilies[0] =
-          new StringColumnFamily(ByteArrayUtils.shortToString(adapter.getAdapterId()));
-
-      createTable(
-          index.getIndexStrategy().getPredefinedSplits(),
-          columnFamilies,
-          StringColumnFamilyFactory.getSingletonInstance(),
-          options.isServerSideLibraryEnabled(),
-          tableName);
-
-      verifyColumnFamilies(
-          columnFamilies,
-          StringColumnFamilyFactory.getSingletonInstance(),
-          true,
-          tableName,
-          true);
+      ensureIndexTable(index, adapter, tableName);
 
       return writerSupplier.apply(getBufferedMutator(tableName));
     } catch (final TableNotFoundException e) {
@@ -914,6 +904,88 @@ public class HBaseOperations implements MapReduceDataStoreOperations, ServerSide
     return null;
   }
 
+  private void ensureIndexTable(
+      final Index index,
+      final InternalDataAdapter<?> adapter,
+      final TableName tableName) throws IOException {
+    final GeoWaveColumnFamily[] columnFamilies = new GeoWaveColumnFamily[1];
+    columnFamilies[0] =
+        new StringColumnFamily(ByteArrayUtils.shortToString(adapter.getAdapterId()));
+
+    createTable(
+        index.getIndexStrategy().getPredefinedSplits(),
+        columnFamilies,
+        StringColumnFamilyFactory.getSingletonInstance(),
+        options.isServerSideLibraryEnabled(),
+        tableName);
+
+    verifyColumnFamilies(
+        columnFamilies,
+        StringColumnFamilyFactory.getSingletonInstance(),
+        true,
+        tableName,
+        true);
+  }
+
+  private RowWriter createBulkLoadWriter(final Index index, final InternalDataAdapter<?> adapter) {
+    final TableName tableName = getTableName(index.getName());
+    try {
+      ensureIndexTable(index, adapter, tableName);
+
+      final byte[][] startKeys;
+      try (RegionLocator locator = getRegionLocator(tableName)) {
+        startKeys = locator.getStartKeys();
+      }
+      // the first region always starts at the empty row
+      final byte[][] splits =
+          startKeys.length > 0
+              ? Arrays.copyOfRange(startKeys, 1, startKeys.length)
+              : new byte[0][];
+      return new HBaseBulkLoadWriter(
+          bulkLoadConf,
+          conn.getConfiguration(),
+          bulkLoadDirectory.getFileSystem(bulkLoadConf),
+          new Path(bulkLoadDirectory, index.getName()),
+          splits,
+          ByteArrayUtils.shortToString(adapter.getAdapterId()));
+    } catch (final IOException e) {
+      LOGGER.error("Unable to create bulk load writer for table '" + index.getName() + "'", e);
+    }
+    return null;
+  }
+
+  @Override
+  public void setBulkLoadDirectory(final Configuration conf, final Path directory) {
+    bulkLoadConf = conf;
+    bulkLoadDirectory = directory;
+  }
+
+  @Override
+  public void importBulkLoadDirectory(final Configuration conf, final Path directory)
+      throws IOException {
+    final FileSystem fs = directory.getFileSystem(conf);
+    if (!fs.exists(directory)) {
+      return;
+    }
+    final LoadIncrementalHFiles loader;
+    try {
+      loader = new LoadIncrementalHFiles(conn.getConfiguration());
+    } catch (final Exception e) {
+      throw new IOException("Unable to create HFile loader", e);
+    }
+    for (final FileStatus tableDirectory : fs.listStatus(directory)) {
+      if (!tableDirectory.isDirectory() || tableDirectory.getPath().getName().startsWith("_")) {
+        continue;
+      }
+      final TableName tableName = getTableName(tableDirectory.getPath().getName());
+      try (Admin admin = conn.getAdmin();
+          Table table = conn.getTable(tableName);
+          RegionLocator locator = conn.getRegionLocator(tableName)) {
+        loader.doBulkLoad(tableDirectory.getPath(), admin, table, locator);
+      }
+    }
+  }
+
   @Override
   public MetadataWriter createMetadataWriter(final MetadataType metadataType) {
     final TableName tableName = getTableName(getMetadataTableName(metadataType));
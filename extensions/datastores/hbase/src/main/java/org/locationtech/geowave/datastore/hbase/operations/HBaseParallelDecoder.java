@@ -210,8 +210,13 @@ public class HBaseParallelDecoder<T> extends ParallelDecoder<T> {
 
     @Override
     public void close() throws IOException {
-      table.close();
-      baseResults.close();
+      // the scanner may be closed without having been initialized if the decoder was closed first
+      if (baseResults != null) {
+        baseResults.close();
+      }
+      if (table != null) {
+        table.close();
+      }
     }
 
     @Override
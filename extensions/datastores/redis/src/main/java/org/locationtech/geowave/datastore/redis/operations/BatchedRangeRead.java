@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -30,6 +31,8 @@ import org.locationtech.geowave.core.store.CloseableIteratorWrapper;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowMergingIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.SeekableIterator;
 import org.locationtech.geowave.core.store.util.RowConsumer;
 import org.locationtech.geowave.datastore.redis.config.RedisOptions.Compression;
 import org.locationtech.geowave.datastore.redis.util.GeoWaveRedisPersistedRow;
@@ -108,6 +111,7 @@ public class BatchedRangeRead<T> {
   private final Compression compression;
   private final boolean rowMerging;
   private final boolean visibilityEnabled;
+  private final Integer subsampleBitPosition;
 
   protected BatchedRangeRead(
       final RedissonClient client,
@@ -121,7 +125,8 @@ public class BatchedRangeRead<T> {
       final boolean async,
       final Pair<Boolean, Boolean> groupByRowAndSortByTimePair,
       final boolean isSortFinalResultsBySortKey,
-      final boolean visibilityEnabled) {
+      final boolean visibilityEnabled,
+      final Integer subsampleBitPosition) {
     this.client = client;
     this.compression = compression;
     this.setNamePrefix = setNamePrefix;
@@ -135,6 +140,9 @@ public class BatchedRangeRead<T> {
     this.groupByRowAndSortByTimePair = groupByRowAndSortByTimePair;
     this.isSortFinalResultsBySortKey = isSortFinalResultsBySortKey;
     this.visibilityEnabled = visibilityEnabled;
+    // grouping by row reads each range in full so there is nothing to gain from skipping
+    this.subsampleBitPosition =
+        groupByRowAndSortByTimePair.getLeft() ? null : subsampleBitPosition;
   }
 
   private RedisScoredSetWrapper<GeoWaveRedisPersistedRow> getSet(final byte[] partitionKey) {
@@ -173,13 +181,25 @@ public class BatchedRangeRead<T> {
       reads.sort(ScoreOrderComparator.SINGLETON);
     }
     final Iterator<ScoredEntry<GeoWaveRedisPersistedRow>> result =
-        Iterators.concat(reads.stream().map(r -> {
+        Iterators.concat(reads.stream().<Iterator<ScoredEntry<GeoWaveRedisPersistedRow>>>map(r -> {
           ByteArray partitionKey;
           if ((r.partitionKey == null) || (r.partitionKey.length == 0)) {
             partitionKey = EMPTY_PARTITION_KEY;
           } else {
             partitionKey = new ByteArray(r.partitionKey);
           }
+          if (subsampleBitPosition != null) {
+            return new FixedResolutionSkippingIterator<>(
+                new SeekableScoreRangeIterator(r, setCache.get(partitionKey)),
+                entry -> RedisUtils.getSortKey(entry.getScore()),
+                entry -> filter.test(
+                    new GeoWaveRedisRow(
+                        entry.getValue(),
+                        adapterId,
+                        entry.getValue().getPartitionKey(),
+                        RedisUtils.getSortKey(entry.getScore()))),
+                subsampleBitPosition);
+          }
           // if we don't have enough
           // precision we need to make
           // sure the end is inclusive
@@ -221,6 +241,72 @@ public class BatchedRangeRead<T> {
     }
   }
 
+  /**
+   * Reads the entries of a range and seeks by reading the rest of the range from the score of the
+   * sort key. Scores are truncated sort keys so seeking may stop short of the sort key, but never
+   * past it.
+   */
+  private static class SeekableScoreRangeIterator implements
+      SeekableIterator<ScoredEntry<GeoWaveRedisPersistedRow>> {
+    private final RangeReadInfo read;
+    private final RedisScoredSetWrapper<GeoWaveRedisPersistedRow> set;
+    private Iterator<ScoredEntry<GeoWaveRedisPersistedRow>> current;
+    private double currentScore;
+
+    private SeekableScoreRangeIterator(
+        final RangeReadInfo read,
+        final RedisScoredSetWrapper<GeoWaveRedisPersistedRow> set) {
+      this.read = read;
+      this.set = set;
+      currentScore = read.startScore;
+      current = entryRange(read.startScore);
+    }
+
+    private Iterator<ScoredEntry<GeoWaveRedisPersistedRow>> entryRange(final double startScore) {
+      return new PartitionIteratorWrapper(
+          set.entryRange(
+              startScore,
+              true,
+              read.endScore,
+              // if we don't have enough
+              // precision we need to make
+              // sure the end is inclusive
+              read.endScore <= read.startScore,
+              RedisUtils.MAX_ROWS_FOR_SUBSAMPLING_PAGINATION),
+          read.partitionKey);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return current.hasNext();
+    }
+
+    @Override
+    public ScoredEntry<GeoWaveRedisPersistedRow> next() {
+      final ScoredEntry<GeoWaveRedisPersistedRow> retVal = current.next();
+      currentScore = retVal.getScore();
+      return retVal;
+    }
+
+    @Override
+    public void seek(final byte[] sortKey) {
+      final double score = RedisUtils.getScore(sortKey);
+      // the rest of the current score would just be read again
+      if (score <= currentScore) {
+        return;
+      }
+      currentScore = score;
+      if ((score >= read.endScore) && (read.endScore > read.startScore)) {
+        current = Collections.emptyIterator();
+      } else {
+        current = entryRange(score);
+      }
+    }
+
+    @Override
+    public void close() {}
+  }
+
   private CloseableIterator<T> executeQueryAsync(final List<RangeReadInfo> reads) {
     // first create a list of asynchronous query executions
     final List<RFuture<Collection<ScoredEntry<GeoWaveRedisPersistedRow>>>> futures =
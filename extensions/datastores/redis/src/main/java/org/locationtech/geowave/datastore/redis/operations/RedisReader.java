@@ -34,6 +34,7 @@ import org.locationtech.geowave.core.store.operations.ReaderParams;
 import org.locationtech.geowave.core.store.operations.RowReader;
 import org.locationtech.geowave.core.store.query.filter.ClientVisibilityFilter;
 import org.locationtech.geowave.core.store.util.DataStoreUtils;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
 import org.locationtech.geowave.datastore.redis.config.RedisOptions.Compression;
 import org.locationtech.geowave.datastore.redis.util.GeoWaveRedisPersistedRow;
 import org.locationtech.geowave.datastore.redis.util.GeoWaveRedisRow;
@@ -200,7 +201,10 @@ public class RedisReader<T> implements RowReader<T> {
                 async,
                 RedisUtils.isGroupByRowAndIsSortByTime(readerParams, adapterId),
                 RedisUtils.isSortByKeyRequired(readerParams),
-                visibilityEnabled).results()).iterator();
+                visibilityEnabled,
+                FixedResolutionSkippingIterator.getBitPosition(
+                    readerParams,
+                    visibilityEnabled)).results()).iterator();
     final CloseableIterator<T>[] itArray = Iterators.toArray(it, CloseableIterator.class);
     return new CloseableIteratorWrapper<>(new Closeable() {
       AtomicBoolean closed = new AtomicBoolean(false);
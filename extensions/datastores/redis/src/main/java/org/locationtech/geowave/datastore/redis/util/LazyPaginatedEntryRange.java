@@ -22,6 +22,7 @@ public class LazyPaginatedEntryRange<V> extends LazyIteratorChain<ScoredEntry<V>
   private RScoredSortedSet<V> set;
   private Collection<ScoredEntry<V>> currentResult;
   private int currentOffset = 0;
+  private final int rowsPerPage;
 
   public LazyPaginatedEntryRange(
       double startScore,
@@ -29,7 +30,8 @@ public class LazyPaginatedEntryRange<V> extends LazyIteratorChain<ScoredEntry<V>
       double endScore,
       boolean endScoreInclusive,
       RScoredSortedSet<V> set,
-      Collection<ScoredEntry<V>> currentResult) {
+      Collection<ScoredEntry<V>> currentResult,
+      int rowsPerPage) {
     super();
     this.startScore = startScore;
     this.startScoreInclusive = startScoreInclusive;
@@ -37,6 +39,7 @@ public class LazyPaginatedEntryRange<V> extends LazyIteratorChain<ScoredEntry<V>
     this.endScoreInclusive = endScoreInclusive;
     this.set = set;
     this.currentResult = currentResult;
+    this.rowsPerPage = rowsPerPage;
   }
 
   @Override
@@ -47,10 +50,10 @@ public class LazyPaginatedEntryRange<V> extends LazyIteratorChain<ScoredEntry<V>
     }
     // subsequent chained iterators will be obtained from redis
     // pagination
-    if ((currentResult.size() < RedisUtils.MAX_ROWS_FOR_PAGINATION)) {
+    if ((currentResult.size() < rowsPerPage)) {
       return null;
     } else {
-      currentOffset += RedisUtils.MAX_ROWS_FOR_PAGINATION;
+      currentOffset += rowsPerPage;
       currentResult =
           set.entryRange(
               startScore,
@@ -58,7 +61,7 @@ public class LazyPaginatedEntryRange<V> extends LazyIteratorChain<ScoredEntry<V>
               endScore,
               endScoreInclusive,
               currentOffset,
-              RedisUtils.MAX_ROWS_FOR_PAGINATION);
+              rowsPerPage);
       return currentResult.iterator();
     }
   }
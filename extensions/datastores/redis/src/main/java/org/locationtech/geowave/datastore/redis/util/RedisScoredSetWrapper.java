@@ -38,6 +38,20 @@ public class RedisScoredSetWrapper<V> extends
       final boolean startScoreInclusive,
       final double endScore,
       final boolean endScoreInclusive) {
+    return entryRange(
+        startScore,
+        startScoreInclusive,
+        endScore,
+        endScoreInclusive,
+        RedisUtils.MAX_ROWS_FOR_PAGINATION);
+  }
+
+  public Iterator<ScoredEntry<V>> entryRange(
+      final double startScore,
+      final boolean startScoreInclusive,
+      final double endScore,
+      final boolean endScoreInclusive,
+      final int rowsPerPage) {
     final RScoredSortedSet<V> currentSet = getCurrentSyncCollection();
     final Collection<ScoredEntry<V>> currentResult =
         currentSet.entryRange(
@@ -46,15 +60,16 @@ public class RedisScoredSetWrapper<V> extends
             endScore,
             endScoreInclusive,
             0,
-            RedisUtils.MAX_ROWS_FOR_PAGINATION);
-    if (currentResult.size() >= RedisUtils.MAX_ROWS_FOR_PAGINATION) {
+            rowsPerPage);
+    if (currentResult.size() >= rowsPerPage) {
       return new LazyPaginatedEntryRange<>(
           startScore,
           startScoreInclusive,
           endScore,
           endScoreInclusive,
           currentSet,
-          currentResult);
+          currentResult,
+          rowsPerPage);
     }
     return currentResult.iterator();
   }
@@ -38,6 +38,8 @@ import com.google.common.primitives.UnsignedBytes;
 
 public class RedisUtils {
   protected static final int MAX_ROWS_FOR_PAGINATION = 1000000;
+  // subsampled reads seek past most rows so only a few rows are worth fetching at a time
+  public static final int MAX_ROWS_FOR_SUBSAMPLING_PAGINATION = 10;
   public static int REDIS_DEFAULT_MAX_RANGE_DECOMPOSITION = 250;
   public static int REDIS_DEFAULT_AGGREGATION_MAX_RANGE_DECOMPOSITION = 250;
   private static FstCodec DEFAULT_CODEC = new FstCodec();
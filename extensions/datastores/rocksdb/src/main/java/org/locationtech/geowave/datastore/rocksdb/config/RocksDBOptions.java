@@ -8,13 +8,19 @@
  */
 package org.locationtech.geowave.datastore.rocksdb.config;
 
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
 import org.locationtech.geowave.core.store.BaseDataStoreOptions;
 import org.locationtech.geowave.core.store.DataStoreOptions;
 import org.locationtech.geowave.core.store.StoreFactoryFamilySpi;
 import org.locationtech.geowave.core.store.StoreFactoryOptions;
 import org.locationtech.geowave.datastore.rocksdb.RocksDBStoreFactoryFamily;
+import org.locationtech.geowave.datastore.rocksdb.util.RocksDBTuningOptions;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBUtils;
+import org.rocksdb.CompressionType;
+import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
 import com.beust.jcommander.ParametersDelegate;
 
 public class RocksDBOptions extends StoreFactoryOptions {
@@ -31,7 +37,23 @@ public class RocksDBOptions extends StoreFactoryOptions {
       names = "--batchWriteSize",
       description = "The size (in records) for each batched write. Anything <= 1 will use synchronous single record writes without batching. Defaults to 1000.")
   private int batchWriteSize = 1000;
-
+  @Parameter(
+      names = "--blockCacheSizeMB",
+      description = "The size (in MB) of the LRU block cache shared by all of the index tables. Anything <= 0 will use a separate default sized cache for each table. Defaults to 0.")
+  private long blockCacheSizeMB = 0;
+  @Parameter(
+      names = "--bloomFilterBitsPerKey",
+      description = "The bits per key of the partitioned bloom filters on the data index tables, which are read by data ID. Anything <= 0 will disable bloom filters. Defaults to 10.")
+  private int bloomFilterBitsPerKey = RocksDBTuningOptions.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+  @Parameter(
+      names = "--compression",
+      description = "The compression of the index tables. Can be \"snappy\", \"lz4\", \"zstd\", or \"none\". Defaults to snappy.",
+      converter = CompressionConverter.class)
+  private Compression compression = Compression.SNAPPY;
+  @Parameter(
+      names = "--maxOpenFiles",
+      description = "The maximum number of files each index table can keep open. Anything <= 0 will keep all files open. Defaults to -1.")
+  private int maxOpenFiles = -1;
 
   @ParametersDelegate
   protected BaseDataStoreOptions baseOptions = new BaseDataStoreOptions() {
@@ -97,4 +119,87 @@ public class RocksDBOptions extends StoreFactoryOptions {
   public void setBatchWriteSize(final int batchWriteSize) {
     this.batchWriteSize = batchWriteSize;
   }
+
+  public long getBlockCacheSizeMB() {
+    return blockCacheSizeMB;
+  }
+
+  public void setBlockCacheSizeMB(final long blockCacheSizeMB) {
+    this.blockCacheSizeMB = blockCacheSizeMB;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public void setBloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public void setCompression(final Compression compression) {
+    this.compression = compression;
+  }
+
+  public int getMaxOpenFiles() {
+    return maxOpenFiles;
+  }
+
+  public void setMaxOpenFiles(final int maxOpenFiles) {
+    this.maxOpenFiles = maxOpenFiles;
+  }
+
+  public RocksDBTuningOptions getTuningOptions() {
+    return new RocksDBTuningOptions(
+        blockCacheSizeMB,
+        bloomFilterBitsPerKey,
+        compression.getCompressionType(),
+        maxOpenFiles);
+  }
+
+  public static enum Compression {
+    SNAPPY(CompressionType.SNAPPY_COMPRESSION),
+    LZ4(CompressionType.LZ4_COMPRESSION),
+    ZSTD(CompressionType.ZSTD_COMPRESSION),
+    NONE(CompressionType.NO_COMPRESSION);
+    private CompressionType compressionType;
+
+    private Compression(final CompressionType compressionType) {
+      this.compressionType = compressionType;
+    }
+
+    public CompressionType getCompressionType() {
+      return compressionType;
+    }
+
+    public static Compression fromString(final String code) {
+      for (final Compression compression : Compression.values()) {
+        if (compression.toString().equalsIgnoreCase(code)) {
+          return compression;
+        }
+      }
+      return null;
+    }
+  };
+
+  public static class CompressionConverter implements IStringConverter<Compression> {
+
+    @Override
+    public Compression convert(final String value) {
+      final Compression convertedValue = Compression.fromString(value);
+
+      if (convertedValue == null) {
+        throw new ParameterException(
+            "Value "
+                + value
+                + " can not be converted to a compression. "
+                + "Available values are: "
+                + StringUtils.join(Compression.values(), ", ").toLowerCase(Locale.ENGLISH));
+      }
+      return convertedValue;
+    }
+  }
 }
@@ -35,6 +35,7 @@ import org.locationtech.geowave.datastore.rocksdb.config.RocksDBOptions;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBClient;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBClientCache;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBDataIndexTable;
+import org.locationtech.geowave.datastore.rocksdb.util.RocksDBTuningOptions;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBUtils;
 import org.locationtech.geowave.mapreduce.MapReduceDataStoreOperations;
 import org.locationtech.geowave.mapreduce.splits.RecordReaderParams;
@@ -49,6 +50,7 @@ public class RocksDBOperations implements MapReduceDataStoreOperations, Closeabl
   private final boolean visibilityEnabled;
   private final boolean compactOnWrite;
   private final int batchWriteSize;
+  private final RocksDBTuningOptions tuningOptions;
 
   public RocksDBOperations(final RocksDBOptions options) {
     directory =
@@ -62,13 +64,15 @@ public class RocksDBOperations implements MapReduceDataStoreOperations, Closeabl
     visibilityEnabled = options.getStoreOptions().isVisibilityEnabled();
     compactOnWrite = options.isCompactOnWrite();
     batchWriteSize = options.getBatchWriteSize();
+    tuningOptions = options.getTuningOptions();
     // a factory method that returns a RocksDB instance
     client =
         RocksDBClientCache.getInstance().getClient(
             directory,
             visibilityEnabled,
             compactOnWrite,
-            batchWriteSize);
+            batchWriteSize,
+            tuningOptions);
   }
 
   @Override
@@ -231,6 +235,7 @@ public class RocksDBOperations implements MapReduceDataStoreOperations, Closeabl
         directory,
         visibilityEnabled,
         compactOnWrite,
-        batchWriteSize);
+        batchWriteSize,
+        tuningOptions);
   }
 }
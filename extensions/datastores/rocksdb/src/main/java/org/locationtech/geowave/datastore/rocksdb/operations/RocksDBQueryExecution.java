@@ -15,18 +15,25 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.index.SinglePartitionQueryRanges;
 import org.locationtech.geowave.core.store.CloseableIterator;
 import org.locationtech.geowave.core.store.CloseableIteratorWrapper;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowIteratorTransformer;
 import org.locationtech.geowave.core.store.entities.GeoWaveRowMergingIterator;
+import org.locationtech.geowave.core.store.operations.ScanParallelDecoder;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBClient;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBIndexTable;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBUtils;
@@ -35,6 +42,7 @@ import org.slf4j.LoggerFactory;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import com.google.common.primitives.UnsignedBytes;
 
@@ -57,17 +65,19 @@ public class RocksDBQueryExecution<T> {
 
     @Override
     public int compare(final RangeReadInfo o1, final RangeReadInfo o2) {
-      int comp =
-          UnsignedBytes.lexicographicalComparator().compare(
-              o1.sortKeyRange.getStart(),
-              o2.sortKeyRange.getStart());
+      // an unbounded start sorts first and an unbounded end sorts last
+      final byte[] start1 = o1.sortKeyRange.getStart();
+      final byte[] start2 = o2.sortKeyRange.getStart();
+      int comp;
+      if ((start1 == null) || (start2 == null)) {
+        comp = Boolean.compare(start2 == null, start1 == null);
+      } else {
+        comp = ByteArrayUtils.compare(start1, start2);
+      }
       if (comp != 0) {
         return comp;
       }
-      comp =
-          UnsignedBytes.lexicographicalComparator().compare(
-              o1.sortKeyRange.getEnd(),
-              o2.sortKeyRange.getEnd());
+      comp = ByteArrayUtils.compare(o1.sortKeyRange.getEnd(), o2.sortKeyRange.getEnd());
       if (comp != 0) {
         return comp;
       }
@@ -78,6 +88,12 @@ public class RocksDBQueryExecution<T> {
     }
   }
 
+  /**
+   * System property for the maximum number of threads used to scan the ranges of a single query in
+   * parallel
+   */
+  public static final String PARALLEL_SCAN_THREADS_PROPERTY = "geowave.rocksdb.scanThreads";
+  private static final int DEFAULT_SCAN_THREADS = 8;
   private static ByteArray EMPTY_PARTITION_KEY = new ByteArray();
   private final LoadingCache<ByteArray, RocksDBIndexTable> setCache =
       Caffeine.newBuilder().build(partitionKey -> getTable(partitionKey.getBytes()));
@@ -88,9 +104,11 @@ public class RocksDBQueryExecution<T> {
   private final GeoWaveRowIteratorTransformer<T> rowTransformer;
   private final Predicate<GeoWaveRow> filter;
   private final boolean rowMerging;
+  private final boolean async;
 
   private final Pair<Boolean, Boolean> groupByRowAndSortByTimePair;
   private final boolean isSortFinalResultsBySortKey;
+  private final Integer subsampleBitPosition;
 
   protected RocksDBQueryExecution(
       final RocksDBClient client,
@@ -102,7 +120,8 @@ public class RocksDBQueryExecution<T> {
       final boolean rowMerging,
       final boolean async,
       final Pair<Boolean, Boolean> groupByRowAndSortByTimePair,
-      final boolean isSortFinalResultsBySortKey) {
+      final boolean isSortFinalResultsBySortKey,
+      final Integer subsampleBitPosition) {
     this.client = client;
     this.indexNamePrefix = indexNamePrefix;
     this.adapterId = adapterId;
@@ -110,8 +129,10 @@ public class RocksDBQueryExecution<T> {
     this.ranges = ranges;
     this.filter = filter;
     this.rowMerging = rowMerging;
+    this.async = async;
     this.groupByRowAndSortByTimePair = groupByRowAndSortByTimePair;
     this.isSortFinalResultsBySortKey = isSortFinalResultsBySortKey;
+    this.subsampleBitPosition = subsampleBitPosition;
   }
 
   private RocksDBIndexTable getTable(final byte[] partitionKey) {
@@ -134,19 +155,28 @@ public class RocksDBQueryExecution<T> {
   }
 
   public CloseableIterator<T> executeQuery(final List<RangeReadInfo> reads) {
-    if (isSortFinalResultsBySortKey) {
-      // order the reads by sort keys
-      reads.sort(ScoreOrderComparator.SINGLETON);
-    }
-    final List<CloseableIterator<GeoWaveRow>> iterators = reads.stream().map(r -> {
-      ByteArray partitionKey;
+    // ranges within a partition are read in sort key order so that a single RocksDB iterator can
+    // seek forward from one range to the next
+    reads.sort(ScoreOrderComparator.SINGLETON);
+    final Map<ByteArray, List<ByteArrayRange>> rangesPerPartition = new LinkedHashMap<>();
+    for (final RangeReadInfo r : reads) {
+      final ByteArray partitionKey;
       if ((r.partitionKey == null) || (r.partitionKey.length == 0)) {
         partitionKey = EMPTY_PARTITION_KEY;
       } else {
         partitionKey = new ByteArray(r.partitionKey);
       }
-      return setCache.get(partitionKey).iterator(r.sortKeyRange);
-    }).collect(Collectors.toList());
+      rangesPerPartition.computeIfAbsent(partitionKey, k -> new ArrayList<>()).add(r.sortKeyRange);
+    }
+    // subsampled reads only return a row per cell so there is little to gain from scanning in
+    // parallel
+    if (async && !rowMerging && (subsampleBitPosition == null) && (reads.size() > 1)) {
+      return transformAndFilter(parallelScan(rangesPerPartition));
+    }
+    final List<CloseableIterator<GeoWaveRow>> iterators =
+        rangesPerPartition.entrySet().stream().map(
+            e -> subsampleIfRequired(setCache.get(e.getKey()).iterator(e.getValue()))).collect(
+                Collectors.toList());
     return transformAndFilter(new CloseableIteratorWrapper<>(new Closeable() {
       @Override
       public void close() throws IOException {
@@ -155,8 +185,59 @@ public class RocksDBQueryExecution<T> {
     }, Iterators.concat(iterators.iterator())));
   }
 
+  /**
+   * Split the ranges of each partition into contiguous groups and scan the groups in parallel. Only
+   * the scan is parallelized, the rows are filtered and transformed on the consuming thread because
+   * the filters are not required to be thread-safe.
+   */
+  private CloseableIterator<GeoWaveRow> parallelScan(
+      final Map<ByteArray, List<ByteArrayRange>> rangesPerPartition) {
+    final int numThreads = Integer.getInteger(PARALLEL_SCAN_THREADS_PROPERTY, DEFAULT_SCAN_THREADS);
+    final int totalRanges = rangesPerPartition.values().stream().mapToInt(List::size).sum();
+    final int rangesPerScan = Math.max(1, (int) Math.ceil((double) totalRanges / numThreads));
+    final List<Supplier<CloseableIterator<GeoWaveRow>>> scans = new ArrayList<>();
+    for (final Entry<ByteArray, List<ByteArrayRange>> e : rangesPerPartition.entrySet()) {
+      final RocksDBIndexTable table = setCache.get(e.getKey());
+      for (final List<ByteArrayRange> scanRanges : Lists.partition(e.getValue(), rangesPerScan)) {
+        scans.add(() -> table.iterator(scanRanges));
+      }
+    }
+    final ScanParallelDecoder<GeoWaveRow> decoder =
+        new ScanParallelDecoder<>(
+            GeoWaveRowIteratorTransformer.NO_OP_TRANSFORMER,
+            scans,
+            numThreads);
+    try {
+      decoder.startDecode();
+    } catch (final Exception e) {
+      LOGGER.error("Unable to start parallel scan", e);
+      decoder.close();
+      return new CloseableIterator.Empty<>();
+    }
+    return decoder;
+  }
+
+  /**
+   * Skip to the next cell of the subsampling resolution within the RocksDB iterator of a partition
+   * after each row. The filter is applied before skipping so that each cell is represented by a
+   * row that passes it.
+   */
+  private CloseableIterator<GeoWaveRow> subsampleIfRequired(
+      final CloseableIterator<GeoWaveRow> partitionIterator) {
+    if (subsampleBitPosition == null) {
+      return partitionIterator;
+    }
+    return new FixedResolutionSkippingIterator<>(
+        partitionIterator,
+        GeoWaveRow::getSortKey,
+        filter,
+        subsampleBitPosition);
+  }
+
   private CloseableIterator<T> transformAndFilter(final CloseableIterator<GeoWaveRow> result) {
-    final Iterator<GeoWaveRow> iterator = Streams.stream(result).filter(filter).iterator();
+    // subsampled rows have already been filtered
+    final Iterator<GeoWaveRow> iterator =
+        subsampleBitPosition == null ? Streams.stream(result).filter(filter).iterator() : result;
     return new CloseableIteratorWrapper<>(
         result,
         rowTransformer.apply(
@@ -35,6 +35,7 @@ import org.locationtech.geowave.core.store.operations.ReaderParams;
 import org.locationtech.geowave.core.store.operations.RowReader;
 import org.locationtech.geowave.core.store.query.filter.ClientVisibilityFilter;
 import org.locationtech.geowave.core.store.util.DataStoreUtils;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBClient;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBDataIndexTable;
 import org.locationtech.geowave.datastore.rocksdb.util.RocksDBUtils;
@@ -52,7 +53,7 @@ public class RocksDBReader<T> implements RowReader<T> {
       final ReaderParams<T> readerParams,
       final boolean async) {
     this.iterator =
-        createIteratorForReader(client, readerParams, readerParams.getRowTransformer(), false);
+        createIteratorForReader(client, readerParams, readerParams.getRowTransformer(), async);
   }
 
   public RocksDBReader(final RocksDBClient client, final RecordReaderParams recordReaderParams) {
@@ -83,6 +84,11 @@ public class RocksDBReader<T> implements RowReader<T> {
           authorizations,
           async);
     } else {
+      final Integer subsampleBitPosition =
+          FixedResolutionSkippingIterator.getBitPosition(
+              readerParams,
+              client.isVisibilityEnabled());
+      final ClientVisibilityFilter visibilityFilter = new ClientVisibilityFilter(authorizations);
       final List<CloseableIterator<GeoWaveRow>> iterators = new ArrayList<>();
       for (final short adapterId : readerParams.getAdapterIds()) {
         final Pair<Boolean, Boolean> groupByRowAndSortByTime =
@@ -94,12 +100,21 @@ public class RocksDBReader<T> implements RowReader<T> {
         final Stream<CloseableIterator<GeoWaveRow>> streamIt =
             RocksDBUtils.getPartitions(client.getSubDirectory(), indexNamePrefix).stream().map(
                 p -> {
-                  return RocksDBUtils.getIndexTableFromPrefix(
-                      client,
-                      indexNamePrefix,
-                      adapterId,
-                      p.getBytes(),
-                      groupByRowAndSortByTime.getRight()).iterator();
+                  final CloseableIterator<GeoWaveRow> partitionIterator =
+                      RocksDBUtils.getIndexTableFromPrefix(
+                          client,
+                          indexNamePrefix,
+                          adapterId,
+                          p.getBytes(),
+                          groupByRowAndSortByTime.getRight()).iterator();
+                  if (subsampleBitPosition == null) {
+                    return partitionIterator;
+                  }
+                  return new FixedResolutionSkippingIterator<>(
+                      partitionIterator,
+                      GeoWaveRow::getSortKey,
+                      client.isVisibilityEnabled() ? visibilityFilter : null,
+                      subsampleBitPosition);
                 });
         iterators.addAll(streamIt.collect(Collectors.toList()));
       }
@@ -144,7 +159,10 @@ public class RocksDBReader<T> implements RowReader<T> {
                     client.isVisibilityEnabled()),
                 async,
                 RocksDBUtils.isGroupByRowAndIsSortByTime(readerParams, adapterId),
-                RocksDBUtils.isSortByKeyRequired(readerParams)).results()).iterator();
+                RocksDBUtils.isSortByKeyRequired(readerParams),
+                FixedResolutionSkippingIterator.getBitPosition(
+                    readerParams,
+                    client.isVisibilityEnabled())).results()).iterator();
     final CloseableIterator<T>[] itArray = Iterators.toArray(it, CloseableIterator.class);
     return new CloseableIteratorWrapper<>(new Closeable() {
       AtomicBoolean closed = new AtomicBoolean(false);
@@ -9,11 +9,18 @@
 package org.locationtech.geowave.datastore.rocksdb.util;
 
 import java.io.File;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.locationtech.geowave.core.store.CloseableIterator;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -32,19 +39,27 @@ abstract public class AbstractRocksDBTable {
           (ThreadPoolExecutor) Executors.newFixedThreadPool(BATCH_WRITE_THREAD_SIZE));
   private static final int MAX_CONCURRENT_WRITE = 100;
   // only allow so many outstanding async reads or writes, use this semaphore
-  // to control it
-  private final Object BATCH_WRITE_MUTEX = new Object();
-  private final Semaphore writeSemaphore = new Semaphore(MAX_CONCURRENT_WRITE);
+  // to control it, it is fair so that a flush waiting on all permits is not
+  // starved by threads that keep writing
+  private final Semaphore writeSemaphore = new Semaphore(MAX_CONCURRENT_WRITE, true);
 
-  private WriteBatch currentBatch;
+  // each writing thread fills its own batch so ingest threads never contend
+  // with each other, full batches are handed off to the shared batch write
+  // threads
+  private final ThreadLocal<ThreadBatch> threadBatch =
+      ThreadLocal.withInitial(this::newThreadBatch);
+  private final Set<ThreadBatch> threadBatches = ConcurrentHashMap.newKeySet();
   private final int batchSize;
-  private RocksDB writeDb;
-  private RocksDB readDb;
+  private volatile RocksDB writeDb;
+  private volatile RocksDB readDb;
+  // readers are created under the read lock and the read DB is only closed under the write lock,
+  // so a reader is never created on a read DB that is concurrently being closed
+  private final ReadWriteLock readDbLock = new ReentrantReadWriteLock();
   private final Options writeOptions;
   private final Options readOptions;
   private final WriteOptions batchWriteOptions;
   protected final String subDirectory;
-  private boolean readerDirty = false;
+  private volatile boolean readerDirty = false;
   private boolean exists;
   protected final short adapterId;
   protected boolean visibilityEnabled;
@@ -73,7 +88,7 @@ abstract public class AbstractRocksDBTable {
     batchWrite = batchSize > 1;
   }
 
-  public synchronized void delete(final byte[] key) {
+  public void delete(final byte[] key) {
     final RocksDB db = getWriteDb();
     try {
       readerDirty = true;
@@ -83,19 +98,21 @@ abstract public class AbstractRocksDBTable {
     }
   }
 
-  protected synchronized void put(final byte[] key, final byte[] value) {
+  protected void put(final byte[] key, final byte[] value) {
     if (batchWrite) {
-      synchronized (BATCH_WRITE_MUTEX) {
-        if (currentBatch == null) {
-          currentBatch = new WriteBatch();
+      final ThreadBatch batch = threadBatch.get();
+      // this lock is only ever contended by a flush from another thread
+      synchronized (batch) {
+        if (batch.currentBatch == null) {
+          batch.currentBatch = new WriteBatch();
         }
         try {
-          currentBatch.put(key, value);
+          batch.currentBatch.put(key, value);
         } catch (final RocksDBException e) {
           LOGGER.warn("Unable to add data to batched write", e);
         }
-        if (currentBatch.count() >= batchSize) {
-          flushWriteQueue();
+        if (batch.currentBatch.count() >= batchSize) {
+          flushWriteQueue(batch);
         }
       }
     } else {
@@ -109,30 +126,42 @@ abstract public class AbstractRocksDBTable {
     }
   }
 
-  private void flushWriteQueue() {
+  private ThreadBatch newThreadBatch() {
+    final ThreadBatch batch = new ThreadBatch(Thread.currentThread());
+    threadBatches.add(batch);
+    return batch;
+  }
+
+  private void flushWriteQueue(final ThreadBatch batch) {
     try {
       writeSemaphore.acquire();
       readerDirty = true;
       CompletableFuture.runAsync(
-          new BatchWriter(currentBatch, getWriteDb(), batchWriteOptions, writeSemaphore),
+          new BatchWriter(batch.currentBatch, getWriteDb(), batchWriteOptions, writeSemaphore),
           BATCH_WRITE_THREADS);
     } catch (final InterruptedException e) {
       LOGGER.warn("async write semaphore interrupted", e);
       writeSemaphore.release();
     }
-    currentBatch = null;
+    batch.currentBatch = null;
   }
 
-  @SuppressFBWarnings(
-      justification = "The null check outside of the synchronized block is intentional to minimize the need for synchronization.")
   public void flush() {
     if (batchWrite) {
-      synchronized (BATCH_WRITE_MUTEX) {
-        if (currentBatch != null) {
-          flushWriteQueue();
+      final Iterator<ThreadBatch> it = threadBatches.iterator();
+      while (it.hasNext()) {
+        final ThreadBatch batch = it.next();
+        synchronized (batch) {
+          if (batch.currentBatch != null) {
+            flushWriteQueue(batch);
+          }
+        }
+        if (!batch.owner.isAlive()) {
+          // the thread is gone and will never write to this batch again
+          it.remove();
         }
-        waitForBatchWrite();
       }
+      waitForBatchWrite();
     }
     internalFlush();
   }
@@ -148,11 +177,16 @@ abstract public class AbstractRocksDBTable {
     }
     // force re-opening a reader to catch the updates from this write
     if (readerDirty && (readDb != null)) {
-      synchronized (this) {
-        if (readDb != null) {
-          readDb.close();
-          readDb = null;
+      readDbLock.writeLock().lock();
+      try {
+        synchronized (this) {
+          if (readDb != null) {
+            readDb.close();
+            readDb = null;
+          }
         }
+      } finally {
+        readDbLock.writeLock().unlock();
       }
     }
   }
@@ -181,14 +215,19 @@ abstract public class AbstractRocksDBTable {
 
   public void close() {
     waitForBatchWrite();
-    synchronized (this) {
-      if (writeDb != null) {
-        writeDb.close();
-        writeDb = null;
-      }
-      if (readDb != null) {
-        readDb.close();
+    readDbLock.writeLock().lock();
+    try {
+      synchronized (this) {
+        if (writeDb != null) {
+          writeDb.close();
+          writeDb = null;
+        }
+        if (readDb != null) {
+          readDb.close();
+        }
       }
+    } finally {
+      readDbLock.writeLock().unlock();
     }
   }
 
@@ -241,6 +280,36 @@ abstract public class AbstractRocksDBTable {
     return readDb;
   }
 
+  /**
+   * Create a reader of the read DB while holding the read lock, so the read DB can't be closed by a
+   * concurrent flush while the reader is created.
+   *
+   * @param createReader creates the reader from the read DB
+   * @return the reader, or an empty iterator if the table doesn't exist
+   */
+  protected <T> CloseableIterator<T> read(
+      final Function<RocksDB, CloseableIterator<T>> createReader) {
+    readDbLock.readLock().lock();
+    try {
+      final RocksDB db = getReadDb();
+      if (db == null) {
+        return new CloseableIterator.Empty<>();
+      }
+      return createReader.apply(db);
+    } finally {
+      readDbLock.readLock().unlock();
+    }
+  }
+
+  private static class ThreadBatch {
+    private final Thread owner;
+    private WriteBatch currentBatch = null;
+
+    private ThreadBatch(final Thread owner) {
+      this.owner = owner;
+    }
+  }
+
   private static class BatchWriter implements Runnable {
     private final WriteBatch dataToWrite;
     private final RocksDB db;
@@ -13,6 +13,9 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Map.Entry;
 import org.locationtech.geowave.core.store.operations.MetadataType;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -163,21 +166,44 @@ public class RocksDBClient implements Closeable {
   private final boolean visibilityEnabled;
   private final boolean compactOnWrite;
   private final int batchWriteSize;
-
-  protected static Options indexWriteOptions = null;
-  protected static WriteOptions batchWriteOptions = null;
-  protected static Options indexReadOptions = null;
-  protected static Options metadataOptions = null;
+  private final RocksDBTuningOptions tuningOptions;
+
+  // the options are owned by this client so that stores with different tuning can be open at the
+  // same time, the block cache is shared by all of this client's tables and the bloom filter by its
+  // data index tables
+  private Options indexWriteOptions = null;
+  private WriteOptions batchWriteOptions = null;
+  private Options indexReadOptions = null;
+  private Options dataIndexWriteOptions = null;
+  private Options dataIndexReadOptions = null;
+  private Options metadataOptions = null;
+  private Cache blockCache = null;
+  private BloomFilter bloomFilter = null;
 
   public RocksDBClient(
       final String subDirectory,
       final boolean visibilityEnabled,
       final boolean compactOnWrite,
       final int batchWriteSize) {
+    this(
+        subDirectory,
+        visibilityEnabled,
+        compactOnWrite,
+        batchWriteSize,
+        RocksDBTuningOptions.DEFAULT);
+  }
+
+  public RocksDBClient(
+      final String subDirectory,
+      final boolean visibilityEnabled,
+      final boolean compactOnWrite,
+      final int batchWriteSize,
+      final RocksDBTuningOptions tuningOptions) {
     this.subDirectory = subDirectory;
     this.visibilityEnabled = visibilityEnabled;
     this.compactOnWrite = compactOnWrite;
     this.batchWriteSize = batchWriteSize;
+    this.tuningOptions = tuningOptions;
   }
 
   private RocksDBMetadataTable loadMetadataTable(final CacheKey key) throws RocksDBException {
@@ -208,8 +234,8 @@ public class RocksDBClient implements Closeable {
 
   private RocksDBDataIndexTable loadDataIndexTable(final DataIndexCacheKey key) {
     return new RocksDBDataIndexTable(
-        indexWriteOptions,
-        indexReadOptions,
+        dataIndexWriteOptions,
+        dataIndexReadOptions,
         batchWriteOptions,
         key.directory,
         key.adapterId,
@@ -218,6 +244,39 @@ public class RocksDBClient implements Closeable {
         batchWriteSize);
   }
 
+  private void initIndexOptions() {
+    if (indexWriteOptions == null) {
+      RocksDB.loadLibrary();
+      final int cores = Runtime.getRuntime().availableProcessors();
+      if (tuningOptions.isSharedBlockCache()) {
+        blockCache = new LRUCache(tuningOptions.getBlockCacheSizeBytes());
+      }
+      if (tuningOptions.isBloomFilterEnabled()) {
+        bloomFilter = new BloomFilter(tuningOptions.getBloomFilterBitsPerKey(), false);
+      }
+      // the index tables are read by range scans, only the point reads of the data index tables
+      // benefit from a bloom filter
+      indexWriteOptions = tuningOptions.apply(createWriteOptions(cores), blockCache, null);
+      indexReadOptions =
+          tuningOptions.apply(new Options().setIncreaseParallelism(cores), blockCache, null);
+      dataIndexWriteOptions =
+          tuningOptions.apply(createWriteOptions(cores), blockCache, bloomFilter);
+      dataIndexReadOptions =
+          tuningOptions.apply(new Options().setIncreaseParallelism(cores), blockCache, bloomFilter);
+      batchWriteOptions =
+          new WriteOptions().setDisableWAL(false).setNoSlowdown(false).setSync(false);
+    }
+  }
+
+  private static Options createWriteOptions(final int cores) {
+    return new Options().setCreateIfMissing(true).prepareForBulkLoad().setIncreaseParallelism(
+        cores);
+  }
+
+  public RocksDBTuningOptions getTuningOptions() {
+    return tuningOptions;
+  }
+
   public String getSubDirectory() {
     return subDirectory;
   }
@@ -227,15 +286,7 @@ public class RocksDBClient implements Closeable {
       final short adapterId,
       final byte[] partition,
       final boolean requiresTimestamp) {
-    if (indexWriteOptions == null) {
-      RocksDB.loadLibrary();
-      final int cores = Runtime.getRuntime().availableProcessors();
-      indexWriteOptions =
-          new Options().setCreateIfMissing(true).prepareForBulkLoad().setIncreaseParallelism(cores);
-      indexReadOptions = new Options().setIncreaseParallelism(cores);
-      batchWriteOptions =
-          new WriteOptions().setDisableWAL(false).setNoSlowdown(false).setSync(false);
-    }
+    initIndexOptions();
     final String directory = subDirectory + "/" + tableName;
     return indexTableCache.get(
         (IndexCacheKey) keyCache.get(
@@ -246,15 +297,7 @@ public class RocksDBClient implements Closeable {
   public synchronized RocksDBDataIndexTable getDataIndexTable(
       final String tableName,
       final short adapterId) {
-    if (indexWriteOptions == null) {
-      RocksDB.loadLibrary();
-      final int cores = Runtime.getRuntime().availableProcessors();
-      indexWriteOptions =
-          new Options().setCreateIfMissing(true).prepareForBulkLoad().setIncreaseParallelism(cores);
-      indexReadOptions = new Options().setIncreaseParallelism(cores);
-      batchWriteOptions =
-          new WriteOptions().setDisableWAL(false).setNoSlowdown(false).setSync(false);
-    }
+    initIndexOptions();
     final String directory = subDirectory + "/" + tableName;
     return dataIndexTableCache.get(
         (DataIndexCacheKey) keyCache.get(directory, d -> new DataIndexCacheKey(d, adapterId)));
@@ -335,5 +378,41 @@ public class RocksDBClient implements Closeable {
     dataIndexTableCache.invalidateAll();
     metadataTableCache.asMap().values().forEach(db -> db.close());
     metadataTableCache.invalidateAll();
+    closeOptions();
+  }
+
+  private synchronized void closeOptions() {
+    if (metadataOptions != null) {
+      metadataOptions.close();
+      metadataOptions = null;
+    }
+    if (indexWriteOptions != null) {
+      indexWriteOptions.close();
+      indexWriteOptions = null;
+    }
+    if (indexReadOptions != null) {
+      indexReadOptions.close();
+      indexReadOptions = null;
+    }
+    if (dataIndexWriteOptions != null) {
+      dataIndexWriteOptions.close();
+      dataIndexWriteOptions = null;
+    }
+    if (dataIndexReadOptions != null) {
+      dataIndexReadOptions.close();
+      dataIndexReadOptions = null;
+    }
+    if (batchWriteOptions != null) {
+      batchWriteOptions.close();
+      batchWriteOptions = null;
+    }
+    if (bloomFilter != null) {
+      bloomFilter.close();
+      bloomFilter = null;
+    }
+    if (blockCache != null) {
+      blockCache.close();
+      blockCache = null;
+    }
   }
 }
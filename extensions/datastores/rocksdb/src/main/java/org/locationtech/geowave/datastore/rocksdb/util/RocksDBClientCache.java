@@ -27,7 +27,8 @@ public class RocksDBClientCache {
             subDirectoryVisiblityPair.directory,
             subDirectoryVisiblityPair.visibilityEnabled,
             subDirectoryVisiblityPair.compactOnWrite,
-            subDirectoryVisiblityPair.batchSize);
+            subDirectoryVisiblityPair.batchSize,
+            subDirectoryVisiblityPair.tuningOptions);
       });
 
   protected RocksDBClientCache() {}
@@ -37,8 +38,22 @@ public class RocksDBClientCache {
       final boolean visibilityEnabled,
       final boolean compactOnWrite,
       final int batchWriteSize) {
+    return getClient(
+        directory,
+        visibilityEnabled,
+        compactOnWrite,
+        batchWriteSize,
+        RocksDBTuningOptions.DEFAULT);
+  }
+
+  public RocksDBClient getClient(
+      final String directory,
+      final boolean visibilityEnabled,
+      final boolean compactOnWrite,
+      final int batchWriteSize,
+      final RocksDBTuningOptions tuningOptions) {
     return clientCache.get(
-        new ClientKey(directory, visibilityEnabled, compactOnWrite, batchWriteSize));
+        new ClientKey(directory, visibilityEnabled, compactOnWrite, batchWriteSize, tuningOptions));
   }
 
   public synchronized void close(
@@ -46,52 +61,32 @@ public class RocksDBClientCache {
       final boolean visibilityEnabled,
       final boolean compactOnWrite,
       final int batchWriteSize) {
+    close(
+        directory,
+        visibilityEnabled,
+        compactOnWrite,
+        batchWriteSize,
+        RocksDBTuningOptions.DEFAULT);
+  }
+
+  public synchronized void close(
+      final String directory,
+      final boolean visibilityEnabled,
+      final boolean compactOnWrite,
+      final int batchWriteSize,
+      final RocksDBTuningOptions tuningOptions) {
     final ClientKey key =
-        new ClientKey(directory, visibilityEnabled, compactOnWrite, batchWriteSize);
+        new ClientKey(directory, visibilityEnabled, compactOnWrite, batchWriteSize, tuningOptions);
     final RocksDBClient client = clientCache.getIfPresent(key);
     if (client != null) {
       clientCache.invalidate(key);
       client.close();
     }
-    if (clientCache.estimatedSize() == 0) {
-      if (RocksDBClient.metadataOptions != null) {
-        RocksDBClient.metadataOptions.close();
-        RocksDBClient.metadataOptions = null;
-      }
-      if (RocksDBClient.indexWriteOptions != null) {
-        RocksDBClient.indexWriteOptions.close();
-        RocksDBClient.indexWriteOptions = null;
-      }
-      if (RocksDBClient.indexReadOptions != null) {
-        RocksDBClient.indexReadOptions.close();
-        RocksDBClient.indexReadOptions = null;
-      }
-      if (RocksDBClient.batchWriteOptions != null) {
-        RocksDBClient.batchWriteOptions.close();
-        RocksDBClient.batchWriteOptions = null;
-      }
-    }
   }
 
   public synchronized void closeAll() {
     clientCache.asMap().forEach((k, v) -> v.close());
     clientCache.invalidateAll();
-    if (RocksDBClient.metadataOptions != null) {
-      RocksDBClient.metadataOptions.close();
-      RocksDBClient.metadataOptions = null;
-    }
-    if (RocksDBClient.indexWriteOptions != null) {
-      RocksDBClient.indexWriteOptions.close();
-      RocksDBClient.indexWriteOptions = null;
-    }
-    if (RocksDBClient.indexReadOptions != null) {
-      RocksDBClient.indexReadOptions.close();
-      RocksDBClient.indexReadOptions = null;
-    }
-    if (RocksDBClient.batchWriteOptions != null) {
-      RocksDBClient.batchWriteOptions.close();
-      RocksDBClient.batchWriteOptions = null;
-    }
   }
 
   private static class ClientKey {
@@ -99,17 +94,20 @@ public class RocksDBClientCache {
     private final boolean visibilityEnabled;
     private final boolean compactOnWrite;;
     private final int batchSize;
+    private final RocksDBTuningOptions tuningOptions;
 
     public ClientKey(
         final String directory,
         final boolean visibilityEnabled,
         final boolean compactOnWrite,
-        final int batchSize) {
+        final int batchSize,
+        final RocksDBTuningOptions tuningOptions) {
       super();
       this.directory = directory;
       this.visibilityEnabled = visibilityEnabled;
       this.compactOnWrite = compactOnWrite;
       this.batchSize = batchSize;
+      this.tuningOptions = tuningOptions;
     }
 
     @Override
@@ -120,6 +118,7 @@ public class RocksDBClientCache {
       result = (prime * result) + (compactOnWrite ? 1231 : 1237);
       result = (prime * result) + ((directory == null) ? 0 : directory.hashCode());
       result = (prime * result) + (visibilityEnabled ? 1231 : 1237);
+      result = (prime * result) + ((tuningOptions == null) ? 0 : tuningOptions.hashCode());
       return result;
     }
 
@@ -151,6 +150,13 @@ public class RocksDBClientCache {
       if (visibilityEnabled != other.visibilityEnabled) {
         return false;
       }
+      if (tuningOptions == null) {
+        if (other.tuningOptions != null) {
+          return false;
+        }
+      } else if (!tuningOptions.equals(other.tuningOptions)) {
+        return false;
+      }
       return true;
     }
   }
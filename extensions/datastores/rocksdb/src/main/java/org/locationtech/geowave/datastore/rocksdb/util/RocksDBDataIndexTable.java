@@ -18,7 +18,6 @@ import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveValue;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
-import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Slice;
@@ -49,54 +48,50 @@ public class RocksDBDataIndexTable extends AbstractRocksDBTable {
         batchSize);
   }
 
-  public synchronized void add(final byte[] dataId, final GeoWaveValue value) {
+  public void add(final byte[] dataId, final GeoWaveValue value) {
     put(dataId, DataIndexUtils.serializeDataIndexValue(value, visibilityEnabled));
   }
 
-  public synchronized CloseableIterator<GeoWaveRow> dataIndexIterator(final byte[][] dataIds) {
-    final RocksDB readDb = getReadDb();
-    if (readDb == null) {
+  public CloseableIterator<GeoWaveRow> dataIndexIterator(final byte[][] dataIds) {
+    return read(readDb -> {
+      try {
+        final List<byte[]> dataIdsList = Arrays.asList(dataIds);
+        final Map<byte[], byte[]> dataIdxResults = readDb.multiGet(dataIdsList);
+        return new CloseableIterator.Wrapper<>(
+            dataIdsList.stream().filter(dataId -> dataIdxResults.containsKey(dataId)).map(
+                dataId -> DataIndexUtils.deserializeDataIndexRow(
+                    dataId,
+                    adapterId,
+                    dataIdxResults.get(dataId),
+                    visibilityEnabled)).iterator());
+      } catch (final RocksDBException e) {
+        LOGGER.error("Unable to get values by data ID", e);
+      }
       return new CloseableIterator.Empty<>();
-    }
-    try {
-      final List<byte[]> dataIdsList = Arrays.asList(dataIds);
-      final Map<byte[], byte[]> dataIdxResults = readDb.multiGet(dataIdsList);
-      return new CloseableIterator.Wrapper(
-          dataIdsList.stream().filter(dataId -> dataIdxResults.containsKey(dataId)).map(
-              dataId -> DataIndexUtils.deserializeDataIndexRow(
-                  dataId,
-                  adapterId,
-                  dataIdxResults.get(dataId),
-                  visibilityEnabled)).iterator());
-    } catch (final RocksDBException e) {
-      LOGGER.error("Unable to get values by data ID", e);
-    }
-    return new CloseableIterator.Empty<>();
+    });
   }
 
-  public synchronized CloseableIterator<GeoWaveRow> dataIndexIterator(
+  public CloseableIterator<GeoWaveRow> dataIndexIterator(
       final byte[] startDataId,
       final byte[] endDataId) {
-    final RocksDB readDb = getReadDb();
-    if (readDb == null) {
-      return new CloseableIterator.Empty<>();
-    }
-    final ReadOptions options;
-    final RocksIterator it;
-    if (endDataId == null) {
-      options = null;
-      it = readDb.newIterator();
-    } else {
-      options =
-          new ReadOptions().setIterateUpperBound(
-              new Slice(ByteArrayUtils.getNextPrefix(endDataId)));
-      it = readDb.newIterator(options);
-    }
-    if (startDataId == null) {
-      it.seekToFirst();
-    } else {
-      it.seek(startDataId);
-    }
-    return new DataIndexRowIterator(options, it, adapterId, visibilityEnabled);
+    return read(readDb -> {
+      final ReadOptions options;
+      final RocksIterator it;
+      if (endDataId == null) {
+        options = null;
+        it = readDb.newIterator();
+      } else {
+        options =
+            new ReadOptions().setIterateUpperBound(
+                new Slice(ByteArrayUtils.getNextPrefix(endDataId)));
+        it = readDb.newIterator(options);
+      }
+      if (startDataId == null) {
+        it.seekToFirst();
+      } else {
+        it.seek(startDataId);
+      }
+      return new DataIndexRowIterator(options, it, adapterId, visibilityEnabled);
+    });
   }
 }
@@ -8,6 +8,8 @@
  */
 package org.locationtech.geowave.datastore.rocksdb.util;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.store.CloseableIterator;
@@ -15,7 +17,6 @@ import org.locationtech.geowave.core.store.entities.GeoWaveRow;
 import org.locationtech.geowave.core.store.entities.GeoWaveValue;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
-import org.rocksdb.RocksDB;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Slice;
 import org.rocksdb.WriteOptions;
@@ -23,7 +24,7 @@ import com.google.common.primitives.Bytes;
 import com.google.common.primitives.Longs;
 
 public class RocksDBIndexTable extends AbstractRocksDBTable {
-  private long prevTime = Long.MAX_VALUE;
+  private final AtomicLong prevTime = new AtomicLong(Long.MAX_VALUE);
   private final boolean requiresTimestamp;
   private final byte[] partition;
 
@@ -51,7 +52,7 @@ public class RocksDBIndexTable extends AbstractRocksDBTable {
     this.partition = partition;
   }
 
-  public synchronized void add(
+  public void add(
       final byte[] sortKey,
       final byte[] dataId,
       final short numDuplicates,
@@ -79,11 +80,8 @@ public class RocksDBIndexTable extends AbstractRocksDBTable {
       // support is OS-dependent. Instead this check is done to ensure
       // subsequent millis are written at least within this ingest
       // process.
-      long time = Long.MAX_VALUE - System.currentTimeMillis();
-      if (time >= prevTime) {
-        time = prevTime - 1;
-      }
-      prevTime = time;
+      final long currentTime = Long.MAX_VALUE - System.currentTimeMillis();
+      final long time = prevTime.updateAndGet(prev -> currentTime >= prev ? prev - 1 : currentTime);
       key = Bytes.concat(sortKey, dataId, Longs.toByteArray(time), value.getFieldMask(), endBytes);
     } else {
       key = Bytes.concat(sortKey, dataId, value.getFieldMask(), endBytes);
@@ -92,49 +90,86 @@ public class RocksDBIndexTable extends AbstractRocksDBTable {
   }
 
 
-  public synchronized CloseableIterator<GeoWaveRow> iterator() {
-    final RocksDB readDb = getReadDb();
-    if (readDb == null) {
-      return new CloseableIterator.Empty<>();
-    }
-    final ReadOptions options = new ReadOptions().setFillCache(false);
-    final RocksIterator it = readDb.newIterator(options);
-    it.seekToFirst();
-    return new RocksDBRowIterator(
-        options,
-        it,
-        adapterId,
-        partition,
-        requiresTimestamp,
-        visibilityEnabled);
+  public CloseableIterator<GeoWaveRow> iterator() {
+    return read(readDb -> {
+      final ReadOptions options = new ReadOptions().setFillCache(false);
+      final RocksIterator it = readDb.newIterator(options);
+      it.seekToFirst();
+      return new RocksDBRowIterator(
+          options,
+          it,
+          adapterId,
+          partition,
+          requiresTimestamp,
+          visibilityEnabled);
+    });
+  }
+
+  public CloseableIterator<GeoWaveRow> iterator(final ByteArrayRange range) {
+    return read(readDb -> {
+      final ReadOptions options;
+      final RocksIterator it;
+      if (range.getEnd() == null) {
+        options = null;
+        it = readDb.newIterator();
+      } else {
+        options = new ReadOptions().setIterateUpperBound(new Slice(range.getEndAsNextPrefix()));
+        it = readDb.newIterator(options);
+      }
+      if (range.getStart() == null) {
+        it.seekToFirst();
+      } else {
+        it.seek(range.getStart());
+      }
+
+      return new RocksDBRowIterator(
+          options,
+          it,
+          adapterId,
+          partition,
+          requiresTimestamp,
+          visibilityEnabled);
+    });
   }
 
-  public synchronized CloseableIterator<GeoWaveRow> iterator(final ByteArrayRange range) {
-    final RocksDB readDb = getReadDb();
-    if (readDb == null) {
+  /**
+   * Get an iterator over several sort key ranges that shares a single RocksDB iterator, seeking
+   * forward from one range to the next.
+   *
+   * @param sortedRanges the ranges to iterate over, sorted by their start keys
+   * @return an iterator over the rows within the ranges
+   */
+  public CloseableIterator<GeoWaveRow> iterator(final List<ByteArrayRange> sortedRanges) {
+    if (sortedRanges.isEmpty()) {
       return new CloseableIterator.Empty<>();
     }
-    final ReadOptions options;
-    final RocksIterator it;
-    if (range.getEnd() == null) {
-      options = null;
-      it = readDb.newIterator();
-    } else {
-      options = new ReadOptions().setIterateUpperBound(new Slice(range.getEndAsNextPrefix()));
-      it = readDb.newIterator(options);
-    }
-    if (range.getStart() == null) {
-      it.seekToFirst();
-    } else {
-      it.seek(range.getStart());
+    // bound the underlying iterator by the furthest end of the ranges so RocksDB can stop reading
+    // blocks beyond the last range
+    byte[] upperBound = null;
+    for (final ByteArrayRange range : sortedRanges) {
+      if (range.getEnd() == null) {
+        upperBound = null;
+        break;
+      }
+      final byte[] end = range.getEndAsNextPrefix();
+      if ((upperBound == null) || (ByteArrayUtils.compare(end, upperBound) > 0)) {
+        upperBound = end;
+      }
     }
-
-    return new RocksDBRowIterator(
-        options,
-        it,
-        adapterId,
-        partition,
-        requiresTimestamp,
-        visibilityEnabled);
+    final byte[] iterateUpperBound = upperBound;
+    return read(readDb -> {
+      final ReadOptions options = new ReadOptions();
+      if (iterateUpperBound != null) {
+        options.setIterateUpperBound(new Slice(iterateUpperBound));
+      }
+      return new RocksDBMultiRangeRowIterator(
+          options,
+          readDb.newIterator(options),
+          adapterId,
+          partition,
+          requiresTimestamp,
+          visibilityEnabled,
+          sortedRanges);
+    });
   }
 }
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.rocksdb.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.index.ByteArrayUtils;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksIterator;
+
+/**
+ * Iterates over the rows of several sort key ranges with a single RocksDB iterator. The ranges must
+ * be sorted by their start keys. The iterator only seeks when it is positioned before the start of
+ * the next range, so adjacent ranges continue from the current position rather than re-seeking.
+ */
+public class RocksDBMultiRangeRowIterator extends RocksDBRowIterator {
+  private final Iterator<ByteArrayRange> ranges;
+  private byte[] currentRangeEnd = null;
+  private boolean inRange = false;
+  private boolean positioned = false;
+
+  public RocksDBMultiRangeRowIterator(
+      final ReadOptions options,
+      final RocksIterator it,
+      final short adapterId,
+      final byte[] partition,
+      final boolean containsTimestamp,
+      final boolean visiblityEnabled,
+      final List<ByteArrayRange> sortedRanges) {
+    super(options, it, adapterId, partition, containsTimestamp, visiblityEnabled);
+    ranges = sortedRanges.iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    while (true) {
+      if (inRange) {
+        if (it.isValid()
+            && ((currentRangeEnd == null)
+                || (ByteArrayUtils.compare(it.key(), currentRangeEnd) < 0))) {
+          return true;
+        }
+        inRange = false;
+      }
+      if (!ranges.hasNext()) {
+        return false;
+      }
+      final ByteArrayRange range = ranges.next();
+      currentRangeEnd = range.getEnd() == null ? null : range.getEndAsNextPrefix();
+      if (range.getStart() == null) {
+        if (!positioned) {
+          it.seekToFirst();
+        }
+      } else if (!positioned
+          || (it.isValid() && (ByteArrayUtils.compare(it.key(), range.getStart()) < 0))) {
+        it.seek(range.getStart());
+      }
+      positioned = true;
+      inRange = true;
+    }
+  }
+
+  @Override
+  public GeoWaveRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return super.next();
+  }
+}
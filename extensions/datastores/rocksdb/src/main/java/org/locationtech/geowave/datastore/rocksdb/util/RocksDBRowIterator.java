@@ -8,11 +8,14 @@
  */
 package org.locationtech.geowave.datastore.rocksdb.util;
 
+import org.locationtech.geowave.core.index.ByteArrayUtils;
 import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.SeekableIterator;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksIterator;
 
-public class RocksDBRowIterator extends AbstractRocksDBIterator<GeoWaveRow> {
+public class RocksDBRowIterator extends AbstractRocksDBIterator<GeoWaveRow> implements
+    SeekableIterator<GeoWaveRow> {
   private final short adapterId;
   private final byte[] partition;
   private final boolean containsTimestamp;
@@ -32,6 +35,15 @@ public class RocksDBRowIterator extends AbstractRocksDBIterator<GeoWaveRow> {
     visibilityEnabled = visiblityEnabled;
   }
 
+  @Override
+  public void seek(final byte[] sortKey) {
+    // the sort key is the prefix of the RocksDB key so seeking to it lands on the first row with
+    // that sort key
+    if (!closed && it.isValid() && (ByteArrayUtils.compare(it.key(), sortKey) < 0)) {
+      it.seek(sortKey);
+    }
+  }
+
   @Override
   protected GeoWaveRow readRow(final byte[] key, final byte[] value) {
     return new RocksDBRow(adapterId, partition, key, value, containsTimestamp, visibilityEnabled);
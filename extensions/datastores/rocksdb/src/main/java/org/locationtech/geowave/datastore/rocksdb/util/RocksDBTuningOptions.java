@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.rocksdb.util;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.CompressionType;
+import org.rocksdb.IndexType;
+import org.rocksdb.Options;
+
+/**
+ * The table level tuning of the RocksDB databases backing a store. Every index and data index table
+ * of a store is opened with the same tuning and they share one block cache. Bloom filters only
+ * apply to the data index tables, which are read by data ID, because the index tables are read by
+ * range scans that a bloom filter on whole keys can't help.
+ */
+public class RocksDBTuningOptions {
+  public static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  public static final RocksDBTuningOptions DEFAULT =
+      new RocksDBTuningOptions(
+          0,
+          DEFAULT_BLOOM_FILTER_BITS_PER_KEY,
+          CompressionType.SNAPPY_COMPRESSION,
+          -1);
+  private static final long BYTES_PER_MB = 1024L * 1024L;
+
+  private final long blockCacheSizeMB;
+  private final int bloomFilterBitsPerKey;
+  private final CompressionType compression;
+  private final int maxOpenFiles;
+
+  /**
+   * @param blockCacheSizeMB the size of the block cache shared by all tables, anything <= 0 will
+   *        use the RocksDB default cache for each table
+   * @param bloomFilterBitsPerKey the bits per key of the bloom filters of the data index tables,
+   *        anything <= 0 disables bloom filters
+   * @param compression the compression of the table data
+   * @param maxOpenFiles the maximum number of open files per table, anything <= 0 is unlimited
+   */
+  public RocksDBTuningOptions(
+      final long blockCacheSizeMB,
+      final int bloomFilterBitsPerKey,
+      final CompressionType compression,
+      final int maxOpenFiles) {
+    this.blockCacheSizeMB = blockCacheSizeMB;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.compression = compression;
+    this.maxOpenFiles = maxOpenFiles;
+  }
+
+  public long getBlockCacheSizeMB() {
+    return blockCacheSizeMB;
+  }
+
+  public long getBlockCacheSizeBytes() {
+    return blockCacheSizeMB * BYTES_PER_MB;
+  }
+
+  public boolean isSharedBlockCache() {
+    return blockCacheSizeMB > 0;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean isBloomFilterEnabled() {
+    return bloomFilterBitsPerKey > 0;
+  }
+
+  public CompressionType getCompression() {
+    return compression;
+  }
+
+  public int getMaxOpenFiles() {
+    return maxOpenFiles;
+  }
+
+  /**
+   * Apply this tuning to the options of an index or data index table.
+   *
+   * @param options the options to modify
+   * @param blockCache the shared block cache, or null to use a default cache per table
+   * @param bloomFilter the shared bloom filter policy of data index tables, or null for index
+   *        tables and to disable bloom filters
+   * @return the modified options
+   */
+  public Options apply(
+      final Options options,
+      final Cache blockCache,
+      final BloomFilter bloomFilter) {
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    if (blockCache != null) {
+      tableConfig.setBlockCache(blockCache);
+      // keep index and filter blocks in the shared cache so their memory is bounded by the cache
+      // size rather than growing with the number of open tables
+      tableConfig.setCacheIndexAndFilterBlocks(true);
+      tableConfig.setPinL0FilterAndIndexBlocksInCache(true);
+    }
+    if (bloomFilter != null) {
+      // partitioned filters only load the filter partitions that are needed for a lookup
+      tableConfig.setFilter(bloomFilter);
+      tableConfig.setIndexType(IndexType.kTwoLevelIndexSearch);
+      tableConfig.setPartitionFilters(true);
+    }
+    options.setTableFormatConfig(tableConfig);
+    options.setCompressionType(compression);
+    options.setMaxOpenFiles(maxOpenFiles > 0 ? maxOpenFiles : -1);
+    return options;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = (prime * result) + (int) (blockCacheSizeMB ^ (blockCacheSizeMB >>> 32));
+    result = (prime * result) + bloomFilterBitsPerKey;
+    result = (prime * result) + ((compression == null) ? 0 : compression.hashCode());
+    result = (prime * result) + maxOpenFiles;
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final RocksDBTuningOptions other = (RocksDBTuningOptions) obj;
+    if (blockCacheSizeMB != other.blockCacheSizeMB) {
+      return false;
+    }
+    if (bloomFilterBitsPerKey != other.bloomFilterBitsPerKey) {
+      return false;
+    }
+    if (compression != other.compression) {
+      return false;
+    }
+    if (maxOpenFiles != other.maxOpenFiles) {
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.datastore.rocksdb.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geowave.core.index.ByteArrayRange;
+import org.locationtech.geowave.core.store.CloseableIterator;
+import org.locationtech.geowave.core.store.entities.GeoWaveRow;
+import org.locationtech.geowave.core.store.entities.GeoWaveValueImpl;
+import org.locationtech.geowave.core.store.util.FixedResolutionSkippingIterator.SeekableIterator;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+public class RocksDBMultiRangeRowIteratorTest {
+  private static final int NUM_ROWS = 20;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Options writeOptions;
+  private Options readOptions;
+  private RocksDBIndexTable table;
+
+  @Before
+  public void setUp() {
+    RocksDB.loadLibrary();
+    writeOptions = new Options().setCreateIfMissing(true);
+    readOptions = new Options();
+    table =
+        new RocksDBIndexTable(
+            writeOptions,
+            readOptions,
+            null,
+            folder.getRoot().getAbsolutePath(),
+            (short) 1,
+            new byte[0],
+            false,
+            false,
+            false,
+            1);
+    // one row for each of the sort keys {0, 0} to {0, 19}
+    for (int i = 0; i < NUM_ROWS; i++) {
+      table.add(
+          sortKey(i),
+          ("id" + i).getBytes(),
+          (short) 0,
+          new GeoWaveValueImpl(new byte[] {1}, new byte[0], new byte[] {(byte) i}));
+    }
+    table.flush();
+  }
+
+  @After
+  public void tearDown() {
+    table.close();
+    writeOptions.close();
+    readOptions.close();
+  }
+
+  @Test
+  public void testRanges() {
+    try (CloseableIterator<GeoWaveRow> it =
+        table.iterator(
+            Arrays.asList(
+                range(2, 4),
+                // overlaps the end of the previous range, which is continued without seeking
+                range(4, 5),
+                range(10, 12),
+                new ByteArrayRange(sortKey(18), null)))) {
+      assertEquals(Arrays.asList(2, 3, 4, 5, 10, 11, 12, 18, 19), readAll(it));
+    }
+  }
+
+  @Test
+  public void testSeekAcrossRangeBoundaries() {
+    try (CloseableIterator<GeoWaveRow> it =
+        table.iterator(Arrays.asList(range(2, 6), range(8, 9), range(12, 14)))) {
+      final SeekableIterator<GeoWaveRow> seekable = (SeekableIterator<GeoWaveRow>) it;
+      assertArrayEquals(sortKey(2), it.next().getSortKey());
+      // seeking past the end of a range continues with the next range
+      seekable.seek(sortKey(8));
+      assertArrayEquals(sortKey(8), it.next().getSortKey());
+      // seeking into the middle of a later range skips the rest of the current range
+      seekable.seek(sortKey(13));
+      assertArrayEquals(sortKey(13), it.next().getSortKey());
+      assertArrayEquals(sortKey(14), it.next().getSortKey());
+      assertFalse(it.hasNext());
+    }
+  }
+
+  @Test
+  public void testSeekPastRanges() {
+    try (CloseableIterator<GeoWaveRow> it =
+        table.iterator(Arrays.asList(range(2, 3), range(5, 6), range(10, 11)))) {
+      final SeekableIterator<GeoWaveRow> seekable = (SeekableIterator<GeoWaveRow>) it;
+      assertArrayEquals(sortKey(2), it.next().getSortKey());
+      // seeking between two ranges skips the range in between
+      seekable.seek(sortKey(7));
+      assertTrue(it.hasNext());
+      assertArrayEquals(sortKey(10), it.next().getSortKey());
+      // seeking past the last range ends the iteration
+      seekable.seek(sortKey(15));
+      assertFalse(it.hasNext());
+    }
+  }
+
+  private static List<Integer> readAll(final CloseableIterator<GeoWaveRow> it) {
+    final List<Integer> rows = new ArrayList<>();
+    while (it.hasNext()) {
+      rows.add((int) it.next().getSortKey()[1]);
+    }
+    return rows;
+  }
+
+  private static ByteArrayRange range(final int start, final int end) {
+    return new ByteArrayRange(sortKey(start), sortKey(end));
+  }
+
+  private static byte[] sortKey(final int i) {
+    return new byte[] {0, (byte) i};
+  }
+}
@@ -35,7 +35,8 @@ public interface IngestService {
       @QueryParam("kafkaPropertyFile") String kafkaPropertyFile,
       @QueryParam("visibility") String visibility,
       @QueryParam("groupId") String groupId,
-      @QueryParam("zookeeperConnect") String zookeeperConnect,
+      @QueryParam("zookeeperConnect") String zookeeperConnect, // Deprecated
+      @QueryParam("bootstrapServers") String bootstrapServers,
       @QueryParam("autoOffsetReset") String autoOffsetReset,
       @QueryParam("fetchMessageMaxBytes") String fetchMessageMaxBytes,
       @QueryParam("consumerTimeoutMs") String consumerTimeoutMs,
@@ -50,9 +50,46 @@ public class IngestServiceClient {
         null,
         null,
         null,
+        null,
         null);
   }
 
+  /**
+   * @deprecated the consumer no longer connects to ZooKeeper, use the variant that takes the
+   *             bootstrap servers of the Kafka brokers
+   */
+  @Deprecated
+  public Response kafkaToGW(
+      final String store_name,
+      final String index_group_list,
+      final String kafkaPropertyFile,
+      final String visibility,
+      final String groupId,
+      final String zookeeperConnect,
+      final String autoOffsetReset,
+      final String fetchMessageMaxBytes,
+      final String consumerTimeoutMs,
+      final Boolean reconnectOnTimeout,
+      final Integer batchSize,
+      final String extensions,
+      final String formats) {
+    return kafkaToGW(
+        store_name,
+        index_group_list,
+        kafkaPropertyFile,
+        visibility,
+        groupId,
+        zookeeperConnect,
+        null,
+        autoOffsetReset,
+        fetchMessageMaxBytes,
+        consumerTimeoutMs,
+        reconnectOnTimeout,
+        batchSize,
+        extensions,
+        formats);
+  }
+
   public Response kafkaToGW(
       final String store_name,
       final String index_group_list,
@@ -60,6 +97,7 @@ public class IngestServiceClient {
       final String visibility,
       final String groupId,
       final String zookeeperConnect,
+      final String bootstrapServers,
       final String autoOffsetReset,
       final String fetchMessageMaxBytes,
       final String consumerTimeoutMs,
@@ -76,6 +114,7 @@ public class IngestServiceClient {
             visibility,
             groupId,
             zookeeperConnect,
+            bootstrapServers,
             autoOffsetReset,
             fetchMessageMaxBytes,
             consumerTimeoutMs,
@@ -9,9 +9,22 @@
 package org.locationtech.geowave.service.grpc.services;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.store.ContentFeatureCollection;
 import org.geotools.factory.FactoryRegistryException;
@@ -21,9 +34,12 @@ import org.geotools.filter.text.cql2.CQL;
 import org.geotools.filter.text.cql2.CQLException;
 import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.locationtech.geowave.adapter.vector.FeatureDataAdapter;
+import org.locationtech.geowave.adapter.vector.export.ArrowFeatureWriter;
+import org.locationtech.geowave.adapter.vector.export.ArrowFeatureWriter.GeometryEncoding;
 import org.locationtech.geowave.adapter.vector.plugin.GeoWaveGTDataStore;
 import org.locationtech.geowave.adapter.vector.plugin.GeoWavePluginConfig;
 import org.locationtech.geowave.adapter.vector.plugin.GeoWavePluginException;
+import org.locationtech.geowave.core.geotime.store.GeotoolsFeatureDataAdapter;
 import org.locationtech.geowave.core.geotime.store.query.api.SpatialTemporalConstraintsBuilder;
 import org.locationtech.geowave.core.geotime.store.query.api.VectorQueryBuilder;
 import org.locationtech.geowave.core.geotime.store.query.filter.SpatialQueryFilter.CompareOperation;
@@ -39,33 +55,48 @@ import org.locationtech.geowave.core.store.cli.remote.options.IndexPluginOptions
 import org.locationtech.geowave.core.store.cli.remote.options.StoreLoader;
 import org.locationtech.geowave.service.grpc.GeoWaveGrpcServiceOptions;
 import org.locationtech.geowave.service.grpc.GeoWaveGrpcServiceSpi;
+import org.locationtech.geowave.service.grpc.protobuf.ArrowStreamChunkProtos;
+import org.locationtech.geowave.service.grpc.protobuf.AttributeSchemaProtos;
+import org.locationtech.geowave.service.grpc.protobuf.BulkIngestAckProtos;
 import org.locationtech.geowave.service.grpc.protobuf.CQLQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.FeatureAttributeProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureBatchProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureBatchStreamProtos;
 import org.locationtech.geowave.service.grpc.protobuf.FeatureProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureSchemaProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureValuesProtos;
 import org.locationtech.geowave.service.grpc.protobuf.GeoWaveReturnTypesProtos.StringResponseProtos;
 import org.locationtech.geowave.service.grpc.protobuf.SpatialQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.SpatialTemporalQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.TemporalConstraintsProtos;
+import org.locationtech.geowave.service.grpc.protobuf.VectorArrowQueryParametersProtos;
+import org.locationtech.geowave.service.grpc.protobuf.VectorBatchQueryParametersProtos;
+import org.locationtech.geowave.service.grpc.protobuf.VectorBulkIngestParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.VectorGrpc;
 import org.locationtech.geowave.service.grpc.protobuf.VectorIngestParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.VectorQueryParametersProtos;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.filter.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.extra.Interval;
 import com.beust.jcommander.ParameterException;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.util.Timestamps;
 import io.grpc.BindableService;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 public class GeoWaveGrpcVectorService extends VectorGrpc.VectorImplBase implements
     GeoWaveGrpcServiceSpi {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(GeoWaveGrpcVectorService.class.getName());
+  private static final int DEFAULT_FEATURE_BATCH_SIZE = 1000;
 
   @Override
   public BindableService getBindableService() {
@@ -330,6 +361,12 @@ public class GeoWaveGrpcVectorService extends VectorGrpc.VectorImplBase implemen
     };
   }
 
+  @Override
+  public StreamObserver<VectorBulkIngestParametersProtos> vectorBulkIngest(
+      final StreamObserver<BulkIngestAckProtos> responseObserver) {
+    return new BulkIngestObserver(responseObserver);
+  }
+
   @Override
   public void cqlQuery(
       final CQLQueryParametersProtos request,
@@ -521,6 +558,605 @@ public class GeoWaveGrpcVectorService extends VectorGrpc.VectorImplBase implemen
     }
   }
 
+  @Override
+  public void vectorArrowQuery(
+      final VectorArrowQueryParametersProtos request,
+      final StreamObserver<ArrowStreamChunkProtos> responseObserver) {
+    final String storeName = request.getBaseParams().getStoreName();
+    final StoreLoader storeLoader = new StoreLoader(storeName);
+
+    // first check to make sure the data store exists
+    if (!storeLoader.loadFromConfig(GeoWaveGrpcServiceOptions.geowaveConfigFile)) {
+      throw new ParameterException("Cannot find store name: " + storeLoader.getStoreName());
+    }
+
+    final GeometryEncoding geometryEncoding = toGeometryEncoding(request.getGeometryEncoding());
+    final int batchSize =
+        request.getBatchSize() > 0 ? request.getBatchSize() : ArrowFeatureWriter.DEFAULT_BATCH_SIZE;
+    final DataStore dataStore = storeLoader.createDataStore();
+    final String typeName = request.getBaseParams().getTypeName();
+    final String[] attributeNames =
+        request.getAttributesList().toArray(new String[request.getAttributesCount()]);
+    final SimpleFeatureType featureType;
+    try {
+      featureType = ArrowFeatureWriter.getFeatureType(dataStore, typeName);
+    } catch (final IllegalArgumentException e) {
+      throw new ParameterException("Cannot find vector type name: " + typeName);
+    }
+
+    final ServerCallStreamObserver<ArrowStreamChunkProtos> serverObserver =
+        (ServerCallStreamObserver<ArrowStreamChunkProtos>) responseObserver;
+    final ArrowBatchStreamer streamer =
+        new ArrowBatchStreamer(
+            serverObserver,
+            out -> new ArrowFeatureWriter(
+                featureType,
+                attributeNames,
+                geometryEncoding,
+                batchSize,
+                out),
+            () -> ArrowFeatureWriter.query(dataStore, typeName, request.getCql(), attributeNames));
+    serverObserver.setOnCancelHandler(streamer::close);
+    // gRPC runs the handler once the call is ready and again whenever the client has caught up
+    serverObserver.setOnReadyHandler(streamer);
+  }
+
+  private static GeometryEncoding toGeometryEncoding(final String value) {
+    if (value.isEmpty()) {
+      return GeometryEncoding.WKB;
+    }
+    for (final GeometryEncoding encoding : GeometryEncoding.values()) {
+      if (encoding.name().equalsIgnoreCase(value)) {
+        return encoding;
+      }
+    }
+    throw new ParameterException(
+        "Value "
+            + value
+            + " can not be converted to a geometry encoding. Available values are: "
+            + Arrays.toString(GeometryEncoding.values()));
+  }
+
+  @Override
+  public void vectorBatchQuery(
+      final VectorBatchQueryParametersProtos request,
+      final StreamObserver<FeatureBatchStreamProtos> responseObserver) {
+    final String storeName = request.getBaseParams().getStoreName();
+    final StoreLoader storeLoader = new StoreLoader(storeName);
+
+    // first check to make sure the data store exists
+    if (!storeLoader.loadFromConfig(GeoWaveGrpcServiceOptions.geowaveConfigFile)) {
+      throw new ParameterException("Cannot find store name: " + storeLoader.getStoreName());
+    }
+
+    final DataStore dataStore = storeLoader.createDataStore();
+    final String typeName = request.getBaseParams().getTypeName();
+    SimpleFeatureType featureType = null;
+    for (final DataTypeAdapter<?> adapter : dataStore.getTypes()) {
+      if (adapter.getTypeName().equals(typeName)
+          && (adapter instanceof GeotoolsFeatureDataAdapter)) {
+        featureType = ((GeotoolsFeatureDataAdapter) adapter).getFeatureType();
+      }
+    }
+    if (featureType == null) {
+      throw new ParameterException("Cannot find vector type name: " + typeName);
+    }
+
+    final List<AttributeDescriptor> attributes = new ArrayList<>();
+    VectorQueryBuilder bldr = VectorQueryBuilder.newBuilder().addTypeName(typeName);
+    if (request.getAttributesCount() > 0) {
+      for (final String attributeName : request.getAttributesList()) {
+        final AttributeDescriptor descriptor = featureType.getDescriptor(attributeName);
+        if (descriptor == null) {
+          throw new ParameterException("Cannot find attribute name: " + attributeName);
+        }
+        attributes.add(descriptor);
+      }
+      // only the requested attributes are read from the store
+      bldr =
+          bldr.subsetFields(
+              typeName,
+              request.getAttributesList().toArray(new String[request.getAttributesCount()]));
+    } else {
+      attributes.addAll(featureType.getAttributeDescriptors());
+    }
+    if (!request.getCql().isEmpty()) {
+      bldr = bldr.constraints(bldr.constraintsFactory().cqlConstraints(request.getCql()));
+    }
+
+    final FeatureSchemaProtos.Builder schema =
+        FeatureSchemaProtos.newBuilder().setTypeName(typeName);
+    for (final AttributeDescriptor descriptor : attributes) {
+      schema.addAttributes(
+          AttributeSchemaProtos.newBuilder().setName(descriptor.getLocalName()).setClassType(
+              descriptor.getType().getBinding().getName()));
+    }
+
+    final ServerCallStreamObserver<FeatureBatchStreamProtos> serverObserver =
+        (ServerCallStreamObserver<FeatureBatchStreamProtos>) responseObserver;
+    final FeatureBatchStreamer streamer =
+        new FeatureBatchStreamer(
+            serverObserver,
+            schema.build(),
+            attributes,
+            request.getBatchSize() > 0 ? request.getBatchSize() : DEFAULT_FEATURE_BATCH_SIZE,
+            dataStore.query(bldr.build()));
+    serverObserver.setOnCancelHandler(streamer::close);
+    // gRPC runs the handler once the call is ready and again whenever the client has caught up
+    serverObserver.setOnReadyHandler(streamer);
+  }
+
+  /**
+   * Sends the schema and then batches of features for as long as the transport is ready to take
+   * them, so no more than a batch is buffered for a client that reads slowly. Sending resumes the
+   * next time the call becomes ready.
+   */
+  private static class FeatureBatchStreamer implements Runnable {
+    private final ServerCallStreamObserver<FeatureBatchStreamProtos> responseObserver;
+    private final FeatureSchemaProtos schema;
+    private final List<AttributeDescriptor> attributes;
+    private final int batchSize;
+    private final CloseableIterator<SimpleFeature> iterator;
+    private final WKBWriter wkbWriter = new WKBWriter();
+    private boolean schemaSent = false;
+    private boolean closed = false;
+
+    private FeatureBatchStreamer(
+        final ServerCallStreamObserver<FeatureBatchStreamProtos> responseObserver,
+        final FeatureSchemaProtos schema,
+        final List<AttributeDescriptor> attributes,
+        final int batchSize,
+        final CloseableIterator<SimpleFeature> iterator) {
+      this.responseObserver = responseObserver;
+      this.schema = schema;
+      this.attributes = attributes;
+      this.batchSize = batchSize;
+      this.iterator = iterator;
+    }
+
+    @Override
+    public synchronized void run() {
+      try {
+        while (!closed && responseObserver.isReady()) {
+          if (!schemaSent) {
+            responseObserver.onNext(
+                FeatureBatchStreamProtos.newBuilder().setSchema(schema).build());
+            schemaSent = true;
+          } else if (iterator.hasNext()) {
+            responseObserver.onNext(
+                FeatureBatchStreamProtos.newBuilder().setBatch(nextBatch()).build());
+          } else {
+            close();
+            responseObserver.onCompleted();
+          }
+        }
+      } catch (final RuntimeException e) {
+        LOGGER.error("Exception encountered streaming feature batches", e);
+        if (!closed) {
+          close();
+          responseObserver.onError(e);
+        }
+      }
+    }
+
+    private FeatureBatchProtos nextBatch() {
+      final FeatureBatchProtos.Builder batch = FeatureBatchProtos.newBuilder();
+      for (int i = 0; (i < batchSize) && iterator.hasNext(); i++) {
+        final SimpleFeature feature = iterator.next();
+        final FeatureValuesProtos.Builder values = FeatureValuesProtos.newBuilder();
+        for (final AttributeDescriptor descriptor : attributes) {
+          values.addValues(toAttributeValue(feature.getAttribute(descriptor.getName())));
+        }
+        batch.addFeatureIds(feature.getID()).addFeatures(values);
+      }
+      return batch.build();
+    }
+
+    private FeatureAttributeProtos toAttributeValue(final Object value) {
+      if (value == null) {
+        return FeatureAttributeProtos.getDefaultInstance();
+      }
+      final FeatureAttributeProtos.Builder attBuilder = FeatureAttributeProtos.newBuilder();
+      if (value instanceof Geometry) {
+        attBuilder.setValGeometry(ByteString.copyFrom(wkbWriter.write((Geometry) value)));
+      } else if (value instanceof String) {
+        attBuilder.setValString((String) value);
+      } else if ((value instanceof Integer)
+          || (value instanceof Short)
+          || (value instanceof Byte)) {
+        attBuilder.setValInt32(((Number) value).intValue());
+      } else if (value instanceof Long) {
+        attBuilder.setValInt64((Long) value);
+      } else if (value instanceof Float) {
+        attBuilder.setValFloat((Float) value);
+      } else if (value instanceof Double) {
+        attBuilder.setValDouble((Double) value);
+      } else if (value instanceof Date) {
+        attBuilder.setValInt64(((Date) value).getTime());
+      } else {
+        attBuilder.setValString(value.toString());
+      }
+      return attBuilder.build();
+    }
+
+    private synchronized void close() {
+      if (!closed) {
+        closed = true;
+        iterator.close();
+      }
+    }
+  }
+
+  /**
+   * Writes the Arrow schema and then record batches for as long as the transport is ready to take
+   * them, so no more than a batch is buffered for a client that reads slowly. Writing resumes the
+   * next time the call becomes ready. The writer and the query are created on the first run, so an
+   * invalid attribute fails the call rather than the request handler.
+   */
+  private static class ArrowBatchStreamer implements Runnable {
+    private final ServerCallStreamObserver<ArrowStreamChunkProtos> responseObserver;
+    private final ChunkOutputStream out;
+    private final ArrowWriterFactory writerFactory;
+    private final Supplier<CloseableIterator<SimpleFeature>> query;
+    private ArrowFeatureWriter writer = null;
+    private CloseableIterator<SimpleFeature> iterator = null;
+    private boolean closed = false;
+
+    private ArrowBatchStreamer(
+        final ServerCallStreamObserver<ArrowStreamChunkProtos> responseObserver,
+        final ArrowWriterFactory writerFactory,
+        final Supplier<CloseableIterator<SimpleFeature>> query) {
+      this.responseObserver = responseObserver;
+      out = new ChunkOutputStream(responseObserver);
+      this.writerFactory = writerFactory;
+      this.query = query;
+    }
+
+    @Override
+    public synchronized void run() {
+      try {
+        if (closed) {
+          return;
+        }
+        if (writer == null) {
+          // the schema is sent as soon as the writer is created
+          writer = writerFactory.create(out);
+          iterator = query.get();
+        }
+        // the writer sends a chunk whenever a batch is full, readiness is checked between features
+        while (!closed && responseObserver.isReady()) {
+          if (iterator.hasNext()) {
+            writer.write(iterator.next());
+          } else {
+            finish();
+          }
+        }
+      } catch (final Exception e) {
+        LOGGER.error("Exception encountered writing arrow record batches", e);
+        if (!closed) {
+          close();
+          responseObserver.onError(e);
+        }
+      }
+    }
+
+    private void finish() throws IOException {
+      iterator.close();
+      iterator = null;
+      final ArrowFeatureWriter lastWriter = writer;
+      writer = null;
+      // the last partial batch and the end of the stream are sent when the writer is closed
+      lastWriter.close();
+      closed = true;
+      responseObserver.onCompleted();
+    }
+
+    private synchronized void close() {
+      if (!closed) {
+        closed = true;
+        if (iterator != null) {
+          iterator.close();
+        }
+        if (writer != null) {
+          // release the buffers of the writer without sending anything more
+          out.discard();
+          try {
+            writer.close();
+          } catch (final IOException e) {
+            LOGGER.warn("Unable to close arrow writer", e);
+          }
+        }
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private static interface ArrowWriterFactory {
+    ArrowFeatureWriter create(OutputStream out) throws IOException;
+  }
+
+  /**
+   * Writes the batches of a bulk ingest. The features of a batch are decoded in parallel on a pool
+   * dedicated to bulk ingests and then written by a single writer for the type, which writes them
+   * to every index of the type. A batch is acknowledged once all of its features were handed to the
+   * writer, the writer is flushed when the client completes the stream. If a batch can't be
+   * written the writer is closed, the call fails and the rest of the stream is ignored.
+   */
+  private static class BulkIngestObserver implements
+      StreamObserver<VectorBulkIngestParametersProtos> {
+    private static final ThreadLocal<WKBReader> WKB_READER =
+        ThreadLocal.withInitial(() -> new WKBReader(JTSFactoryFinder.getGeometryFactory()));
+    private static final int DECODE_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService DECODE_THREAD_POOL = createDecodeThreadPool();
+    private final StreamObserver<BulkIngestAckProtos> responseObserver;
+    // features without an ID are numbered within the call, the prefix keeps IDs unique across calls
+    private final String featureIdPrefix = UUID.randomUUID().toString() + "-";
+    private SimpleFeatureType featureType = null;
+    // the attribute of the feature type for every attribute of the client schema
+    private int[] attributeIndices = null;
+    private Writer<SimpleFeature> writer = null;
+    private long totalCount = 0;
+    private boolean failed = false;
+
+    private BulkIngestObserver(final StreamObserver<BulkIngestAckProtos> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    private static ExecutorService createDecodeThreadPool() {
+      final AtomicInteger threadCount = new AtomicInteger(0);
+      final ThreadFactory threadFactory = r -> {
+        final Thread thread =
+            new Thread(r, "geowave-bulk-ingest-decoder-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      };
+      final ThreadPoolExecutor threadPool =
+          new ThreadPoolExecutor(
+              DECODE_THREADS,
+              DECODE_THREADS,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              threadFactory);
+      threadPool.allowCoreThreadTimeOut(true);
+      return threadPool;
+    }
+
+    @Override
+    public void onNext(final VectorBulkIngestParametersProtos request) {
+      if (failed) {
+        return;
+      }
+      try {
+        if (writer == null) {
+          initialize(request);
+        }
+        write(request);
+      } catch (final Exception e) {
+        LOGGER.error("Exception encountered during vectorBulkIngest", e);
+        failed = true;
+        if (writer != null) {
+          writer.close();
+        }
+        responseObserver.onError(e);
+      }
+    }
+
+    private void write(final VectorBulkIngestParametersProtos request) throws Exception {
+      final FeatureBatchProtos batch = request.getBatch();
+      final int featureCount = batch.getFeaturesCount();
+      final long firstFeatureId = totalCount;
+      totalCount += featureCount;
+      final BulkIngestAckProtos.Builder ack =
+          BulkIngestAckProtos.newBuilder().setBatchId(request.getBatchId());
+
+      // decoding geometries is the expensive part, so slices of the batch are built in parallel
+      final Object[] features = new Object[featureCount];
+      final int sliceSize = ((featureCount + DECODE_THREADS) - 1) / DECODE_THREADS;
+      final List<Future<?>> slices = new ArrayList<>();
+      for (int start = 0; start < featureCount; start += sliceSize) {
+        final int sliceStart = start;
+        final int sliceEnd = Math.min(start + sliceSize, featureCount);
+        slices.add(DECODE_THREAD_POOL.submit(() -> {
+          for (int i = sliceStart; i < sliceEnd; i++) {
+            final String featureId =
+                i < batch.getFeatureIdsCount() ? batch.getFeatureIds(i)
+                    : featureIdPrefix + (firstFeatureId + i);
+            try {
+              features[i] = buildFeature(featureId, batch.getFeatures(i));
+            } catch (final Exception e) {
+              features[i] = "Feature '" + featureId + "': " + e.getMessage();
+            }
+          }
+        }));
+      }
+      try {
+        for (final Future<?> slice : slices) {
+          slice.get();
+        }
+      } finally {
+        for (final Future<?> slice : slices) {
+          slice.cancel(true);
+        }
+      }
+
+      int writeCount = 0;
+      for (final Object feature : features) {
+        if (feature instanceof SimpleFeature) {
+          writer.write((SimpleFeature) feature);
+          writeCount++;
+        } else {
+          ack.addErrors((String) feature);
+        }
+      }
+      responseObserver.onNext(ack.setWriteCount(writeCount).build());
+    }
+
+    private void initialize(final VectorBulkIngestParametersProtos request) {
+      final String storeName = request.getBaseParams().getStoreName();
+      final String typeName = request.getBaseParams().getTypeName();
+      final String indexName = request.getBaseParams().getIndexName();
+
+      final StoreLoader storeLoader = new StoreLoader(storeName);
+      if (!storeLoader.loadFromConfig(GeoWaveGrpcServiceOptions.geowaveConfigFile)) {
+        throw new ParameterException("Cannot find store name: " + storeLoader.getStoreName());
+      }
+      final IndexLoader indexLoader = new IndexLoader(indexName);
+      if (!indexLoader.loadFromConfig(GeoWaveGrpcServiceOptions.geowaveConfigFile)) {
+        throw new ParameterException("Cannot find index(s) by name: " + indexName);
+      }
+      final List<Index> indices = new ArrayList<>();
+      for (final IndexPluginOptions indexOption : indexLoader.getLoadedIndexes()) {
+        indices.add(indexOption.createIndex());
+      }
+
+      final FeatureSchemaProtos schema = request.getSchema();
+      final DataStore dataStore = storeLoader.createDataStore();
+      DataTypeAdapter<?> adapter = null;
+      for (final DataTypeAdapter<?> existingAdapter : dataStore.getTypes()) {
+        if (existingAdapter.getTypeName().equals(typeName)
+            && (existingAdapter instanceof GeotoolsFeatureDataAdapter)) {
+          adapter = existingAdapter;
+        }
+      }
+      if (adapter != null) {
+        featureType = ((GeotoolsFeatureDataAdapter) adapter).getFeatureType();
+      } else {
+        final SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+        typeBuilder.setName(typeName);
+        for (final AttributeSchemaProtos attribute : schema.getAttributesList()) {
+          try {
+            typeBuilder.add(attribute.getName(), Class.forName(attribute.getClassType()));
+          } catch (final ClassNotFoundException e) {
+            throw new ParameterException(
+                "Cannot find class type: " + attribute.getClassType(),
+                e);
+          }
+        }
+        featureType = typeBuilder.buildFeatureType();
+        adapter = new FeatureDataAdapter(featureType);
+      }
+
+      attributeIndices = new int[schema.getAttributesCount()];
+      for (int i = 0; i < attributeIndices.length; i++) {
+        attributeIndices[i] = featureType.indexOf(schema.getAttributes(i).getName());
+        if (attributeIndices[i] < 0) {
+          throw new ParameterException(
+              "Cannot find attribute name: " + schema.getAttributes(i).getName());
+        }
+      }
+
+      dataStore.addType(adapter, indices.toArray(new Index[indices.size()]));
+      writer = dataStore.createWriter(adapter.getTypeName());
+    }
+
+    private SimpleFeature buildFeature(final String featureId, final FeatureValuesProtos feature)
+        throws org.locationtech.jts.io.ParseException {
+      final Object[] values = new Object[featureType.getAttributeCount()];
+      for (int i = 0; (i < attributeIndices.length) && (i < feature.getValuesCount()); i++) {
+        final int attributeIndex = attributeIndices[i];
+        final FeatureAttributeProtos value = feature.getValues(i);
+        switch (value.getValueCase()) {
+          case VALSTRING:
+            values[attributeIndex] = value.getValString();
+            break;
+          case VALINT32:
+            values[attributeIndex] = value.getValInt32();
+            break;
+          case VALINT64:
+            if (Date.class.isAssignableFrom(
+                featureType.getDescriptor(attributeIndex).getType().getBinding())) {
+              values[attributeIndex] = new Date(value.getValInt64());
+            } else {
+              values[attributeIndex] = value.getValInt64();
+            }
+            break;
+          case VALFLOAT:
+            values[attributeIndex] = value.getValFloat();
+            break;
+          case VALDOUBLE:
+            values[attributeIndex] = value.getValDouble();
+            break;
+          case VALGEOMETRY:
+            values[attributeIndex] =
+                WKB_READER.get().read(value.getValGeometry().toByteArray());
+            break;
+          default:
+            break;
+        }
+      }
+      // converts the values to the bindings of the attributes where necessary
+      return SimpleFeatureBuilder.build(featureType, values, featureId);
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+      LOGGER.error("Exception encountered during vectorBulkIngest", t);
+      if (!failed && (writer != null)) {
+        writer.close();
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      if (failed) {
+        return;
+      }
+      try {
+        if (writer != null) {
+          writer.close();
+        }
+      } catch (final Exception e) {
+        LOGGER.error("Exception encountered during vectorBulkIngest", e);
+        responseObserver.onError(e);
+        return;
+      }
+      responseObserver.onCompleted();
+    }
+  }
+
+  /** Sends everything written since the last flush as one chunk of the response stream */
+  private static class ChunkOutputStream extends OutputStream {
+    private final StreamObserver<ArrowStreamChunkProtos> responseObserver;
+    private ByteString.Output buffer = ByteString.newOutput();
+    private boolean discarded = false;
+
+    private ChunkOutputStream(final StreamObserver<ArrowStreamChunkProtos> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    @Override
+    public void write(final int b) {
+      buffer.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      buffer.write(b, off, len);
+    }
+
+    /** Drop everything written from now on, once the call has failed or was cancelled */
+    private void discard() {
+      discarded = true;
+    }
+
+    @Override
+    public void flush() {
+      if (discarded) {
+        buffer = ByteString.newOutput();
+      } else if (buffer.size() > 0) {
+        responseObserver.onNext(
+            ArrowStreamChunkProtos.newBuilder().setData(buffer.toByteString()).build());
+        buffer = ByteString.newOutput();
+      }
+    }
+
+    @Override
+    public void close() {
+      flush();
+    }
+  }
+
   private void SetAttributeBuilderValue(
       final Object simpleFeatureAttribute,
       final FeatureAttributeProtos.Builder attBuilder) {
@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 /** This class provides the main webapp entry point */
 public class ApiRestletApplication extends Application {
+  public static final String DEFAULT_CONFIG_FILE_ATTRIBUTE = "defaultConfigFile";
   private static final Logger LOGGER = LoggerFactory.getLogger(ApiRestletApplication.class);
   private ArrayList<RestRoute> availableRoutes = null;
   private ExecutorService asyncOperationPool = Executors.newFixedThreadPool(10);
@@ -73,6 +74,7 @@ public class ApiRestletApplication extends Application {
     router.attach("/api", SwaggerResource.class);
     router.attach("/v0/fileupload", FileUploadResource.class);
     router.attach("/v0/operation_status", AsyncOperationStatusResource.class);
+    router.attach("/v0/vector/arrow", ArrowQueryResource.class);
     attachApiRoutes(router);
     return router;
   }
@@ -119,6 +121,9 @@ public class ApiRestletApplication extends Application {
     }
 
     String defaultConfigFile = servlet.getInitParameter("config_file");
+    if (defaultConfigFile != null) {
+      router.getContext().getAttributes().put(DEFAULT_CONFIG_FILE_ATTRIBUTE, defaultConfigFile);
+    }
 
     final SwaggerApiParser apiParser =
         new SwaggerApiParser(
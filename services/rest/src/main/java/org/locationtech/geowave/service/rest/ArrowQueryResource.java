@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2013-2019 Contributors to the Eclipse Foundation
+ *
+ * <p> See the NOTICE file distributed with this work for additional information regarding copyright
+ * ownership. All rights reserved. This program and the accompanying materials are made available
+ * under the terms of the Apache License, Version 2.0 which accompanies this distribution and is
+ * available at http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package org.locationtech.geowave.service.rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.commons.lang.StringUtils;
+import org.locationtech.geowave.adapter.vector.export.ArrowFeatureWriter;
+import org.locationtech.geowave.adapter.vector.export.ArrowFeatureWriter.GeometryEncoding;
+import org.locationtech.geowave.core.cli.operations.config.options.ConfigOptions;
+import org.locationtech.geowave.core.store.api.DataStore;
+import org.locationtech.geowave.core.store.cli.remote.options.StoreLoader;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.representation.OutputRepresentation;
+import org.restlet.representation.Representation;
+import org.restlet.resource.Get;
+import org.restlet.resource.ResourceException;
+import org.restlet.resource.ServerResource;
+
+/**
+ * ServerResource to stream the results of a vector query as Apache Arrow record batches. The
+ * response is an Arrow IPC stream holding the schema followed by one record batch per batch of
+ * features.
+ */
+public class ArrowQueryResource extends ServerResource {
+  public static final MediaType ARROW_STREAM =
+      MediaType.register("application/vnd.apache.arrow.stream", "Apache Arrow IPC stream");
+
+  private static final String KEY_STORE_NAME = "store_name";
+  private static final String KEY_TYPE_NAME = "type_name";
+  private static final String KEY_CQL = "cql";
+  private static final String KEY_ATTRIBUTES = "attributes";
+  private static final String KEY_GEOMETRY_ENCODING = "geometry_encoding";
+  private static final String KEY_BATCH_SIZE = "batch_size";
+  private static final String KEY_CONFIG_FILE = "config_file";
+
+  @Get
+  public Representation query() {
+    final String storeName = getRequiredQueryValue(KEY_STORE_NAME);
+    final String typeName = getRequiredQueryValue(KEY_TYPE_NAME);
+    final String cql = getQueryValue(KEY_CQL);
+    final String attributes = StringUtils.trimToEmpty(getQueryValue(KEY_ATTRIBUTES));
+    final String[] attributeNames =
+        attributes.isEmpty() ? new String[0] : StringUtils.stripAll(attributes.split(","));
+    final GeometryEncoding geometryEncoding;
+    final int batchSize;
+    try {
+      final String encoding = getQueryValue(KEY_GEOMETRY_ENCODING);
+      geometryEncoding =
+          encoding == null ? GeometryEncoding.WKB
+              : GeometryEncoding.valueOf(encoding.toUpperCase());
+      final String size = getQueryValue(KEY_BATCH_SIZE);
+      batchSize = size == null ? ArrowFeatureWriter.DEFAULT_BATCH_SIZE : Integer.parseInt(size);
+    } catch (final IllegalArgumentException e) {
+      throw new ResourceException(Status.CLIENT_ERROR_BAD_REQUEST, e.getMessage());
+    }
+
+    final StoreLoader storeLoader = new StoreLoader(storeName);
+    if (!storeLoader.loadFromConfig(getConfigFile())) {
+      throw new ResourceException(
+          Status.CLIENT_ERROR_NOT_FOUND,
+          "Cannot find store name: " + storeName);
+    }
+    final DataStore dataStore = storeLoader.createDataStore();
+
+    return new OutputRepresentation(ARROW_STREAM) {
+      @Override
+      public void write(final OutputStream outputStream) throws IOException {
+        ArrowFeatureWriter.writeQueryResults(
+            dataStore,
+            typeName,
+            cql,
+            attributeNames,
+            geometryEncoding,
+            batchSize,
+            outputStream);
+      }
+    };
+  }
+
+  private String getRequiredQueryValue(final String key) {
+    final String value = StringUtils.trimToEmpty(getQueryValue(key));
+    if (value.isEmpty()) {
+      throw new ResourceException(
+          Status.CLIENT_ERROR_BAD_REQUEST,
+          String.format("'%s' is required", key));
+    }
+    return value;
+  }
+
+  private File getConfigFile() {
+    final String configFile = getQueryValue(KEY_CONFIG_FILE);
+    if (configFile != null) {
+      return new File(configFile);
+    }
+    final Object defaultConfigFile =
+        getContext().getAttributes().get(ApiRestletApplication.DEFAULT_CONFIG_FILE_ATTRIBUTE);
+    return defaultConfigFile != null ? new File(defaultConfigFile.toString())
+        : ConfigOptions.getDefaultPropertyFile();
+  }
+}
@@ -37,12 +37,6 @@ public class KafkaTestUtils {
     LOGGER.warn(
         "Staging '" + ingestFilePath + "' to a Kafka topic - this may take several minutes...");
     final String[] args = null;
-    String localhost = "localhost";
-    try {
-      localhost = java.net.InetAddress.getLocalHost().getCanonicalHostName();
-    } catch (final UnknownHostException e) {
-      LOGGER.warn("unable to get canonical hostname for localhost", e);
-    }
 
     // Ingest Formats
     final IngestFormatPluginOptions ingestFormatOptions = new IngestFormatPluginOptions();
@@ -51,7 +45,7 @@ public class KafkaTestUtils {
     final LocalToKafkaCommand localToKafka = new LocalToKafkaCommand();
     localToKafka.setParameters(ingestFilePath);
     localToKafka.setPluginFormats(ingestFormatOptions);
-    localToKafka.getKafkaOptions().setMetadataBrokerList(localhost + ":9092");
+    localToKafka.getKafkaOptions().setMetadataBrokerList(getBootstrapServers());
     localToKafka.getKafkaOptions().setRequestRequiredAcks("1");
     localToKafka.getKafkaOptions().setProducerType("sync");
     localToKafka.getKafkaOptions().setRetryBackoffMs("1000");
@@ -103,10 +97,9 @@ public class KafkaTestUtils {
     kafkaToGeowave.getKafkaOptions().setConsumerTimeoutMs("5000");
     kafkaToGeowave.getKafkaOptions().setReconnectOnTimeout(false);
     kafkaToGeowave.getKafkaOptions().setGroupId("testGroup");
-    kafkaToGeowave.getKafkaOptions().setAutoOffsetReset("smallest");
+    kafkaToGeowave.getKafkaOptions().setAutoOffsetReset("earliest");
     kafkaToGeowave.getKafkaOptions().setFetchMessageMaxBytes(MAX_MESSAGE_BYTES);
-    kafkaToGeowave.getKafkaOptions().setZookeeperConnect(
-        ZookeeperTestEnvironment.getInstance().getZookeeper());
+    kafkaToGeowave.getKafkaOptions().setBootstrapServers(getBootstrapServers());
     kafkaToGeowave.setParameters("test-store", "test-index");
 
     kafkaToGeowave.execute(params);
@@ -123,6 +116,16 @@ public class KafkaTestUtils {
     }
   }
 
+  public static String getBootstrapServers() {
+    String localhost = "localhost";
+    try {
+      localhost = java.net.InetAddress.getLocalHost().getCanonicalHostName();
+    } catch (final UnknownHostException e) {
+      LOGGER.warn("unable to get canonical hostname for localhost", e);
+    }
+    return localhost + ":9092";
+  }
+
   public static KafkaConfig getKafkaBrokerConfig() {
     final Properties props = new Properties();
     props.put("log.dirs", DEFAULT_LOG_DIR.getAbsolutePath());
@@ -131,7 +134,9 @@ public class KafkaTestUtils {
     props.put("port", "9092");
     props.put("message.max.bytes", MAX_MESSAGE_BYTES);
     props.put("replica.fetch.max.bytes", MAX_MESSAGE_BYTES);
-    props.put("num.partitions", "1");
+    // several partitions so that the ingest runs a consumer per partition
+    props.put("num.partitions", "4");
+    props.put("offsets.topic.replication.factor", "1");
     return new KafkaConfig(props);
   }
 }
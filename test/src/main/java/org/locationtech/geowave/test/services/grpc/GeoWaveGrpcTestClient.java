@@ -29,12 +29,14 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.locationtech.geowave.core.geotime.util.GeometryUtils;
 import org.locationtech.geowave.service.grpc.protobuf.AddIndexGroupCommandParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.AnalyticMapreduceGrpc;
 import org.locationtech.geowave.service.grpc.protobuf.AnalyticMapreduceGrpc.AnalyticMapreduceBlockingStub;
 import org.locationtech.geowave.service.grpc.protobuf.AnalyticSparkGrpc;
 import org.locationtech.geowave.service.grpc.protobuf.AnalyticSparkGrpc.AnalyticSparkBlockingStub;
+import org.locationtech.geowave.service.grpc.protobuf.BulkIngestAckProtos;
 import org.locationtech.geowave.service.grpc.protobuf.CQLQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.CalculateStatCommandParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.ClearCommandParametersProtos;
@@ -51,8 +53,12 @@ import org.locationtech.geowave.service.grpc.protobuf.CoreMapreduceGrpc.CoreMapr
 import org.locationtech.geowave.service.grpc.protobuf.CoreStoreGrpc;
 import org.locationtech.geowave.service.grpc.protobuf.CoreStoreGrpc.CoreStoreBlockingStub;
 import org.locationtech.geowave.service.grpc.protobuf.DBScanCommandParametersProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureBatchProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureBatchStreamProtos;
 import org.locationtech.geowave.service.grpc.protobuf.FeatureProtos;
 import org.locationtech.geowave.service.grpc.protobuf.FeatureAttributeProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureSchemaProtos;
+import org.locationtech.geowave.service.grpc.protobuf.FeatureValuesProtos;
 import org.locationtech.geowave.service.grpc.protobuf.GeoServerAddCoverageCommandParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.GeoServerAddCoverageStoreCommandParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.GeoServerAddDatastoreCommandParametersProtos;
@@ -108,6 +114,8 @@ import org.locationtech.geowave.service.grpc.protobuf.SpatialJoinCommandParamete
 import org.locationtech.geowave.service.grpc.protobuf.SpatialQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.SpatialTemporalQueryParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.TemporalConstraintsProtos;
+import org.locationtech.geowave.service.grpc.protobuf.VectorBatchQueryParametersProtos;
+import org.locationtech.geowave.service.grpc.protobuf.VectorBulkIngestParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.VectorGrpc;
 import org.locationtech.geowave.service.grpc.protobuf.VectorGrpc.VectorBlockingStub;
 import org.locationtech.geowave.service.grpc.protobuf.VectorGrpc.VectorStub;
@@ -116,7 +124,9 @@ import org.locationtech.geowave.service.grpc.protobuf.VectorQueryParametersProto
 import org.locationtech.geowave.service.grpc.protobuf.VectorStoreParametersProtos;
 import org.locationtech.geowave.service.grpc.protobuf.VersionCommandParametersProtos;
 import org.locationtech.geowave.test.TestUtils;
+import org.locationtech.geowave.test.kafka.KafkaTestUtils;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.io.WKBWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -270,6 +280,89 @@ public class GeoWaveGrpcTestClient {
     }
   }
 
+  public int vectorBulkIngest(
+      final int minLat,
+      final int maxLat,
+      final int minLon,
+      final int maxLon,
+      final int latStepDegs,
+      final int lonStepDegs) throws InterruptedException {
+    LOGGER.info("Performing Vector Bulk Ingest...");
+    final VectorStoreParametersProtos baseParams =
+        VectorStoreParametersProtos.newBuilder().setStoreName(
+            GeoWaveGrpcTestUtils.storeName).setTypeName(
+                GeoWaveGrpcTestUtils.bulkTypeName).setIndexName(
+                    GeoWaveGrpcTestUtils.indexName).build();
+    final FeatureSchemaProtos.Builder schema = FeatureSchemaProtos.newBuilder();
+    schema.addAttributesBuilder().setName("geometry").setClassType(Point.class.getName());
+    schema.addAttributesBuilder().setName("TimeStamp").setClassType(Date.class.getName());
+    schema.addAttributesBuilder().setName("Latitude").setClassType(Double.class.getName());
+    schema.addAttributesBuilder().setName("Longitude").setClassType(Double.class.getName());
+
+    final AtomicInteger writeCount = new AtomicInteger(0);
+    final CountDownLatch finishLatch = new CountDownLatch(1);
+    final StreamObserver<BulkIngestAckProtos> responseObserver =
+        new StreamObserver<BulkIngestAckProtos>() {
+
+          @Override
+          public void onNext(final BulkIngestAckProtos value) {
+            writeCount.addAndGet(value.getWriteCount());
+            for (final String error : value.getErrorsList()) {
+              LOGGER.error(error);
+            }
+          }
+
+          @Override
+          public void onError(final Throwable t) {
+            LOGGER.error("Error: Vector Bulk Ingest failed.", t);
+            finishLatch.countDown();
+          }
+
+          @Override
+          public void onCompleted() {
+            LOGGER.info("Finished Vector Bulk Ingest...");
+            finishLatch.countDown();
+          }
+        };
+    final StreamObserver<VectorBulkIngestParametersProtos> requestObserver =
+        vectorAsyncStub.vectorBulkIngest(responseObserver);
+
+    // send one batch per longitude
+    long batchId = 0;
+    for (int longitude = minLon; longitude <= maxLon; longitude += lonStepDegs) {
+      final FeatureBatchProtos.Builder batch = FeatureBatchProtos.newBuilder();
+      for (int latitude = minLat; latitude <= maxLat; latitude += latStepDegs) {
+        final FeatureValuesProtos.Builder feature = batch.addFeaturesBuilder();
+        feature.addValuesBuilder().setValGeometry(
+            copyFrom(
+                new WKBWriter().write(
+                    GeometryUtils.GEOMETRY_FACTORY.createPoint(
+                        new Coordinate(longitude, latitude)))));
+        feature.addValuesBuilder().setValInt64(System.currentTimeMillis());
+        feature.addValuesBuilder().setValDouble(latitude);
+        feature.addValuesBuilder().setValDouble(longitude);
+      }
+      final VectorBulkIngestParametersProtos.Builder request =
+          VectorBulkIngestParametersProtos.newBuilder().setBatchId(batchId).setBatch(batch);
+      if (batchId++ == 0) {
+        request.setBaseParams(baseParams).setSchema(schema);
+      }
+      requestObserver.onNext(request.build());
+      if (finishLatch.getCount() == 0) {
+        // RPC completed or errored before we finished sending.
+        return writeCount.get();
+      }
+    }
+    // Mark the end of requests
+    requestObserver.onCompleted();
+
+    // Receiving happens asynchronously
+    if (!finishLatch.await(15, TimeUnit.MINUTES)) {
+      LOGGER.warn("Vector Bulk Ingest can not finish within 15 minutes");
+    }
+    return writeCount.get();
+  }
+
   public ArrayList<FeatureProtos> vectorQuery() throws UnsupportedEncodingException {
     LOGGER.info("Performing Vector Query...");
     final VectorQueryParametersProtos request =
@@ -288,6 +381,33 @@ public class GeoWaveGrpcTestClient {
     return feature_list;
   }
 
+  public int vectorBatchQuery() {
+    LOGGER.info("Performing Vector Batch Query...");
+    final VectorStoreParametersProtos baseParams =
+        VectorStoreParametersProtos.newBuilder().setStoreName(
+            GeoWaveGrpcTestUtils.storeName).setTypeName(GeoWaveGrpcTestUtils.typeName).build();
+    final VectorBatchQueryParametersProtos request =
+        VectorBatchQueryParametersProtos.newBuilder().setBaseParams(baseParams).setCql(
+            GeoWaveGrpcTestUtils.cqlSpatialQuery).setBatchSize(100).build();
+
+    final Iterator<FeatureBatchStreamProtos> responses =
+        vectorBlockingStub.vectorBatchQuery(request);
+    // the schema is sent first, followed by the batches of features
+    final FeatureSchemaProtos schema = responses.next().getSchema();
+    int featureCount = 0;
+    while (responses.hasNext()) {
+      final FeatureBatchProtos batch = responses.next().getBatch();
+      for (final FeatureValuesProtos feature : batch.getFeaturesList()) {
+        if (feature.getValuesCount() != schema.getAttributesCount()) {
+          LOGGER.warn("Feature does not match the attributes of the schema");
+          return -1;
+        }
+      }
+      featureCount += batch.getFeatureIdsCount();
+    }
+    return featureCount;
+  }
+
   private static ByteString copyFrom(final byte[] bytes) {
     return ByteString.copyFrom(bytes);
   }
@@ -892,9 +1012,9 @@ public class GeoWaveGrpcTestClient {
     final KafkaToGeowaveCommandParametersProtos request =
         KafkaToGeowaveCommandParametersProtos.newBuilder().addAllParameters(
             params).addAllExtensions(extensions).setFormats("gpx").setGroupId(
-                "testGroup").setZookeeperConnect(
-                    GeoWaveGrpcTestUtils.getZookeeperTestEnv().getZookeeper()).setAutoOffsetReset(
-                        "smallest").setFetchMessageMaxBytes("5000000").setConsumerTimeoutMs(
+                "testGroup").setBootstrapServers(
+                    KafkaTestUtils.getBootstrapServers()).setAutoOffsetReset(
+                        "earliest").setFetchMessageMaxBytes("5000000").setConsumerTimeoutMs(
                             "5000").setReconnectOnTimeout(false).setBatchSize(10000).build();
     coreIngestBlockingStub.kafkaToGeowaveCommand(request);
     return true;
@@ -9,10 +9,6 @@
 package org.locationtech.geowave.mapreduce;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.SortedSet;
-import org.locationtech.geowave.core.index.ByteArray;
 import org.locationtech.geowave.core.index.ByteArrayRange;
 import org.locationtech.geowave.core.index.QueryRanges;
 import org.locationtech.geowave.core.index.SinglePartitionQueryRanges;
@@ -26,9 +22,6 @@ import org.locationtech.geowave.mapreduce.splits.RecordReaderParams;
 public class MapReduceMemoryOperations extends MemoryDataStoreOperations implements
     MapReduceDataStoreOperations {
 
-  private final Map<ByteArray, SortedSet<MemoryStoreEntry>> storeData =
-      Collections.synchronizedMap(new HashMap<ByteArray, SortedSet<MemoryStoreEntry>>());
-
   @Override
   public RowReader<GeoWaveRow> createReader(final RecordReaderParams readerParams) {
 
@@ -29,11 +29,11 @@ import org.locationtech.geowave.service.client.ConfigServiceClient;
 import org.locationtech.geowave.service.client.IngestServiceClient;
 import org.locationtech.geowave.test.GeoWaveITRunner;
 import org.locationtech.geowave.test.TestUtils;
-import org.locationtech.geowave.test.ZookeeperTestEnvironment;
 import org.locationtech.geowave.test.annotation.Environments;
 import org.locationtech.geowave.test.annotation.Environments.Environment;
 import org.locationtech.geowave.test.annotation.GeoWaveTestStore;
 import org.locationtech.geowave.test.annotation.GeoWaveTestStore.GeoWaveStoreType;
+import org.locationtech.geowave.test.kafka.KafkaTestUtils;
 import org.locationtech.geowave.test.mapreduce.MapReduceTestEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -179,7 +179,8 @@ public class IngestIT extends BaseServiceIT {
             null,
             null,
             "testGroup",
-            ZookeeperTestEnvironment.getInstance().getZookeeper(),
+            null,
+            KafkaTestUtils.getBootstrapServers(),
             null,
             null,
             null,
@@ -197,7 +198,8 @@ public class IngestIT extends BaseServiceIT {
             null,
             null,
             "testGroup",
-            ZookeeperTestEnvironment.getInstance().getZookeeper(),
+            null,
+            KafkaTestUtils.getBootstrapServers(),
             null,
             null,
             null,
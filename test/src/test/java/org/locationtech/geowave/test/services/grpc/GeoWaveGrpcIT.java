@@ -228,6 +228,9 @@ public class GeoWaveGrpcIT extends AbstractGeoWaveBasicVectorIT {
 
     Assert.assertNotEquals(0, client.numFeaturesProcessed);
 
+    // 73 longitudes by 37 latitudes, written to a separate type
+    Assert.assertEquals(73 * 37, client.vectorBulkIngest(-90, 90, -180, 180, 5, 5));
+
     ArrayList<FeatureProtos> features = client.vectorQuery();
     LOGGER.warn("-----------------------------------------");
     LOGGER.warn("*                                       *");
@@ -241,6 +244,9 @@ public class GeoWaveGrpcIT extends AbstractGeoWaveBasicVectorIT {
 
     Assert.assertNotEquals(0, features.size());
 
+    // the batched query returns the same features as the standard query
+    Assert.assertEquals(features.size(), client.vectorBatchQuery());
+
     features.clear();
     features = client.cqlQuery();
     LOGGER.warn("-----------------------------------------");
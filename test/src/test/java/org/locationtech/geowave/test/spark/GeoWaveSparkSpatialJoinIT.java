@@ -112,6 +112,31 @@ public class GeoWaveSparkSpatialJoinIT extends AbstractGeoWaveBasicVectorIT {
     final String sqlTornado =
         "select tornado.* from hail, tornado where GeomDistance(hail.geom,tornado.geom) <= 0.01";
 
+    loadRDDs(hail_adapter, tornado_adapter);
+
+    LOGGER.warn("------------ Running Brute force spatial join. ----------");
+    dur = runBruteForceJoin(hail_adapter, tornado_adapter, sqlHail, sqlTornado);
+    LOGGER.warn("Brute join duration = " + dur + " ms.");
+
+    // each join strategy has to match the brute force join
+    LOGGER.warn("------------ Running tiered spatial join. ----------");
+    runIndexedJoin(hail_adapter, tornado_adapter, distancePredicate, -1L, false);
+    // a small partition target so that the dense cells are split and replicated
+    LOGGER.warn("------------ Running adaptive tiered spatial join. ----------");
+    runIndexedJoin(hail_adapter, tornado_adapter, distancePredicate, -1L, true);
+    LOGGER.warn("------------ Running broadcast spatial join. ----------");
+    runIndexedJoin(hail_adapter, tornado_adapter, distancePredicate, Long.MAX_VALUE, false);
+
+    TestUtils.deleteAll(hailStore);
+    TestUtils.deleteAll(tornadoStore);
+  }
+
+  private void runIndexedJoin(
+      final String hail_adapter,
+      final String tornado_adapter,
+      final GeomWithinDistance distancePredicate,
+      final long broadcastThreshold,
+      final boolean adaptivePartitioning) {
     final SpatialJoinRunner runner = new SpatialJoinRunner(session);
     runner.setLeftStore(hailStore);
     runner.setLeftAdapterTypeName(hail_adapter);
@@ -120,12 +145,16 @@ public class GeoWaveSparkSpatialJoinIT extends AbstractGeoWaveBasicVectorIT {
     runner.setRightAdapterTypeName(tornado_adapter);
 
     runner.setPredicate(distancePredicate);
-    loadRDDs(hail_adapter, tornado_adapter);
+    runner.setBroadcastThreshold(broadcastThreshold);
+    if (adaptivePartitioning) {
+      runner.setAdaptivePartitioning(true);
+      runner.setPartitionTargetSize(500);
+      runner.setSampleFraction(0.5);
+    }
 
     long tornadoIndexedCount = 0;
     long hailIndexedCount = 0;
-    LOGGER.warn("------------ Running indexed spatial join. ----------");
-    mark = System.currentTimeMillis();
+    final long mark = System.currentTimeMillis();
     try {
       runner.run();
     } catch (InterruptedException | ExecutionException e) {
@@ -139,6 +168,7 @@ public class GeoWaveSparkSpatialJoinIT extends AbstractGeoWaveBasicVectorIT {
     tornadoIndexedCount = runner.getRightResults().getRawRDD().count();
     final long indexJoinDur = (System.currentTimeMillis() - mark);
     LOGGER.warn("Indexed Result Count: " + (hailIndexedCount + tornadoIndexedCount));
+    LOGGER.warn("Indexed join duration = " + indexJoinDur + " ms.");
     final SimpleFeatureDataFrame indexHailFrame = new SimpleFeatureDataFrame(session);
     final SimpleFeatureDataFrame indexTornadoFrame = new SimpleFeatureDataFrame(session);
 
@@ -148,12 +178,6 @@ public class GeoWaveSparkSpatialJoinIT extends AbstractGeoWaveBasicVectorIT {
     indexHailFrame.init(hailStore, hail_adapter);
     final Dataset<Row> indexedHail = indexHailFrame.getDataFrame(runner.getLeftResults());
 
-    LOGGER.warn("------------ Running Brute force spatial join. ----------");
-    dur = runBruteForceJoin(hail_adapter, tornado_adapter, sqlHail, sqlTornado);
-
-    LOGGER.warn("Indexed join duration = " + indexJoinDur + " ms.");
-    LOGGER.warn("Brute join duration = " + dur + " ms.");
-
     // Verify each row matches
     Assert.assertTrue((hailIndexedCount == hailBruteCount));
     Assert.assertTrue((tornadoIndexedCount == tornadoBruteCount));
@@ -168,9 +192,6 @@ public class GeoWaveSparkSpatialJoinIT extends AbstractGeoWaveBasicVectorIT {
     Assert.assertTrue(
         "Subtraction between brute force join and indexed Tornado should result in count of 0",
         (subtractedFrame.count() == 0));
-
-    TestUtils.deleteAll(hailStore);
-    TestUtils.deleteAll(tornadoStore);
   }
 
   private void ingestHailandTornado() throws Exception {